@@ -0,0 +1,52 @@
+package ec.edu.espe.benchmark;
+
+import ec.edu.espe.datos.model.Estudiante;
+import ec.edu.espe.logica_negocio.EstudianteService;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Búsqueda aproximada por nombre a través del servicio: consultas exactas,
+ * sin tildes, por prefijo y con errores de tipeo. Los nombres del padrón
+ * sintético se repiten mucho, así que cada término aparece en miles de
+ * estudiantes, que es el peor caso para el índice invertido.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class BusquedaAproximadaBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int tamano;
+
+    @Param({"María Núñez", "maria nunez", "mar nu", "Maira Nuñes"})
+    public String consulta;
+
+    private EstudianteService service;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        service = new EstudianteService(DatosBenchmark.repositorio(tamano));
+        service.buscarAproximado(consulta, 10);
+    }
+
+    @Benchmark
+    public List<Estudiante> buscarAproximado() {
+        return service.buscarAproximado(consulta, 10);
+    }
+}
@@ -0,0 +1,81 @@
+package ec.edu.espe.benchmark;
+
+import ec.edu.espe.datos.model.Estudiante;
+import ec.edu.espe.datos.repository.MotorEstudiantes;
+import ec.edu.espe.datos.repository.Motores;
+import ec.edu.espe.datos.repository.ProveedorMotor;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.SplittableRandom;
+
+/**
+ * Generación determinista de estudiantes para que todas las corridas midan
+ * exactamente los mismos datos.
+ */
+final class DatosBenchmark {
+
+    static final long SEMILLA = 20240601L;
+
+    private static final String[] NOMBRES = {
+        "Ana", "Bruno", "Camila", "Diego", "Elena", "Fabián", "Gabriela", "Héctor",
+        "Isabel", "Jorge", "Karla", "Luis", "María", "Nicolás", "Olga", "Pablo"
+    };
+    private static final String[] APELLIDOS = {
+        "Andrade", "Benítez", "Cevallos", "Durán", "Espinoza", "Flores", "Guerrero", "Herrera",
+        "Iturralde", "Jaramillo", "León", "Mora", "Núñez", "Ortiz", "Paredes", "Quiroga"
+    };
+
+    private DatosBenchmark() {
+    }
+
+    static String id(int i) {
+        return String.format("E%07d", i);
+    }
+
+    static List<Estudiante> generar(int cantidad) {
+        SplittableRandom aleatorio = new SplittableRandom(SEMILLA);
+        List<Estudiante> estudiantes = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            estudiantes.add(Estudiante.crear(id(i), nombre(aleatorio), 17 + aleatorio.nextInt(40)));
+        }
+        return estudiantes;
+    }
+
+    static String nombre(SplittableRandom aleatorio) {
+        return NOMBRES[aleatorio.nextInt(NOMBRES.length)] + " " + APELLIDOS[aleatorio.nextInt(APELLIDOS.length)];
+    }
+
+    static MotorEstudiantes repositorio(int cantidad) {
+        return repositorio("indices", cantidad);
+    }
+
+    /**
+     * {@code motor} es el nombre de cualquier {@link ProveedorMotor}
+     * registrado; "mapeado" se abre en un directorio temporal.
+     */
+    static MotorEstudiantes repositorio(String motor, int cantidad) {
+        MotorEstudiantes repository = nuevoMotor(motor);
+        List<Estudiante> estudiantes = generar(cantidad);
+        for (int desde = 0; desde < estudiantes.size(); desde += 10_000) {
+            repository.agregarLote(estudiantes.subList(desde, Math.min(desde + 10_000, estudiantes.size())));
+        }
+        return repository;
+    }
+
+    static MotorEstudiantes nuevoMotor(String motor) {
+        Properties configuracion = new Properties();
+        try {
+            if (motor.equals("mapeado")) {
+                configuracion.setProperty("estudiantes.datos",
+                        Files.createTempDirectory("estudiantes-mapeado").toString());
+            }
+            return Motores.crear(motor, configuracion);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package ec.edu.espe.benchmark;
+
+import ec.edu.espe.datos.model.Estudiante;
+import ec.edu.espe.datos.repository.MotorParticionado;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Escalamiento de los recorridos del motor particionado según los hilos
+ * del pool. Las particiones son siempre las mismas para que solo cambie el
+ * paralelismo; la mejora esperada es casi lineal hasta la cantidad de
+ * núcleos de la máquina y plana después.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class EscaneoParticionadoBenchmark {
+
+    @Param({"1000000"})
+    public int tamano;
+
+    @Param({"1", "2", "4", "8"})
+    public int hilos;
+
+    private ForkJoinPool pool;
+    private MotorParticionado motor;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        pool = new ForkJoinPool(hilos);
+        motor = new MotorParticionado(64, pool);
+        List<Estudiante> estudiantes = DatosBenchmark.generar(tamano);
+        for (int desde = 0; desde < estudiantes.size(); desde += 10_000) {
+            motor.agregarLote(estudiantes.subList(desde, Math.min(desde + 10_000, estudiantes.size())));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public long contar() {
+        return motor.contar(e -> e.getEdad() >= 30 && e.getNombres().startsWith("M"));
+    }
+
+    @Benchmark
+    public int filtrar() {
+        return motor.filtrar(e -> e.getEdad() == 25).size();
+    }
+
+    @Benchmark
+    public int buscarPorRangoEdad() {
+        return motor.buscarPorRangoEdad(20, 22).size();
+    }
+}
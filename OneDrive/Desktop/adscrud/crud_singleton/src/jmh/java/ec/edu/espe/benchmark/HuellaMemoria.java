@@ -0,0 +1,45 @@
+package ec.edu.espe.benchmark;
+
+import ec.edu.espe.datos.model.Estudiante;
+import ec.edu.espe.datos.repository.MotorEstudiantes;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.SplittableRandom;
+
+/**
+ * Mide el heap retenido por un motor con N estudiantes. No es un benchmark
+ * JMH: carga el padrón, fuerza GC y compara el heap usado antes y después.
+ * <pre>
+ * java -Xmx8g -cp target/benchmarks.jar ec.edu.espe.benchmark.HuellaMemoria columnar 10000000
+ * </pre>
+ */
+public final class HuellaMemoria {
+
+    private HuellaMemoria() {
+    }
+
+    public static void main(String[] args) {
+        String motor = args.length > 0 ? args[0] : "indices";
+        int cantidad = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+
+        long antes = heapUsado();
+        MotorEstudiantes repository = DatosBenchmark.nuevoMotor(motor);
+        SplittableRandom aleatorio = new SplittableRandom(DatosBenchmark.SEMILLA);
+        for (int i = 0; i < cantidad; i++) {
+            repository.agregar(Estudiante.crear(DatosBenchmark.id(i), DatosBenchmark.nombre(aleatorio), 17 + aleatorio.nextInt(40)));
+        }
+        long despues = heapUsado();
+
+        long bytes = despues - antes;
+        System.out.printf("%s %,d estudiantes: %,d MB retenidos, %.1f bytes por estudiante%n",
+                motor, repository.tamano(), bytes >> 20, (double) bytes / cantidad);
+    }
+
+    private static long heapUsado() {
+        MemoryMXBean memoria = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memoria.getHeapMemoryUsage().getUsed();
+    }
+}
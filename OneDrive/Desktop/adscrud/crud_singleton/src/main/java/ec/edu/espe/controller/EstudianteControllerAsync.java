@@ -0,0 +1,106 @@
+package ec.edu.espe.controller;
+
+import ec.edu.espe.datos.model.Estudiante;
+import ec.edu.espe.datos.repository.EstudianteListener;
+import ec.edu.espe.datos.repository.EstudianteSnapshot;
+import ec.edu.espe.datos.repository.OrdenEstudiante;
+import ec.edu.espe.datos.repository.Pagina;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Variante asíncrona de {@link EstudianteController}: cada operación corre
+ * en un ejecutor propio y retorna un {@link CompletableFuture}. Cancelar el
+ * future evita que la tarea empiece si aún estaba en cola e interrumpe el
+ * hilo si ya corría; una escritura que ya se aplicó no se deshace.
+ */
+public class EstudianteControllerAsync implements AutoCloseable {
+
+    private final EstudianteController controller;
+    private final ExecutorService executor;
+
+    public EstudianteControllerAsync(EstudianteController controller) {
+        this(controller, Ejecutores.hiloPorTarea("estudiantes-async"));
+    }
+
+    public EstudianteControllerAsync(EstudianteController controller, ExecutorService executor) {
+        this.controller = controller;
+        this.executor = executor;
+    }
+
+    public CompletableFuture<Estudiante> crearEstudiante(String id, String nombres, int edad) {
+        return ejecutar(() -> controller.crearEstudiante(id, nombres, edad));
+    }
+
+    public CompletableFuture<Boolean> editar(String id, String nombres, int edad) {
+        return ejecutar(() -> controller.editar(id, nombres, edad));
+    }
+
+    public CompletableFuture<Estudiante> editar(String id, String nombres, int edad, long version) {
+        return ejecutar(() -> controller.editar(id, nombres, edad, version));
+    }
+
+    public CompletableFuture<Boolean> eliminar(String id) {
+        return ejecutar(() -> controller.eliminar(id));
+    }
+
+    public CompletableFuture<Boolean> eliminar(String id, long version) {
+        return ejecutar(() -> controller.eliminar(id, version));
+    }
+
+    public CompletableFuture<Estudiante> buscar(String id) {
+        return ejecutar(() -> controller.buscar(id));
+    }
+
+    public CompletableFuture<List<Estudiante>> buscarPorEdad(int minima, int maxima) {
+        return ejecutar(() -> controller.buscarPorEdad(minima, maxima));
+    }
+
+    public CompletableFuture<List<Estudiante>> buscarPorNombre(String prefijo) {
+        return ejecutar(() -> controller.buscarPorNombre(prefijo));
+    }
+
+    public CompletableFuture<List<Estudiante>> obtenerTodos() {
+        return ejecutar(controller::obtenerTodos);
+    }
+
+    public CompletableFuture<Pagina<Estudiante>> obtenerPagina(OrdenEstudiante orden, String cursor, int tamano) {
+        return ejecutar(() -> controller.obtenerPagina(orden, cursor, tamano));
+    }
+
+    public CompletableFuture<EstudianteSnapshot> obtenerSnapshot() {
+        return ejecutar(controller::obtenerSnapshot);
+    }
+
+    public void agregarListener(EstudianteListener listener) {
+        controller.agregarListener(listener);
+    }
+
+    public void quitarListener(EstudianteListener listener) {
+        controller.quitarListener(listener);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private <T> CompletableFuture<T> ejecutar(Callable<T> tarea) {
+        CompletableFuture<T> resultado = new CompletableFuture<>();
+        Future<?> enCurso = executor.submit(() -> {
+            if (resultado.isDone()) return;
+            try {
+                resultado.complete(tarea.call());
+            } catch (Throwable e) {
+                resultado.completeExceptionally(e);
+            }
+        });
+        resultado.whenComplete((valor, error) -> {
+            if (resultado.isCancelled()) enCurso.cancel(true);
+        });
+        return resultado;
+    }
+}
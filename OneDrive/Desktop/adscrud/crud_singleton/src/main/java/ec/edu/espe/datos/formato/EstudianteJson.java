@@ -0,0 +1,158 @@
+package ec.edu.espe.datos.formato;
+
+import ec.edu.espe.datos.model.Estudiante;
+
+public final class EstudianteJson {
+
+    private EstudianteJson() {
+    }
+
+    /**
+     * Lee un objeto JSON plano con las claves "id", "nombres" y "edad".
+     * Las claves desconocidas con valores simples se ignoran.
+     */
+    public static String[] leer(String linea) {
+        String[] campos = new String[3];
+        Lector lector = new Lector(linea);
+
+        lector.esperar('{');
+        if (!lector.consumir('}')) {
+            do {
+                String clave = lector.texto();
+                lector.esperar(':');
+                String valor = lector.valor();
+                switch (clave) {
+                    case "id":
+                        campos[0] = valor;
+                        break;
+                    case "nombres":
+                        campos[1] = valor;
+                        break;
+                    case "edad":
+                        campos[2] = valor;
+                        break;
+                    default:
+                        break;
+                }
+            } while (lector.consumir(','));
+            lector.esperar('}');
+        }
+        lector.fin();
+        return campos;
+    }
+
+    public static void escribir(Estudiante estudiante, StringBuilder destino) {
+        destino.append("{\"id\":");
+        escribirTexto(estudiante.getId(), destino);
+        destino.append(",\"nombres\":");
+        escribirTexto(estudiante.getNombres(), destino);
+        destino.append(",\"edad\":").append(estudiante.getEdad()).append('}');
+    }
+
+    /**
+     * Como {@link #escribir(Estudiante, StringBuilder)} más la clave "version",
+     * que solo tiene sentido hacia clientes vivos: al importar se ignora.
+     */
+    public static void escribirConVersion(Estudiante estudiante, StringBuilder destino) {
+        escribir(estudiante, destino);
+        destino.setLength(destino.length() - 1);
+        destino.append(",\"version\":").append(estudiante.getVersion()).append('}');
+    }
+
+    public static void escribirTexto(String valor, StringBuilder destino) {
+        if (valor == null) {
+            destino.append("null");
+            return;
+        }
+
+        destino.append('"');
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            switch (c) {
+                case '"': destino.append("\\\""); break;
+                case '\\': destino.append("\\\\"); break;
+                case '\n': destino.append("\\n"); break;
+                case '\r': destino.append("\\r"); break;
+                case '\t': destino.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        destino.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        destino.append(c);
+                    }
+            }
+        }
+        destino.append('"');
+    }
+
+    private static final class Lector {
+        private final String texto;
+        private int i;
+
+        private Lector(String texto) {
+            this.texto = texto;
+        }
+
+        private void espacios() {
+            while (i < texto.length() && Character.isWhitespace(texto.charAt(i))) i++;
+        }
+
+        private boolean consumir(char c) {
+            espacios();
+            if (i < texto.length() && texto.charAt(i) == c) {
+                i++;
+                return true;
+            }
+            return false;
+        }
+
+        private void esperar(char c) {
+            if (!consumir(c)) throw new IllegalArgumentException("JSON inválido: se esperaba '" + c + "'");
+        }
+
+        private void fin() {
+            espacios();
+            if (i != texto.length()) throw new IllegalArgumentException("JSON inválido: texto sobrante");
+        }
+
+        private String valor() {
+            espacios();
+            if (i < texto.length() && texto.charAt(i) == '"') return texto();
+
+            int inicio = i;
+            while (i < texto.length() && ",}] \t".indexOf(texto.charAt(i)) < 0) i++;
+            String literal = texto.substring(inicio, i);
+            if (literal.isEmpty()) throw new IllegalArgumentException("JSON inválido: valor vacío");
+            return literal.equals("null") ? null : literal;
+        }
+
+        private String texto() {
+            esperar('"');
+            StringBuilder valor = new StringBuilder();
+            while (true) {
+                if (i >= texto.length()) throw new IllegalArgumentException("JSON inválido: texto sin cerrar");
+                char c = texto.charAt(i++);
+                if (c == '"') return valor.toString();
+                if (c != '\\') {
+                    valor.append(c);
+                    continue;
+                }
+                if (i >= texto.length()) throw new IllegalArgumentException("JSON inválido: escape incompleto");
+                char escape = texto.charAt(i++);
+                switch (escape) {
+                    case 'n': valor.append('\n'); break;
+                    case 't': valor.append('\t'); break;
+                    case 'r': valor.append('\r'); break;
+                    case 'b': valor.append('\b'); break;
+                    case 'f': valor.append('\f'); break;
+                    case 'u':
+                        if (i + 4 > texto.length()) throw new IllegalArgumentException("JSON inválido: escape incompleto");
+                        valor.append((char) Integer.parseInt(texto.substring(i, i + 4), 16));
+                        i += 4;
+                        break;
+                    default: valor.append(escape); break;
+                }
+            }
+        }
+    }
+}
@@ -1,23 +1,37 @@
 package ec.edu.espe.datos.model;
 
 public class Estudiante {
-    private String id;
-    private String nombres;
-    private int edad;
+    private final String id;
+    private final String nombres;
+    private final int edad;
+    private final long version;
 
     public Estudiante(String id, String nombres, int edad) {
+        this(id, nombres, edad, 0);
+    }
+
+    /**
+     * @param version versión del motor en la última escritura que tocó este
+     *                registro; 0 si todavía no se guardó
+     */
+    public Estudiante(String id, String nombres, int edad, long version) {
         this.id = id;
         this.nombres = nombres;
         this.edad = edad;
+        this.version = version;
     }
 
     public static Estudiante crear(String id, String nombres, int edad) {
-        if (id == null || id.isEmpty() || nombres == null || nombres.isEmpty() || edad <= 0) {
+        if (!esValido(id, nombres, edad)) {
             throw new IllegalArgumentException("Datos inválidos para crear un Estudiante");
         }
         return new Estudiante(id, nombres, edad);
     }
 
+    public static boolean esValido(String id, String nombres, int edad) {
+        return id != null && !id.isEmpty() && nombres != null && !nombres.isEmpty() && edad > 0;
+    }
+
     public String getId() {
         return id;
     }
@@ -30,11 +44,7 @@ public class Estudiante {
         return edad;
     }
 
-    public void setNombres(String nombres) {
-        this.nombres = nombres;
-    }
-
-    public void setEdad(int edad) {
-        this.edad = edad;
+    public long getVersion() {
+        return version;
     }
 }
@@ -0,0 +1,7 @@
+package ec.edu.espe.datos.persistencia;
+
+public enum PoliticaFsync {
+    SIEMPRE,
+    PERIODICA,
+    NUNCA
+}
@@ -0,0 +1,311 @@
+package ec.edu.espe.datos.persistencia;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Log binario de solo anexado. Cada registro se guarda como
+ * [longitud:int][crc32:int][tipo:byte][id][nombres][edad:int].
+ * Un hilo escritor vuelca en un solo write (y un solo fsync) todo lo que
+ * se haya anexado mientras se escribía el lote anterior.
+ */
+public class RegistroEscritura implements Closeable {
+
+    private static final int CABECERA = 8;
+    private static final int MAXIMO_REGISTRO = 1 << 20;
+
+    private final PoliticaFsync politica;
+    private final long intervaloNanos;
+    private final Thread escritor;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition hayPendientes = lock.newCondition();
+    private final Condition escrito = lock.newCondition();
+
+    private FileChannel canal;
+    private boolean escribiendo;
+    private ByteBuffer pendientes = ByteBuffer.allocate(64 * 1024);
+    private ByteBuffer enEscritura = ByteBuffer.allocate(64 * 1024);
+    private long anexados;
+    private long persistidos;
+    private boolean abierto = true;
+    private IOException falla;
+
+    private RegistroEscritura(FileChannel canal, PoliticaFsync politica, long intervaloMs) {
+        this.canal = canal;
+        this.politica = politica;
+        this.intervaloNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, intervaloMs));
+        this.escritor = new Thread(this::escribirLotes, "estudiantes-wal");
+        this.escritor.setDaemon(true);
+        this.escritor.start();
+    }
+
+    public static RegistroEscritura abrir(Path archivo, PoliticaFsync politica, long intervaloMs,
+            Consumer<OperacionLog> reproduccion) throws IOException {
+        FileChannel canal = FileChannel.open(archivo,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long valido = reproducir(canal, reproduccion);
+            if (valido < canal.size()) {
+                canal.truncate(valido);
+                canal.force(true);
+            }
+            canal.position(valido);
+        } catch (IOException | RuntimeException e) {
+            canal.close();
+            throw e;
+        }
+        return new RegistroEscritura(canal, politica, intervaloMs);
+    }
+
+    /**
+     * Reproduce un segmento ya cerrado. A diferencia del segmento actual,
+     * donde un final truncado es una escritura que no llegó a completarse y
+     * se descarta, aquí cualquier registro inválido significa perder
+     * escrituras confirmadas, así que falla en lugar de seguir.
+     */
+    public static void reproducir(Path archivo, Consumer<OperacionLog> reproduccion) throws IOException {
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            long valido = reproducir(canal, reproduccion);
+            if (valido < canal.size()) {
+                throw new IOException("Segmento del log dañado en el byte " + valido + ": " + archivo);
+            }
+        }
+    }
+
+    public void anexar(OperacionLog operacion) {
+        byte[] datos = codificar(operacion);
+        CRC32 crc = new CRC32();
+        crc.update(datos);
+
+        lock.lock();
+        try {
+            verificarEstado();
+            if (pendientes.remaining() < CABECERA + datos.length) {
+                ByteBuffer mayor = ByteBuffer.allocate(Math.max(pendientes.capacity() * 2,
+                        pendientes.position() + CABECERA + datos.length));
+                pendientes.flip();
+                mayor.put(pendientes);
+                pendientes = mayor;
+            }
+            pendientes.putInt(datos.length).putInt((int) crc.getValue()).put(datos);
+            anexados++;
+            hayPendientes.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Con {@link PoliticaFsync#SIEMPRE} espera hasta que todo lo anexado
+     * hasta ahora esté en disco; con las demás políticas retorna de inmediato.
+     */
+    public void sincronizar() {
+        if (politica != PoliticaFsync.SIEMPRE) return;
+
+        lock.lock();
+        try {
+            long objetivo = anexados;
+            while (persistidos < objetivo) {
+                verificarEstado();
+                escrito.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Vacía lo pendiente en el archivo actual, lo fuerza a disco y continúa
+     * anexando en {@code nuevo}. Quien llama debe impedir anexos concurrentes
+     * para que el corte entre ambos archivos sea exacto.
+     */
+    public void rotar(Path nuevo) throws IOException {
+        lock.lock();
+        try {
+            while (pendientes.position() > 0 || escribiendo) {
+                verificarEstado();
+                escrito.awaitUninterruptibly();
+            }
+            verificarEstado();
+
+            FileChannel siguiente = FileChannel.open(nuevo,
+                    StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            canal.force(true);
+            canal.close();
+            canal = siguiente;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (!abierto) return;
+            abierto = false;
+            hayPendientes.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            escritor.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            if (falla == null) canal.force(true);
+        } finally {
+            canal.close();
+        }
+    }
+
+    private void verificarEstado() {
+        if (falla != null) throw new UncheckedIOException("El log de escritura falló", falla);
+        if (!abierto) throw new IllegalStateException("El log de escritura está cerrado");
+    }
+
+    private void escribirLotes() {
+        long ultimoFsync = System.nanoTime();
+        boolean sinForzar = false;
+
+        while (true) {
+            long lote;
+            FileChannel destino;
+            lock.lock();
+            try {
+                while (pendientes.position() == 0 && abierto) {
+                    if (!sinForzar) {
+                        hayPendientes.awaitUninterruptibly();
+                    } else if (hayPendientes.awaitNanos(intervaloNanos) <= 0) {
+                        break;
+                    }
+                }
+                if (pendientes.position() == 0 && !abierto) return;
+
+                ByteBuffer lleno = pendientes;
+                pendientes = enEscritura;
+                enEscritura = lleno;
+                lote = anexados;
+                destino = canal;
+                escribiendo = true;
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            try {
+                enEscritura.flip();
+                while (enEscritura.hasRemaining()) {
+                    destino.write(enEscritura);
+                }
+                enEscritura.clear();
+                sinForzar = true;
+
+                long ahora = System.nanoTime();
+                if (politica == PoliticaFsync.SIEMPRE
+                        || (politica == PoliticaFsync.PERIODICA && ahora - ultimoFsync >= intervaloNanos)) {
+                    destino.force(false);
+                    ultimoFsync = ahora;
+                    sinForzar = false;
+                } else if (politica == PoliticaFsync.NUNCA) {
+                    sinForzar = false;
+                }
+            } catch (IOException e) {
+                lock.lock();
+                try {
+                    falla = e;
+                    escribiendo = false;
+                    escrito.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+                return;
+            }
+
+            lock.lock();
+            try {
+                persistidos = lote;
+                escribiendo = false;
+                escrito.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static long reproducir(FileChannel canal, Consumer<OperacionLog> destino) throws IOException {
+        long tamano = canal.size();
+        long posicion = 0;
+        canal.position(0);
+        DataInputStream entrada = new DataInputStream(new BufferedInputStream(Channels.newInputStream(canal), 1 << 16));
+        CRC32 crc = new CRC32();
+
+        while (tamano - posicion >= CABECERA) {
+            int longitud = entrada.readInt();
+            int suma = entrada.readInt();
+            if (longitud <= 0 || longitud > MAXIMO_REGISTRO || tamano - posicion - CABECERA < longitud) break;
+
+            byte[] datos = new byte[longitud];
+            entrada.readFully(datos);
+            crc.reset();
+            crc.update(datos);
+            if ((int) crc.getValue() != suma) break;
+
+            destino.accept(decodificar(datos));
+            posicion += CABECERA + longitud;
+        }
+        return posicion;
+    }
+
+    private static byte[] codificar(OperacionLog operacion) {
+        byte[] id = operacion.getId().getBytes(StandardCharsets.UTF_8);
+        byte[] nombres = operacion.getNombres() == null ? null : operacion.getNombres().getBytes(StandardCharsets.UTF_8);
+        int largoNombres = nombres == null ? 0 : nombres.length;
+
+        ByteBuffer datos = ByteBuffer.allocate(1 + 4 + id.length + 4 + largoNombres + 4);
+        datos.put((byte) operacion.getTipo().ordinal());
+        datos.putInt(id.length).put(id);
+        if (nombres == null) {
+            datos.putInt(-1);
+        } else {
+            datos.putInt(nombres.length).put(nombres);
+        }
+        datos.putInt(operacion.getEdad());
+        return datos.array();
+    }
+
+    private static OperacionLog decodificar(byte[] bytes) {
+        ByteBuffer datos = ByteBuffer.wrap(bytes);
+        OperacionLog.Tipo tipo = OperacionLog.Tipo.values()[datos.get()];
+        String id = leerTexto(datos);
+        String nombres = leerTexto(datos);
+        int edad = datos.getInt();
+        return OperacionLog.de(tipo, id, nombres, edad);
+    }
+
+    private static String leerTexto(ByteBuffer datos) {
+        int largo = datos.getInt();
+        if (largo < 0) return null;
+
+        String texto = new String(datos.array(), datos.position(), largo, StandardCharsets.UTF_8);
+        datos.position(datos.position() + largo);
+        return texto;
+    }
+}
@@ -0,0 +1,134 @@
+package ec.edu.espe.datos.replicacion;
+
+import ec.edu.espe.datos.model.Estudiante;
+import ec.edu.espe.datos.repository.CambioEstudiante;
+import ec.edu.espe.datos.repository.EstudianteSnapshot;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Formato del flujo de cambios entre el líder y sus réplicas. Tras la
+ * cabecera [magia:int][versión:byte] siguen mensajes
+ * [tipo:byte][versión:long][marca:long][cuerpo]:
+ * <pre>
+ * SNAPSHOT  [cantidad:int] y cantidad estudiantes, en orden de inserción
+ * CAMBIO    [tipo de cambio:byte] y un estudiante
+ * LATIDO    sin cuerpo; la versión es la vigente en el líder
+ * </pre>
+ * Un estudiante es [id][nombres][edad:int][versión:long], con cada texto
+ * como [largo:int][UTF-8] y largo -1 para null; la versión es la del
+ * registro en el líder. La marca es la hora del líder en milisegundos, con
+ * la que la réplica calcula su retraso.
+ */
+final class ProtocoloReplicacion {
+
+    static final int MAGIA = 0x45535452;
+    static final byte VERSION_PROTOCOLO = 2;
+
+    static final byte SNAPSHOT = 1;
+    static final byte CAMBIO = 2;
+    static final byte LATIDO = 3;
+
+    private static final int MAXIMO_TEXTO = 1 << 20;
+
+    private ProtocoloReplicacion() {
+    }
+
+    static void escribirCabecera(DataOutputStream salida) throws IOException {
+        salida.writeInt(MAGIA);
+        salida.writeByte(VERSION_PROTOCOLO);
+    }
+
+    static void leerCabecera(DataInputStream entrada) throws IOException {
+        if (entrada.readInt() != MAGIA) {
+            throw new IOException("El otro extremo no habla el protocolo de replicación");
+        }
+        byte version = entrada.readByte();
+        if (version != VERSION_PROTOCOLO) {
+            throw new IOException("Versión de protocolo de replicación no soportada: " + version);
+        }
+    }
+
+    /**
+     * Se codifica una sola vez en el hilo del escritor y se comparte entre
+     * todas las réplicas conectadas.
+     */
+    static byte[] codificarCambio(CambioEstudiante cambio, long marca) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream salida = new DataOutputStream(bytes)) {
+            salida.writeByte(CAMBIO);
+            salida.writeLong(cambio.getVersion());
+            salida.writeLong(marca);
+            salida.writeByte(cambio.getTipo().ordinal());
+            escribirEstudiante(salida, cambio.getEstudiante());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static void escribirSnapshot(DataOutputStream salida, EstudianteSnapshot snapshot, long marca) throws IOException {
+        salida.writeByte(SNAPSHOT);
+        salida.writeLong(snapshot.getVersion());
+        salida.writeLong(marca);
+        salida.writeInt(snapshot.size());
+        for (Estudiante estudiante : snapshot.getEstudiantes()) {
+            escribirEstudiante(salida, estudiante);
+        }
+    }
+
+    static void escribirLatido(DataOutputStream salida, long version, long marca) throws IOException {
+        salida.writeByte(LATIDO);
+        salida.writeLong(version);
+        salida.writeLong(marca);
+    }
+
+    static CambioEstudiante.Tipo leerTipoCambio(DataInputStream entrada) throws IOException {
+        int tipo = entrada.readByte();
+        CambioEstudiante.Tipo[] tipos = CambioEstudiante.Tipo.values();
+        if (tipo < 0 || tipo >= tipos.length) {
+            throw new IOException("Tipo de cambio desconocido: " + tipo);
+        }
+        return tipos[tipo];
+    }
+
+    static Estudiante leerEstudiante(DataInputStream entrada) throws IOException {
+        String id = leerTexto(entrada);
+        String nombres = leerTexto(entrada);
+        int edad = entrada.readInt();
+        long version = entrada.readLong();
+        if (id == null) throw new IOException("Estudiante sin ID en el flujo de replicación");
+        return new Estudiante(id, nombres, edad, version);
+    }
+
+    private static void escribirEstudiante(DataOutputStream salida, Estudiante estudiante) throws IOException {
+        escribirTexto(salida, estudiante.getId());
+        escribirTexto(salida, estudiante.getNombres());
+        salida.writeInt(estudiante.getEdad());
+        salida.writeLong(estudiante.getVersion());
+    }
+
+    private static void escribirTexto(DataOutputStream salida, String texto) throws IOException {
+        if (texto == null) {
+            salida.writeInt(-1);
+            return;
+        }
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        salida.writeInt(bytes.length);
+        salida.write(bytes);
+    }
+
+    private static String leerTexto(DataInputStream entrada) throws IOException {
+        int largo = entrada.readInt();
+        if (largo < 0) return null;
+        if (largo > MAXIMO_TEXTO) throw new IOException("Texto demasiado largo en el flujo de replicación");
+
+        byte[] bytes = new byte[largo];
+        entrada.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,182 @@
+package ec.edu.espe.datos.replicacion;
+
+import ec.edu.espe.datos.repository.CambioEstudiante;
+import ec.edu.espe.datos.repository.EstudianteListener;
+import ec.edu.espe.datos.repository.EstudianteSnapshot;
+import ec.edu.espe.datos.repository.MotorEstudiantes;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lado líder de la replicación: escucha en un puerto TCP y a cada réplica
+ * que se conecta le envía un snapshot del motor y después el flujo de
+ * cambios posteriores a ese snapshot, más un latido periódico cuando no
+ * hay cambios.
+ *
+ * <p>El listener solo encola el cambio ya codificado, así que el escritor
+ * nunca espera a la red. Cada réplica tiene su cola acotada y su hilo de
+ * envío; si una réplica lenta llena su cola se la desconecta, y al
+ * reconectarse recibe un snapshot nuevo.
+ */
+public class PublicadorCambios implements EstudianteListener, Closeable {
+
+    static final long INTERVALO_LATIDO_MS = 500;
+    static final int CAPACIDAD_COLA = 65_536;
+
+    private final MotorEstudiantes motor;
+    private final ServerSocket servidor;
+    private final Thread aceptador;
+    private final CopyOnWriteArrayList<Seguidor> seguidores = new CopyOnWriteArrayList<>();
+    private final AtomicInteger conexiones = new AtomicInteger();
+    private volatile boolean abierto = true;
+
+    public PublicadorCambios(MotorEstudiantes motor, int puerto) throws IOException {
+        this.motor = motor;
+        this.servidor = new ServerSocket();
+        servidor.setReuseAddress(true);
+        servidor.bind(new InetSocketAddress(puerto));
+        this.aceptador = new Thread(this::aceptar, "replicacion-publicador");
+        aceptador.setDaemon(true);
+    }
+
+    public void iniciar() {
+        motor.agregarListener(this);
+        aceptador.start();
+    }
+
+    public int getPuerto() {
+        return servidor.getLocalPort();
+    }
+
+    public int getSeguidores() {
+        return seguidores.size();
+    }
+
+    @Override
+    public void alCambiar(CambioEstudiante cambio) {
+        if (seguidores.isEmpty()) return;
+
+        Mensaje mensaje = new Mensaje(cambio.getVersion(),
+                ProtocoloReplicacion.codificarCambio(cambio, System.currentTimeMillis()));
+        for (Seguidor seguidor : seguidores) {
+            seguidor.encolar(mensaje);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        abierto = false;
+        motor.quitarListener(this);
+        servidor.close();
+        for (Seguidor seguidor : seguidores) {
+            seguidor.desconectar();
+        }
+    }
+
+    private void aceptar() {
+        while (abierto) {
+            try {
+                Socket socket = servidor.accept();
+                socket.setTcpNoDelay(true);
+                Seguidor seguidor = new Seguidor(socket);
+                // Primero se registra y después se toma el snapshot: ningún cambio posterior se pierde.
+                seguidores.add(seguidor);
+                seguidor.hilo.start();
+            } catch (IOException e) {
+                if (abierto) System.err.println("Replicación: no se pudo aceptar una réplica: " + e.getMessage());
+            }
+        }
+    }
+
+    private static final class Mensaje {
+        private final long version;
+        private final byte[] bytes;
+
+        Mensaje(long version, byte[] bytes) {
+            this.version = version;
+            this.bytes = bytes;
+        }
+    }
+
+    private final class Seguidor {
+        private final Socket socket;
+        private final BlockingQueue<Mensaje> cola = new ArrayBlockingQueue<>(CAPACIDAD_COLA);
+        private final Thread hilo;
+        private volatile boolean desbordado;
+
+        Seguidor(Socket socket) {
+            this.socket = socket;
+            this.hilo = new Thread(this::enviar, "replicacion-envio-" + conexiones.incrementAndGet());
+            hilo.setDaemon(true);
+        }
+
+        void encolar(Mensaje mensaje) {
+            if (!cola.offer(mensaje) && !desbordado) {
+                desbordado = true;
+                desconectar();
+            }
+        }
+
+        void desconectar() {
+            try {
+                socket.close();
+            } catch (IOException ignorada) {
+                // ya se está cerrando
+            }
+        }
+
+        private void enviar() {
+            String remoto = String.valueOf(socket.getRemoteSocketAddress());
+            try (DataOutputStream salida = new DataOutputStream(
+                    new BufferedOutputStream(socket.getOutputStream(), 64 * 1024))) {
+                ProtocoloReplicacion.escribirCabecera(salida);
+                EstudianteSnapshot snapshot = motor.snapshot();
+                long desde = snapshot.getVersion();
+                ProtocoloReplicacion.escribirSnapshot(salida, snapshot, System.currentTimeMillis());
+                salida.flush();
+                System.err.println("Replicación: réplica " + remoto + " sincronizada en la versión " + desde);
+
+                List<Mensaje> lote = new ArrayList<>();
+                while (abierto && !desbordado) {
+                    Mensaje primero = cola.poll(INTERVALO_LATIDO_MS, TimeUnit.MILLISECONDS);
+                    if (primero == null) {
+                        ProtocoloReplicacion.escribirLatido(salida, motor.version(), System.currentTimeMillis());
+                    } else {
+                        lote.add(primero);
+                        cola.drainTo(lote);
+                        for (Mensaje mensaje : lote) {
+                            // Los cambios anteriores al snapshot ya van incluidos en él.
+                            if (mensaje.version > desde) salida.write(mensaje.bytes);
+                        }
+                        lote.clear();
+                    }
+                    salida.flush();
+                }
+            } catch (IOException e) {
+                if (abierto && !desbordado) {
+                    System.err.println("Replicación: réplica " + remoto + " desconectada: " + e.getMessage());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                seguidores.remove(this);
+                desconectar();
+                if (desbordado) {
+                    System.err.println("Replicación: réplica " + remoto + " desconectada por no seguir el ritmo de escritura");
+                }
+            }
+        }
+    }
+}
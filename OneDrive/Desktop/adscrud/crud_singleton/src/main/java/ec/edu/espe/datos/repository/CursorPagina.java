@@ -0,0 +1,41 @@
+package ec.edu.espe.datos.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Cursores opacos de paginación: el orden y la última clave entregada, en
+ * Base64 apto para URL. Todos los motores comparten este formato.
+ */
+final class CursorPagina {
+
+    private CursorPagina() {
+    }
+
+    static String codificar(OrdenEstudiante criterio, String clave) {
+        String texto = criterio.name() + '|' + clave;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(texto.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static String decodificar(OrdenEstudiante criterio, String cursor) {
+        String texto;
+        try {
+            texto = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+        String prefijo = criterio.name() + '|';
+        if (!texto.startsWith(prefijo)) {
+            throw new IllegalArgumentException("El cursor no corresponde al orden " + criterio);
+        }
+        return texto.substring(prefijo.length());
+    }
+
+    static long posicion(String clave) {
+        try {
+            return Long.parseLong(clave);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+    }
+}
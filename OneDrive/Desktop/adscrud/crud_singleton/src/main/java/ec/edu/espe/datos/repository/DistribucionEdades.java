@@ -0,0 +1,49 @@
+package ec.edu.espe.datos.repository;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Cantidad de estudiantes por edad, que cada motor actualiza en la misma
+ * escritura que modifica el registro. Las edades 0..{@value #EDAD_MAXIMA}
+ * tienen un contador primitivo cada una; cualquier otra (el motor no valida
+ * la edad al editar) va a un mapa aparte que normalmente está vacío.
+ *
+ * <p>Los contadores son atómicos porque en {@link EstudianteRepository}
+ * varios escritores los actualizan a la vez; para que una captura sea
+ * coherente, el motor la toma con sus escrituras detenidas.
+ */
+final class DistribucionEdades {
+
+    static final int EDAD_MAXIMA = 150;
+
+    private final AtomicLongArray conteos = new AtomicLongArray(EDAD_MAXIMA + 1);
+    private final ConcurrentHashMap<Integer, Long> fueraDeRango = new ConcurrentHashMap<>();
+
+    void agregar(int edad) {
+        sumar(edad, 1);
+    }
+
+    void quitar(int edad) {
+        sumar(edad, -1);
+    }
+
+    private void sumar(int edad, long delta) {
+        if (edad >= 0 && edad <= EDAD_MAXIMA) {
+            conteos.addAndGet(edad, delta);
+        } else {
+            fueraDeRango.merge(edad, delta, (actual, cambio) -> actual + cambio == 0 ? null : actual + cambio);
+        }
+    }
+
+    EstadisticasEstudiantes capturar(long version) {
+        long[] copia = new long[EDAD_MAXIMA + 1];
+        for (int edad = 0; edad <= EDAD_MAXIMA; edad++) {
+            copia[edad] = conteos.get(edad);
+        }
+        Map<Integer, Long> otras = fueraDeRango.isEmpty() ? Map.of() : new HashMap<>(fueraDeRango);
+        return new EstadisticasEstudiantes(version, copia, otras);
+    }
+}
@@ -0,0 +1,67 @@
+package ec.edu.espe.datos.repository;
+
+import ec.edu.espe.datos.model.Estudiante;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+final class IndiceEdad {
+
+    private final ConcurrentSkipListMap<Clave, Estudiante> entradas = new ConcurrentSkipListMap<>();
+
+    void agregar(Estudiante estudiante) {
+        entradas.put(new Clave(estudiante.getEdad(), estudiante.getId()), estudiante);
+    }
+
+    void quitar(Estudiante estudiante) {
+        entradas.remove(new Clave(estudiante.getEdad(), estudiante.getId()));
+    }
+
+    List<Estudiante> rango(int minima, int maxima) {
+        return new ArrayList<>(entradas.subMap(new Clave(minima, ""), true, new Clave(maxima, null), true).values());
+    }
+
+    NavigableMap<Clave, Estudiante> desde(String cursor) {
+        if (cursor == null) return entradas;
+
+        int separador = cursor.indexOf(':');
+        if (separador < 0) throw new IllegalArgumentException("Cursor inválido");
+        Clave clave = new Clave(Integer.parseInt(cursor.substring(0, separador)), cursor.substring(separador + 1));
+        return entradas.tailMap(clave, false);
+    }
+
+    static String cursor(Clave clave) {
+        return clave.edad + ":" + clave.id;
+    }
+
+    static final class Clave implements Comparable<Clave> {
+        private final int edad;
+        private final String id;
+
+        Clave(int edad, String id) {
+            this.edad = edad;
+            this.id = id;
+        }
+
+        // id == null representa el mayor id posible para esa edad
+        @Override
+        public int compareTo(Clave otra) {
+            int porEdad = Integer.compare(edad, otra.edad);
+            if (porEdad != 0) return porEdad;
+            if (id == null) return otra.id == null ? 0 : 1;
+            if (otra.id == null) return -1;
+            return id.compareTo(otra.id);
+        }
+
+        @Override
+        public boolean equals(Object otro) {
+            return otro instanceof Clave && compareTo((Clave) otro) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * edad + (id == null ? 0 : id.hashCode());
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package ec.edu.espe.datos.repository;
+
+import ec.edu.espe.datos.model.Estudiante;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+final class IndiceNombres {
+
+    private static final char SEPARADOR = '\u0000';
+
+    private final ConcurrentSkipListMap<String, Estudiante> entradas = new ConcurrentSkipListMap<>();
+
+    void agregar(Estudiante estudiante) {
+        if (estudiante.getNombres() == null) return;
+        entradas.put(clave(estudiante), estudiante);
+    }
+
+    void quitar(Estudiante estudiante) {
+        if (estudiante.getNombres() == null) return;
+        entradas.remove(clave(estudiante));
+    }
+
+    List<Estudiante> prefijo(String prefijo) {
+        String desde = normalizar(prefijo);
+        return new ArrayList<>(entradas.subMap(desde, true, desde + Character.MAX_VALUE, false).values());
+    }
+
+    NavigableMap<String, Estudiante> desde(String cursor) {
+        return cursor == null ? entradas : entradas.tailMap(cursor, false);
+    }
+
+    static String normalizar(String texto) {
+        return texto.toLowerCase(Locale.ROOT);
+    }
+
+    private static String clave(Estudiante estudiante) {
+        return clave(estudiante.getNombres(), estudiante.getId());
+    }
+
+    static String clave(String nombres, String id) {
+        return normalizar(nombres) + SEPARADOR + id;
+    }
+}
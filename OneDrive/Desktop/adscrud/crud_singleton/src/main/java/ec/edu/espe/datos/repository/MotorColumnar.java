@@ -0,0 +1,723 @@
+package ec.edu.espe.datos.repository;
+
+import ec.edu.espe.datos.model.Estudiante;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.RandomAccess;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Motor en memoria que guarda los estudiantes por columnas: la edad en un
+ * {@code int[]}, el ID y los nombres en una arena de bytes UTF-8, y la
+ * posición de inserción y la versión en sendos {@code long[]}. Cada fila
+ * ocupa unas decenas de bytes en lugar de varios objetos y nodos de
+ * índice; los {@link Estudiante} se crean recién al leerlos.
+ *
+ * <p>El único índice es una tabla hash abierta de ID a fila. Las búsquedas
+ * por edad o prefijo recorren las columnas, y las páginas en un orden
+ * distinto al de inserción se seleccionan con un recorrido completo. Las
+ * bajas dejan huecos que se compactan cuando superan la mitad de las filas.
+ *
+ * <p>No persiste nada: pensado para padrones grandes en memoria y análisis.
+ */
+public class MotorColumnar implements MotorEstudiantes {
+
+    private static final int CAPACIDAD_INICIAL = 1024;
+    private static final int VACIA = 0;
+    private static final int BORRADA = -1;
+    private static final long CUALQUIER_VERSION = -1;
+
+    private final ReentrantReadWriteLock candado = new ReentrantReadWriteLock();
+    private final AtomicLong version = new AtomicLong();
+    private final CopyOnWriteArrayList<EstudianteListener> listeners = new CopyOnWriteArrayList<>();
+    private volatile EstudianteSnapshot snapshot = new EstudianteSnapshot(0, new Estudiante[0], new long[0]);
+
+    // Columnas indexadas por fila; las filas en "borradas" son huecos.
+    private int filas;
+    private volatile int vivas;
+    private int[] edades = new int[CAPACIDAD_INICIAL];
+    private int[] textoId = new int[CAPACIDAD_INICIAL];
+    private int[] textoNombres = new int[CAPACIDAD_INICIAL];
+    private int[] hashId = new int[CAPACIDAD_INICIAL];
+    private long[] posiciones = new long[CAPACIDAD_INICIAL];
+    private long[] versiones = new long[CAPACIDAD_INICIAL];
+    private BitSet borradas = new BitSet();
+    private final DistribucionEdades distribucion = new DistribucionEdades();
+    private long secuencia;
+
+    // Cada texto es [longitud][bytes UTF-8]; solo se anexa, nunca se sobrescribe.
+    private byte[] arena = new byte[CAPACIDAD_INICIAL * 32];
+    private int usoArena;
+    private long basuraArena;
+
+    // Ranuras con fila + 1, VACIA o BORRADA; sondeo lineal.
+    private int[] tabla = new int[CAPACIDAD_INICIAL * 2];
+    private int ranurasOcupadas;
+
+    // Un snapshot comparte las columnas; como solo edades, textoNombres y
+    // versiones se modifican en sitio, la próxima edición copia esas tres
+    // antes de escribir.
+    private boolean compartido;
+
+    public long agregar(Estudiante estudiante) {
+        CambioEstudiante cambio;
+        candado.writeLock().lock();
+        try {
+            cambio = insertar(estudiante);
+        } finally {
+            candado.writeLock().unlock();
+        }
+        if (cambio == null) return 0;
+
+        publicar(cambio);
+        return cambio.getVersion();
+    }
+
+    public long[] agregarLote(List<Estudiante> lote) {
+        long[] agregados = new long[lote.size()];
+        List<CambioEstudiante> cambios = new ArrayList<>(lote.size());
+        candado.writeLock().lock();
+        try {
+            for (int i = 0; i < agregados.length; i++) {
+                CambioEstudiante cambio = insertar(lote.get(i));
+                if (cambio != null) {
+                    agregados[i] = cambio.getVersion();
+                    cambios.add(cambio);
+                }
+            }
+        } finally {
+            candado.writeLock().unlock();
+        }
+        cambios.forEach(this::publicar);
+        return agregados;
+    }
+
+    private CambioEstudiante insertar(Estudiante estudiante) {
+        byte[] id = estudiante.getId().getBytes(StandardCharsets.UTF_8);
+        int hash = estudiante.getId().hashCode();
+        if (buscarRanura(id, hash) >= 0) return null;
+
+        asegurarCapacidad();
+        int fila = filas++;
+        edades[fila] = estudiante.getEdad();
+        hashId[fila] = hash;
+        textoId[fila] = anexar(id);
+        textoNombres[fila] = anexar(estudiante.getNombres());
+        posiciones[fila] = ++secuencia;
+        versiones[fila] = version.incrementAndGet();
+        ubicar(fila, hash);
+        vivas++;
+        distribucion.agregar(estudiante.getEdad());
+        return new CambioEstudiante(CambioEstudiante.Tipo.CREADO,
+                new Estudiante(estudiante.getId(), estudiante.getNombres(), estudiante.getEdad(), versiones[fila]),
+                posiciones[fila], versiones[fila]);
+    }
+
+    public boolean editar(String id, String nombres, int edad) {
+        return editar(id, nombres, edad, CUALQUIER_VERSION) != 0;
+    }
+
+    @Override
+    public long editar(String id, String nombres, int edad, long versionEsperada) {
+        CambioEstudiante cambio;
+        candado.writeLock().lock();
+        try {
+            cambio = modificar(id, nombres, edad, versionEsperada);
+        } finally {
+            candado.writeLock().unlock();
+        }
+        if (cambio == null) return 0;
+
+        publicar(cambio);
+        return cambio.getVersion();
+    }
+
+    private CambioEstudiante modificar(String id, String nombres, int edad, long versionEsperada) {
+        int ranura = buscarRanura(id.getBytes(StandardCharsets.UTF_8), id.hashCode());
+        if (ranura < 0) return null;
+
+        int fila = tabla[ranura] - 1;
+        if (versionEsperada != CUALQUIER_VERSION && versiones[fila] != versionEsperada) return null;
+        separarDeSnapshot();
+        basuraArena += tamanoTexto(textoNombres[fila]);
+        textoNombres[fila] = anexar(nombres);
+        distribucion.quitar(edades[fila]);
+        distribucion.agregar(edad);
+        edades[fila] = edad;
+        versiones[fila] = version.incrementAndGet();
+        CambioEstudiante cambio = new CambioEstudiante(CambioEstudiante.Tipo.ACTUALIZADO,
+                new Estudiante(id, nombres, edad, versiones[fila]), posiciones[fila], versiones[fila]);
+        if (basuraArena > usoArena / 2 && usoArena > (1 << 20)) compactar();
+        return cambio;
+    }
+
+    public boolean eliminar(String id) {
+        return eliminar(id, CUALQUIER_VERSION);
+    }
+
+    @Override
+    public boolean eliminar(String id, long versionEsperada) {
+        CambioEstudiante cambio;
+        candado.writeLock().lock();
+        try {
+            cambio = quitar(id, versionEsperada);
+        } finally {
+            candado.writeLock().unlock();
+        }
+        if (cambio == null) return false;
+
+        publicar(cambio);
+        return true;
+    }
+
+    private CambioEstudiante quitar(String id, long versionEsperada) {
+        int ranura = buscarRanura(id.getBytes(StandardCharsets.UTF_8), id.hashCode());
+        if (ranura < 0) return null;
+
+        int fila = tabla[ranura] - 1;
+        if (versionEsperada != CUALQUIER_VERSION && versiones[fila] != versionEsperada) return null;
+        Estudiante eliminado = materializar(arena, textoId[fila], textoNombres[fila], edades[fila], versiones[fila]);
+        borradas.set(fila);
+        tabla[ranura] = BORRADA;
+        vivas--;
+        distribucion.quitar(edades[fila]);
+        basuraArena += tamanoTexto(textoId[fila]) + tamanoTexto(textoNombres[fila]);
+        CambioEstudiante cambio = new CambioEstudiante(CambioEstudiante.Tipo.ELIMINADO, eliminado,
+                posiciones[fila], version.incrementAndGet());
+        if (filas - vivas > filas / 2 && filas > CAPACIDAD_INICIAL) compactar();
+        return cambio;
+    }
+
+    @Override
+    public boolean[] aplicarLote(List<OperacionLote> lote) {
+        boolean[] aplicadas = new boolean[lote.size()];
+        List<CambioEstudiante> cambios = new ArrayList<>(lote.size());
+        candado.writeLock().lock();
+        try {
+            for (int i = 0; i < aplicadas.length; i++) {
+                OperacionLote operacion = lote.get(i);
+                CambioEstudiante cambio;
+                switch (operacion.getTipo()) {
+                    case CREAR:
+                        cambio = insertar(new Estudiante(operacion.getId(), operacion.getNombres(), operacion.getEdad()));
+                        break;
+                    case EDITAR:
+                        cambio = modificar(operacion.getId(), operacion.getNombres(), operacion.getEdad(),
+                                CUALQUIER_VERSION);
+                        break;
+                    default:
+                        cambio = quitar(operacion.getId(), CUALQUIER_VERSION);
+                        break;
+                }
+                if (cambio != null) {
+                    aplicadas[i] = true;
+                    cambios.add(cambio);
+                }
+            }
+        } finally {
+            candado.writeLock().unlock();
+        }
+        cambios.forEach(this::publicar);
+        return aplicadas;
+    }
+
+    public Estudiante buscarPorId(String id) {
+        candado.readLock().lock();
+        try {
+            int ranura = buscarRanura(id.getBytes(StandardCharsets.UTF_8), id.hashCode());
+            if (ranura < 0) return null;
+
+            int fila = tabla[ranura] - 1;
+            return materializar(arena, textoId[fila], textoNombres[fila], edades[fila], versiones[fila]);
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    public List<Estudiante> buscarPorRangoEdad(int minima, int maxima) {
+        List<Estudiante> resultado = new ArrayList<>();
+        candado.readLock().lock();
+        try {
+            for (int fila = 0; fila < filas; fila++) {
+                int edad = edades[fila];
+                if (edad >= minima && edad <= maxima && !borradas.get(fila)) {
+                    resultado.add(materializar(arena, textoId[fila], textoNombres[fila], edad, versiones[fila]));
+                }
+            }
+        } finally {
+            candado.readLock().unlock();
+        }
+        resultado.sort(POR_EDAD);
+        return resultado;
+    }
+
+    /**
+     * Cantidad de estudiantes con edad en [minima, maxima]; suma los
+     * contadores por edad de {@link #estadisticas()} sin recorrer la columna.
+     */
+    public long contarPorRangoEdad(int minima, int maxima) {
+        return estadisticas().contarPorRango(minima, maxima);
+    }
+
+    public double edadPromedio() {
+        return estadisticas().getEdadPromedio();
+    }
+
+    @Override
+    public EstadisticasEstudiantes estadisticas() {
+        candado.readLock().lock();
+        try {
+            return distribucion.capturar(version.get());
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    public List<Estudiante> buscarPorPrefijoNombre(String prefijo) {
+        String normalizado = IndiceNombres.normalizar(prefijo);
+        byte[] ascii = esAscii(normalizado) ? normalizado.getBytes(StandardCharsets.US_ASCII) : null;
+        List<Estudiante> resultado = new ArrayList<>();
+        candado.readLock().lock();
+        try {
+            for (int fila = 0; fila < filas; fila++) {
+                int nombres = textoNombres[fila];
+                if (nombres < 0 || borradas.get(fila)) continue;
+
+                int coincide = ascii == null ? -1 : empiezaConAscii(arena, nombres, ascii);
+                if (coincide == 0) continue;
+                if (coincide < 0 && !IndiceNombres.normalizar(texto(arena, nombres)).startsWith(normalizado)) continue;
+
+                resultado.add(materializar(arena, textoId[fila], nombres, edades[fila], versiones[fila]));
+            }
+        } finally {
+            candado.readLock().unlock();
+        }
+        resultado.sort(Comparator.comparing((Estudiante e) -> IndiceNombres.clave(e.getNombres(), e.getId())));
+        return resultado;
+    }
+
+    public Pagina<Estudiante> listarPagina(OrdenEstudiante criterio, String cursor, int limite) {
+        String clave = cursor == null ? null : CursorPagina.decodificar(criterio, cursor);
+        candado.readLock().lock();
+        try {
+            switch (criterio) {
+                case INSERCION:
+                    return paginarPorInsercion(clave == null ? 0 : CursorPagina.posicion(clave), limite);
+                case ID:
+                    return paginarOrdenado(criterio, clave, limite, Estudiante::getId);
+                case NOMBRES:
+                    return paginarOrdenado(criterio, clave, limite, e -> e.getNombres() == null ? null : IndiceNombres.clave(e.getNombres(), e.getId()));
+                case EDAD:
+                    return paginarPorEdad(clave, limite);
+                default:
+                    throw new IllegalArgumentException("Orden no soportado: " + criterio);
+            }
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    private Pagina<Estudiante> paginarPorInsercion(long despuesDe, int limite) {
+        int fila = Arrays.binarySearch(posiciones, 0, filas, despuesDe);
+        fila = fila >= 0 ? fila + 1 : -fila - 1;
+        List<Estudiante> elementos = new ArrayList<>(Math.min(limite, 1024));
+        long ultima = 0;
+        for (; fila < filas; fila++) {
+            if (borradas.get(fila)) continue;
+            if (elementos.size() == limite) {
+                return new Pagina<>(elementos, CursorPagina.codificar(OrdenEstudiante.INSERCION, String.valueOf(ultima)), vivas);
+            }
+            elementos.add(materializar(arena, textoId[fila], textoNombres[fila], edades[fila], versiones[fila]));
+            ultima = posiciones[fila];
+        }
+        return new Pagina<>(elementos, null, vivas);
+    }
+
+    private Pagina<Estudiante> paginarOrdenado(OrdenEstudiante criterio, String despuesDe, int limite,
+            Function<Estudiante, String> claveDe) {
+        // Montículo de máximos con los limite + 1 menores que siguen al cursor.
+        PriorityQueue<Candidato> mejores = new PriorityQueue<>(Comparator.comparing((Candidato c) -> c.clave).reversed());
+        for (int fila = 0; fila < filas; fila++) {
+            if (borradas.get(fila)) continue;
+            Estudiante est = materializar(arena, textoId[fila], textoNombres[fila], edades[fila], versiones[fila]);
+            String clave = claveDe.apply(est);
+            if (clave == null || (despuesDe != null && clave.compareTo(despuesDe) <= 0)) continue;
+            if (mejores.size() <= limite) {
+                mejores.add(new Candidato(clave, est));
+            } else if (clave.compareTo(mejores.peek().clave) < 0) {
+                mejores.poll();
+                mejores.add(new Candidato(clave, est));
+            }
+        }
+
+        boolean hayMas = mejores.size() > limite;
+        if (hayMas) mejores.poll();
+        Estudiante[] elementos = new Estudiante[mejores.size()];
+        String ultima = hayMas ? mejores.peek().clave : null;
+        for (int i = elementos.length - 1; i >= 0; i--) {
+            elementos[i] = mejores.poll().estudiante;
+        }
+        String siguiente = hayMas ? CursorPagina.codificar(criterio, ultima) : null;
+        return new Pagina<>(Arrays.asList(elementos), siguiente, vivas);
+    }
+
+    private Pagina<Estudiante> paginarPorEdad(String despuesDe, int limite) {
+        int edadCursor = Integer.MIN_VALUE;
+        String idCursor = null;
+        if (despuesDe != null) {
+            int separador = despuesDe.indexOf(':');
+            if (separador < 0) throw new IllegalArgumentException("Cursor inválido");
+            try {
+                edadCursor = Integer.parseInt(despuesDe.substring(0, separador));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+            idCursor = despuesDe.substring(separador + 1);
+        }
+
+        PriorityQueue<Estudiante> mejores = new PriorityQueue<>(POR_EDAD.reversed());
+        for (int fila = 0; fila < filas; fila++) {
+            int edad = edades[fila];
+            if (edad < edadCursor || borradas.get(fila)) continue;
+            if (mejores.size() > limite && edad > mejores.peek().getEdad()) continue;
+
+            Estudiante est = materializar(arena, textoId[fila], textoNombres[fila], edad, versiones[fila]);
+            if (edad == edadCursor && est.getId().compareTo(idCursor) <= 0) continue;
+            if (mejores.size() <= limite) {
+                mejores.add(est);
+            } else if (POR_EDAD.compare(est, mejores.peek()) < 0) {
+                mejores.poll();
+                mejores.add(est);
+            }
+        }
+        boolean hayMas = mejores.size() > limite;
+        if (hayMas) mejores.poll();
+        Estudiante[] elementos = new Estudiante[mejores.size()];
+        for (int i = elementos.length - 1; i >= 0; i--) {
+            elementos[i] = mejores.poll();
+        }
+        Estudiante ultimo = elementos.length == 0 ? null : elementos[elementos.length - 1];
+        String siguiente = hayMas ? CursorPagina.codificar(OrdenEstudiante.EDAD, ultimo.getEdad() + ":" + ultimo.getId()) : null;
+        return new Pagina<>(Arrays.asList(elementos), siguiente, vivas);
+    }
+
+    /**
+     * El snapshot comparte las columnas en lugar de copiarlas; solo si hay
+     * huecos guarda además el arreglo de filas vivas.
+     */
+    public EstudianteSnapshot snapshot() {
+        EstudianteSnapshot actual = snapshot;
+        if (actual.getVersion() == version.get()) return actual;
+
+        candado.readLock().lock();
+        try {
+            actual = snapshot;
+            long vigente = version.get();
+            if (actual.getVersion() == vigente) return actual;
+
+            int[] vivasEnOrden = null;
+            long[] posicionesVivas = posiciones;
+            if (vivas != filas) {
+                vivasEnOrden = new int[vivas];
+                posicionesVivas = new long[vivas];
+                int i = 0;
+                for (int fila = borradas.nextClearBit(0); fila < filas; fila = borradas.nextClearBit(fila + 1)) {
+                    vivasEnOrden[i] = fila;
+                    posicionesVivas[i++] = posiciones[fila];
+                }
+            }
+            compartido = true;
+            Vista vista = new Vista(arena, textoId, textoNombres, edades, versiones, vivasEnOrden, vivas);
+            actual = new EstudianteSnapshot(vigente, vista, posicionesVivas);
+            snapshot = actual;
+            return actual;
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    public long version() {
+        return version.get();
+    }
+
+    public int tamano() {
+        return vivas;
+    }
+
+    public void agregarListener(EstudianteListener listener) {
+        listeners.add(listener);
+    }
+
+    public void quitarListener(EstudianteListener listener) {
+        listeners.remove(listener);
+    }
+
+    private void publicar(CambioEstudiante cambio) {
+        for (EstudianteListener listener : listeners) {
+            try {
+                listener.alCambiar(cambio);
+            } catch (RuntimeException e) {
+                System.err.println("Listener de estudiantes falló: " + e.getMessage());
+            }
+        }
+    }
+
+    private void separarDeSnapshot() {
+        if (!compartido) return;
+        edades = edades.clone();
+        textoNombres = textoNombres.clone();
+        versiones = versiones.clone();
+        compartido = false;
+    }
+
+    private void asegurarCapacidad() {
+        if (filas == edades.length) {
+            int capacidad = edades.length + (edades.length >> 1);
+            edades = Arrays.copyOf(edades, capacidad);
+            textoId = Arrays.copyOf(textoId, capacidad);
+            textoNombres = Arrays.copyOf(textoNombres, capacidad);
+            hashId = Arrays.copyOf(hashId, capacidad);
+            posiciones = Arrays.copyOf(posiciones, capacidad);
+            versiones = Arrays.copyOf(versiones, capacidad);
+            compartido = false;
+        }
+        if ((ranurasOcupadas + 1) * 4L > tabla.length * 3L) {
+            reconstruirTabla(vivas + 1);
+        }
+    }
+
+    /**
+     * Reescribe columnas y arena solo con las filas vivas, en el mismo orden.
+     * Se crean arreglos nuevos, así que los snapshots previos no se tocan.
+     */
+    private void compactar() {
+        int capacidad = Math.max(CAPACIDAD_INICIAL, vivas + (vivas >> 1));
+        int[] nuevasEdades = new int[capacidad];
+        int[] nuevosId = new int[capacidad];
+        int[] nuevosNombres = new int[capacidad];
+        int[] nuevosHash = new int[capacidad];
+        long[] nuevasPosiciones = new long[capacidad];
+        long[] nuevasVersiones = new long[capacidad];
+        byte[] anterior = arena;
+        arena = new byte[Math.max(CAPACIDAD_INICIAL * 32, (int) Math.min(Integer.MAX_VALUE - 8, (usoArena - basuraArena) * 3 / 2))];
+        usoArena = 0;
+        basuraArena = 0;
+
+        int destino = 0;
+        for (int fila = 0; fila < filas; fila++) {
+            if (borradas.get(fila)) continue;
+            nuevasEdades[destino] = edades[fila];
+            nuevosHash[destino] = hashId[fila];
+            nuevasPosiciones[destino] = posiciones[fila];
+            nuevasVersiones[destino] = versiones[fila];
+            nuevosId[destino] = copiarTexto(anterior, textoId[fila]);
+            nuevosNombres[destino] = copiarTexto(anterior, textoNombres[fila]);
+            destino++;
+        }
+        edades = nuevasEdades;
+        textoId = nuevosId;
+        textoNombres = nuevosNombres;
+        hashId = nuevosHash;
+        posiciones = nuevasPosiciones;
+        versiones = nuevasVersiones;
+        borradas = new BitSet();
+        filas = destino;
+        compartido = false;
+        reconstruirTabla(vivas);
+    }
+
+    private void reconstruirTabla(int cantidad) {
+        int capacidad = Integer.highestOneBit(Math.max(16, cantidad + (cantidad >> 1)) - 1) << 1;
+        tabla = new int[capacidad];
+        ranurasOcupadas = 0;
+        for (int fila = 0; fila < filas; fila++) {
+            if (!borradas.get(fila)) ubicar(fila, hashId[fila]);
+        }
+    }
+
+    private void ubicar(int fila, int hash) {
+        int mascara = tabla.length - 1;
+        int i = mezclar(hash) & mascara;
+        while (tabla[i] != VACIA && tabla[i] != BORRADA) {
+            i = (i + 1) & mascara;
+        }
+        if (tabla[i] == VACIA) ranurasOcupadas++;
+        tabla[i] = fila + 1;
+    }
+
+    private int buscarRanura(byte[] id, int hash) {
+        int mascara = tabla.length - 1;
+        for (int i = mezclar(hash) & mascara; ; i = (i + 1) & mascara) {
+            int entrada = tabla[i];
+            if (entrada == VACIA) return -1;
+            if (entrada != BORRADA) {
+                int fila = entrada - 1;
+                if (hashId[fila] == hash && textoIgual(arena, textoId[fila], id)) return i;
+            }
+        }
+    }
+
+    private static int mezclar(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private int anexar(String texto) {
+        return texto == null ? -1 : anexar(texto.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private int anexar(byte[] bytes) {
+        int cabecera = bytes.length < 0x80 ? 1 : 4;
+        reservarArena(cabecera + bytes.length);
+        int inicio = usoArena;
+        if (cabecera == 1) {
+            arena[usoArena++] = (byte) bytes.length;
+        } else {
+            arena[usoArena++] = (byte) (0x80 | (bytes.length >>> 24));
+            arena[usoArena++] = (byte) (bytes.length >>> 16);
+            arena[usoArena++] = (byte) (bytes.length >>> 8);
+            arena[usoArena++] = (byte) bytes.length;
+        }
+        System.arraycopy(bytes, 0, arena, usoArena, bytes.length);
+        usoArena += bytes.length;
+        return inicio;
+    }
+
+    private int copiarTexto(byte[] origen, int inicio) {
+        if (inicio < 0) return -1;
+        int tamano = tamanoTexto(origen, inicio);
+        reservarArena(tamano);
+        System.arraycopy(origen, inicio, arena, usoArena, tamano);
+        usoArena += tamano;
+        return usoArena - tamano;
+    }
+
+    private void reservarArena(int bytes) {
+        if (usoArena + (long) bytes <= arena.length) return;
+
+        long necesario = usoArena + (long) bytes;
+        if (necesario > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("La arena de textos superó los 2 GB");
+        }
+        long capacidad = Math.max(necesario, Math.min(Integer.MAX_VALUE - 8, arena.length + ((long) arena.length >> 1)));
+        arena = Arrays.copyOf(arena, (int) capacidad);
+    }
+
+    private int tamanoTexto(int inicio) {
+        return inicio < 0 ? 0 : tamanoTexto(arena, inicio);
+    }
+
+    private static int tamanoTexto(byte[] arena, int inicio) {
+        byte primero = arena[inicio];
+        return primero >= 0 ? 1 + primero : 4 + longitud(arena, inicio);
+    }
+
+    private static int longitud(byte[] arena, int inicio) {
+        byte primero = arena[inicio];
+        if (primero >= 0) return primero;
+        return ((primero & 0x7F) << 24) | ((arena[inicio + 1] & 0xFF) << 16)
+                | ((arena[inicio + 2] & 0xFF) << 8) | (arena[inicio + 3] & 0xFF);
+    }
+
+    private static int datos(byte[] arena, int inicio) {
+        return inicio + (arena[inicio] >= 0 ? 1 : 4);
+    }
+
+    private static String texto(byte[] arena, int inicio) {
+        if (inicio < 0) return null;
+        return new String(arena, datos(arena, inicio), longitud(arena, inicio), StandardCharsets.UTF_8);
+    }
+
+    private static boolean textoIgual(byte[] arena, int inicio, byte[] texto) {
+        int desde = datos(arena, inicio);
+        return longitud(arena, inicio) == texto.length
+                && Arrays.equals(arena, desde, desde + texto.length, texto, 0, texto.length);
+    }
+
+    /**
+     * 1 si el texto empieza con el prefijo ASCII en minúsculas, 0 si no, y -1
+     * si aparece un byte no ASCII antes de decidir (hay que decodificar).
+     */
+    private static int empiezaConAscii(byte[] arena, int inicio, byte[] prefijo) {
+        int desde = datos(arena, inicio);
+        int largo = longitud(arena, inicio);
+        for (int i = 0; i < prefijo.length; i++) {
+            if (i >= largo) return 0;
+            byte b = arena[desde + i];
+            if (b < 0) return -1;
+            if (b >= 'A' && b <= 'Z') b += 'a' - 'A';
+            if (b != prefijo[i]) return 0;
+        }
+        return 1;
+    }
+
+    private static boolean esAscii(String texto) {
+        for (int i = 0; i < texto.length(); i++) {
+            if (texto.charAt(i) >= 0x80) return false;
+        }
+        return true;
+    }
+
+    private static Estudiante materializar(byte[] arena, int id, int nombres, int edad, long version) {
+        return new Estudiante(texto(arena, id), texto(arena, nombres), edad, version);
+    }
+
+    private static final Comparator<Estudiante> POR_EDAD =
+            Comparator.comparingInt(Estudiante::getEdad).thenComparing(Estudiante::getId);
+
+    private static final class Candidato {
+        private final String clave;
+        private final Estudiante estudiante;
+
+        Candidato(String clave, Estudiante estudiante) {
+            this.clave = clave;
+            this.estudiante = estudiante;
+        }
+    }
+
+    /**
+     * Lista del snapshot sobre columnas compartidas: cada {@code get} crea el
+     * {@link Estudiante} de esa fila.
+     */
+    private static final class Vista extends AbstractList<Estudiante> implements RandomAccess {
+        private final byte[] arena;
+        private final int[] textoId;
+        private final int[] textoNombres;
+        private final int[] edades;
+        private final long[] versiones;
+        private final int[] filas;
+        private final int cantidad;
+
+        Vista(byte[] arena, int[] textoId, int[] textoNombres, int[] edades, long[] versiones, int[] filas,
+                int cantidad) {
+            this.arena = arena;
+            this.textoId = textoId;
+            this.textoNombres = textoNombres;
+            this.edades = edades;
+            this.versiones = versiones;
+            this.filas = filas;
+            this.cantidad = cantidad;
+        }
+
+        @Override
+        public Estudiante get(int indice) {
+            if (indice < 0 || indice >= cantidad) throw new IndexOutOfBoundsException(indice);
+            int fila = filas == null ? indice : filas[indice];
+            return materializar(arena, textoId[fila], textoNombres[fila], edades[fila], versiones[fila]);
+        }
+
+        @Override
+        public int size() {
+            return cantidad;
+        }
+    }
+}
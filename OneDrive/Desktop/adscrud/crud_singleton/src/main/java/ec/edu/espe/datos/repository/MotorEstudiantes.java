@@ -0,0 +1,192 @@
+package ec.edu.espe.datos.repository;
+
+import ec.edu.espe.datos.model.Estudiante;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Operaciones que la capa de negocio necesita de un motor de almacenamiento
+ * de estudiantes. {@link EstudianteRepository} es la implementación de
+ * referencia; otros motores cambian la representación interna pero respetan
+ * el mismo contrato de orden, cursores, versiones y eventos.
+ */
+public interface MotorEstudiantes {
+
+    /**
+     * Agrega el estudiante si su ID no existe todavía; la comprobación y la
+     * inserción son atómicas. Retorna la versión con que quedó el registro,
+     * o 0 si el ID ya existía.
+     */
+    long agregar(Estudiante estudiante);
+
+    /**
+     * Agrega el lote completo; cada posición tiene la versión con que quedó
+     * ese estudiante, o 0 si su ID ya existía (incluido un ID repetido en el
+     * lote). Si alguno excede los límites del motor ({@link #limiteExcedido})
+     * lanza {@link IllegalArgumentException} sin agregar ninguno.
+     */
+    long[] agregarLote(List<Estudiante> lote);
+
+    /**
+     * Motivo por el que este motor no puede guardar esos datos aunque sean
+     * válidos para el modelo, o {@code null} si caben. Sirve para rechazar una
+     * fila de un lote sin que el motor rechace el lote entero.
+     */
+    default String limiteExcedido(String id, String nombres) {
+        return null;
+    }
+
+    boolean editar(String id, String nombres, int edad);
+
+    boolean eliminar(String id);
+
+    /**
+     * Edita solo si la versión del registro ({@link Estudiante#getVersion()})
+     * sigue siendo {@code versionEsperada}; la comparación y el reemplazo son
+     * atómicos y no detienen a los escritores de otros IDs. Retorna la nueva
+     * versión del registro, o 0 si el ID no existe o su versión ya cambió.
+     */
+    long editar(String id, String nombres, int edad, long versionEsperada);
+
+    /**
+     * Elimina solo si la versión del registro sigue siendo
+     * {@code versionEsperada}; {@code false} si el ID no existe o su versión
+     * ya cambió.
+     */
+    boolean eliminar(String id, long versionEsperada);
+
+    /**
+     * Aplica las operaciones en orden, como si se llamara a
+     * {@link #agregar}, {@link #editar} o {@link #eliminar} una por una, pero
+     * pagando una sola vez el candado y la espera de durabilidad del motor.
+     * Cada posición indica si esa operación se aplicó: {@code false} si el ID
+     * ya existía al crear o no existía al editar o eliminar. Si el motor
+     * rechaza algún dato, lanza {@link IllegalArgumentException} antes de
+     * aplicar cualquiera de ellas.
+     */
+    default boolean[] aplicarLote(List<OperacionLote> lote) {
+        boolean[] aplicadas = new boolean[lote.size()];
+        for (int i = 0; i < aplicadas.length; i++) {
+            OperacionLote operacion = lote.get(i);
+            switch (operacion.getTipo()) {
+                case CREAR:
+                    aplicadas[i] = agregar(new Estudiante(operacion.getId(), operacion.getNombres(), operacion.getEdad())) != 0;
+                    break;
+                case EDITAR:
+                    aplicadas[i] = editar(operacion.getId(), operacion.getNombres(), operacion.getEdad());
+                    break;
+                case ELIMINAR:
+                    aplicadas[i] = eliminar(operacion.getId());
+                    break;
+            }
+        }
+        return aplicadas;
+    }
+
+    Estudiante buscarPorId(String id);
+
+    default boolean existe(String id) {
+        return buscarPorId(id) != null;
+    }
+
+    /**
+     * Estudiantes con edad en [minima, maxima], ordenados por edad y luego
+     * por ID.
+     */
+    List<Estudiante> buscarPorRangoEdad(int minima, int maxima);
+
+    /**
+     * Estudiantes cuyo nombre empieza con el prefijo sin distinguir
+     * mayúsculas, ordenados por nombre normalizado y luego por ID.
+     */
+    List<Estudiante> buscarPorPrefijoNombre(String prefijo);
+
+    /**
+     * Estudiantes que cumplen el filtro, en orden de inserción. Recorre todo
+     * el padrón; los motores que pueden repartir el recorrido entre varios
+     * hilos lo hacen.
+     */
+    default List<Estudiante> filtrar(Predicate<? super Estudiante> filtro) {
+        List<Estudiante> resultado = new ArrayList<>();
+        for (Estudiante estudiante : snapshot().getEstudiantes()) {
+            if (filtro.test(estudiante)) resultado.add(estudiante);
+        }
+        return resultado;
+    }
+
+    default long contar(Predicate<? super Estudiante> filtro) {
+        long cantidad = 0;
+        for (Estudiante estudiante : snapshot().getEstudiantes()) {
+            if (filtro.test(estudiante)) cantidad++;
+        }
+        return cantidad;
+    }
+
+    /**
+     * Página que empieza justo después de {@code cursor} (o al inicio si es
+     * {@code null}) en el orden indicado.
+     */
+    Pagina<Estudiante> listarPagina(OrdenEstudiante criterio, String cursor, int limite);
+
+    /**
+     * Página por número (desde 0) en orden de inserción, tomada del snapshot
+     * vigente para que todas las páginas de una misma versión sean coherentes.
+     * Aquí el cursor siguiente es simplemente el número de la próxima página.
+     */
+    default Pagina<Estudiante> listarPagina(int pagina, int tamano) {
+        List<Estudiante> todos = snapshot().getEstudiantes();
+        long inicio = (long) pagina * tamano;
+        if (inicio >= todos.size()) {
+            return new Pagina<>(List.of(), null, todos.size());
+        }
+        int fin = (int) Math.min(todos.size(), inicio + tamano);
+        String siguiente = fin < todos.size() ? String.valueOf(pagina + 1) : null;
+        return new Pagina<>(todos.subList((int) inicio, fin), siguiente, todos.size());
+    }
+
+    default List<Estudiante> listar() {
+        return snapshot().getEstudiantes();
+    }
+
+    /**
+     * Vista inmutable en orden de inserción; se reutiliza mientras la
+     * versión no cambie.
+     */
+    EstudianteSnapshot snapshot();
+
+    /**
+     * Se incrementa en uno por cada cambio aplicado; los eventos llevan la
+     * versión resultante y el registro creado o editado queda con ella como
+     * su propia versión.
+     */
+    long version();
+
+    int tamano();
+
+    /**
+     * Cantidad, suma, mínimo, máximo y distribución de edades, coherentes
+     * con una sola versión. Los motores de este paquete los mantienen en
+     * cada escritura y responden sin recorrer el padrón; esta implementación
+     * por defecto sí lo recorre.
+     */
+    default EstadisticasEstudiantes estadisticas() {
+        EstudianteSnapshot actual = snapshot();
+        DistribucionEdades distribucion = new DistribucionEdades();
+        for (Estudiante estudiante : actual.getEstudiantes()) {
+            distribucion.agregar(estudiante.getEdad());
+        }
+        return distribucion.capturar(actual.getVersion());
+    }
+
+    /**
+     * Los eventos se publican después de aplicar (y, si corresponde,
+     * persistir) el cambio, fuera de cualquier candado del motor.
+     */
+    void agregarListener(EstudianteListener listener);
+
+    void quitarListener(EstudianteListener listener);
+
+    default void cerrar() {
+    }
+}
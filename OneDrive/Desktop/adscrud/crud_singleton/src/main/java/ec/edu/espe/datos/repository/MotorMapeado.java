@@ -0,0 +1,904 @@
+package ec.edu.espe.datos.repository;
+
+import ec.edu.espe.datos.model.Estudiante;
+import ec.edu.espe.datos.persistencia.ArchivoMapeado;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Motor que guarda los estudiantes fuera del heap, en archivos mapeados en
+ * memoria, para padrones más grandes que el heap:
+ * <ul>
+ * <li>{@code estudiantes.dat}: registros de tamaño fijo; los que se liberan
+ * forman una lista enlazada que reutiliza el próximo alta.</li>
+ * <li>{@code estudiantes.idx} y {@code estudiantes.idx2}: tabla hash abierta
+ * de ID a registro. Al crecer se reescribe en el otro archivo y la cabecera
+ * de datos pasa a apuntarlo; ninguno se renombra ni se reemplaza, porque
+ * Windows no lo permite mientras siga mapeado.</li>
+ * <li>{@code estudiantes.ord}: pares (posición, registro) en orden de
+ * inserción; las bajas dejan huecos que se compactan.</li>
+ * <li>{@code estudiantes.ver}: la versión de cada registro, un {@code long}
+ * por registro; los registros de 256 bytes no tienen espacio libre.</li>
+ * </ul>
+ * El heap solo crece con los objetos que se devuelven. Los datos se escriben
+ * directamente en el mapeo; {@link #cerrar()} los fuerza a disco y marca el
+ * cierre como limpio. Si al abrir la marca falta, índice y orden se
+ * reconstruyen a partir de los registros.
+ *
+ * <p>{@link #snapshot()} y {@link #listar()} materializan todo el padrón; con
+ * padrones grandes conviene {@link #listarPagina(OrdenEstudiante, String, int)}.
+ */
+public class MotorMapeado implements MotorEstudiantes {
+
+    public static final int MAXIMO_BYTES_ID = 62;
+    public static final int MAXIMO_BYTES_NOMBRES = 174;
+    private static final String ID_DEMASIADO_LARGO = "El ID no puede superar " + MAXIMO_BYTES_ID + " bytes";
+    private static final String NOMBRES_DEMASIADO_LARGOS =
+            "Los nombres no pueden superar " + MAXIMO_BYTES_NOMBRES + " bytes";
+
+    private static final int MAGICO = 0x4553544D;
+    private static final int FORMATO = 2;
+    private static final int FORMATO_SIN_VERSIONES = 1;
+    private static final String DATOS = "estudiantes.dat";
+    private static final String[] INDICES = {"estudiantes.idx", "estudiantes.idx2"};
+    private static final String ORDEN = "estudiantes.ord";
+    private static final String VERSIONES = "estudiantes.ver";
+    private static final long CUALQUIER_VERSION = -1;
+
+    // Cabecera de estudiantes.dat (ocupa un registro para no desalinear los bloques).
+    private static final int TAMANO_REGISTRO = 256;
+    private static final long CAB_MAGICO = 0;
+    private static final long CAB_FORMATO = 4;
+    private static final long CAB_LIMPIO = 8;
+    private static final long CAB_REGISTROS = 16;
+    private static final long CAB_LIBRE = 24;
+    private static final long CAB_SECUENCIA = 32;
+    private static final long CAB_VIVOS = 40;
+    private static final long CAB_VERSION = 48;
+    private static final long CAB_INDICE_ACTIVO = 56;
+
+    // Registro: [estado][pad][edad][posición o siguiente libre][idLen][id][nomLen][nombres]
+    private static final int REG_ESTADO = 0;
+    private static final int REG_EDAD = 4;
+    private static final int REG_POSICION = 8;
+    private static final int REG_ID = 16;
+    private static final int REG_NOMBRES = REG_ID + 2 + MAXIMO_BYTES_ID;
+    private static final byte LIBRE = 0;
+    private static final byte VIVO = 1;
+
+    // Índice: cabecera [capacidad][ocupadas] y ranuras [hash][registro + 1].
+    private static final int CAB_INDICE = 16;
+    private static final int VACIA = 0;
+    private static final int BORRADA = -1;
+
+    // Orden: cabecera [entradas][huecos] y entradas [posición][registro o -1].
+    private static final int CAB_ORDEN = 16;
+
+    private final ArchivoMapeado datos;
+    // Los dos archivos del índice quedan abiertos; indice es el vigente.
+    private final ArchivoMapeado[] indices;
+    private ArchivoMapeado indice;
+    private final ArchivoMapeado orden;
+    private final ArchivoMapeado versiones;
+
+    private final ReentrantReadWriteLock candado = new ReentrantReadWriteLock();
+    private final CopyOnWriteArrayList<EstudianteListener> listeners = new CopyOnWriteArrayList<>();
+    private volatile EstudianteSnapshot snapshot;
+    // Copias en el heap de los contadores de la cabecera, para leerlos sin candado.
+    private volatile long version;
+    private volatile int vivos;
+    // Se reconstruye al abrir con un recorrido secuencial de los registros;
+    // la cabecera no tiene espacio para guardarla.
+    private final DistribucionEdades distribucion = new DistribucionEdades();
+
+    private MotorMapeado(ArchivoMapeado datos, ArchivoMapeado[] indices, ArchivoMapeado orden,
+            ArchivoMapeado versiones) {
+        this.datos = datos;
+        this.indices = indices;
+        this.orden = orden;
+        this.versiones = versiones;
+    }
+
+    public static MotorMapeado abrir(Path directorio) throws IOException {
+        Files.createDirectories(directorio);
+        ArchivoMapeado datos = ArchivoMapeado.abrir(directorio.resolve(DATOS));
+        ArchivoMapeado[] indices = {
+            ArchivoMapeado.abrir(directorio.resolve(INDICES[0])),
+            ArchivoMapeado.abrir(directorio.resolve(INDICES[1]))
+        };
+        ArchivoMapeado orden = ArchivoMapeado.abrir(directorio.resolve(ORDEN));
+        ArchivoMapeado versiones = ArchivoMapeado.abrir(directorio.resolve(VERSIONES));
+        MotorMapeado motor = new MotorMapeado(datos, indices, orden, versiones);
+        motor.iniciar();
+        return motor;
+    }
+
+    private void iniciar() throws IOException {
+        int magico = datos.getInt(CAB_MAGICO);
+        int formato = datos.getInt(CAB_FORMATO);
+        indice = indices[datos.getInt(CAB_INDICE_ACTIVO) & 1];
+        if (magico == 0) {
+            datos.putInt(CAB_MAGICO, MAGICO);
+            datos.putInt(CAB_FORMATO, FORMATO);
+            datos.putLong(CAB_LIBRE, -1);
+            reconstruirIndice(0);
+            orden.putLong(0, 0);
+            orden.putLong(8, 0);
+        } else if (magico != MAGICO || (formato != FORMATO && formato != FORMATO_SIN_VERSIONES)) {
+            throw new IOException("estudiantes.dat no tiene un formato reconocido");
+        } else if (datos.getByte(CAB_LIMPIO) == 0) {
+            recuperar();
+        }
+        if (formato == FORMATO_SIN_VERSIONES) {
+            // Antes no existía estudiantes.ver: esos registros quedan en la versión 0
+            // hasta su próxima escritura.
+            datos.putInt(CAB_FORMATO, FORMATO);
+        }
+        datos.putByte(CAB_LIMPIO, (byte) 0);
+        version = datos.getLong(CAB_VERSION);
+        vivos = (int) datos.getLong(CAB_VIVOS);
+        long registros = datos.getLong(CAB_REGISTROS);
+        for (long registro = 0; registro < registros; registro++) {
+            long base = direccion(registro);
+            if (datos.getByte(base + REG_ESTADO) == VIVO) {
+                distribucion.agregar(datos.getInt(base + REG_EDAD));
+            }
+        }
+        snapshot = new EstudianteSnapshot(-1, new Estudiante[0], new long[0]);
+    }
+
+    public long agregar(Estudiante estudiante) {
+        byte[][] textos = codificar(estudiante);
+        CambioEstudiante cambio;
+        candado.writeLock().lock();
+        try {
+            cambio = insertar(estudiante, textos[0], textos[1]);
+        } finally {
+            candado.writeLock().unlock();
+        }
+        if (cambio == null) return 0;
+
+        publicar(cambio);
+        return cambio.getVersion();
+    }
+
+    public long[] agregarLote(List<Estudiante> lote) {
+        byte[][][] textos = new byte[lote.size()][][];
+        for (int i = 0; i < textos.length; i++) {
+            textos[i] = codificar(lote.get(i));
+        }
+
+        long[] agregados = new long[lote.size()];
+        List<CambioEstudiante> cambios = new ArrayList<>(lote.size());
+        candado.writeLock().lock();
+        try {
+            for (int i = 0; i < agregados.length; i++) {
+                CambioEstudiante cambio = insertar(lote.get(i), textos[i][0], textos[i][1]);
+                if (cambio != null) {
+                    agregados[i] = cambio.getVersion();
+                    cambios.add(cambio);
+                }
+            }
+        } finally {
+            candado.writeLock().unlock();
+        }
+        cambios.forEach(this::publicar);
+        return agregados;
+    }
+
+    private CambioEstudiante insertar(Estudiante estudiante, byte[] id, byte[] nombres) {
+        int hash = estudiante.getId().hashCode();
+        if (buscarRanura(id, hash) >= 0) return null;
+
+        try {
+            if ((indice.getLong(8) + 1) * 4 > capacidadIndice() * 3) {
+                reconstruirIndice(vivos + 1L);
+            }
+            long registro = reservarRegistro();
+            versiones.asegurar(versionDir(registro + 1));
+            long posicion = datos.getLong(CAB_SECUENCIA) + 1;
+            datos.putLong(CAB_SECUENCIA, posicion);
+
+            long base = direccion(registro);
+            datos.putInt(base + REG_EDAD, estudiante.getEdad());
+            datos.putLong(base + REG_POSICION, posicion);
+            escribirTexto(base + REG_ID, id);
+            escribirTexto(base + REG_NOMBRES, nombres);
+            datos.putByte(base + REG_ESTADO, VIVO);
+
+            ubicar(registro, hash);
+            anexarOrden(posicion, registro);
+            datos.putLong(CAB_VIVOS, ++vivos);
+            distribucion.agregar(estudiante.getEdad());
+            long asignada = siguienteVersion();
+            versiones.putLong(versionDir(registro), asignada);
+            return new CambioEstudiante(CambioEstudiante.Tipo.CREADO,
+                    new Estudiante(estudiante.getId(), estudiante.getNombres(), estudiante.getEdad(), asignada),
+                    posicion, asignada);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo ampliar el almacén mapeado", e);
+        }
+    }
+
+    public boolean editar(String id, String nombres, int edad) {
+        return editar(id, nombres, edad, CUALQUIER_VERSION) != 0;
+    }
+
+    @Override
+    public long editar(String id, String nombres, int edad, long versionEsperada) {
+        byte[] textoId = id.getBytes(StandardCharsets.UTF_8);
+        byte[] textoNombres = nombres == null ? null : nombres.getBytes(StandardCharsets.UTF_8);
+        validarNombres(textoNombres);
+
+        CambioEstudiante cambio;
+        candado.writeLock().lock();
+        try {
+            cambio = modificar(id, nombres, edad, textoId, textoNombres, versionEsperada);
+        } finally {
+            candado.writeLock().unlock();
+        }
+        if (cambio == null) return 0;
+
+        publicar(cambio);
+        return cambio.getVersion();
+    }
+
+    private CambioEstudiante modificar(String id, String nombres, int edad, byte[] textoId, byte[] textoNombres,
+            long versionEsperada) {
+        int ranura = buscarRanura(textoId, id.hashCode());
+        if (ranura < 0) return null;
+
+        long registro = registroEn(ranura);
+        if (versionEsperada != CUALQUIER_VERSION && versiones.getLong(versionDir(registro)) != versionEsperada) {
+            return null;
+        }
+        long base = direccion(registro);
+        distribucion.quitar(datos.getInt(base + REG_EDAD));
+        distribucion.agregar(edad);
+        datos.putInt(base + REG_EDAD, edad);
+        escribirTexto(base + REG_NOMBRES, textoNombres);
+        long asignada = siguienteVersion();
+        versiones.putLong(versionDir(registro), asignada);
+        return new CambioEstudiante(CambioEstudiante.Tipo.ACTUALIZADO, new Estudiante(id, nombres, edad, asignada),
+                datos.getLong(base + REG_POSICION), asignada);
+    }
+
+    public boolean eliminar(String id) {
+        return eliminar(id, CUALQUIER_VERSION);
+    }
+
+    @Override
+    public boolean eliminar(String id, long versionEsperada) {
+        byte[] textoId = id.getBytes(StandardCharsets.UTF_8);
+        CambioEstudiante cambio;
+        candado.writeLock().lock();
+        try {
+            cambio = quitar(id, textoId, versionEsperada);
+        } finally {
+            candado.writeLock().unlock();
+        }
+        if (cambio == null) return false;
+
+        publicar(cambio);
+        return true;
+    }
+
+    private CambioEstudiante quitar(String id, byte[] textoId, long versionEsperada) {
+        int ranura = buscarRanura(textoId, id.hashCode());
+        if (ranura < 0) return null;
+
+        long registro = registroEn(ranura);
+        if (versionEsperada != CUALQUIER_VERSION && versiones.getLong(versionDir(registro)) != versionEsperada) {
+            return null;
+        }
+        long base = direccion(registro);
+        Estudiante eliminado = leer(registro);
+        long posicion = datos.getLong(base + REG_POSICION);
+
+        indice.putInt(ranuraDir(ranura) + 4, BORRADA);
+        quitarOrden(posicion);
+        datos.putByte(base + REG_ESTADO, LIBRE);
+        datos.putLong(base + REG_POSICION, datos.getLong(CAB_LIBRE));
+        datos.putLong(CAB_LIBRE, registro);
+        datos.putLong(CAB_VIVOS, --vivos);
+        distribucion.quitar(eliminado.getEdad());
+        return new CambioEstudiante(CambioEstudiante.Tipo.ELIMINADO, eliminado, posicion, siguienteVersion());
+    }
+
+    /**
+     * Codifica y valida todo el lote antes de tomar el candado, así que un
+     * dato que no cabe en un registro rechaza el lote sin aplicar nada.
+     */
+    @Override
+    public boolean[] aplicarLote(List<OperacionLote> lote) {
+        Estudiante[] creados = new Estudiante[lote.size()];
+        byte[][][] textos = new byte[lote.size()][][];
+        for (int i = 0; i < textos.length; i++) {
+            OperacionLote operacion = lote.get(i);
+            switch (operacion.getTipo()) {
+                case CREAR:
+                    creados[i] = new Estudiante(operacion.getId(), operacion.getNombres(), operacion.getEdad());
+                    textos[i] = codificar(creados[i]);
+                    break;
+                case EDITAR:
+                    byte[] nombres = operacion.getNombres() == null
+                            ? null : operacion.getNombres().getBytes(StandardCharsets.UTF_8);
+                    validarNombres(nombres);
+                    textos[i] = new byte[][] {operacion.getId().getBytes(StandardCharsets.UTF_8), nombres};
+                    break;
+                default:
+                    textos[i] = new byte[][] {operacion.getId().getBytes(StandardCharsets.UTF_8)};
+                    break;
+            }
+        }
+
+        boolean[] aplicadas = new boolean[lote.size()];
+        List<CambioEstudiante> cambios = new ArrayList<>(lote.size());
+        candado.writeLock().lock();
+        try {
+            for (int i = 0; i < aplicadas.length; i++) {
+                OperacionLote operacion = lote.get(i);
+                CambioEstudiante cambio;
+                switch (operacion.getTipo()) {
+                    case CREAR:
+                        cambio = insertar(creados[i], textos[i][0], textos[i][1]);
+                        break;
+                    case EDITAR:
+                        cambio = modificar(operacion.getId(), operacion.getNombres(), operacion.getEdad(),
+                                textos[i][0], textos[i][1], CUALQUIER_VERSION);
+                        break;
+                    default:
+                        cambio = quitar(operacion.getId(), textos[i][0], CUALQUIER_VERSION);
+                        break;
+                }
+                if (cambio != null) {
+                    aplicadas[i] = true;
+                    cambios.add(cambio);
+                }
+            }
+        } finally {
+            candado.writeLock().unlock();
+        }
+        cambios.forEach(this::publicar);
+        return aplicadas;
+    }
+
+    public Estudiante buscarPorId(String id) {
+        candado.readLock().lock();
+        try {
+            int ranura = buscarRanura(id.getBytes(StandardCharsets.UTF_8), id.hashCode());
+            return ranura < 0 ? null : leer(registroEn(ranura));
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    public List<Estudiante> buscarPorRangoEdad(int minima, int maxima) {
+        List<Estudiante> resultado = new ArrayList<>();
+        candado.readLock().lock();
+        try {
+            long registros = datos.getLong(CAB_REGISTROS);
+            for (long registro = 0; registro < registros; registro++) {
+                long base = direccion(registro);
+                int edad = datos.getInt(base + REG_EDAD);
+                if (edad >= minima && edad <= maxima && datos.getByte(base + REG_ESTADO) == VIVO) {
+                    resultado.add(leer(registro));
+                }
+            }
+        } finally {
+            candado.readLock().unlock();
+        }
+        resultado.sort(POR_EDAD);
+        return resultado;
+    }
+
+    public List<Estudiante> buscarPorPrefijoNombre(String prefijo) {
+        String normalizado = IndiceNombres.normalizar(prefijo);
+        List<Estudiante> resultado = new ArrayList<>();
+        candado.readLock().lock();
+        try {
+            long registros = datos.getLong(CAB_REGISTROS);
+            for (long registro = 0; registro < registros; registro++) {
+                long base = direccion(registro);
+                if (datos.getByte(base + REG_ESTADO) != VIVO) continue;
+                String nombres = leerTexto(base + REG_NOMBRES);
+                if (nombres != null && IndiceNombres.normalizar(nombres).startsWith(normalizado)) {
+                    resultado.add(new Estudiante(leerTexto(base + REG_ID), nombres, datos.getInt(base + REG_EDAD),
+                            versiones.getLong(versionDir(registro))));
+                }
+            }
+        } finally {
+            candado.readLock().unlock();
+        }
+        resultado.sort(Comparator.comparing((Estudiante e) -> IndiceNombres.clave(e.getNombres(), e.getId())));
+        return resultado;
+    }
+
+    /**
+     * En orden de inserción la página se ubica por búsqueda binaria en
+     * {@code estudiantes.ord}; en los demás órdenes se selecciona con un
+     * recorrido completo de los registros.
+     */
+    public Pagina<Estudiante> listarPagina(OrdenEstudiante criterio, String cursor, int limite) {
+        String clave = cursor == null ? null : CursorPagina.decodificar(criterio, cursor);
+        candado.readLock().lock();
+        try {
+            switch (criterio) {
+                case INSERCION:
+                    return paginarPorInsercion(clave == null ? 0 : CursorPagina.posicion(clave), limite);
+                case ID:
+                    return paginarOrdenado(criterio, clave, limite, Estudiante::getId);
+                case NOMBRES:
+                    return paginarOrdenado(criterio, clave, limite,
+                            e -> e.getNombres() == null ? null : IndiceNombres.clave(e.getNombres(), e.getId()));
+                case EDAD:
+                    return paginarOrdenado(criterio, clave == null ? null : claveEdad(clave), limite,
+                            e -> claveEdad(e.getEdad(), e.getId()));
+                default:
+                    throw new IllegalArgumentException("Orden no soportado: " + criterio);
+            }
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    private Pagina<Estudiante> paginarPorInsercion(long despuesDe, int limite) {
+        long entradas = orden.getLong(0);
+        long entrada = primeraEntradaMayor(despuesDe, entradas);
+        List<Estudiante> elementos = new ArrayList<>(Math.min(limite, 1024));
+        long ultima = 0;
+        for (; entrada < entradas; entrada++) {
+            long registro = orden.getLong(entradaDir(entrada) + 8);
+            if (registro < 0) continue;
+            if (elementos.size() == limite) {
+                return new Pagina<>(elementos, CursorPagina.codificar(OrdenEstudiante.INSERCION, String.valueOf(ultima)), tamano());
+            }
+            elementos.add(leer(registro));
+            ultima = orden.getLong(entradaDir(entrada));
+        }
+        return new Pagina<>(elementos, null, tamano());
+    }
+
+    private Pagina<Estudiante> paginarOrdenado(OrdenEstudiante criterio, String despuesDe, int limite,
+            Function<Estudiante, String> claveDe) {
+        // Montículo de máximos con los limite + 1 menores que siguen al cursor.
+        PriorityQueue<Candidato> mejores = new PriorityQueue<>(Comparator.comparing((Candidato c) -> c.clave).reversed());
+        long registros = datos.getLong(CAB_REGISTROS);
+        for (long registro = 0; registro < registros; registro++) {
+            if (datos.getByte(direccion(registro) + REG_ESTADO) != VIVO) continue;
+            Estudiante est = leer(registro);
+            String clave = claveDe.apply(est);
+            if (clave == null || (despuesDe != null && clave.compareTo(despuesDe) <= 0)) continue;
+            if (mejores.size() <= limite) {
+                mejores.add(new Candidato(clave, est));
+            } else if (clave.compareTo(mejores.peek().clave) < 0) {
+                mejores.poll();
+                mejores.add(new Candidato(clave, est));
+            }
+        }
+
+        boolean hayMas = mejores.size() > limite;
+        if (hayMas) mejores.poll();
+        Estudiante[] elementos = new Estudiante[mejores.size()];
+        String ultima = hayMas ? mejores.peek().clave : null;
+        for (int i = elementos.length - 1; i >= 0; i--) {
+            elementos[i] = mejores.poll().estudiante;
+        }
+        String siguiente = hayMas ? CursorPagina.codificar(criterio, cursorDe(criterio, ultima)) : null;
+        return new Pagina<>(Arrays.asList(elementos), siguiente, tamano());
+    }
+
+    // Para ordenar por edad la clave lleva la edad con ancho fijo; el cursor
+    // público conserva el formato "edad:id" de los demás motores.
+    private static String claveEdad(int edad, String id) {
+        return String.format("%011d", (long) edad - Integer.MIN_VALUE) + ':' + id;
+    }
+
+    private static String claveEdad(String cursor) {
+        int separador = cursor.indexOf(':');
+        if (separador < 0) throw new IllegalArgumentException("Cursor inválido");
+        try {
+            return claveEdad(Integer.parseInt(cursor.substring(0, separador)), cursor.substring(separador + 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+    }
+
+    private static String cursorDe(OrdenEstudiante criterio, String clave) {
+        if (criterio != OrdenEstudiante.EDAD) return clave;
+        int separador = clave.indexOf(':');
+        return (Long.parseLong(clave.substring(0, separador)) + Integer.MIN_VALUE) + clave.substring(separador);
+    }
+
+    @Override
+    public EstadisticasEstudiantes estadisticas() {
+        candado.readLock().lock();
+        try {
+            return distribucion.capturar(version);
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    public EstudianteSnapshot snapshot() {
+        EstudianteSnapshot actual = snapshot;
+        if (actual.getVersion() == version()) return actual;
+
+        candado.readLock().lock();
+        try {
+            long vigente = version();
+            actual = snapshot;
+            if (actual.getVersion() == vigente) return actual;
+
+            int cantidad = tamano();
+            Estudiante[] registros = new Estudiante[cantidad];
+            long[] posiciones = new long[cantidad];
+            long entradas = orden.getLong(0);
+            int i = 0;
+            for (long entrada = 0; entrada < entradas; entrada++) {
+                long registro = orden.getLong(entradaDir(entrada) + 8);
+                if (registro < 0) continue;
+                posiciones[i] = orden.getLong(entradaDir(entrada));
+                registros[i++] = leer(registro);
+            }
+            actual = new EstudianteSnapshot(vigente, registros, posiciones);
+            snapshot = actual;
+            return actual;
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public int tamano() {
+        return vivos;
+    }
+
+    public void agregarListener(EstudianteListener listener) {
+        listeners.add(listener);
+    }
+
+    public void quitarListener(EstudianteListener listener) {
+        listeners.remove(listener);
+    }
+
+    private void publicar(CambioEstudiante cambio) {
+        for (EstudianteListener listener : listeners) {
+            try {
+                listener.alCambiar(cambio);
+            } catch (RuntimeException e) {
+                System.err.println("Listener de estudiantes falló: " + e.getMessage());
+            }
+        }
+    }
+
+    public void cerrar() {
+        candado.writeLock().lock();
+        try {
+            indices[0].close();
+            indices[1].close();
+            orden.close();
+            versiones.close();
+            datos.forzar();
+            datos.putByte(CAB_LIMPIO, (byte) 1);
+            datos.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    private long siguienteVersion() {
+        datos.putLong(CAB_VERSION, ++version);
+        return version;
+    }
+
+    @Override
+    public String limiteExcedido(String id, String nombres) {
+        if (id != null && id.getBytes(StandardCharsets.UTF_8).length > MAXIMO_BYTES_ID) {
+            return ID_DEMASIADO_LARGO;
+        }
+        if (nombres != null && nombres.getBytes(StandardCharsets.UTF_8).length > MAXIMO_BYTES_NOMBRES) {
+            return NOMBRES_DEMASIADO_LARGOS;
+        }
+        return null;
+    }
+
+    private static byte[][] codificar(Estudiante estudiante) {
+        byte[] id = estudiante.getId().getBytes(StandardCharsets.UTF_8);
+        if (id.length > MAXIMO_BYTES_ID) {
+            throw new IllegalArgumentException(ID_DEMASIADO_LARGO);
+        }
+        byte[] nombres = estudiante.getNombres() == null ? null : estudiante.getNombres().getBytes(StandardCharsets.UTF_8);
+        validarNombres(nombres);
+        return new byte[][] {id, nombres};
+    }
+
+    private static void validarNombres(byte[] nombres) {
+        if (nombres != null && nombres.length > MAXIMO_BYTES_NOMBRES) {
+            throw new IllegalArgumentException(NOMBRES_DEMASIADO_LARGOS);
+        }
+    }
+
+    private static long direccion(long registro) {
+        return (registro + 1) * TAMANO_REGISTRO;
+    }
+
+    private static long versionDir(long registro) {
+        return registro * 8;
+    }
+
+    private long reservarRegistro() throws IOException {
+        long libre = datos.getLong(CAB_LIBRE);
+        if (libre >= 0) {
+            datos.putLong(CAB_LIBRE, datos.getLong(direccion(libre) + REG_POSICION));
+            return libre;
+        }
+        long registro = datos.getLong(CAB_REGISTROS);
+        datos.asegurar(direccion(registro + 1));
+        datos.putLong(CAB_REGISTROS, registro + 1);
+        return registro;
+    }
+
+    private Estudiante leer(long registro) {
+        long base = direccion(registro);
+        return new Estudiante(leerTexto(base + REG_ID), leerTexto(base + REG_NOMBRES), datos.getInt(base + REG_EDAD),
+                versiones.getLong(versionDir(registro)));
+    }
+
+    private String leerTexto(long direccion) {
+        short largo = datos.getShort(direccion);
+        if (largo < 0) return null;
+        byte[] bytes = new byte[largo];
+        datos.get(direccion + 2, bytes, largo);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void escribirTexto(long direccion, byte[] texto) {
+        if (texto == null) {
+            datos.putShort(direccion, (short) -1);
+            return;
+        }
+        datos.putShort(direccion, (short) texto.length);
+        datos.put(direccion + 2, texto);
+    }
+
+    private boolean idIgual(long registro, byte[] id) {
+        long base = direccion(registro) + REG_ID;
+        if (datos.getShort(base) != id.length) return false;
+        for (int i = 0; i < id.length; i++) {
+            if (datos.getByte(base + 2 + i) != id[i]) return false;
+        }
+        return true;
+    }
+
+    // --- índice hash ---
+
+    private long capacidadIndice() {
+        return indice.getLong(0);
+    }
+
+    private static long ranuraDir(long ranura) {
+        return CAB_INDICE + ranura * 8;
+    }
+
+    private long registroEn(int ranura) {
+        return indice.getInt(ranuraDir(ranura) + 4) - 1L;
+    }
+
+    private static int mezclar(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private int buscarRanura(byte[] id, int hash) {
+        long mascara = capacidadIndice() - 1;
+        for (long i = mezclar(hash) & mascara; ; i = (i + 1) & mascara) {
+            long dir = ranuraDir(i);
+            int entrada = indice.getInt(dir + 4);
+            if (entrada == VACIA) return -1;
+            if (entrada != BORRADA && indice.getInt(dir) == hash && idIgual(entrada - 1L, id)) return (int) i;
+        }
+    }
+
+    private void ubicar(long registro, int hash) {
+        long mascara = capacidadIndice() - 1;
+        long i = mezclar(hash) & mascara;
+        while (indice.getInt(ranuraDir(i) + 4) > 0) {
+            i = (i + 1) & mascara;
+        }
+        if (indice.getInt(ranuraDir(i) + 4) == VACIA) indice.putLong(8, indice.getLong(8) + 1);
+        indice.putInt(ranuraDir(i), hash);
+        indice.putInt(ranuraDir(i) + 4, (int) (registro + 1));
+    }
+
+    /**
+     * Escribe una tabla nueva a partir de los registros vivos en el archivo
+     * del índice que no está vigente y recién entonces la cabecera de datos
+     * pasa a apuntarla, así nunca queda una tabla a medias. Si el proceso cae
+     * antes, el cierre no limpio hace que se vuelva a construir al abrir.
+     */
+    private void reconstruirIndice(long cantidad) throws IOException {
+        long capacidad = Long.highestOneBit(Math.max(1024, cantidad * 2) - 1) << 1;
+        int destino = indice == indices[0] ? 1 : 0;
+        ArchivoMapeado tabla = indices[destino];
+        tabla.asegurar(ranuraDir(capacidad));
+        for (long ranura = 0; ranura < capacidad; ranura++) {
+            tabla.putLong(ranuraDir(ranura), 0);
+        }
+        tabla.putLong(0, capacidad);
+        long ocupadas = 0;
+        long registros = datos.getLong(CAB_REGISTROS);
+        for (long registro = 0; registro < registros; registro++) {
+            long base = direccion(registro);
+            if (datos.getByte(base + REG_ESTADO) != VIVO) continue;
+            int hash = leerTexto(base + REG_ID).hashCode();
+            long i = mezclar(hash) & (capacidad - 1);
+            while (tabla.getInt(ranuraDir(i) + 4) != VACIA) {
+                i = (i + 1) & (capacidad - 1);
+            }
+            tabla.putInt(ranuraDir(i), hash);
+            tabla.putInt(ranuraDir(i) + 4, (int) (registro + 1));
+            ocupadas++;
+        }
+        tabla.putLong(8, ocupadas);
+        tabla.forzar();
+        datos.putInt(CAB_INDICE_ACTIVO, destino);
+        indice = tabla;
+    }
+
+    // --- orden de inserción ---
+
+    private static long entradaDir(long entrada) {
+        return CAB_ORDEN + entrada * 16;
+    }
+
+    private void anexarOrden(long posicion, long registro) throws IOException {
+        long entradas = orden.getLong(0);
+        orden.asegurar(entradaDir(entradas + 1));
+        orden.putLong(entradaDir(entradas), posicion);
+        orden.putLong(entradaDir(entradas) + 8, registro);
+        orden.putLong(0, entradas + 1);
+    }
+
+    private long primeraEntradaMayor(long posicion, long entradas) {
+        long desde = 0;
+        long hasta = entradas;
+        while (desde < hasta) {
+            long medio = (desde + hasta) >>> 1;
+            if (orden.getLong(entradaDir(medio)) <= posicion) {
+                desde = medio + 1;
+            } else {
+                hasta = medio;
+            }
+        }
+        return desde;
+    }
+
+    private void quitarOrden(long posicion) {
+        long entradas = orden.getLong(0);
+        long entrada = primeraEntradaMayor(posicion - 1, entradas);
+        orden.putLong(entradaDir(entrada) + 8, -1);
+        long huecos = orden.getLong(8) + 1;
+        orden.putLong(8, huecos);
+        if (huecos > entradas / 2 && entradas > 1024) compactarOrden(entradas);
+    }
+
+    private void compactarOrden(long entradas) {
+        long destino = 0;
+        for (long entrada = 0; entrada < entradas; entrada++) {
+            long registro = orden.getLong(entradaDir(entrada) + 8);
+            if (registro < 0) continue;
+            if (destino != entrada) {
+                orden.putLong(entradaDir(destino), orden.getLong(entradaDir(entrada)));
+                orden.putLong(entradaDir(destino) + 8, registro);
+            }
+            destino++;
+        }
+        orden.putLong(0, destino);
+        orden.putLong(8, 0);
+    }
+
+    /**
+     * Tras un cierre no limpio se rehacen lista libre, contadores, índice y
+     * orden a partir del estado de cada registro. Los pares (posición,
+     * registro) se ordenan dentro del propio {@code estudiantes.ord}, sin
+     * copiarlos al heap ni limitar el rango de ninguno de los dos.
+     */
+    private void recuperar() throws IOException {
+        long registros = datos.getLong(CAB_REGISTROS);
+        long libre = -1;
+        long cantidad = 0;
+        long secuencia = 0;
+        orden.asegurar(entradaDir(registros));
+        for (long registro = registros - 1; registro >= 0; registro--) {
+            long base = direccion(registro);
+            if (datos.getByte(base + REG_ESTADO) == VIVO) {
+                long posicion = datos.getLong(base + REG_POSICION);
+                secuencia = Math.max(secuencia, posicion);
+                orden.putLong(entradaDir(cantidad), posicion);
+                orden.putLong(entradaDir(cantidad) + 8, registro);
+                cantidad++;
+            } else {
+                datos.putLong(base + REG_POSICION, libre);
+                libre = registro;
+            }
+        }
+        datos.putLong(CAB_LIBRE, libre);
+        datos.putLong(CAB_VIVOS, cantidad);
+        datos.putLong(CAB_SECUENCIA, Math.max(secuencia, datos.getLong(CAB_SECUENCIA)));
+
+        ordenarPorPosicion(cantidad);
+        orden.putLong(0, cantidad);
+        orden.putLong(8, 0);
+        reconstruirIndice(cantidad);
+    }
+
+    /**
+     * Heapsort de las primeras {@code cantidad} entradas por posición; no
+     * necesita memoria extra.
+     */
+    private void ordenarPorPosicion(long cantidad) {
+        for (long i = cantidad / 2 - 1; i >= 0; i--) {
+            hundir(i, cantidad);
+        }
+        for (long fin = cantidad - 1; fin > 0; fin--) {
+            intercambiar(0, fin);
+            hundir(0, fin);
+        }
+    }
+
+    private void hundir(long i, long cantidad) {
+        while (true) {
+            long mayor = i;
+            long izquierda = 2 * i + 1;
+            long derecha = izquierda + 1;
+            if (izquierda < cantidad && posicionEn(izquierda) > posicionEn(mayor)) mayor = izquierda;
+            if (derecha < cantidad && posicionEn(derecha) > posicionEn(mayor)) mayor = derecha;
+            if (mayor == i) return;
+            intercambiar(i, mayor);
+            i = mayor;
+        }
+    }
+
+    private long posicionEn(long entrada) {
+        return orden.getLong(entradaDir(entrada));
+    }
+
+    private void intercambiar(long a, long b) {
+        long posicion = orden.getLong(entradaDir(a));
+        long registro = orden.getLong(entradaDir(a) + 8);
+        orden.putLong(entradaDir(a), orden.getLong(entradaDir(b)));
+        orden.putLong(entradaDir(a) + 8, orden.getLong(entradaDir(b) + 8));
+        orden.putLong(entradaDir(b), posicion);
+        orden.putLong(entradaDir(b) + 8, registro);
+    }
+
+    private static final Comparator<Estudiante> POR_EDAD =
+            Comparator.comparingInt(Estudiante::getEdad).thenComparing(Estudiante::getId);
+
+    private static final class Candidato {
+        private final String clave;
+        private final Estudiante estudiante;
+
+        Candidato(String clave, Estudiante estudiante) {
+            this.clave = clave;
+            this.estudiante = estudiante;
+        }
+    }
+}
@@ -0,0 +1,532 @@
+package ec.edu.espe.datos.repository;
+
+import ec.edu.espe.datos.model.Estudiante;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+
+/**
+ * Motor en memoria repartido en particiones por hash del ID. Cada partición
+ * tiene sus propios índices y su propio candado, así que las escrituras
+ * sobre IDs de particiones distintas no compiten entre sí y una operación
+ * puntual solo toca una partición.
+ *
+ * <p>Los recorridos (filtros, conteos, rangos, páginas y el snapshot que usa
+ * la exportación) se reparten entre las particiones en un
+ * {@link ForkJoinPool} y los resultados parciales, que ya vienen ordenados,
+ * se mezclan manteniendo el mismo orden que el motor de referencia. La
+ * posición de inserción y la versión son globales, así que cursores,
+ * snapshots y eventos conservan el contrato de {@link MotorEstudiantes}.
+ */
+public class MotorParticionado implements MotorEstudiantes {
+
+    private static final long CUALQUIER_VERSION = -1;
+    private static final Comparator<Estudiante> POR_EDAD =
+            Comparator.comparingInt(Estudiante::getEdad).thenComparing(Estudiante::getId);
+    private static final Comparator<Estudiante> POR_NOMBRES =
+            Comparator.comparing(e -> IndiceNombres.clave(e.getNombres(), e.getId()));
+
+    private final Particion[] particiones;
+    private final ForkJoinPool pool;
+    private final AtomicLong secuencia = new AtomicLong();
+    private final AtomicLong version = new AtomicLong();
+    private final DistribucionEdades distribucion = new DistribucionEdades();
+    private final CopyOnWriteArrayList<EstudianteListener> listeners = new CopyOnWriteArrayList<>();
+    private volatile EstudianteSnapshot snapshot = new EstudianteSnapshot(0, new Estudiante[0], new long[0]);
+
+    public MotorParticionado(int cantidad) {
+        this(cantidad, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param cantidad particiones; se redondea a la siguiente potencia de dos
+     * @param pool     donde se reparten los recorridos
+     */
+    public MotorParticionado(int cantidad, ForkJoinPool pool) {
+        if (cantidad <= 0) {
+            throw new IllegalArgumentException("La cantidad de particiones debe ser positiva");
+        }
+        int potencia = Integer.highestOneBit(cantidad) == cantidad ? cantidad : Integer.highestOneBit(cantidad) << 1;
+        particiones = new Particion[potencia];
+        for (int i = 0; i < potencia; i++) {
+            particiones[i] = new Particion();
+        }
+        this.pool = pool;
+    }
+
+    public int particiones() {
+        return particiones.length;
+    }
+
+    public long agregar(Estudiante estudiante) {
+        Particion particion = particion(estudiante.getId());
+        CambioEstudiante cambio;
+        particion.candado.writeLock().lock();
+        try {
+            cambio = particion.insertar(estudiante);
+        } finally {
+            particion.candado.writeLock().unlock();
+        }
+        if (cambio == null) return 0;
+
+        publicar(cambio);
+        return cambio.getVersion();
+    }
+
+    /**
+     * Toma solo los candados de las particiones que el lote toca y lo aplica
+     * en orden, así que posiciones, versiones y eventos salen como en el
+     * motor de referencia.
+     */
+    public long[] agregarLote(List<Estudiante> lote) {
+        long[] agregados = new long[lote.size()];
+        List<CambioEstudiante> cambios = new ArrayList<>(lote.size());
+        int[] destinos = bloquear(lote.size(), i -> lote.get(i).getId());
+        try {
+            for (int i = 0; i < lote.size(); i++) {
+                CambioEstudiante cambio = particiones[destinos[i]].insertar(lote.get(i));
+                if (cambio != null) {
+                    agregados[i] = cambio.getVersion();
+                    cambios.add(cambio);
+                }
+            }
+        } finally {
+            desbloquear(destinos);
+        }
+        cambios.forEach(this::publicar);
+        return agregados;
+    }
+
+    public boolean editar(String id, String nombres, int edad) {
+        return editar(id, nombres, edad, CUALQUIER_VERSION) != 0;
+    }
+
+    @Override
+    public long editar(String id, String nombres, int edad, long versionEsperada) {
+        Particion particion = particion(id);
+        CambioEstudiante cambio;
+        particion.candado.writeLock().lock();
+        try {
+            cambio = particion.modificar(id, nombres, edad, versionEsperada);
+        } finally {
+            particion.candado.writeLock().unlock();
+        }
+        if (cambio == null) return 0;
+
+        publicar(cambio);
+        return cambio.getVersion();
+    }
+
+    public boolean eliminar(String id) {
+        return eliminar(id, CUALQUIER_VERSION);
+    }
+
+    @Override
+    public boolean eliminar(String id, long versionEsperada) {
+        Particion particion = particion(id);
+        CambioEstudiante cambio;
+        particion.candado.writeLock().lock();
+        try {
+            cambio = particion.quitar(id, versionEsperada);
+        } finally {
+            particion.candado.writeLock().unlock();
+        }
+        if (cambio == null) return false;
+
+        publicar(cambio);
+        return true;
+    }
+
+    @Override
+    public boolean[] aplicarLote(List<OperacionLote> lote) {
+        boolean[] aplicadas = new boolean[lote.size()];
+        List<CambioEstudiante> cambios = new ArrayList<>(lote.size());
+        int[] destinos = bloquear(lote.size(), i -> lote.get(i).getId());
+        try {
+            for (int i = 0; i < lote.size(); i++) {
+                OperacionLote operacion = lote.get(i);
+                Particion particion = particiones[destinos[i]];
+                CambioEstudiante cambio;
+                switch (operacion.getTipo()) {
+                    case CREAR:
+                        cambio = particion.insertar(
+                                new Estudiante(operacion.getId(), operacion.getNombres(), operacion.getEdad()));
+                        break;
+                    case EDITAR:
+                        cambio = particion.modificar(operacion.getId(), operacion.getNombres(), operacion.getEdad(),
+                                CUALQUIER_VERSION);
+                        break;
+                    default:
+                        cambio = particion.quitar(operacion.getId(), CUALQUIER_VERSION);
+                        break;
+                }
+                if (cambio != null) {
+                    aplicadas[i] = true;
+                    cambios.add(cambio);
+                }
+            }
+        } finally {
+            desbloquear(destinos);
+        }
+        cambios.forEach(this::publicar);
+        return aplicadas;
+    }
+
+    public Estudiante buscarPorId(String id) {
+        Registro registro = particion(id).estudiantes.get(id);
+        return registro == null ? null : registro.estudiante;
+    }
+
+    @Override
+    public boolean existe(String id) {
+        return particion(id).estudiantes.containsKey(id);
+    }
+
+    public List<Estudiante> buscarPorRangoEdad(int minima, int maxima) {
+        return mezclar(enParalelo(p -> particiones[p].porEdad.rango(minima, maxima)), POR_EDAD, Integer.MAX_VALUE);
+    }
+
+    public List<Estudiante> buscarPorPrefijoNombre(String prefijo) {
+        return mezclar(enParalelo(p -> particiones[p].porNombres.prefijo(prefijo)), POR_NOMBRES, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Estudiante> filtrar(Predicate<? super Estudiante> filtro) {
+        List<List<Map.Entry<Long, Estudiante>>> partes = enParalelo(p -> {
+            List<Map.Entry<Long, Estudiante>> propios = new ArrayList<>();
+            for (Map.Entry<Long, Estudiante> entrada : particiones[p].orden.entrySet()) {
+                if (filtro.test(entrada.getValue())) propios.add(entrada);
+            }
+            return propios;
+        });
+        List<Map.Entry<Long, Estudiante>> mezcla = mezclar(partes, Map.Entry.comparingByKey(), Integer.MAX_VALUE);
+        List<Estudiante> resultado = new ArrayList<>(mezcla.size());
+        for (Map.Entry<Long, Estudiante> entrada : mezcla) {
+            resultado.add(entrada.getValue());
+        }
+        return resultado;
+    }
+
+    @Override
+    public long contar(Predicate<? super Estudiante> filtro) {
+        long cantidad = 0;
+        for (long parcial : enParalelo(p -> {
+            long propios = 0;
+            for (Registro registro : particiones[p].estudiantes.values()) {
+                if (filtro.test(registro.estudiante)) propios++;
+            }
+            return propios;
+        })) {
+            cantidad += parcial;
+        }
+        return cantidad;
+    }
+
+    /**
+     * Cada partición entrega hasta {@code limite + 1} entradas posteriores al
+     * cursor en su propio orden, y la página es el comienzo de su mezcla.
+     */
+    public Pagina<Estudiante> listarPagina(OrdenEstudiante criterio, String cursor, int limite) {
+        String clave = cursor == null ? null : CursorPagina.decodificar(criterio, cursor);
+        switch (criterio) {
+            case INSERCION:
+                Long posicion = clave == null ? null : CursorPagina.posicion(clave);
+                return paginar(p -> posicion == null
+                        ? particiones[p].orden : particiones[p].orden.tailMap(posicion, false),
+                        criterio, limite, String::valueOf);
+            case ID:
+                return paginar(p -> clave == null
+                        ? particiones[p].porId : particiones[p].porId.tailMap(clave, false),
+                        criterio, limite, id -> id);
+            case NOMBRES:
+                return paginar(p -> particiones[p].porNombres.desde(clave), criterio, limite, nombre -> nombre);
+            case EDAD:
+                return paginar(p -> particiones[p].porEdad.desde(clave), criterio, limite, IndiceEdad::cursor);
+            default:
+                throw new IllegalArgumentException("Orden no soportado: " + criterio);
+        }
+    }
+
+    private <K extends Comparable<? super K>> Pagina<Estudiante> paginar(IntFunction<NavigableMap<K, Estudiante>> vista,
+            OrdenEstudiante criterio, int limite, Function<K, String> claveCursor) {
+        List<List<Map.Entry<K, Estudiante>>> partes = enParalelo(p -> {
+            List<Map.Entry<K, Estudiante>> propios = new ArrayList<>(Math.min(limite + 1, 1024));
+            for (Map.Entry<K, Estudiante> entrada : vista.apply(p).entrySet()) {
+                if (propios.size() > limite) break;
+                propios.add(entrada);
+            }
+            return propios;
+        });
+        List<Map.Entry<K, Estudiante>> mezcla = mezclar(partes, Map.Entry.comparingByKey(), limite + 1);
+        boolean hayMas = mezcla.size() > limite;
+        List<Estudiante> elementos = new ArrayList<>(Math.min(limite, mezcla.size()));
+        for (int i = 0; i < Math.min(limite, mezcla.size()); i++) {
+            elementos.add(mezcla.get(i).getValue());
+        }
+        String siguiente = hayMas
+                ? CursorPagina.codificar(criterio, claveCursor.apply(mezcla.get(limite - 1).getKey())) : null;
+        return new Pagina<>(elementos, siguiente, tamano());
+    }
+
+    /**
+     * Detiene las escrituras de todas las particiones, copia cada una en
+     * paralelo y mezcla las copias por posición.
+     */
+    public EstudianteSnapshot snapshot() {
+        EstudianteSnapshot actual = snapshot;
+        if (actual.getVersion() == version.get()) return actual;
+
+        bloquearTodas();
+        try {
+            actual = snapshot;
+            long vigente = version.get();
+            if (actual.getVersion() == vigente) return actual;
+
+            List<Map.Entry<Long, Estudiante>> mezcla = mezclar(
+                    enParalelo(p -> new ArrayList<>(particiones[p].orden.entrySet())),
+                    Map.Entry.comparingByKey(), Integer.MAX_VALUE);
+            Estudiante[] registros = new Estudiante[mezcla.size()];
+            long[] posiciones = new long[mezcla.size()];
+            for (int i = 0; i < registros.length; i++) {
+                posiciones[i] = mezcla.get(i).getKey();
+                registros[i] = mezcla.get(i).getValue();
+            }
+            actual = new EstudianteSnapshot(vigente, registros, posiciones);
+            snapshot = actual;
+            return actual;
+        } finally {
+            desbloquearTodas();
+        }
+    }
+
+    @Override
+    public EstadisticasEstudiantes estadisticas() {
+        bloquearTodas();
+        try {
+            return distribucion.capturar(version.get());
+        } finally {
+            desbloquearTodas();
+        }
+    }
+
+    public long version() {
+        return version.get();
+    }
+
+    public int tamano() {
+        long total = 0;
+        for (Particion particion : particiones) {
+            total += particion.estudiantes.mappingCount();
+        }
+        return (int) total;
+    }
+
+    public void agregarListener(EstudianteListener listener) {
+        listeners.add(listener);
+    }
+
+    public void quitarListener(EstudianteListener listener) {
+        listeners.remove(listener);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "MotorParticionado[%d particiones, %d estudiantes]",
+                particiones.length, tamano());
+    }
+
+    private void publicar(CambioEstudiante cambio) {
+        for (EstudianteListener listener : listeners) {
+            try {
+                listener.alCambiar(cambio);
+            } catch (RuntimeException e) {
+                System.err.println("Listener de estudiantes falló: " + e.getMessage());
+            }
+        }
+    }
+
+    private Particion particion(String id) {
+        return particiones[indice(id)];
+    }
+
+    private int indice(String id) {
+        int h = id.hashCode() * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & (particiones.length - 1);
+    }
+
+    /**
+     * Toma el candado exclusivo de cada partición destino, en orden
+     * ascendente, y devuelve la partición de cada elemento.
+     */
+    private int[] bloquear(int cantidad, IntFunction<String> id) {
+        int[] destinos = new int[cantidad];
+        boolean[] tocadas = new boolean[particiones.length];
+        for (int i = 0; i < cantidad; i++) {
+            destinos[i] = indice(id.apply(i));
+            tocadas[destinos[i]] = true;
+        }
+        for (int p = 0; p < particiones.length; p++) {
+            if (tocadas[p]) particiones[p].candado.writeLock().lock();
+        }
+        return destinos;
+    }
+
+    private void desbloquear(int[] destinos) {
+        boolean[] tocadas = new boolean[particiones.length];
+        for (int destino : destinos) {
+            tocadas[destino] = true;
+        }
+        for (int p = particiones.length - 1; p >= 0; p--) {
+            if (tocadas[p]) particiones[p].candado.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Toma el candado de lectura de cada partición, siempre en el mismo
+     * orden ascendente, el mismo que usan los lotes, así que no hay ciclos.
+     */
+    private void bloquearTodas() {
+        for (Particion particion : particiones) {
+            particion.candado.readLock().lock();
+        }
+    }
+
+    private void desbloquearTodas() {
+        for (int p = particiones.length - 1; p >= 0; p--) {
+            particiones[p].candado.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ejecuta la tarea una vez por partición en el pool y devuelve los
+     * resultados en el orden de las particiones.
+     */
+    private <T> List<T> enParalelo(IntFunction<T> tarea) {
+        List<ForkJoinTask<T>> tareas = new ArrayList<>(particiones.length);
+        for (int p = 0; p < particiones.length; p++) {
+            int indice = p;
+            tareas.add(pool.submit(() -> tarea.apply(indice)));
+        }
+        List<T> resultados = new ArrayList<>(particiones.length);
+        for (ForkJoinTask<T> pendiente : tareas) {
+            resultados.add(pendiente.join());
+        }
+        return resultados;
+    }
+
+    /**
+     * Mezcla listas ya ordenadas en una sola, hasta {@code limite}
+     * elementos.
+     */
+    private static <T> List<T> mezclar(List<? extends List<T>> partes, Comparator<? super T> orden, int limite) {
+        int total = 0;
+        for (List<T> parte : partes) {
+            total += parte.size();
+        }
+        List<T> resultado = new ArrayList<>(Math.min(total, limite));
+        PriorityQueue<int[]> cabezas = new PriorityQueue<>(Math.max(1, partes.size()),
+                (a, b) -> orden.compare(partes.get(a[0]).get(a[1]), partes.get(b[0]).get(b[1])));
+        for (int p = 0; p < partes.size(); p++) {
+            if (!partes.get(p).isEmpty()) cabezas.add(new int[] {p, 0});
+        }
+        while (!cabezas.isEmpty() && resultado.size() < limite) {
+            int[] cabeza = cabezas.poll();
+            List<T> parte = partes.get(cabeza[0]);
+            resultado.add(parte.get(cabeza[1]));
+            if (++cabeza[1] < parte.size()) cabezas.add(cabeza);
+        }
+        return resultado;
+    }
+
+    private static final class Registro {
+        private final long posicion;
+        private final Estudiante estudiante;
+
+        Registro(long posicion, Estudiante estudiante) {
+            this.posicion = posicion;
+            this.estudiante = estudiante;
+        }
+    }
+
+    /**
+     * Una partición: los mismos índices que el motor de referencia, sobre
+     * colecciones concurrentes para que las lecturas no tomen el candado.
+     * Las escrituras toman el exclusivo; el compartido lo toman solo quienes
+     * necesitan detener las escrituras (snapshot y estadísticas).
+     */
+    private final class Particion {
+        private final ReentrantReadWriteLock candado = new ReentrantReadWriteLock();
+        private final ConcurrentHashMap<String, Registro> estudiantes = new ConcurrentHashMap<>();
+        private final ConcurrentSkipListMap<Long, Estudiante> orden = new ConcurrentSkipListMap<>();
+        private final ConcurrentSkipListMap<String, Estudiante> porId = new ConcurrentSkipListMap<>();
+        private final IndiceEdad porEdad = new IndiceEdad();
+        private final IndiceNombres porNombres = new IndiceNombres();
+
+        CambioEstudiante insertar(Estudiante estudiante) {
+            if (estudiantes.containsKey(estudiante.getId())) return null;
+
+            long posicion = secuencia.incrementAndGet();
+            long asignada = version.incrementAndGet();
+            Estudiante guardado = new Estudiante(estudiante.getId(), estudiante.getNombres(),
+                    estudiante.getEdad(), asignada);
+            estudiantes.put(guardado.getId(), new Registro(posicion, guardado));
+            orden.put(posicion, guardado);
+            indexar(guardado);
+            return new CambioEstudiante(CambioEstudiante.Tipo.CREADO, guardado, posicion, asignada);
+        }
+
+        CambioEstudiante modificar(String id, String nombres, int edad, long versionEsperada) {
+            Registro actual = estudiantes.get(id);
+            if (actual == null) return null;
+            if (versionEsperada != CUALQUIER_VERSION && actual.estudiante.getVersion() != versionEsperada) return null;
+
+            long asignada = version.incrementAndGet();
+            Estudiante editado = new Estudiante(id, nombres, edad, asignada);
+            estudiantes.put(id, new Registro(actual.posicion, editado));
+            orden.put(actual.posicion, editado);
+            desindexar(actual.estudiante);
+            indexar(editado);
+            return new CambioEstudiante(CambioEstudiante.Tipo.ACTUALIZADO, editado, actual.posicion, asignada);
+        }
+
+        CambioEstudiante quitar(String id, long versionEsperada) {
+            Registro actual = estudiantes.get(id);
+            if (actual == null) return null;
+            if (versionEsperada != CUALQUIER_VERSION && actual.estudiante.getVersion() != versionEsperada) return null;
+
+            estudiantes.remove(id);
+            orden.remove(actual.posicion);
+            desindexar(actual.estudiante);
+            return new CambioEstudiante(CambioEstudiante.Tipo.ELIMINADO, actual.estudiante, actual.posicion,
+                    version.incrementAndGet());
+        }
+
+        private void indexar(Estudiante estudiante) {
+            porId.put(estudiante.getId(), estudiante);
+            porEdad.agregar(estudiante);
+            porNombres.agregar(estudiante);
+            distribucion.agregar(estudiante.getEdad());
+        }
+
+        private void desindexar(Estudiante estudiante) {
+            porId.remove(estudiante.getId());
+            porEdad.quitar(estudiante);
+            porNombres.quitar(estudiante);
+            distribucion.quitar(estudiante.getEdad());
+        }
+    }
+}
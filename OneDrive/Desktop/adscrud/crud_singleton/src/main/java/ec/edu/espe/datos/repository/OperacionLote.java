@@ -0,0 +1,56 @@
+package ec.edu.espe.datos.repository;
+
+/**
+ * Una escritura dentro de un lote de {@link MotorEstudiantes#aplicarLote(java.util.List)}.
+ */
+public final class OperacionLote {
+
+    public enum Tipo {
+        CREAR,
+        EDITAR,
+        ELIMINAR
+    }
+
+    private final Tipo tipo;
+    private final String id;
+    private final String nombres;
+    private final int edad;
+
+    private OperacionLote(Tipo tipo, String id, String nombres, int edad) {
+        this.tipo = tipo;
+        this.id = id;
+        this.nombres = nombres;
+        this.edad = edad;
+    }
+
+    public static OperacionLote crear(String id, String nombres, int edad) {
+        return new OperacionLote(Tipo.CREAR, id, nombres, edad);
+    }
+
+    public static OperacionLote editar(String id, String nombres, int edad) {
+        return new OperacionLote(Tipo.EDITAR, id, nombres, edad);
+    }
+
+    public static OperacionLote eliminar(String id) {
+        return new OperacionLote(Tipo.ELIMINAR, id, null, 0);
+    }
+
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Nombres del estudiante creado o editado; {@code null} al eliminar.
+     */
+    public String getNombres() {
+        return nombres;
+    }
+
+    public int getEdad() {
+        return edad;
+    }
+}
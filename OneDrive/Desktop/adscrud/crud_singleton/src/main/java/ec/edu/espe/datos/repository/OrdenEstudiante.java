@@ -0,0 +1,8 @@
+package ec.edu.espe.datos.repository;
+
+public enum OrdenEstudiante {
+    INSERCION,
+    ID,
+    NOMBRES,
+    EDAD
+}
@@ -0,0 +1,14 @@
+package ec.edu.espe.datos.repository;
+
+import java.util.Properties;
+
+public class ProveedorColumnar implements ProveedorMotor {
+
+    public String getNombre() {
+        return "columnar";
+    }
+
+    public MotorEstudiantes crear(Properties configuracion) {
+        return new MotorColumnar();
+    }
+}
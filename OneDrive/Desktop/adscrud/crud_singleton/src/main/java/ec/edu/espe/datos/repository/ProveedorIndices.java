@@ -0,0 +1,27 @@
+package ec.edu.espe.datos.repository;
+
+import ec.edu.espe.datos.persistencia.PoliticaFsync;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Properties;
+
+/**
+ * Motor de referencia: {@link EstudianteRepository}, en memoria o con log y
+ * snapshots si se indica {@code estudiantes.datos}.
+ */
+public class ProveedorIndices implements ProveedorMotor {
+
+    public String getNombre() {
+        return "indices";
+    }
+
+    public MotorEstudiantes crear(Properties configuracion) throws IOException {
+        String directorio = configuracion.getProperty("estudiantes.datos");
+        if (directorio == null || directorio.isEmpty()) {
+            return EstudianteRepository.enMemoria();
+        }
+        PoliticaFsync politica = PoliticaFsync.valueOf(configuracion.getProperty("estudiantes.fsync", "PERIODICA"));
+        long intervaloMs = Long.parseLong(configuracion.getProperty("estudiantes.fsync.intervaloMs", "50"));
+        return EstudianteRepository.abrir(Paths.get(directorio), politica, intervaloMs);
+    }
+}
@@ -0,0 +1,20 @@
+package ec.edu.espe.datos.repository;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Properties;
+
+public class ProveedorMapeado implements ProveedorMotor {
+
+    public String getNombre() {
+        return "mapeado";
+    }
+
+    public MotorEstudiantes crear(Properties configuracion) throws IOException {
+        String directorio = configuracion.getProperty("estudiantes.datos");
+        if (directorio == null || directorio.isEmpty()) {
+            throw new IllegalArgumentException("El motor mapeado necesita la propiedad estudiantes.datos");
+        }
+        return MotorMapeado.abrir(Paths.get(directorio));
+    }
+}
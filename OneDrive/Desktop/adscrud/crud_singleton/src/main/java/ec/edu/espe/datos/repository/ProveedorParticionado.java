@@ -0,0 +1,21 @@
+package ec.edu.espe.datos.repository;
+
+import java.util.Properties;
+
+public class ProveedorParticionado implements ProveedorMotor {
+
+    public String getNombre() {
+        return "particionado";
+    }
+
+    /**
+     * {@code estudiantes.particiones} fija la cantidad de particiones; por
+     * defecto, cuatro por procesador.
+     */
+    public MotorEstudiantes crear(Properties configuracion) {
+        int predeterminadas = Runtime.getRuntime().availableProcessors() * 4;
+        int particiones = Integer.parseInt(configuracion.getProperty("estudiantes.particiones",
+                String.valueOf(predeterminadas)));
+        return new MotorParticionado(particiones);
+    }
+}
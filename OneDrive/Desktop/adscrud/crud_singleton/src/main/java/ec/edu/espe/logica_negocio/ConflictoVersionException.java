@@ -0,0 +1,17 @@
+package ec.edu.espe.logica_negocio;
+
+public class ConflictoVersionException extends IllegalArgumentException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long versionActual;
+
+    public ConflictoVersionException(long versionActual) {
+        super("El estudiante cambió desde que se leyó (versión vigente " + versionActual + ")");
+        this.versionActual = versionActual;
+    }
+
+    public long getVersionActual() {
+        return versionActual;
+    }
+}
@@ -0,0 +1,25 @@
+package ec.edu.espe.logica_negocio;
+
+public final class ErrorFila {
+
+    private final long linea;
+    private final String mensaje;
+
+    public ErrorFila(long linea, String mensaje) {
+        this.linea = linea;
+        this.mensaje = mensaje;
+    }
+
+    public long getLinea() {
+        return linea;
+    }
+
+    public String getMensaje() {
+        return mensaje;
+    }
+
+    @Override
+    public String toString() {
+        return "Línea " + linea + ": " + mensaje;
+    }
+}
@@ -0,0 +1,10 @@
+package ec.edu.espe.logica_negocio;
+
+public class EstudianteDuplicadoException extends IllegalArgumentException {
+
+    private static final long serialVersionUID = 1L;
+
+    public EstudianteDuplicadoException() {
+        super("El ID ya existe");
+    }
+}
@@ -0,0 +1,10 @@
+package ec.edu.espe.logica_negocio;
+
+public class EstudianteNoEncontradoException extends IllegalArgumentException {
+
+    private static final long serialVersionUID = 1L;
+
+    public EstudianteNoEncontradoException() {
+        super("Estudiante no encontrado");
+    }
+}
@@ -0,0 +1,155 @@
+package ec.edu.espe.logica_negocio;
+
+import ec.edu.espe.datos.formato.FormatoArchivo;
+import ec.edu.espe.datos.model.Estudiante;
+import ec.edu.espe.datos.repository.MotorEstudiantes;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Importa estudiantes por lotes: lee un lote de líneas, las valida en
+ * paralelo con {@link Estudiante#crear} y {@link MotorEstudiantes#limiteExcedido}
+ * y lo confirma con una sola llamada a
+ * {@link MotorEstudiantes#agregarLote}. La memoria usada depende del
+ * tamaño del lote, no del archivo.
+ */
+public class ImportadorEstudiantes {
+
+    public static final int MAXIMO_ERRORES = 10_000;
+    /** Tope de un registro que ocupa varias líneas, para que una comilla suelta no se trague el archivo. */
+    static final int MAXIMO_LARGO_REGISTRO = 64 * 1024;
+
+    private final MotorEstudiantes repository;
+    private final int tamanoLote;
+
+    public ImportadorEstudiantes(MotorEstudiantes repository, int tamanoLote) {
+        if (tamanoLote <= 0) {
+            throw new IllegalArgumentException("El tamaño de lote debe ser positivo");
+        }
+        this.repository = repository;
+        this.tamanoLote = tamanoLote;
+    }
+
+    /**
+     * Un campo CSV entre comillas puede seguir en las líneas siguientes,
+     * como los escribe el exportador; el error de un registro así se informa
+     * con el número de su primera línea.
+     */
+    public ResultadoImportacion importar(BufferedReader lector, FormatoArchivo formato) throws IOException {
+        Importacion importacion = new Importacion(formato);
+        long numeroLinea = 0;
+        long primeraLinea = 0;
+        StringBuilder registro = null;
+
+        String linea;
+        while ((linea = lector.readLine()) != null) {
+            numeroLinea++;
+            boolean abierto;
+            if (registro == null) {
+                if (linea.isBlank() || (numeroLinea == 1 && formato.esCabecera(linea))) continue;
+                primeraLinea = numeroLinea;
+                abierto = formato.cambiaComillas(linea);
+                if (abierto) registro = new StringBuilder(linea);
+            } else {
+                registro.append('\n').append(linea);
+                abierto = !formato.cambiaComillas(linea);
+                if (!abierto || registro.length() > MAXIMO_LARGO_REGISTRO) {
+                    linea = registro.toString();
+                    registro = null;
+                    abierto = false;
+                }
+            }
+            if (!abierto) importacion.agregarLinea(primeraLinea, linea);
+        }
+        if (registro != null) importacion.agregarLinea(primeraLinea, registro.toString());
+        importacion.confirmarLote();
+        return importacion.resultado();
+    }
+
+    private final class Importacion {
+        private final FormatoArchivo formato;
+        private final String[] lineas = new String[tamanoLote];
+        private final long[] numeros = new long[tamanoLote];
+        private final Object[] validados = new Object[tamanoLote];
+        private final List<ErrorFila> errores = new ArrayList<>();
+        private int cantidad;
+        private long filas;
+        private long importados;
+        private long rechazados;
+
+        private Importacion(FormatoArchivo formato) {
+            this.formato = formato;
+        }
+
+        private void agregarLinea(long numero, String linea) {
+            lineas[cantidad] = linea;
+            numeros[cantidad] = numero;
+            cantidad++;
+            if (cantidad == tamanoLote) confirmarLote();
+        }
+
+        private void confirmarLote() {
+            if (cantidad == 0) return;
+
+            IntStream.range(0, cantidad).parallel().forEach(i -> validados[i] = validar(formato, lineas[i]));
+
+            List<Estudiante> lote = new ArrayList<>(cantidad);
+            int[] filasDelLote = new int[cantidad];
+            for (int i = 0; i < cantidad; i++) {
+                if (validados[i] instanceof Estudiante) {
+                    filasDelLote[lote.size()] = i;
+                    lote.add((Estudiante) validados[i]);
+                } else {
+                    rechazar(numeros[i], (String) validados[i]);
+                }
+            }
+
+            long[] agregados = repository.agregarLote(lote);
+            for (int j = 0; j < agregados.length; j++) {
+                if (agregados[j] != 0) {
+                    importados++;
+                } else {
+                    rechazar(numeros[filasDelLote[j]], "El ID ya existe: " + lote.get(j).getId());
+                }
+            }
+
+            filas += cantidad;
+            cantidad = 0;
+        }
+
+        private void rechazar(long linea, String mensaje) {
+            rechazados++;
+            if (errores.size() < MAXIMO_ERRORES) {
+                errores.add(new ErrorFila(linea, mensaje));
+            }
+        }
+
+        private ResultadoImportacion resultado() {
+            return new ResultadoImportacion(filas, importados, rechazados, errores);
+        }
+    }
+
+    /**
+     * Además del modelo aplica los límites del motor, para que una fila que
+     * no cabe quede como error propio en vez de hacer fallar el lote entero.
+     */
+    private Object validar(FormatoArchivo formato, String linea) {
+        try {
+            String[] campos = formato.leer(linea);
+            int edad;
+            try {
+                edad = Integer.parseInt(campos[2] == null ? "" : campos[2].trim());
+            } catch (NumberFormatException e) {
+                return "Edad inválida: " + campos[2];
+            }
+            Estudiante estudiante = Estudiante.crear(campos[0], campos[1], edad);
+            String limite = repository.limiteExcedido(estudiante.getId(), estudiante.getNombres());
+            return limite != null ? limite : estudiante;
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+    }
+}
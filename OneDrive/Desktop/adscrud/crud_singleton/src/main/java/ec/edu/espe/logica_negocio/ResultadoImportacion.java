@@ -0,0 +1,40 @@
+package ec.edu.espe.logica_negocio;
+
+import java.util.Collections;
+import java.util.List;
+
+public final class ResultadoImportacion {
+
+    private final long filasLeidas;
+    private final long importados;
+    private final long rechazados;
+    private final List<ErrorFila> errores;
+
+    ResultadoImportacion(long filasLeidas, long importados, long rechazados, List<ErrorFila> errores) {
+        this.filasLeidas = filasLeidas;
+        this.importados = importados;
+        this.rechazados = rechazados;
+        this.errores = Collections.unmodifiableList(errores);
+    }
+
+    public long getFilasLeidas() {
+        return filasLeidas;
+    }
+
+    public long getImportados() {
+        return importados;
+    }
+
+    public long getRechazados() {
+        return rechazados;
+    }
+
+    /**
+     * Detalle de las filas rechazadas; se conservan como máximo
+     * {@link ImportadorEstudiantes#MAXIMO_ERRORES} aunque {@link #getRechazados()}
+     * cuente todas.
+     */
+    public List<ErrorFila> getErrores() {
+        return errores;
+    }
+}
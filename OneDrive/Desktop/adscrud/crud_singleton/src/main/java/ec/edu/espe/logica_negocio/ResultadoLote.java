@@ -0,0 +1,30 @@
+package ec.edu.espe.logica_negocio;
+
+import java.util.Collections;
+import java.util.List;
+
+public final class ResultadoLote {
+
+    private final List<ResultadoOperacion> resultados;
+    private final int aplicadas;
+
+    ResultadoLote(List<ResultadoOperacion> resultados, int aplicadas) {
+        this.resultados = Collections.unmodifiableList(resultados);
+        this.aplicadas = aplicadas;
+    }
+
+    /**
+     * Un resultado por operación, en el mismo orden del lote.
+     */
+    public List<ResultadoOperacion> getResultados() {
+        return resultados;
+    }
+
+    public int getAplicadas() {
+        return aplicadas;
+    }
+
+    public int getRechazadas() {
+        return resultados.size() - aplicadas;
+    }
+}
@@ -0,0 +1,60 @@
+package ec.edu.espe.logica_negocio.busqueda;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Parte un texto en términos en minúsculas y sin tildes ni diéresis, de
+ * modo que "José Núñez" y "jose nunez" producen los mismos términos.
+ */
+final class Tokenizador {
+
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+    // Letra base en minúscula de U+00C0..U+00FF; '\0' si no tiene una.
+    private static final String LATIN1 =
+            "aaaaaa\0ceeeeiiii" + "\0nooooo\0\0uuuuy\0\0" + "aaaaaa\0ceeeeiiii" + "\0nooooo\0\0uuuuy\0y";
+
+    private Tokenizador() {
+    }
+
+    static List<String> terminos(String texto) {
+        List<String> terminos = new ArrayList<>(4);
+        if (texto == null) return terminos;
+
+        String plano = normalizar(texto);
+        int inicio = -1;
+        for (int i = 0; i <= plano.length(); i++) {
+            boolean parte = i < plano.length() && Character.isLetterOrDigit(plano.charAt(i));
+            if (parte && inicio < 0) {
+                inicio = i;
+            } else if (!parte && inicio >= 0) {
+                terminos.add(plano.substring(inicio, i));
+                inicio = -1;
+            }
+        }
+        return terminos;
+    }
+
+    /**
+     * Minúsculas sin marcas diacríticas. Los textos en Latin-1 (el caso de
+     * casi todos los nombres en español) se resuelven con una tabla; el resto
+     * pasa por la descomposición Unicode.
+     */
+    static String normalizar(String texto) {
+        char[] letras = null;
+        for (int i = 0; i < texto.length(); i++) {
+            char letra = texto.charAt(i);
+            if (letra < 0xC0) continue;
+            if (letra > 0xFF || LATIN1.charAt(letra - 0xC0) == '\0') {
+                String separado = Normalizer.normalize(texto, Normalizer.Form.NFD);
+                return MARCAS.matcher(separado).replaceAll("").toLowerCase(Locale.ROOT);
+            }
+            if (letras == null) letras = texto.toCharArray();
+            letras[i] = LATIN1.charAt(letra - 0xC0);
+        }
+        return (letras == null ? texto : new String(letras)).toLowerCase(Locale.ROOT);
+    }
+}
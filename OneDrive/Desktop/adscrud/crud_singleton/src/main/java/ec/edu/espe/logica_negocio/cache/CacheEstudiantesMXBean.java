@@ -0,0 +1,24 @@
+package ec.edu.espe.logica_negocio.cache;
+
+public interface CacheEstudiantesMXBean {
+
+    int getCapacidad();
+
+    long getTtlSegundos();
+
+    int getEntradas();
+
+    long getAciertos();
+
+    long getAciertosNegativos();
+
+    long getFallos();
+
+    long getDesalojos();
+
+    long getExpirados();
+
+    double getTasaAciertos();
+
+    void limpiar();
+}
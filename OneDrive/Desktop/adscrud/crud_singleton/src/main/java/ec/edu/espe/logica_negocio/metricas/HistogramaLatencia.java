@@ -0,0 +1,88 @@
+package ec.edu.espe.logica_negocio.metricas;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma log-lineal de latencias en nanosegundos al estilo HDR: cada
+ * potencia de dos se divide en 32 cubetas, así que cualquier percentil se
+ * reporta con un error relativo menor al 3.2 % sin importar la magnitud.
+ * Registrar un valor no reserva memoria ni toma candados.
+ */
+public final class HistogramaLatencia {
+
+    private static final int BITS_SUBCUBETA = 5;
+    private static final int SUBCUBETAS = 1 << BITS_SUBCUBETA;
+    private static final int CUBETAS = (Long.SIZE - BITS_SUBCUBETA + 1) * SUBCUBETAS;
+
+    private final AtomicLongArray cuentas = new AtomicLongArray(CUBETAS);
+    private final LongAdder cantidad = new LongAdder();
+    private final LongAdder suma = new LongAdder();
+    private final LongAccumulator maximo = new LongAccumulator(Math::max, 0);
+
+    public void registrar(long nanos) {
+        long valor = Math.max(0, nanos);
+        cuentas.incrementAndGet(indice(valor));
+        cantidad.increment();
+        suma.add(valor);
+        maximo.accumulate(valor);
+    }
+
+    public long getCantidad() {
+        return cantidad.sum();
+    }
+
+    public long getMaximo() {
+        return maximo.get();
+    }
+
+    public double getMedia() {
+        long n = cantidad.sum();
+        return n == 0 ? 0 : (double) suma.sum() / n;
+    }
+
+    /**
+     * Valor bajo el cual cae la fracción {@code cuantil} (0..1] de las
+     * mediciones, redondeado al límite superior de su cubeta.
+     */
+    public long percentil(double cuantil) {
+        long total = 0;
+        for (int i = 0; i < CUBETAS; i++) {
+            total += cuentas.get(i);
+        }
+        if (total == 0) return 0;
+
+        long objetivo = Math.max(1, (long) Math.ceil(cuantil * total));
+        long acumulado = 0;
+        for (int i = 0; i < CUBETAS; i++) {
+            acumulado += cuentas.get(i);
+            if (acumulado >= objetivo) {
+                return Math.min(limiteSuperior(i), maximo.get());
+            }
+        }
+        return maximo.get();
+    }
+
+    public void reiniciar() {
+        for (int i = 0; i < CUBETAS; i++) {
+            cuentas.set(i, 0);
+        }
+        cantidad.reset();
+        suma.reset();
+        maximo.reset();
+    }
+
+    static int indice(long valor) {
+        if (valor < SUBCUBETAS) return (int) valor;
+        int desplazamiento = 63 - Long.numberOfLeadingZeros(valor) - BITS_SUBCUBETA;
+        return ((desplazamiento + 1) << BITS_SUBCUBETA) + (int) ((valor >>> desplazamiento) & (SUBCUBETAS - 1));
+    }
+
+    static long limiteSuperior(int indice) {
+        if (indice < SUBCUBETAS) return indice;
+        int desplazamiento = (indice >> BITS_SUBCUBETA) - 1;
+        long inferior = (long) (SUBCUBETAS + (indice & (SUBCUBETAS - 1))) << desplazamiento;
+        return inferior + (1L << desplazamiento) - 1;
+    }
+}
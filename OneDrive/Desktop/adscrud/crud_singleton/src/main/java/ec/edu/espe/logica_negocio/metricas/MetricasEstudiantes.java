@@ -0,0 +1,169 @@
+package ec.edu.espe.logica_negocio.metricas;
+
+import ec.edu.espe.datos.replicacion.ReplicaMXBean;
+import ec.edu.espe.datos.repository.MotorEstudiantes;
+import ec.edu.espe.datos.repository.Motores;
+import ec.edu.espe.logica_negocio.cache.CacheEstudiantes;
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Métricas por operación del servicio más el tamaño del repositorio y, en
+ * una réplica, su retraso respecto del líder. Se publican como MXBeans bajo
+ * el dominio {@value #DOMINIO_JMX} y como texto con
+ * {@link #volcarTexto(StringBuilder)}.
+ */
+public final class MetricasEstudiantes implements RepositorioMetricasMXBean {
+
+    public static final String DOMINIO_JMX = "ec.edu.espe.estudiantes";
+    private static final double[] CUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private final MotorEstudiantes repository;
+    private final MetricasOperacion[] operaciones;
+    private volatile CacheEstudiantes cache;
+    private MBeanServer servidor;
+
+    public MetricasEstudiantes(MotorEstudiantes repository) {
+        this.repository = repository;
+        Operacion[] todas = Operacion.values();
+        operaciones = new MetricasOperacion[todas.length];
+        for (Operacion operacion : todas) {
+            operaciones[operacion.ordinal()] = new MetricasOperacion(operacion);
+        }
+    }
+
+    private static class Holder {
+        private static final MetricasEstudiantes INSTANCE = crear();
+    }
+
+    /**
+     * Métricas del motor predeterminado, registradas en el servidor de MBeans
+     * de la plataforma la primera vez que se piden.
+     */
+    public static MetricasEstudiantes getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    private static MetricasEstudiantes crear() {
+        MetricasEstudiantes metricas = new MetricasEstudiantes(Motores.predeterminado());
+        try {
+            metricas.registrarJmx(ManagementFactory.getPlatformMBeanServer());
+        } catch (JMException e) {
+            System.err.println("No se pudieron registrar las métricas en JMX: " + e.getMessage());
+        }
+        return metricas;
+    }
+
+    public MetricasOperacion de(Operacion operacion) {
+        return operaciones[operacion.ordinal()];
+    }
+
+    @Override
+    public int getTamano() {
+        return repository.tamano();
+    }
+
+    @Override
+    public long getVersion() {
+        return repository.version();
+    }
+
+    /**
+     * Incluye las estadísticas de la caché en el volcado de texto y, si las
+     * métricas ya están en JMX, la publica como {@code type=Cache}; reemplaza
+     * a la caché observada antes.
+     */
+    public synchronized void observarCache(CacheEstudiantes cache) {
+        this.cache = cache;
+        if (servidor != null) {
+            try {
+                registrarCacheJmx();
+            } catch (JMException e) {
+                System.err.println("No se pudo registrar la caché en JMX: " + e.getMessage());
+            }
+        }
+    }
+
+    public synchronized void registrarJmx(MBeanServer servidor) throws JMException {
+        servidor.registerMBean(this, new ObjectName(DOMINIO_JMX + ":type=Repositorio"));
+        for (MetricasOperacion metricas : operaciones) {
+            servidor.registerMBean(metricas,
+                    new ObjectName(DOMINIO_JMX + ":type=Operacion,name=" + metricas.getOperacion().getNombre()));
+        }
+        if (repository instanceof ReplicaMXBean) {
+            servidor.registerMBean(repository, new ObjectName(DOMINIO_JMX + ":type=Replica"));
+        }
+        this.servidor = servidor;
+        if (cache != null) {
+            registrarCacheJmx();
+        }
+    }
+
+    private void registrarCacheJmx() throws JMException {
+        ObjectName nombre = new ObjectName(DOMINIO_JMX + ":type=Cache");
+        if (servidor.isRegistered(nombre)) {
+            servidor.unregisterMBean(nombre);
+        }
+        servidor.registerMBean(cache, nombre);
+    }
+
+    /**
+     * Escribe las métricas en formato de exposición de texto (compatible con
+     * Prometheus): una línea por valor, latencias en microsegundos.
+     */
+    public void volcarTexto(StringBuilder salida) {
+        salida.append("estudiantes_repositorio_tamano ").append(getTamano()).append('\n');
+        salida.append("estudiantes_repositorio_version ").append(getVersion()).append('\n');
+        for (MetricasOperacion metricas : operaciones) {
+            String etiqueta = "{operacion=\"" + metricas.getOperacion().getNombre() + "\"";
+            linea(salida, "estudiantes_operacion_exitos", etiqueta, "", metricas.getExitos());
+            linea(salida, "estudiantes_operacion_rechazos", etiqueta, "", metricas.getRechazos());
+            linea(salida, "estudiantes_operacion_fallos", etiqueta, "", metricas.getFallos());
+            linea(salida, "estudiantes_operacion_conflictos", etiqueta, "", metricas.getConflictos());
+            HistogramaLatencia latencias = metricas.getLatencias();
+            for (double cuantil : CUANTILES) {
+                linea(salida, "estudiantes_operacion_latencia_us", etiqueta,
+                        ",cuantil=\"" + cuantil + "\"", latencias.percentil(cuantil) / 1_000.0);
+            }
+            linea(salida, "estudiantes_operacion_latencia_us_media", etiqueta, "", latencias.getMedia() / 1_000.0);
+            linea(salida, "estudiantes_operacion_latencia_us_max", etiqueta, "", latencias.getMaximo() / 1_000.0);
+        }
+        CacheEstudiantes cache = this.cache;
+        if (cache != null) {
+            salida.append("estudiantes_cache_entradas ").append(cache.getEntradas()).append('\n');
+            linea(salida, "estudiantes_cache_aciertos", "{tipo=\"positivo\"", "", cache.getAciertos());
+            linea(salida, "estudiantes_cache_aciertos", "{tipo=\"negativo\"", "", cache.getAciertosNegativos());
+            salida.append("estudiantes_cache_fallos ").append(cache.getFallos()).append('\n');
+            salida.append("estudiantes_cache_desalojos ").append(cache.getDesalojos()).append('\n');
+            salida.append("estudiantes_cache_expirados ").append(cache.getExpirados()).append('\n');
+        }
+        if (repository instanceof ReplicaMXBean) {
+            ReplicaMXBean replica = (ReplicaMXBean) repository;
+            salida.append("estudiantes_replicacion_conectada ").append(replica.isConectada() ? 1 : 0).append('\n');
+            salida.append("estudiantes_replicacion_version_aplicada ").append(replica.getVersionAplicada()).append('\n');
+            salida.append("estudiantes_replicacion_version_lider ").append(replica.getVersionLider()).append('\n');
+            salida.append("estudiantes_replicacion_retraso_versiones ").append(replica.getRetrasoVersiones()).append('\n');
+            salida.append("estudiantes_replicacion_retraso_ms ").append(replica.getRetrasoMs()).append('\n');
+            salida.append("estudiantes_replicacion_ms_sin_contacto ").append(replica.getMsDesdeUltimoContacto()).append('\n');
+            salida.append("estudiantes_replicacion_sincronizaciones ").append(replica.getSincronizaciones()).append('\n');
+        }
+    }
+
+    public String volcarTexto() {
+        StringBuilder salida = new StringBuilder(4096);
+        volcarTexto(salida);
+        return salida.toString();
+    }
+
+    private static void linea(StringBuilder salida, String nombre, String etiqueta, String extra, long valor) {
+        salida.append(nombre).append(etiqueta).append(extra).append("} ").append(valor).append('\n');
+    }
+
+    private static void linea(StringBuilder salida, String nombre, String etiqueta, String extra, double valor) {
+        salida.append(nombre).append(etiqueta).append(extra).append("} ")
+                .append(String.format(Locale.ROOT, "%.3f", valor)).append('\n');
+    }
+}
@@ -0,0 +1,116 @@
+package ec.edu.espe.logica_negocio.metricas;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores y latencias de una operación. Los rechazos son las
+ * {@link IllegalArgumentException} (validación, duplicados, no encontrados,
+ * conflictos de versión); los fallos, cualquier otra excepción. Los
+ * conflictos se cuentan además por separado, como medida de contención.
+ */
+public final class MetricasOperacion implements OperacionMetricasMXBean {
+
+    private final Operacion operacion;
+    private final LongAdder exitos = new LongAdder();
+    private final LongAdder rechazos = new LongAdder();
+    private final LongAdder fallos = new LongAdder();
+    private final LongAdder conflictos = new LongAdder();
+    private final HistogramaLatencia latencias = new HistogramaLatencia();
+
+    MetricasOperacion(Operacion operacion) {
+        this.operacion = operacion;
+    }
+
+    public Operacion getOperacion() {
+        return operacion;
+    }
+
+    public HistogramaLatencia getLatencias() {
+        return latencias;
+    }
+
+    public void exito(long inicioNanos) {
+        latencias.registrar(System.nanoTime() - inicioNanos);
+        exitos.increment();
+    }
+
+    public void rechazo(long inicioNanos) {
+        latencias.registrar(System.nanoTime() - inicioNanos);
+        rechazos.increment();
+    }
+
+    public void conflicto(long inicioNanos) {
+        latencias.registrar(System.nanoTime() - inicioNanos);
+        rechazos.increment();
+        conflictos.increment();
+    }
+
+    public void fallo(long inicioNanos) {
+        latencias.registrar(System.nanoTime() - inicioNanos);
+        fallos.increment();
+    }
+
+    @Override
+    public long getLlamadas() {
+        return exitos.sum() + rechazos.sum() + fallos.sum();
+    }
+
+    @Override
+    public long getExitos() {
+        return exitos.sum();
+    }
+
+    @Override
+    public long getRechazos() {
+        return rechazos.sum();
+    }
+
+    @Override
+    public long getFallos() {
+        return fallos.sum();
+    }
+
+    @Override
+    public long getConflictos() {
+        return conflictos.sum();
+    }
+
+    @Override
+    public double getLatenciaMediaMicros() {
+        return latencias.getMedia() / 1_000.0;
+    }
+
+    @Override
+    public double getLatenciaP50Micros() {
+        return latencias.percentil(0.50) / 1_000.0;
+    }
+
+    @Override
+    public double getLatenciaP90Micros() {
+        return latencias.percentil(0.90) / 1_000.0;
+    }
+
+    @Override
+    public double getLatenciaP99Micros() {
+        return latencias.percentil(0.99) / 1_000.0;
+    }
+
+    @Override
+    public double getLatenciaP999Micros() {
+        return latencias.percentil(0.999) / 1_000.0;
+    }
+
+    @Override
+    public double getLatenciaMaximaMicros() {
+        return latencias.getMaximo() / 1_000.0;
+    }
+
+    @Override
+    public void reiniciar() {
+        exitos.reset();
+        rechazos.reset();
+        fallos.reset();
+        conflictos.reset();
+        latencias.reiniciar();
+    }
+}
@@ -0,0 +1,27 @@
+package ec.edu.espe.logica_negocio.metricas;
+
+/**
+ * Operaciones de {@code EstudianteService} que se miden; el nombre es el que
+ * aparece en JMX y en el volcado de texto.
+ */
+public enum Operacion {
+    CREAR("crearEstudiante"),
+    EDITAR("editarEstudiante"),
+    ELIMINAR("eliminarEstudiante"),
+    APLICAR_LOTE("aplicarLote"),
+    BUSCAR_POR_ID("buscarPorId"),
+    LISTAR_PAGINA("listarPagina"),
+    BUSCAR_POR_EDAD("buscarPorRangoEdad"),
+    BUSCAR_POR_NOMBRE("buscarPorPrefijoNombre"),
+    BUSCAR_APROXIMADO("buscarAproximado");
+
+    private final String nombre;
+
+    Operacion(String nombre) {
+        this.nombre = nombre;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+}
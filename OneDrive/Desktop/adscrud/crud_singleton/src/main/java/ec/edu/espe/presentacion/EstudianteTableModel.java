@@ -0,0 +1,191 @@
+package ec.edu.espe.presentacion;
+
+import ec.edu.espe.controller.EstudianteControllerAsync;
+import ec.edu.espe.datos.model.Estudiante;
+import ec.edu.espe.datos.repository.CambioEstudiante;
+import ec.edu.espe.datos.repository.EstudianteListener;
+import ec.edu.espe.datos.repository.EstudianteSnapshot;
+
+import javax.swing.SwingUtilities;
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Modelo de tabla que lee cada fila bajo demanda desde un snapshot
+ * inmutable del repositorio. La tabla solo consulta las filas visibles, así
+ * que no se copia ni se convierte ningún estudiante que no se dibuje.
+ *
+ * Los cambios del repositorio llegan desde cualquier hilo, se acumulan y se
+ * aplican una sola vez por ciclo del EDT como notificaciones de fila. Un
+ * lote se aplica cuando están todos los cambios hasta la versión del
+ * snapshot destino, así las filas notificadas coinciden con lo que se ve.
+ * Los snapshots se piden fuera del EDT; mientras llega el primero la tabla
+ * se muestra vacía.
+ */
+public class EstudianteTableModel extends AbstractTableModel implements EstudianteListener {
+
+    private static final String[] COLUMNAS = { "ID", "Nombres", "Edad", "Acciones" };
+    private static final int MAXIMO_CAMBIOS_POR_FILA = 256;
+
+    private final EstudianteControllerAsync controller;
+    private final ConcurrentLinkedQueue<CambioEstudiante> pendientes = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean programado = new AtomicBoolean();
+    private final List<CambioEstudiante> acumulados = new ArrayList<>();
+    private EstudianteSnapshot snapshot;
+    private EstudianteSnapshot destino;
+    private boolean solicitando;
+
+    public EstudianteTableModel(EstudianteControllerAsync controller) {
+        this.controller = controller;
+        controller.agregarListener(this);
+        refrescar();
+    }
+
+    public void desconectar() {
+        controller.quitarListener(this);
+    }
+
+    public void refrescar() {
+        controller.obtenerSnapshot().thenAcceptAsync(this::reemplazar, SwingUtilities::invokeLater);
+    }
+
+    private void reemplazar(EstudianteSnapshot nuevo) {
+        if (snapshot != null && nuevo.getVersion() <= snapshot.getVersion()) return;
+
+        snapshot = nuevo;
+        if (destino != null && destino.getVersion() <= nuevo.getVersion()) destino = null;
+        acumulados.removeIf(c -> c.getVersion() <= nuevo.getVersion());
+        fireTableDataChanged();
+        aplicarPendientes();
+    }
+
+    @Override
+    public void alCambiar(CambioEstudiante cambio) {
+        pendientes.add(cambio);
+        if (programado.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(this::aplicarPendientes);
+        }
+    }
+
+    private void aplicarPendientes() {
+        programado.set(false);
+        CambioEstudiante cambio;
+        while ((cambio = pendientes.poll()) != null) {
+            if (snapshot == null || cambio.getVersion() > snapshot.getVersion()) acumulados.add(cambio);
+        }
+        if (snapshot == null || acumulados.isEmpty()) return;
+
+        if (destino == null) {
+            if (!solicitando) {
+                solicitando = true;
+                controller.obtenerSnapshot().thenAcceptAsync(nuevo -> {
+                    solicitando = false;
+                    if (nuevo.getVersion() > snapshot.getVersion()) destino = nuevo;
+                    aplicarPendientes();
+                }, SwingUtilities::invokeLater);
+            }
+            return;
+        }
+        List<CambioEstudiante> lote = new ArrayList<>();
+        for (CambioEstudiante c : acumulados) {
+            if (c.getVersion() <= destino.getVersion()) lote.add(c);
+        }
+        // Faltan cambios que el destino ya incluye; llegarán en breve.
+        if (lote.size() < destino.getVersion() - snapshot.getVersion()) return;
+
+        EstudianteSnapshot anterior = snapshot;
+        snapshot = destino;
+        destino = null;
+        acumulados.removeAll(lote);
+        notificar(lote, anterior, snapshot);
+
+        if (!acumulados.isEmpty() && programado.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(this::aplicarPendientes);
+        }
+    }
+
+    private void notificar(List<CambioEstudiante> cambios, EstudianteSnapshot anterior, EstudianteSnapshot nuevo) {
+        if (cambios.size() > MAXIMO_CAMBIOS_POR_FILA) {
+            fireTableDataChanged();
+            return;
+        }
+
+        // Primero las bajas sobre el snapshot anterior, de abajo hacia arriba,
+        // luego las altas y ediciones sobre el nuevo, de arriba hacia abajo.
+        List<Integer> eliminadas = new ArrayList<>();
+        List<Integer> insertadas = new ArrayList<>();
+        Set<Integer> actualizadas = new HashSet<>();
+        for (CambioEstudiante c : cambios) {
+            switch (c.getTipo()) {
+                case ELIMINADO:
+                    int previa = anterior.indiceDe(c.getPosicion());
+                    if (previa >= 0) eliminadas.add(previa);
+                    break;
+                case CREADO:
+                    int creada = nuevo.indiceDe(c.getPosicion());
+                    if (creada >= 0) insertadas.add(creada);
+                    break;
+                case ACTUALIZADO:
+                    int editada = nuevo.indiceDe(c.getPosicion());
+                    if (editada >= 0 && anterior.indiceDe(c.getPosicion()) >= 0) actualizadas.add(editada);
+                    break;
+            }
+        }
+
+        eliminadas.sort(null);
+        for (int i = eliminadas.size() - 1; i >= 0; i--) {
+            fireTableRowsDeleted(eliminadas.get(i), eliminadas.get(i));
+        }
+        insertadas.sort(null);
+        for (int fila : insertadas) {
+            fireTableRowsInserted(fila, fila);
+        }
+        for (int fila : actualizadas) {
+            fireTableRowsUpdated(fila, fila);
+        }
+    }
+
+    public Estudiante getEstudiante(int fila) {
+        return snapshot.get(fila);
+    }
+
+    @Override
+    public int getRowCount() {
+        return snapshot == null ? 0 : snapshot.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMNAS.length;
+    }
+
+    @Override
+    public String getColumnName(int columna) {
+        return COLUMNAS[columna];
+    }
+
+    @Override
+    public boolean isCellEditable(int fila, int columna) {
+        return columna == 3;
+    }
+
+    @Override
+    public Object getValueAt(int fila, int columna) {
+        Estudiante est = snapshot.get(fila);
+        switch (columna) {
+            case 0:
+                return est.getId();
+            case 1:
+                return est.getNombres();
+            case 2:
+                return est.getEdad();
+            default:
+                return "Acciones";
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package ec.edu.espe.datos.persistencia;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import ec.edu.espe.datos.model.Estudiante;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class AlmacenEstudiantesTest {
+
+    @TempDir
+    Path directorio;
+
+    private final List<Estudiante> cargados = new ArrayList<>();
+    private final List<OperacionLog> reproducidas = new ArrayList<>();
+
+    @Test
+    void cadaCheckpointReemplazaAlSnapshotQueSeCargoAlAbrir() throws Exception {
+        AlmacenEstudiantes almacen = abrir();
+        almacen.escribirSnapshot(List.of(new Estudiante("A", "Ana", 20)), almacen.rotar());
+        almacen.close();
+
+        for (int vuelta = 0; vuelta < 3; vuelta++) {
+            cargados.clear();
+            almacen = abrir();
+            assertEquals(1 + vuelta, cargados.size());
+            List<Estudiante> siguiente = new ArrayList<>(cargados);
+            siguiente.add(new Estudiante("B" + vuelta, null, 30 + vuelta));
+            almacen.escribirSnapshot(siguiente, almacen.rotar());
+            almacen.close();
+        }
+
+        cargados.clear();
+        abrir().close();
+        assertEquals(List.of("A", "B0", "B1", "B2"),
+                cargados.stream().map(Estudiante::getId).collect(Collectors.toList()));
+        assertNull(cargados.get(1).getNombres());
+        assertEquals(32, cargados.get(3).getEdad());
+    }
+
+    @Test
+    void unSnapshotDanadoNoSeCarga() throws Exception {
+        AlmacenEstudiantes almacen = abrir();
+        almacen.escribirSnapshot(List.of(new Estudiante("A", "Ana", 20)), almacen.rotar());
+        almacen.close();
+        danar(directorio.resolve("estudiantes.snapshot"), 25);
+
+        assertThrows(IOException.class, this::abrir);
+        assertEquals(0, cargados.size());
+    }
+
+    @Test
+    void unSegmentoIntermedioDanadoHaceFallarLaRecuperacion() throws Exception {
+        AlmacenEstudiantes almacen = abrir();
+        almacen.anexar(OperacionLog.alta(new Estudiante("A", "Ana", 20)));
+        almacen.anexar(OperacionLog.alta(new Estudiante("B", "Bea", 21)));
+        almacen.rotar();
+        almacen.anexar(OperacionLog.alta(new Estudiante("C", "Ciro", 22)));
+        almacen.close();
+
+        danar(segmentos().get(0), 12);
+        assertThrows(IOException.class, this::abrir);
+    }
+
+    @Test
+    void unFinalTruncadoDelUltimoSegmentoSeDescarta() throws Exception {
+        AlmacenEstudiantes almacen = abrir();
+        almacen.anexar(OperacionLog.alta(new Estudiante("A", "Ana", 20)));
+        almacen.rotar();
+        almacen.anexar(OperacionLog.alta(new Estudiante("B", "Bea", 21)));
+        almacen.anexar(OperacionLog.alta(new Estudiante("C", "Ciro", 22)));
+        almacen.close();
+
+        Path ultimo = segmentos().get(1);
+        try (RandomAccessFile archivo = new RandomAccessFile(ultimo.toFile(), "rw")) {
+            archivo.setLength(archivo.length() - 3);
+        }
+        abrir().close();
+        assertEquals(List.of("A", "B"), reproducidas.stream().map(OperacionLog::getId).collect(Collectors.toList()));
+    }
+
+    private AlmacenEstudiantes abrir() throws IOException {
+        return AlmacenEstudiantes.abrir(directorio, PoliticaFsync.SIEMPRE, 0, cargados::add, reproducidas::add);
+    }
+
+    private List<Path> segmentos() throws IOException {
+        try (Stream<Path> archivos = Files.list(directorio)) {
+            return archivos.filter(a -> a.toString().endsWith(".wal")).sorted().collect(Collectors.toList());
+        }
+    }
+
+    private static void danar(Path archivo, long posicion) throws IOException {
+        try (RandomAccessFile datos = new RandomAccessFile(archivo.toFile(), "rw")) {
+            datos.seek(posicion);
+            int original = datos.read();
+            datos.seek(posicion);
+            datos.write(original ^ 0xFF);
+        }
+    }
+}
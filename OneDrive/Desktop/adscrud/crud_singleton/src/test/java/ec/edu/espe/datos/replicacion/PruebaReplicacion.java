@@ -0,0 +1,152 @@
+package ec.edu.espe.datos.replicacion;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Prueba local de replicación con varios procesos en la misma máquina.
+ * Uso: PruebaReplicacion [réplicas] [escrituras] [puertoBase]
+ * Vive con las pruebas para no viajar en el jar de la aplicación; tras
+ * {@code mvn test-compile} se corre con
+ * {@code java -cp target/classes:target/test-classes ec.edu.espe.datos.replicacion.PruebaReplicacion}
+ * (en Windows las rutas del classpath se separan con {@code ;}).
+ * Arranca un líder (HTTP en puertoBase, replicación en puertoBase + 1) y
+ * las réplicas (HTTP en puertoBase + 2 en adelante), escribe en el líder y
+ * mide cuánto tarda cada réplica en reflejar la última escritura. Al final
+ * muestra el retraso que informa cada réplica y comprueba que rechazan
+ * escrituras.
+ */
+public class PruebaReplicacion {
+
+    private static final long ESPERA_MAXIMA_MS = 30_000;
+
+    public static void main(String[] args) throws Exception {
+        int replicas = args.length > 0 ? Integer.parseInt(args[0]) : 2;
+        int escrituras = args.length > 1 ? Integer.parseInt(args[1]) : 5_000;
+        int puertoBase = args.length > 2 ? Integer.parseInt(args[2]) : 18080;
+
+        HttpClient cliente = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        List<Process> procesos = new ArrayList<>();
+        try {
+            procesos.add(lanzar(puertoBase, "-Destudiantes.replicacion.puerto=" + (puertoBase + 1)));
+            String lider = "http://localhost:" + puertoBase;
+            esperarServidor(cliente, lider);
+
+            // La mitad de las escrituras ocurre antes de que las réplicas existan: llega con el snapshot.
+            int previas = escrituras / 2;
+            escribir(cliente, lider, 0, previas);
+
+            List<String> urls = new ArrayList<>();
+            for (int i = 0; i < replicas; i++) {
+                int puerto = puertoBase + 2 + i;
+                procesos.add(lanzar(puerto, "-Destudiantes.motor=replica",
+                        "-Destudiantes.replicacion.lider=localhost:" + (puertoBase + 1)));
+                urls.add("http://localhost:" + puerto);
+            }
+            for (String url : urls) {
+                esperarServidor(cliente, url);
+            }
+
+            long inicio = System.nanoTime();
+            escribir(cliente, lider, previas, escrituras);
+            long escrito = System.nanoTime();
+            System.out.printf("%d escrituras en el líder en %.1f ms%n", escrituras - previas, (escrito - inicio) / 1e6);
+
+            String ultimo = "/estudiantes/rep-" + (escrituras - 1);
+            String total = total(cliente, lider);
+            for (String url : urls) {
+                long limite = System.currentTimeMillis() + ESPERA_MAXIMA_MS;
+                while (estado(cliente, url + ultimo) != 200 || !total(cliente, url).equals(total)) {
+                    if (System.currentTimeMillis() > limite) throw new IllegalStateException(url + " no convergió");
+                    Thread.sleep(5);
+                }
+                System.out.printf("%s convergió %.1f ms después de la última escritura%n", url,
+                        (System.nanoTime() - escrito) / 1e6);
+            }
+
+            Thread.sleep(1_000);
+            for (String url : urls) {
+                for (String linea : get(cliente, url + "/metricas").split("\n")) {
+                    if (linea.startsWith("estudiantes_replicacion_")) System.out.println(url + " " + linea);
+                }
+                int rechazo = cliente.send(HttpRequest.newBuilder(URI.create(url + "/estudiantes"))
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"id\":\"x\",\"nombres\":\"X\",\"edad\":20}")).build(),
+                        HttpResponse.BodyHandlers.discarding()).statusCode();
+                System.out.println(url + " escritura directa -> HTTP " + rechazo);
+            }
+        } finally {
+            for (Process proceso : procesos) {
+                proceso.destroy();
+            }
+        }
+    }
+
+    private static Process lanzar(int puerto, String... propiedades) throws IOException {
+        List<String> comando = new ArrayList<>();
+        comando.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        comando.add("-cp");
+        comando.add(System.getProperty("java.class.path"));
+        comando.addAll(List.of(propiedades));
+        comando.add("ec.edu.espe.presentacion.Main");
+        comando.add("--servidor");
+        comando.add(String.valueOf(puerto));
+        return new ProcessBuilder(comando).inheritIO().start();
+    }
+
+    /**
+     * Crea un tercio de los estudiantes del rango, edita y borra algunos
+     * para que el flujo tenga los tres tipos de cambio.
+     */
+    private static void escribir(HttpClient cliente, String base, int desde, int hasta) throws Exception {
+        URI coleccion = URI.create(base + "/estudiantes");
+        for (int i = desde; i < hasta; i++) {
+            if (i % 3 == 1 && i < hasta - 1) {
+                enviar(cliente, HttpRequest.newBuilder(URI.create(base + "/estudiantes/rep-" + (i - 1)))
+                        .PUT(HttpRequest.BodyPublishers.ofString("{\"nombres\":\"Editado " + i + "\",\"edad\":30}")).build());
+            } else if (i % 3 == 2 && i < hasta - 1 && i % 2 == 0) {
+                enviar(cliente, HttpRequest.newBuilder(URI.create(base + "/estudiantes/rep-" + (i - 2))).DELETE().build());
+            } else {
+                String cuerpo = "{\"id\":\"rep-" + i + "\",\"nombres\":\"Estudiante " + i + "\",\"edad\":" + (18 + i % 10) + "}";
+                enviar(cliente, HttpRequest.newBuilder(coleccion).POST(HttpRequest.BodyPublishers.ofString(cuerpo)).build());
+            }
+        }
+    }
+
+    private static void enviar(HttpClient cliente, HttpRequest peticion) throws Exception {
+        int estado = cliente.send(peticion, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (estado >= 400) throw new IllegalStateException(peticion.method() + " " + peticion.uri() + " -> HTTP " + estado);
+    }
+
+    private static void esperarServidor(HttpClient cliente, String base) throws InterruptedException {
+        long limite = System.currentTimeMillis() + ESPERA_MAXIMA_MS;
+        while (true) {
+            try {
+                if (estado(cliente, base + "/metricas") == 200) return;
+            } catch (IOException e) {
+                if (System.currentTimeMillis() > limite) throw new IllegalStateException(base + " no arrancó", e);
+            }
+            Thread.sleep(100);
+        }
+    }
+
+    private static String total(HttpClient cliente, String base) throws Exception {
+        String cuerpo = get(cliente, base + "/estudiantes?tamano=1");
+        return cuerpo.substring(cuerpo.lastIndexOf("\"total\":") + 8, cuerpo.lastIndexOf('}'));
+    }
+
+    private static int estado(HttpClient cliente, String url) throws IOException, InterruptedException {
+        return cliente.send(HttpRequest.newBuilder(URI.create(url)).GET().build(),
+                HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private static String get(HttpClient cliente, String url) throws Exception {
+        return cliente.send(HttpRequest.newBuilder(URI.create(url)).GET().build(),
+                HttpResponse.BodyHandlers.ofString()).body();
+    }
+}
@@ -0,0 +1,241 @@
+package ec.edu.espe.datos.replicacion;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import ec.edu.espe.datos.model.Estudiante;
+import ec.edu.espe.datos.repository.CambioEstudiante;
+import ec.edu.espe.datos.repository.EstudianteRepository;
+import ec.edu.espe.datos.repository.EstudianteSnapshot;
+import ec.edu.espe.datos.repository.MotorEstudiantes;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Líder y réplicas en el mismo proceso, sobre puertos efímeros. Donde hace
+ * falta un orden o un corte que el publicador real no produce a voluntad,
+ * un líder falso envía mensajes grabados de otro repositorio.
+ */
+class ReplicacionTest {
+
+    private static final long ESPERA_MAXIMA_MS = 15_000;
+
+    private final List<AutoCloseable> abiertos = new ArrayList<>();
+
+    @AfterEach
+    void cerrar() throws Exception {
+        for (int i = abiertos.size() - 1; i >= 0; i--) {
+            abiertos.get(i).close();
+        }
+    }
+
+    @Test
+    void laReplicaSigueAlLiderYRechazaEscrituras() throws Exception {
+        EstudianteRepository lider = EstudianteRepository.enMemoria();
+        lider.agregar(new Estudiante("A", "Ana", 20));
+        lider.agregar(new Estudiante("B", "Bea", 21));
+        PublicadorCambios publicador = publicar(lider, 0);
+        MotorReplica replica = seguir(publicador.getPuerto());
+
+        lider.editar("A", "Ana Editada", 22);
+        lider.eliminar("B");
+        lider.agregar(new Estudiante("C", "Ciro", 23));
+
+        esperar(() -> replica.getVersionAplicada() == lider.version());
+        assertEquals(estado(lider), estado(replica));
+        assertEquals(1, replica.getSincronizaciones());
+        assertThrows(UnsupportedOperationException.class, () -> replica.agregar(new Estudiante("D", "Dora", 24)));
+    }
+
+    @Test
+    void trasUnCorteSeResincronizaConLasDiferenciasDelSnapshot() throws Exception {
+        EstudianteRepository lider = EstudianteRepository.enMemoria();
+        lider.agregar(new Estudiante("A", "Ana", 20));
+        lider.agregar(new Estudiante("B", "Bea", 21));
+        lider.agregar(new Estudiante("C", "Ciro", 22));
+        PublicadorCambios publicador = publicar(lider, 0);
+        int puerto = publicador.getPuerto();
+        MotorReplica replica = seguir(puerto);
+        esperar(() -> replica.getVersionAplicada() == lider.version());
+
+        publicador.close();
+        esperar(() -> !replica.isConectada());
+        lider.eliminar("A");
+        lider.editar("C", "Ciro Editado", 30);
+        lider.agregar(new Estudiante("D", "Dora", 23));
+        List<String> eventos = new CopyOnWriteArrayList<>();
+        replica.agregarListener(cambio -> eventos.add(cambio.getTipo() + " " + cambio.getEstudiante().getId()));
+
+        publicar(lider, puerto);
+        esperar(() -> replica.getSincronizaciones() == 2 && replica.getVersionAplicada() == lider.version());
+        assertEquals(estado(lider), estado(replica));
+        assertEquals(List.of("ELIMINADO A", "ACTUALIZADO C", "CREADO D"), eventos);
+    }
+
+    @Test
+    void losCambiosDesordenadosSeAplicanEnOrdenDeVersion() throws Exception {
+        EstudianteRepository origen = EstudianteRepository.enMemoria();
+        EstudianteSnapshot vacio = origen.snapshot();
+        List<CambioEstudiante> cambios = grabar(origen);
+        origen.agregar(new Estudiante("A", "Ana", 20));
+        origen.editar("A", "Ana Editada", 21);
+        origen.agregar(new Estudiante("B", "Bea", 22));
+        origen.eliminar("B");
+        origen.agregar(new Estudiante("C", "Ciro", 23));
+
+        CountDownLatch escuchando = new CountDownLatch(1);
+        ServerSocket servidor = liderFalso(salida -> {
+            escuchando.await();
+            ProtocoloReplicacion.escribirSnapshot(salida, vacio, System.currentTimeMillis());
+            for (int indice : new int[] {1, 0, 4, 3, 2}) {
+                salida.write(ProtocoloReplicacion.codificarCambio(cambios.get(indice), System.currentTimeMillis()));
+            }
+            return origen.version();
+        });
+        MotorReplica replica = MotorReplica.conectar("localhost", servidor.getLocalPort());
+        abiertos.add(replica::cerrar);
+        List<String> eventos = new CopyOnWriteArrayList<>();
+        replica.agregarListener(cambio -> eventos.add(describir(cambio)));
+        escuchando.countDown();
+
+        esperar(() -> replica.getVersionAplicada() == 5);
+        assertEquals(estado(origen), estado(replica));
+        assertEquals(cambios.stream().map(ReplicacionTest::describir).collect(Collectors.toList()), eventos);
+    }
+
+    @Test
+    void unaVersionQueNoLlegaFuerzaUnSnapshotNuevo() throws Exception {
+        EstudianteRepository origen = EstudianteRepository.enMemoria();
+        EstudianteSnapshot vacio = origen.snapshot();
+        List<CambioEstudiante> cambios = grabar(origen);
+        origen.agregar(new Estudiante("A", "Ana", 20));
+        for (int i = 0; i <= MotorReplica.MAXIMO_PENDIENTES; i++) {
+            origen.editar("A", "Ana " + i, 20 + i % 50);
+        }
+
+        ServerSocket servidor = liderFalso(salida -> {
+            ProtocoloReplicacion.escribirSnapshot(salida, vacio, System.currentTimeMillis());
+            // Falta la versión 1: todo lo demás queda retenido.
+            for (CambioEstudiante cambio : cambios.subList(1, cambios.size())) {
+                salida.write(ProtocoloReplicacion.codificarCambio(cambio, System.currentTimeMillis()));
+            }
+            return origen.version();
+        }, salida -> {
+            ProtocoloReplicacion.escribirSnapshot(salida, origen.snapshot(), System.currentTimeMillis());
+            return origen.version();
+        });
+        MotorReplica replica = MotorReplica.conectar("localhost", servidor.getLocalPort());
+        abiertos.add(replica::cerrar);
+
+        esperar(() -> replica.getSincronizaciones() == 2 && replica.getVersionAplicada() == origen.version());
+        assertEquals(estado(origen), estado(replica));
+    }
+
+    @Test
+    void unaReplicaQueNoLeeSeDesconectaAlLlenarSuCola() throws Exception {
+        EstudianteRepository lider = EstudianteRepository.enMemoria();
+        lider.agregar(new Estudiante("A", "Ana", 20));
+        PublicadorCambios publicador = publicar(lider, 0);
+        Socket lenta = new Socket();
+        abiertos.add(lenta);
+        lenta.setReceiveBufferSize(4 * 1024);
+        lenta.connect(new InetSocketAddress("localhost", publicador.getPuerto()));
+        esperar(() -> publicador.getSeguidores() == 1);
+
+        // Sin lecturas se llenan los búferes del socket y después la cola.
+        for (int i = 0; publicador.getSeguidores() > 0; i++) {
+            assertTrue(i < 50 * PublicadorCambios.CAPACIDAD_COLA, "la réplica lenta sigue conectada");
+            lider.editar("A", "Ana " + i, 20);
+        }
+
+        MotorReplica replica = seguir(publicador.getPuerto());
+        esperar(() -> replica.getVersionAplicada() == lider.version());
+        assertEquals(estado(lider), estado(replica));
+    }
+
+    private PublicadorCambios publicar(MotorEstudiantes motor, int puerto) throws IOException {
+        PublicadorCambios publicador = new PublicadorCambios(motor, puerto);
+        abiertos.add(publicador);
+        publicador.iniciar();
+        return publicador;
+    }
+
+    private MotorReplica seguir(int puerto) {
+        MotorReplica replica = MotorReplica.conectar("localhost", puerto);
+        abiertos.add(replica::cerrar);
+        return replica;
+    }
+
+    private static List<CambioEstudiante> grabar(MotorEstudiantes motor) {
+        List<CambioEstudiante> cambios = new ArrayList<>();
+        motor.agregarListener(cambios::add);
+        return cambios;
+    }
+
+    /** Lo que envía un líder falso por una conexión tras la cabecera; retorna la versión de sus latidos. */
+    private interface Guion {
+        long enviar(DataOutputStream salida) throws IOException, InterruptedException;
+    }
+
+    /**
+     * Atiende una conexión por guion, en orden. Tras el guion manda latidos
+     * hasta que la réplica corta.
+     */
+    private ServerSocket liderFalso(Guion... guiones) throws IOException {
+        ServerSocket servidor = new ServerSocket(0);
+        abiertos.add(servidor);
+        Thread hilo = new Thread(() -> {
+            for (Guion guion : guiones) {
+                try (Socket conexion = servidor.accept();
+                     DataOutputStream salida = new DataOutputStream(new BufferedOutputStream(conexion.getOutputStream()))) {
+                    ProtocoloReplicacion.escribirCabecera(salida);
+                    long version = guion.enviar(salida);
+                    while (true) {
+                        salida.flush();
+                        Thread.sleep(PublicadorCambios.INTERVALO_LATIDO_MS);
+                        ProtocoloReplicacion.escribirLatido(salida, version, System.currentTimeMillis());
+                    }
+                } catch (IOException e) {
+                    // la réplica cortó; sigue el próximo guion
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }, "lider-falso");
+        hilo.setDaemon(true);
+        hilo.start();
+        return servidor;
+    }
+
+    private static void esperar(BooleanSupplier condicion) throws InterruptedException {
+        long limite = System.currentTimeMillis() + ESPERA_MAXIMA_MS;
+        while (!condicion.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < limite, "la réplica no llegó al estado esperado");
+            Thread.sleep(10);
+        }
+    }
+
+    private static List<String> estado(MotorEstudiantes motor) {
+        return motor.snapshot().getEstudiantes().stream()
+                .map(e -> e.getId() + "|" + e.getNombres() + "|" + e.getEdad() + "|" + e.getVersion())
+                .collect(Collectors.toList());
+    }
+
+    private static String describir(CambioEstudiante cambio) {
+        Estudiante estudiante = cambio.getEstudiante();
+        return cambio.getTipo() + " " + estudiante.getId() + " " + estudiante.getNombres() + " " + estudiante.getVersion();
+    }
+}
@@ -0,0 +1,175 @@
+package ec.edu.espe.datos.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import ec.edu.espe.datos.model.Estudiante;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Las estadísticas que cada motor mantiene en sus escrituras tienen que
+ * coincidir con recorrer el padrón, también con edades fuera de los
+ * contadores primitivos y con escritores concurrentes.
+ */
+class DistribucionEdadesTest extends PruebaDeMotores {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"indices", "columnar", "mapeado", "particionado"})
+    void sigueAltasEdicionesYBajas(String nombre) throws Exception {
+        MotorEstudiantes motor = abrir(nombre);
+        motor.agregar(new Estudiante("A", "Ana", 20));
+        motor.agregar(new Estudiante("B", "Bea", 30));
+        motor.agregar(new Estudiante("C", "Ciro", 30));
+
+        EstadisticasEstudiantes estadisticas = motor.estadisticas();
+        assertEquals(3, estadisticas.getTotal());
+        assertEquals(80, estadisticas.getSumaEdades());
+        assertEquals(20, estadisticas.getEdadMinima());
+        assertEquals(30, estadisticas.getEdadMaxima());
+        assertEquals(Map.of(20, 1L, 30, 2L), estadisticas.getDistribucion());
+
+        motor.editar("A", "Ana", 40);
+        motor.editar("B", "Bea María", 30);
+        motor.eliminar("C");
+        estadisticas = motor.estadisticas();
+        assertEquals(Map.of(30, 1L, 40, 1L), estadisticas.getDistribucion());
+        assertEquals(35.0, estadisticas.getEdadPromedio());
+        assertEquals(30, estadisticas.getEdadMinima());
+        assertEquals(motor.version(), estadisticas.getVersion());
+
+        motor.eliminar("A");
+        motor.eliminar("B");
+        estadisticas = motor.estadisticas();
+        assertEquals(0, estadisticas.getTotal());
+        assertEquals(0, estadisticas.getEdadMinima());
+        assertEquals(0, estadisticas.getEdadMaxima());
+        assertEquals(0.0, estadisticas.getEdadPromedio());
+        assertTrue(estadisticas.getDistribucion().isEmpty());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"indices", "columnar", "mapeado", "particionado"})
+    void cuentaEdadesFueraDeLosContadores(String nombre) throws Exception {
+        MotorEstudiantes motor = abrir(nombre);
+        int fuera = DistribucionEdades.EDAD_MAXIMA + 1;
+        motor.agregar(new Estudiante("A", "Ana", 0));
+        motor.agregar(new Estudiante("B", "Bea", DistribucionEdades.EDAD_MAXIMA));
+        motor.agregar(new Estudiante("C", "Ciro", fuera));
+        motor.agregar(new Estudiante("D", "Dora", 500));
+        motor.editar("A", "Ana", -3);
+
+        EstadisticasEstudiantes estadisticas = motor.estadisticas();
+        assertEquals(4, estadisticas.getTotal());
+        assertEquals(-3, estadisticas.getEdadMinima());
+        assertEquals(500, estadisticas.getEdadMaxima());
+        assertEquals(0, estadisticas.contar(0));
+        assertEquals(1, estadisticas.contar(-3));
+        assertEquals(1, estadisticas.contar(fuera));
+        assertEquals(2, estadisticas.contarPorRango(DistribucionEdades.EDAD_MAXIMA, fuera));
+        assertEquals(estadisticas.getTotal(), estadisticas.contarPorRango(Integer.MIN_VALUE, Integer.MAX_VALUE));
+
+        motor.editar("C", "Ciro", 40);
+        motor.eliminar("D");
+        motor.eliminar("A");
+        assertEquals(Map.of(40, 1L, DistribucionEdades.EDAD_MAXIMA, 1L), motor.estadisticas().getDistribucion());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"indices", "columnar", "mapeado", "particionado"})
+    void cadaCapturaCorrespondeAUnaSolaVersion(String nombre) throws Exception {
+        MotorEstudiantes motor = abrir(nombre);
+        int cantidad = 50;
+        for (int i = 0; i < cantidad; i++) {
+            motor.agregar(new Estudiante("E" + i, "Nombre " + i, 20));
+        }
+
+        // Solo se edita la edad: una captura a medias de una edición
+        // contaría un estudiante de más o de menos.
+        AtomicBoolean escribiendo = new AtomicBoolean(true);
+        CountDownLatch largada = new CountDownLatch(1);
+        ExecutorService hilos = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> escritores = new ArrayList<>();
+            for (int h = 0; h < 3; h++) {
+                long semilla = h;
+                escritores.add(hilos.submit(() -> {
+                    Random azar = new Random(semilla);
+                    largada.await();
+                    for (int i = 0; i < 3_000; i++) {
+                        motor.editar("E" + azar.nextInt(cantidad), "Nombre", 1 + azar.nextInt(200));
+                    }
+                    return null;
+                }));
+            }
+            Future<?> lector = hilos.submit(() -> {
+                largada.await();
+                long ultima = 0;
+                while (escribiendo.get()) {
+                    EstadisticasEstudiantes estadisticas = motor.estadisticas();
+                    assertEquals(cantidad, estadisticas.getTotal());
+                    long porEdad = 0;
+                    for (long conteo : estadisticas.getDistribucion().values()) porEdad += conteo;
+                    assertEquals(cantidad, porEdad);
+                    assertTrue(estadisticas.getVersion() >= ultima);
+                    ultima = estadisticas.getVersion();
+                }
+                return null;
+            });
+
+            largada.countDown();
+            for (Future<?> escritor : escritores) escritor.get();
+            escribiendo.set(false);
+            lector.get();
+        } finally {
+            hilos.shutdownNow();
+        }
+        assertIgualAlPadron(motor);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"indices", "mapeado"})
+    void alReabrirSeReconstruyenIgual(String nombre) throws Exception {
+        MotorEstudiantes motor = abrir(nombre);
+        Random azar = new Random(31);
+        for (int i = 0; i < 500; i++) {
+            String id = "E" + azar.nextInt(100);
+            if (azar.nextInt(3) == 0) {
+                motor.eliminar(id);
+            } else if (motor.agregar(new Estudiante(id, "Nombre " + i, 1 + azar.nextInt(90))) == 0) {
+                motor.editar(id, "Editado " + i, 1 + azar.nextInt(90));
+            }
+        }
+        TreeMap<Integer, Long> antes = new TreeMap<>(motor.estadisticas().getDistribucion());
+        cerrar(motor);
+
+        MotorEstudiantes reabierto = abrir(nombre);
+        assertEquals(antes, reabierto.estadisticas().getDistribucion());
+        assertIgualAlPadron(reabierto);
+    }
+
+    private static void assertIgualAlPadron(MotorEstudiantes motor) {
+        EstudianteSnapshot snapshot = motor.snapshot();
+        TreeMap<Integer, Long> esperada = new TreeMap<>();
+        long suma = 0;
+        for (Estudiante estudiante : snapshot.getEstudiantes()) {
+            esperada.merge(estudiante.getEdad(), 1L, Long::sum);
+            suma += estudiante.getEdad();
+        }
+        EstadisticasEstudiantes estadisticas = motor.estadisticas();
+        assertEquals(snapshot.getVersion(), estadisticas.getVersion());
+        assertEquals(snapshot.size(), estadisticas.getTotal());
+        assertEquals(suma, estadisticas.getSumaEdades());
+        assertEquals(esperada, estadisticas.getDistribucion());
+    }
+}
@@ -0,0 +1,179 @@
+package ec.edu.espe.datos.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import ec.edu.espe.datos.model.Estudiante;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Varios escritores sobre un mismo rango de IDs, con un lector tomando
+ * snapshots y páginas a la vez. Al final el mapa principal, los índices y el
+ * snapshot tienen que coincidir con lo que dicen los eventos publicados.
+ */
+class EstudianteRepositoryConcurrenciaTest {
+
+    private static final int HILOS = 8;
+    private static final int OPERACIONES = 4_000;
+    private static final int IDS = 300;
+
+    @Test
+    void escritoresConcurrentesNoPierdenNiDuplicanIds() throws Exception {
+        EstudianteRepository repo = EstudianteRepository.enMemoria();
+        ConcurrentLinkedQueue<CambioEstudiante> eventos = new ConcurrentLinkedQueue<>();
+        repo.agregarListener(eventos::add);
+
+        AtomicLong altas = new AtomicLong();
+        AtomicLong bajas = new AtomicLong();
+        AtomicBoolean escribiendo = new AtomicBoolean(true);
+        CountDownLatch largada = new CountDownLatch(1);
+        ExecutorService hilos = Executors.newFixedThreadPool(HILOS + 1);
+        try {
+            List<Future<?>> escritores = new ArrayList<>();
+            for (int h = 0; h < HILOS; h++) {
+                long semilla = h;
+                escritores.add(hilos.submit(() -> {
+                    largada.await();
+                    escribir(repo, new Random(semilla), altas, bajas);
+                    return null;
+                }));
+            }
+            Future<?> lector = hilos.submit(() -> {
+                largada.await();
+                while (escribiendo.get()) {
+                    EstudianteSnapshot snapshot = repo.snapshot();
+                    assertEquals(snapshot.size(), idsDe(snapshot.getEstudiantes()).size());
+                    repo.listarPagina(OrdenEstudiante.NOMBRES, null, 50);
+                }
+                return null;
+            });
+
+            largada.countDown();
+            for (Future<?> escritor : escritores) escritor.get();
+            escribiendo.set(false);
+            lector.get();
+        } finally {
+            hilos.shutdownNow();
+        }
+
+        long version = repo.version();
+        List<CambioEstudiante> ordenados = new ArrayList<>(eventos);
+        ordenados.sort(Comparator.comparingLong(CambioEstudiante::getVersion));
+        assertEquals(version, ordenados.size(), "un evento por versión");
+        for (int i = 0; i < ordenados.size(); i++) {
+            assertEquals(i + 1, ordenados.get(i).getVersion(), "versiones densas y únicas");
+        }
+
+        Map<String, Estudiante> esperado = new HashMap<>();
+        for (CambioEstudiante cambio : ordenados) {
+            if (cambio.getTipo() == CambioEstudiante.Tipo.ELIMINADO) {
+                esperado.remove(cambio.getEstudiante().getId());
+            } else {
+                esperado.put(cambio.getEstudiante().getId(), cambio.getEstudiante());
+            }
+        }
+
+        assertEquals(altas.get() - bajas.get(), repo.tamano(), "altas menos bajas");
+        assertEquals(esperado.size(), repo.tamano());
+        for (int i = 0; i < IDS; i++) {
+            String id = "E" + i;
+            Estudiante actual = repo.buscarPorId(id);
+            Estudiante reproducido = esperado.get(id);
+            assertEquals(reproducido == null, actual == null, id);
+            if (actual != null) {
+                assertEquals(reproducido.getNombres(), actual.getNombres(), id);
+                assertEquals(reproducido.getEdad(), actual.getEdad(), id);
+                assertEquals(reproducido.getVersion(), actual.getVersion(), id);
+            }
+        }
+
+        EstudianteSnapshot snapshot = repo.snapshot();
+        assertEquals(version, snapshot.getVersion());
+        assertIgual(esperado, snapshot.getEstudiantes(), "snapshot");
+        for (OrdenEstudiante criterio : OrdenEstudiante.values()) {
+            assertIgual(esperado, recorrer(repo, criterio), "orden " + criterio);
+        }
+        assertIgual(esperado, repo.buscarPorRangoEdad(0, Integer.MAX_VALUE), "índice de edad");
+        assertIgual(esperado, repo.buscarPorPrefijoNombre("n"), "índice de nombres");
+        assertEquals(esperado.size(), repo.estadisticas().getTotal(), "distribución de edades");
+    }
+
+    private static void escribir(EstudianteRepository repo, Random azar, AtomicLong altas, AtomicLong bajas) {
+        for (int i = 0; i < OPERACIONES; i++) {
+            String id = "E" + azar.nextInt(IDS);
+            int edad = 1 + azar.nextInt(80);
+            switch (azar.nextInt(7)) {
+                case 0:
+                case 1:
+                    if (repo.agregar(new Estudiante(id, "N" + i, edad)) != 0) altas.incrementAndGet();
+                    break;
+                case 2:
+                case 3:
+                    repo.editar(id, "NM" + i, edad);
+                    break;
+                case 4:
+                    if (repo.eliminar(id)) bajas.incrementAndGet();
+                    break;
+                case 5:
+                    List<Estudiante> lote = new ArrayList<>();
+                    for (int k = 0; k < 4; k++) lote.add(new Estudiante("E" + azar.nextInt(IDS), "NL" + i, edad));
+                    for (long version : repo.agregarLote(lote)) {
+                        if (version != 0) altas.incrementAndGet();
+                    }
+                    break;
+                default:
+                    List<OperacionLote> operaciones = List.of(
+                            OperacionLote.crear(id, "NC" + i, edad),
+                            OperacionLote.editar("E" + azar.nextInt(IDS), "ND" + i, edad),
+                            OperacionLote.eliminar("E" + azar.nextInt(IDS)));
+                    boolean[] aplicadas = repo.aplicarLote(operaciones);
+                    if (aplicadas[0]) altas.incrementAndGet();
+                    if (aplicadas[2]) bajas.incrementAndGet();
+            }
+        }
+    }
+
+    private static List<Estudiante> recorrer(EstudianteRepository repo, OrdenEstudiante criterio) {
+        List<Estudiante> todos = new ArrayList<>();
+        String cursor = null;
+        do {
+            Pagina<Estudiante> pagina = repo.listarPagina(criterio, cursor, 37);
+            todos.addAll(pagina.getElementos());
+            cursor = pagina.getSiguienteCursor();
+        } while (cursor != null);
+        return todos;
+    }
+
+    private static void assertIgual(Map<String, Estudiante> esperado, List<Estudiante> obtenidos, String donde) {
+        assertEquals(esperado.size(), obtenidos.size(), donde + ": cantidad");
+        assertEquals(esperado.size(), idsDe(obtenidos).size(), donde + ": IDs duplicados");
+        for (Estudiante estudiante : obtenidos) {
+            Estudiante reproducido = esperado.get(estudiante.getId());
+            assertNotNull(reproducido, donde + ": sobra " + estudiante.getId());
+            assertTrue(reproducido.getNombres().equals(estudiante.getNombres())
+                    && reproducido.getEdad() == estudiante.getEdad(), donde + ": " + estudiante.getId());
+        }
+    }
+
+    private static Set<String> idsDe(List<Estudiante> estudiantes) {
+        Set<String> ids = new HashSet<>();
+        for (Estudiante estudiante : estudiantes) ids.add(estudiante.getId());
+        return ids;
+    }
+}
@@ -0,0 +1,121 @@
+package ec.edu.espe.datos.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import ec.edu.espe.datos.model.Estudiante;
+import ec.edu.espe.datos.persistencia.PoliticaFsync;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * El snapshot se arma aplicando los cambios anotados sobre el anterior; en
+ * cada caso tiene que quedar igual que recorrer el motor en orden de
+ * inserción.
+ */
+class EstudianteRepositorySnapshotTest {
+
+    @TempDir
+    Path directorio;
+
+    @Test
+    void aplicarCambiosSobreElSnapshotAnteriorEquivaleACopiarTodo() {
+        EstudianteRepository repo = EstudianteRepository.enMemoria();
+        Random azar = new Random(3);
+        for (int ronda = 0; ronda < 300; ronda++) {
+            int operaciones = 1 + azar.nextInt(40);
+            for (int i = 0; i < operaciones; i++) {
+                escribirAlAzar(repo, azar, ronda * 100 + i);
+            }
+            assertIgualAlMotor(repo, repo.snapshot());
+        }
+    }
+
+    @Test
+    void sinCambiosDevuelveElMismoSnapshot() {
+        EstudianteRepository repo = EstudianteRepository.enMemoria();
+        repo.agregar(new Estudiante("A", "Ana", 20));
+        EstudianteSnapshot primero = repo.snapshot();
+        assertSame(primero, repo.snapshot());
+
+        repo.editar("A", "Ana María", 21);
+        repo.eliminar("A");
+        repo.agregar(new Estudiante("A", "Otra Ana", 22));
+        EstudianteSnapshot segundo = repo.snapshot();
+        assertEquals(1, segundo.size());
+        assertEquals("Otra Ana", segundo.get(0).getNombres());
+        assertEquals(1, primero.size(), "un snapshot ya entregado no cambia");
+        assertEquals("Ana", primero.get(0).getNombres());
+    }
+
+    @Test
+    void demasiadosCambiosSinSnapshotCopianTodo() {
+        EstudianteRepository repo = EstudianteRepository.enMemoria();
+        repo.snapshot();
+        Random azar = new Random(5);
+        for (int i = 0; i < 70_000; i++) {
+            escribirAlAzar(repo, azar, i);
+        }
+        assertIgualAlMotor(repo, repo.snapshot());
+        escribirAlAzar(repo, azar, -1);
+        assertIgualAlMotor(repo, repo.snapshot());
+    }
+
+    @Test
+    void trasRecuperarDelDiscoElPrimerSnapshotVeTodo() throws Exception {
+        EstudianteRepository repo = EstudianteRepository.abrir(directorio, PoliticaFsync.SIEMPRE, 0);
+        Random azar = new Random(9);
+        for (int i = 0; i < 500; i++) {
+            escribirAlAzar(repo, azar, i);
+        }
+        repo.checkpoint();
+        for (int i = 500; i < 700; i++) {
+            escribirAlAzar(repo, azar, i);
+        }
+        repo.cerrar();
+
+        EstudianteRepository recuperado = EstudianteRepository.abrir(directorio, PoliticaFsync.SIEMPRE, 0);
+        try {
+            assertIgualAlMotor(recuperado, recuperado.snapshot());
+            escribirAlAzar(recuperado, azar, 700);
+            assertIgualAlMotor(recuperado, recuperado.snapshot());
+        } finally {
+            recuperado.cerrar();
+        }
+    }
+
+    private static void escribirAlAzar(EstudianteRepository repo, Random azar, int i) {
+        String id = "E" + azar.nextInt(200);
+        switch (azar.nextInt(4)) {
+            case 0:
+            case 1:
+                repo.agregar(new Estudiante(id, "Nombre " + i, 1 + azar.nextInt(70)));
+                break;
+            case 2:
+                repo.editar(id, "Editado " + i, 1 + azar.nextInt(70));
+                break;
+            default:
+                repo.eliminar(id);
+        }
+    }
+
+    private static void assertIgualAlMotor(EstudianteRepository repo, EstudianteSnapshot snapshot) {
+        assertEquals(repo.version(), snapshot.getVersion());
+        List<Estudiante> esperado = new ArrayList<>();
+        String cursor = null;
+        do {
+            Pagina<Estudiante> pagina = repo.listarPagina(OrdenEstudiante.INSERCION, cursor, 100);
+            esperado.addAll(pagina.getElementos());
+            cursor = pagina.getSiguienteCursor();
+        } while (cursor != null);
+
+        assertEquals(esperado.size(), snapshot.size());
+        for (int i = 0; i < esperado.size(); i++) {
+            assertSame(esperado.get(i), snapshot.get(i), "fila " + i);
+        }
+    }
+}
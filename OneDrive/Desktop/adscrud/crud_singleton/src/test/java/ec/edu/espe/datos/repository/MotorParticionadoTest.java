@@ -0,0 +1,175 @@
+package ec.edu.espe.datos.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import ec.edu.espe.datos.model.Estudiante;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Los recorridos del motor particionado mezclan resultados parciales de
+ * cada partición; tienen que salir en el mismo orden que en el motor de
+ * referencia con cualquier cantidad de particiones.
+ */
+class MotorParticionadoTest {
+
+    private static final String[] NOMBRES = {"Ana", "ana", "Ángel", "Bruno", "bea", "Zoe", "Ñandú", "Ana María"};
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @AfterEach
+    void cerrar() {
+        pool.shutdownNow();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 3, 16})
+    void losRecorridosCoincidenConElMotorDeReferencia(int cantidad) {
+        MotorParticionado motor = new MotorParticionado(cantidad, pool);
+        EstudianteRepository referencia = EstudianteRepository.enMemoria();
+        Random azar = new Random(cantidad);
+        for (int i = 0; i < 3_000; i++) {
+            escribirAlAzar(azar, i, motor, referencia);
+        }
+
+        assertIgual(referencia.snapshot().getEstudiantes(), motor.snapshot().getEstudiantes(), "snapshot");
+        for (OrdenEstudiante criterio : OrdenEstudiante.values()) {
+            for (int limite : new int[] {1, 13, 10_000}) {
+                assertIgual(recorrer(referencia, criterio, limite), recorrer(motor, criterio, limite),
+                        criterio + " de a " + limite);
+            }
+        }
+        for (int[] rango : new int[][] {{0, 200}, {18, 25}, {40, 40}, {500, 600}}) {
+            assertIgual(referencia.buscarPorRangoEdad(rango[0], rango[1]),
+                    motor.buscarPorRangoEdad(rango[0], rango[1]), "edad " + rango[0] + ".." + rango[1]);
+        }
+        for (String prefijo : new String[] {"", "a", "ANA", "ana m", "á", "ñ", "x"}) {
+            assertIgual(referencia.buscarPorPrefijoNombre(prefijo), motor.buscarPorPrefijoNombre(prefijo),
+                    "prefijo " + prefijo);
+        }
+        Predicate<Estudiante> filtro = e -> e.getEdad() % 3 == 0;
+        assertIgual(referencia.filtrar(filtro), motor.filtrar(filtro), "filtro");
+        assertEquals(referencia.contar(filtro), motor.contar(filtro));
+        for (int pagina = 0; pagina < 5; pagina++) {
+            assertIgual(referencia.listarPagina(pagina, 97).getElementos(),
+                    motor.listarPagina(pagina, 97).getElementos(), "página " + pagina);
+        }
+        assertEquals(referencia.version(), motor.version());
+        assertEquals(referencia.estadisticas().getDistribucion(), motor.estadisticas().getDistribucion());
+    }
+
+    @Test
+    void lasParticionesSeRedondeanAPotenciaDeDos() {
+        assertEquals(1, new MotorParticionado(1, pool).particiones());
+        assertEquals(4, new MotorParticionado(3, pool).particiones());
+        assertEquals(16, new MotorParticionado(16, pool).particiones());
+        assertThrows(IllegalArgumentException.class, () -> new MotorParticionado(0, pool));
+    }
+
+    @Test
+    void escritoresEnParticionesDistintasConservanUnSoloOrdenGlobal() throws Exception {
+        MotorParticionado motor = new MotorParticionado(8, pool);
+        ConcurrentLinkedQueue<CambioEstudiante> eventos = new ConcurrentLinkedQueue<>();
+        motor.agregarListener(eventos::add);
+
+        List<Future<?>> escritores = new ArrayList<>();
+        for (int h = 0; h < 4; h++) {
+            long semilla = h;
+            escritores.add(pool.submit(() -> {
+                Random azar = new Random(semilla);
+                for (int i = 0; i < 2_000; i++) escribirAlAzar(azar, i, motor);
+            }));
+        }
+        for (Future<?> escritor : escritores) escritor.get();
+
+        List<CambioEstudiante> ordenados = new ArrayList<>(eventos);
+        ordenados.sort(Comparator.comparingLong(CambioEstudiante::getVersion));
+        assertEquals(motor.version(), ordenados.size());
+        Map<String, CambioEstudiante> vigentes = new HashMap<>();
+        for (int i = 0; i < ordenados.size(); i++) {
+            CambioEstudiante cambio = ordenados.get(i);
+            assertEquals(i + 1, cambio.getVersion());
+            if (cambio.getTipo() == CambioEstudiante.Tipo.ELIMINADO) {
+                vigentes.remove(cambio.getEstudiante().getId());
+            } else {
+                vigentes.put(cambio.getEstudiante().getId(), cambio);
+            }
+        }
+
+        List<String> esperado = vigentes.values().stream()
+                .sorted(Comparator.comparingLong(CambioEstudiante::getPosicion))
+                .map(cambio -> cambio.getEstudiante().getId())
+                .collect(Collectors.toList());
+        assertEquals(esperado, ids(motor.snapshot().getEstudiantes()), "snapshot");
+        assertEquals(esperado, ids(recorrer(motor, OrdenEstudiante.INSERCION, 50)), "páginas por inserción");
+    }
+
+    private static void escribirAlAzar(Random azar, int i, MotorEstudiantes... motores) {
+        String id = "E" + azar.nextInt(400);
+        String nombres = NOMBRES[azar.nextInt(NOMBRES.length)] + " " + azar.nextInt(20);
+        int edad = 1 + azar.nextInt(80);
+        int tipo = azar.nextInt(6);
+        List<Estudiante> lote = new ArrayList<>();
+        for (int k = 0; k < 4; k++) lote.add(new Estudiante("E" + azar.nextInt(400), nombres, edad + k));
+        for (MotorEstudiantes motor : motores) {
+            switch (tipo) {
+                case 0:
+                case 1:
+                    motor.agregar(new Estudiante(id, nombres, edad));
+                    break;
+                case 2:
+                    motor.editar(id, nombres, edad);
+                    break;
+                case 3:
+                    motor.eliminar(id);
+                    break;
+                case 4:
+                    motor.agregarLote(lote);
+                    break;
+                default:
+                    motor.aplicarLote(List.of(
+                            OperacionLote.eliminar(lote.get(0).getId()),
+                            OperacionLote.crear(lote.get(1).getId(), nombres, edad),
+                            OperacionLote.editar(lote.get(2).getId(), nombres + " " + i, edad)));
+            }
+        }
+    }
+
+    private static List<Estudiante> recorrer(MotorEstudiantes motor, OrdenEstudiante criterio, int limite) {
+        List<Estudiante> todos = new ArrayList<>();
+        String cursor = null;
+        do {
+            Pagina<Estudiante> pagina = motor.listarPagina(criterio, cursor, limite);
+            todos.addAll(pagina.getElementos());
+            cursor = pagina.getSiguienteCursor();
+        } while (cursor != null);
+        return todos;
+    }
+
+    private static void assertIgual(List<Estudiante> esperado, List<Estudiante> obtenido, String donde) {
+        assertEquals(ids(esperado), ids(obtenido), donde);
+        for (int i = 0; i < esperado.size(); i++) {
+            assertEquals(esperado.get(i).getNombres(), obtenido.get(i).getNombres(), donde);
+            assertEquals(esperado.get(i).getEdad(), obtenido.get(i).getEdad(), donde);
+            assertEquals(esperado.get(i).getVersion(), obtenido.get(i).getVersion(), donde);
+        }
+    }
+
+    private static List<String> ids(List<Estudiante> estudiantes) {
+        return estudiantes.stream().map(Estudiante::getId).collect(Collectors.toList());
+    }
+}
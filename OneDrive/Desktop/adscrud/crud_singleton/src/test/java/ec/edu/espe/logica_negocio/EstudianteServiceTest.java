@@ -0,0 +1,29 @@
+package ec.edu.espe.logica_negocio;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import ec.edu.espe.datos.model.Estudiante;
+import ec.edu.espe.datos.repository.EstudianteRepository;
+import ec.edu.espe.logica_negocio.cache.CacheEstudiantes;
+import ec.edu.espe.logica_negocio.metricas.MetricasEstudiantes;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class EstudianteServiceTest {
+
+    @Test
+    void alCerrarDejaDeEscucharAlMotorQueLoSobrevive() {
+        EstudianteRepository motor = EstudianteRepository.enMemoria();
+        motor.agregar(new Estudiante("A", "Ana", 20));
+        EstudianteService servicio = new EstudianteService(motor, new MetricasEstudiantes(motor),
+                new CacheEstudiantes(100, Duration.ofMinutes(5), motor::buscarPorId));
+        assertEquals(1, servicio.buscarAproximado("ana", 10).size());
+
+        motor.editar("A", "Ana Editada", 21);
+        assertEquals("Ana Editada", servicio.buscarPorId("A").getNombres());
+
+        servicio.cerrar();
+        motor.editar("A", "Ana Otra Vez", 22);
+        assertEquals("Ana Editada", servicio.buscarPorId("A").getNombres(), "la caché ya no se invalida");
+    }
+}
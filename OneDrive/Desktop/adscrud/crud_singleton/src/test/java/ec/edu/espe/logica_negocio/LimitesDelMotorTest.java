@@ -0,0 +1,79 @@
+package ec.edu.espe.logica_negocio;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import ec.edu.espe.datos.formato.FormatoArchivo;
+import ec.edu.espe.datos.repository.MotorMapeado;
+import ec.edu.espe.datos.repository.OperacionLote;
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * El motor mapeado guarda registros de tamaño fijo: una fila que no cabe se
+ * rechaza sola y el resto de su lote se confirma.
+ */
+class LimitesDelMotorTest {
+
+    private static final String NOMBRE_LARGO = "ñ".repeat(MotorMapeado.MAXIMO_BYTES_NOMBRES);
+
+    @TempDir
+    Path directorio;
+
+    private MotorMapeado motor;
+
+    @BeforeEach
+    void abrir() throws Exception {
+        motor = MotorMapeado.abrir(directorio);
+    }
+
+    @AfterEach
+    void cerrar() {
+        motor.cerrar();
+    }
+
+    @Test
+    void laImportacionRechazaSoloLaFilaQueNoCabe() throws Exception {
+        String csv = "id,nombres,edad\nA1,Ana,20\nA2," + NOMBRE_LARGO + ",21\nA3,Luis,22\n"
+                + "x".repeat(MotorMapeado.MAXIMO_BYTES_ID + 1) + ",Largo,23\nA5,Eva,24\n";
+
+        ResultadoImportacion resultado = new ImportadorEstudiantes(motor, 2)
+                .importar(new BufferedReader(new StringReader(csv)), FormatoArchivo.CSV);
+
+        assertEquals(3, resultado.getImportados());
+        assertEquals(2, resultado.getRechazados());
+        assertEquals(3, resultado.getErrores().get(0).getLinea());
+        assertEquals(5, resultado.getErrores().get(1).getLinea());
+        assertNotNull(motor.buscarPorId("A1"));
+        assertNull(motor.buscarPorId("A2"));
+        assertNotNull(motor.buscarPorId("A3"));
+        assertNotNull(motor.buscarPorId("A5"));
+    }
+
+    @Test
+    void elLoteMarcaInvalidaSoloLaOperacionQueNoCabe() {
+        EstudianteService servicio = new EstudianteService(motor);
+        servicio.crearEstudiante("B1", "Bea", 30);
+
+        ResultadoLote resultado = servicio.aplicarLote(List.of(
+                OperacionLote.crear("B2", "Beto", 31),
+                OperacionLote.crear("B3", NOMBRE_LARGO, 32),
+                OperacionLote.editar("B1", NOMBRE_LARGO, 33),
+                OperacionLote.editar("B1", "Beatriz", 34)));
+
+        List<ResultadoOperacion> resultados = resultado.getResultados();
+        assertEquals(ResultadoOperacion.Estado.INVALIDA, resultados.get(1).getEstado());
+        assertEquals(ResultadoOperacion.Estado.INVALIDA, resultados.get(2).getEstado());
+        assertEquals(2, resultado.getAplicadas());
+        assertNotNull(servicio.buscarPorId("B2"));
+        assertNull(servicio.buscarPorId("B3"));
+        assertEquals("Beatriz", servicio.buscarPorId("B1").getNombres());
+    }
+}
@@ -0,0 +1,126 @@
+package ec.edu.espe.logica_negocio.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import ec.edu.espe.datos.model.Estudiante;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class CacheEstudiantesTest {
+
+    private final Map<String, Estudiante> motor = new ConcurrentHashMap<>();
+    private final AtomicInteger cargas = new AtomicInteger();
+
+    private Estudiante cargar(String id) {
+        cargas.incrementAndGet();
+        return motor.get(id);
+    }
+
+    @Test
+    void unaEntradaVigenteNoVuelveAlMotor() {
+        motor.put("A", new Estudiante("A", "Ana", 20));
+        CacheEstudiantes cache = new CacheEstudiantes(100, Duration.ofMinutes(5), this::cargar);
+
+        Estudiante primera = cache.obtener("A");
+        assertSame(primera, cache.obtener("A"));
+        assertEquals(1, cargas.get());
+        assertEquals(1, cache.getAciertos());
+        assertEquals(1, cache.getFallos());
+    }
+
+    @Test
+    void unaEntradaVencidaSeVuelveACargar() throws Exception {
+        motor.put("A", new Estudiante("A", "Ana", 20));
+        CacheEstudiantes cache = new CacheEstudiantes(100, Duration.ofMillis(50), this::cargar);
+
+        cache.obtener("A");
+        motor.put("A", new Estudiante("A", "Ana María", 21));
+        Thread.sleep(120);
+
+        assertEquals("Ana María", cache.obtener("A").getNombres());
+        assertEquals(2, cargas.get());
+        assertEquals(1, cache.getExpirados());
+    }
+
+    @Test
+    void unIdAusenteTambienQuedaEnCache() {
+        CacheEstudiantes cache = new CacheEstudiantes(100, Duration.ofMinutes(5), this::cargar);
+
+        assertNull(cache.obtener("Z"));
+        assertNull(cache.obtener("Z"));
+        assertEquals(1, cargas.get());
+        assertEquals(1, cache.getAciertosNegativos());
+
+        motor.put("Z", new Estudiante("Z", "Zoe", 20));
+        cache.invalidar("Z");
+        assertEquals("Zoe", cache.obtener("Z").getNombres());
+    }
+
+    @Test
+    void desalojaLaMenosUsadaDeSuSegmento() {
+        // 32 entradas en 16 segmentos: dos por segmento.
+        CacheEstudiantes cache = new CacheEstudiantes(32, Duration.ofMinutes(5), this::cargar);
+        List<String> mismoSegmento = new ArrayList<>();
+        for (int i = 0; mismoSegmento.size() < 3; i++) {
+            String id = "E" + i;
+            if (CacheEstudiantes.indiceSegmento(id, 16) == 0) mismoSegmento.add(id);
+        }
+        String primero = mismoSegmento.get(0);
+        String segundo = mismoSegmento.get(1);
+        String tercero = mismoSegmento.get(2);
+        for (String id : mismoSegmento) motor.put(id, new Estudiante(id, "Nombre", 20));
+
+        cache.obtener(primero);
+        cache.obtener(segundo);
+        cache.obtener(primero);
+        cache.obtener(tercero);
+        assertEquals(1, cache.getDesalojos());
+        assertEquals(2, cache.getEntradas());
+
+        cargas.set(0);
+        cache.obtener(primero);
+        cache.obtener(tercero);
+        assertEquals(0, cargas.get(), "las usadas hace poco siguen en caché");
+        cache.obtener(segundo);
+        assertEquals(1, cargas.get(), "la menos usada fue la desalojada");
+    }
+
+    @Test
+    void unaCargaQueCruzaUnaInvalidacionNoSeGuarda() throws Exception {
+        motor.put("A", new Estudiante("A", "Vieja", 20));
+        CountDownLatch cargando = new CountDownLatch(1);
+        CountDownLatch seguir = new CountDownLatch(1);
+        CacheEstudiantes cache = new CacheEstudiantes(100, Duration.ofMinutes(5), id -> {
+            Estudiante leido = cargar(id);
+            if (cargas.get() == 1) {
+                cargando.countDown();
+                try {
+                    seguir.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return leido;
+        });
+
+        CompletableFuture<Estudiante> lectura = CompletableFuture.supplyAsync(() -> cache.obtener("A"));
+        cargando.await(10, TimeUnit.SECONDS);
+        motor.put("A", new Estudiante("A", "Nueva", 21));
+        cache.invalidar("A");
+        seguir.countDown();
+
+        assertEquals("Vieja", lectura.get(10, TimeUnit.SECONDS).getNombres());
+        assertEquals("Nueva", cache.obtener("A").getNombres(), "la lectura previa a la edición no quedó");
+        assertEquals(2, cargas.get());
+    }
+}
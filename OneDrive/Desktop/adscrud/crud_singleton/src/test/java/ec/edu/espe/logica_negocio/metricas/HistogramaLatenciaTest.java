@@ -0,0 +1,74 @@
+package ec.edu.espe.logica_negocio.metricas;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class HistogramaLatenciaTest {
+
+    @Test
+    void lasCubetasCubrenTodoElRangoSinHuecosNiSolapes() {
+        int ultima = HistogramaLatencia.indice(Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE, HistogramaLatencia.limiteSuperior(ultima));
+        for (int i = 0; i < ultima; i++) {
+            long limite = HistogramaLatencia.limiteSuperior(i);
+            assertEquals(i, HistogramaLatencia.indice(limite), "límite de la cubeta " + i);
+            assertEquals(i + 1, HistogramaLatencia.indice(limite + 1), "primer valor tras la cubeta " + i);
+        }
+    }
+
+    @Test
+    void alrededorDeCadaPotenciaDeDosElErrorEsMenorA1De32() {
+        for (long valor = 0; valor < 32; valor++) {
+            assertEquals(valor, HistogramaLatencia.indice(valor));
+            assertEquals(valor, HistogramaLatencia.limiteSuperior((int) valor));
+        }
+        assertEquals(64, HistogramaLatencia.indice(64));
+        assertEquals(65, HistogramaLatencia.limiteSuperior(HistogramaLatencia.indice(64)));
+        for (int bit = 5; bit < 63; bit++) {
+            long potencia = 1L << bit;
+            assertEquals(HistogramaLatencia.indice(potencia - 1) + 1, HistogramaLatencia.indice(potencia));
+            for (long valor : new long[] {potencia - 1, potencia, potencia + 1}) {
+                long limite = HistogramaLatencia.limiteSuperior(HistogramaLatencia.indice(valor));
+                assertTrue(limite >= valor && limite - valor < valor / 32 + 1, "valor " + valor + " límite " + limite);
+            }
+        }
+        assertEquals(Long.MAX_VALUE,
+                HistogramaLatencia.limiteSuperior(HistogramaLatencia.indice(Long.MAX_VALUE - (1L << 56))));
+    }
+
+    @Test
+    void losPercentilesDeUnaDistribucionUniformeQuedanEnSuCubeta() {
+        HistogramaLatencia histograma = new HistogramaLatencia();
+        for (long valor = 1; valor <= 10_000; valor++) {
+            histograma.registrar(valor);
+        }
+
+        assertEquals(10_000, histograma.getCantidad());
+        assertEquals(10_000, histograma.getMaximo());
+        assertEquals(5_000.5, histograma.getMedia(), 1e-9);
+        for (double cuantil : new double[] {0.001, 0.5, 0.9, 0.99, 0.999}) {
+            long exacto = (long) Math.ceil(cuantil * 10_000);
+            long informado = histograma.percentil(cuantil);
+            assertTrue(informado >= exacto && informado <= exacto + exacto / 32, cuantil + " -> " + informado);
+        }
+        assertEquals(10_000, histograma.percentil(1.0));
+    }
+
+    @Test
+    void losNegativosCuentanComoCeroYReiniciarVacia() {
+        HistogramaLatencia histograma = new HistogramaLatencia();
+        assertEquals(0, histograma.percentil(0.5));
+
+        histograma.registrar(-5);
+        histograma.registrar(Long.MAX_VALUE);
+        assertEquals(0, histograma.percentil(0.5));
+        assertEquals(Long.MAX_VALUE, histograma.percentil(1.0));
+
+        histograma.reiniciar();
+        assertEquals(0, histograma.getCantidad());
+        assertEquals(0, histograma.getMaximo());
+        assertEquals(0, histograma.percentil(0.99));
+    }
+}
@@ -0,0 +1,83 @@
+package ec.edu.espe.logica_negocio.metricas;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import ec.edu.espe.datos.model.Estudiante;
+import ec.edu.espe.datos.replicacion.MotorReplica;
+import ec.edu.espe.datos.repository.EstudianteRepository;
+import ec.edu.espe.logica_negocio.ConflictoVersionException;
+import ec.edu.espe.logica_negocio.EstudianteDuplicadoException;
+import ec.edu.espe.logica_negocio.EstudianteNoEncontradoException;
+import ec.edu.espe.logica_negocio.EstudianteService;
+import java.util.List;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.Test;
+
+class MetricasEstudiantesTest {
+
+    private static final Pattern LINEA = Pattern.compile("[a-z_]+(\\{[a-z]+=\"[^\"]*\"(,[a-z]+=\"[^\"]*\")*\\})? -?\\d+(\\.\\d{3})?");
+
+    @Test
+    void cadaResultadoSeCuentaComoExitoRechazoConflictoOFallo() {
+        EstudianteRepository repositorio = EstudianteRepository.enMemoria();
+        MetricasEstudiantes metricas = new MetricasEstudiantes(repositorio);
+        EstudianteService servicio = new EstudianteService(repositorio, metricas, null);
+
+        Estudiante ana = servicio.crearEstudiante("A", "Ana", 20);
+        assertThrows(EstudianteDuplicadoException.class, () -> servicio.crearEstudiante("A", "Otra", 21));
+        assertThrows(IllegalArgumentException.class, () -> servicio.crearEstudiante("B", "", 21));
+        servicio.editarEstudiante("A", "Ana Editada", 22, ana.getVersion());
+        assertThrows(ConflictoVersionException.class,
+                () -> servicio.editarEstudiante("A", "Pisada", 23, ana.getVersion()));
+        assertThrows(EstudianteNoEncontradoException.class, () -> servicio.eliminarEstudiante("Z"));
+
+        MetricasOperacion crear = metricas.de(Operacion.CREAR);
+        assertEquals(List.of(1L, 2L, 0L, 0L, 3L), contadores(crear));
+        assertEquals(3, crear.getLatencias().getCantidad());
+        assertEquals(List.of(1L, 1L, 0L, 1L, 2L), contadores(metricas.de(Operacion.EDITAR)));
+        assertEquals(List.of(0L, 1L, 0L, 0L, 1L), contadores(metricas.de(Operacion.ELIMINAR)));
+
+        // Una réplica rechaza las escrituras con una excepción que no es de validación.
+        MotorReplica replica = MotorReplica.conectar("localhost", 1);
+        try {
+            MetricasEstudiantes deLaReplica = new MetricasEstudiantes(replica);
+            EstudianteService servicioReplica = new EstudianteService(replica, deLaReplica, null);
+            assertThrows(UnsupportedOperationException.class, () -> servicioReplica.crearEstudiante("A", "Ana", 20));
+            assertEquals(List.of(0L, 0L, 1L, 0L, 1L), contadores(deLaReplica.de(Operacion.CREAR)));
+        } finally {
+            replica.cerrar();
+        }
+    }
+
+    @Test
+    void elVolcadoTieneUnaLineaPorValorConLatenciasEnMicrosegundos() {
+        EstudianteRepository repositorio = EstudianteRepository.enMemoria();
+        repositorio.agregar(new Estudiante("A", "Ana", 20));
+        repositorio.agregar(new Estudiante("B", "Bea", 21));
+        MetricasEstudiantes metricas = new MetricasEstudiantes(repositorio);
+        metricas.de(Operacion.BUSCAR_POR_ID).getLatencias().registrar(1_500);
+        metricas.de(Operacion.BUSCAR_POR_ID).getLatencias().registrar(2_000_000);
+
+        String texto = metricas.volcarTexto();
+        String[] lineas = texto.split("\n");
+        assertTrue(texto.endsWith("\n"));
+        assertEquals(2 + 10 * Operacion.values().length, lineas.length);
+        for (String linea : lineas) {
+            assertTrue(LINEA.matcher(linea).matches(), linea);
+        }
+        assertEquals("estudiantes_repositorio_tamano 2", lineas[0]);
+        assertEquals("estudiantes_repositorio_version 2", lineas[1]);
+        assertTrue(texto.contains("estudiantes_operacion_exitos{operacion=\"buscarPorId\"} 0\n"));
+        assertTrue(texto.contains("estudiantes_operacion_latencia_us{operacion=\"buscarPorId\",cuantil=\"0.5\"} 1.503\n"));
+        assertTrue(texto.contains("estudiantes_operacion_latencia_us_max{operacion=\"buscarPorId\"} 2000.000\n"));
+        assertTrue(texto.contains("estudiantes_operacion_latencia_us_media{operacion=\"buscarPorId\"} 1000.750\n"));
+    }
+
+    /** Éxitos, rechazos, fallos, conflictos y llamadas. */
+    private static List<Long> contadores(MetricasOperacion metricas) {
+        return List.of(metricas.getExitos(), metricas.getRechazos(), metricas.getFallos(),
+                metricas.getConflictos(), metricas.getLlamadas());
+    }
+}
@@ -0,0 +1,98 @@
+package ec.edu.espe.presentacion.http;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generador de carga local para {@link EstudianteHttpServer}.
+ * Uso: PruebaCargaHttp [urlBase] [hilos] [segundos] [estudiantes] [%escrituras]
+ * Vive con las pruebas para no viajar en el jar de la aplicación; tras
+ * {@code mvn test-compile} se corre con
+ * {@code java -cp target/classes:target/test-classes ec.edu.espe.presentacion.http.PruebaCargaHttp}
+ * (en Windows las rutas del classpath se separan con {@code ;}).
+ * Siembra los estudiantes, luego cada hilo mezcla lecturas por ID con
+ * ediciones y reporta peticiones por segundo y percentiles de latencia.
+ */
+public class PruebaCargaHttp {
+
+    private static final int MUESTRAS_POR_HILO = 200_000;
+
+    public static void main(String[] args) throws Exception {
+        String base = args.length > 0 ? args[0] : "http://localhost:8080";
+        int hilos = args.length > 1 ? Integer.parseInt(args[1]) : 32;
+        int segundos = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        int estudiantes = args.length > 3 ? Integer.parseInt(args[3]) : 10_000;
+        int porcentajeEscrituras = args.length > 4 ? Integer.parseInt(args[4]) : 10;
+
+        HttpClient cliente = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        URI coleccion = URI.create(base + "/estudiantes");
+
+        for (int i = 0; i < estudiantes; i++) {
+            String cuerpo = "{\"id\":\"carga-" + i + "\",\"nombres\":\"Estudiante " + i + "\",\"edad\":" + (18 + i % 10) + "}";
+            cliente.send(HttpRequest.newBuilder(coleccion).POST(HttpRequest.BodyPublishers.ofString(cuerpo)).build(),
+                    HttpResponse.BodyHandlers.discarding());
+        }
+
+        AtomicLong errores = new AtomicLong();
+        long[][] latencias = new long[hilos][MUESTRAS_POR_HILO];
+        int[] cantidades = new int[hilos];
+        long[] totales = new long[hilos];
+        long fin = System.nanoTime() + segundos * 1_000_000_000L;
+
+        Thread[] trabajadores = new Thread[hilos];
+        for (int h = 0; h < hilos; h++) {
+            int indice = h;
+            trabajadores[h] = new Thread(() -> {
+                ThreadLocalRandom azar = ThreadLocalRandom.current();
+                while (System.nanoTime() < fin) {
+                    int n = azar.nextInt(estudiantes);
+                    URI recurso = URI.create(base + "/estudiantes/carga-" + n);
+                    HttpRequest peticion = azar.nextInt(100) < porcentajeEscrituras
+                            ? HttpRequest.newBuilder(recurso).PUT(HttpRequest.BodyPublishers.ofString(
+                                    "{\"nombres\":\"Editado " + n + "\",\"edad\":" + (18 + azar.nextInt(10)) + "}")).build()
+                            : HttpRequest.newBuilder(recurso).GET().build();
+                    long inicio = System.nanoTime();
+                    try {
+                        HttpResponse<Void> respuesta = cliente.send(peticion, HttpResponse.BodyHandlers.discarding());
+                        if (respuesta.statusCode() >= 400) errores.incrementAndGet();
+                    } catch (Exception e) {
+                        errores.incrementAndGet();
+                    }
+                    long duracion = System.nanoTime() - inicio;
+                    if (cantidades[indice] < MUESTRAS_POR_HILO) {
+                        latencias[indice][cantidades[indice]++] = duracion;
+                    }
+                    totales[indice]++;
+                }
+            }, "carga-" + h);
+            trabajadores[h].start();
+        }
+        for (Thread trabajador : trabajadores) {
+            trabajador.join();
+        }
+
+        long total = Arrays.stream(totales).sum();
+        long[] muestras = new long[Arrays.stream(cantidades).sum()];
+        int pos = 0;
+        for (int h = 0; h < hilos; h++) {
+            System.arraycopy(latencias[h], 0, muestras, pos, cantidades[h]);
+            pos += cantidades[h];
+        }
+        Arrays.sort(muestras);
+
+        System.out.printf("peticiones=%d errores=%d rps=%.0f%n", total, errores.get(), total / (double) segundos);
+        System.out.printf("latencia ms p50=%.3f p99=%.3f p99.9=%.3f max=%.3f%n",
+                percentil(muestras, 0.50), percentil(muestras, 0.99), percentil(muestras, 0.999),
+                muestras.length == 0 ? 0 : muestras[muestras.length - 1] / 1e6);
+    }
+
+    private static double percentil(long[] ordenadas, double p) {
+        if (ordenadas.length == 0) return 0;
+        return ordenadas[(int) Math.min(ordenadas.length - 1, Math.round(p * (ordenadas.length - 1)))] / 1e6;
+    }
+}
@@ -0,0 +1,84 @@
+package ec.edu.espe.benchmark;
+
+import ec.edu.espe.datos.model.Estudiante;
+import ec.edu.espe.datos.persistencia.PoliticaFsync;
+import ec.edu.espe.datos.repository.EstudianteRepository;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Tiempo de arranque del repositorio persistente: recuperación desde el
+ * snapshot (tras un checkpoint) frente a reproducir solo el log.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ArranqueBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int tamano;
+
+    @Param({"SNAPSHOT", "LOG"})
+    public String origen;
+
+    private Path directorio;
+
+    @Setup(Level.Trial)
+    public void preparar() throws IOException {
+        directorio = Files.createTempDirectory("estudiantes-arranque");
+        EstudianteRepository repository = EstudianteRepository.abrir(directorio, PoliticaFsync.NUNCA, 0);
+        List<Estudiante> estudiantes = DatosBenchmark.generar(tamano);
+        for (int desde = 0; desde < estudiantes.size(); desde += 10_000) {
+            repository.agregarLote(estudiantes.subList(desde, Math.min(desde + 10_000, estudiantes.size())));
+        }
+        if (origen.equals("SNAPSHOT")) {
+            repository.checkpoint();
+        }
+        repository.cerrar();
+    }
+
+    @Benchmark
+    public int abrir() throws IOException {
+        EstudianteRepository repository = EstudianteRepository.abrir(directorio, PoliticaFsync.NUNCA, 0);
+        try {
+            return repository.snapshot().size();
+        } finally {
+            repository.cerrar();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void limpiar() throws IOException {
+        try (Stream<Path> archivos = Files.walk(directorio)) {
+            archivos.sorted(Comparator.reverseOrder()).forEach(p -> {
+                try {
+                    Files.delete(p);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package ec.edu.espe.benchmark;
+
+import ec.edu.espe.datos.model.Estudiante;
+import ec.edu.espe.logica_negocio.EstudianteService;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Mezclas CRUD a través del servicio con varios hilos a la vez: lecturas
+ * puras, una mezcla de lectura dominante (6 lectores, 2 escritores) y una de
+ * escritura dominante.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ConcurrenciaBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int tamano;
+
+    private EstudianteService service;
+    private final AtomicInteger hilos = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        service = new EstudianteService(DatosBenchmark.repositorio(tamano));
+    }
+
+    @State(Scope.Thread)
+    public static class Hilo {
+        SplittableRandom aleatorio;
+        String prefijo;
+        int nuevos;
+
+        @Setup(Level.Trial)
+        public void preparar(ConcurrenciaBenchmark b) {
+            int numero = b.hilos.incrementAndGet();
+            aleatorio = new SplittableRandom(DatosBenchmark.SEMILLA + numero);
+            prefijo = "H" + numero + "-";
+        }
+
+        String existente(int tamano) {
+            return DatosBenchmark.id(aleatorio.nextInt(tamano));
+        }
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Estudiante lecturas(Hilo hilo) {
+        return service.buscarPorId(hilo.existente(tamano));
+    }
+
+    @Benchmark
+    @Group("lecturaDominante")
+    @GroupThreads(6)
+    public Estudiante lecturaDominanteLeer(Hilo hilo) {
+        return service.buscarPorId(hilo.existente(tamano));
+    }
+
+    @Benchmark
+    @Group("lecturaDominante")
+    @GroupThreads(2)
+    public boolean lecturaDominanteEditar(Hilo hilo) {
+        return service.editarEstudiante(hilo.existente(tamano), DatosBenchmark.nombre(hilo.aleatorio), 25);
+    }
+
+    @Benchmark
+    @Group("escrituraDominante")
+    @GroupThreads(2)
+    public Estudiante escrituraDominanteLeer(Hilo hilo) {
+        return service.buscarPorId(hilo.existente(tamano));
+    }
+
+    @Benchmark
+    @Group("escrituraDominante")
+    @GroupThreads(6)
+    public boolean escrituraDominanteCrearEliminar(Hilo hilo) {
+        String id = hilo.prefijo + hilo.nuevos++;
+        service.crearEstudiante(id, "Nuevo", 20);
+        return service.eliminarEstudiante(id);
+    }
+}
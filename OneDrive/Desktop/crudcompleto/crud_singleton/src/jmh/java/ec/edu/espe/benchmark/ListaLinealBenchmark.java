@@ -0,0 +1,63 @@
+package ec.edu.espe.benchmark;
+
+import ec.edu.espe.datos.model.Estudiante;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Línea base: la lista con búsqueda lineal que tenía el repositorio antes del
+ * índice por id. Sirve para comparar contra {@link RepositorioBenchmark} con
+ * los mismos tamaños.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ListaLinealBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int tamano;
+
+    private List<Estudiante> estudiantes;
+    private final SplittableRandom aleatorio = new SplittableRandom(DatosBenchmark.SEMILLA);
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        estudiantes = new ArrayList<>(DatosBenchmark.generar(tamano));
+    }
+
+    @Benchmark
+    public Estudiante buscarPorId() {
+        String id = DatosBenchmark.id(aleatorio.nextInt(tamano));
+        return estudiantes.stream()
+                .filter(e -> e.getId().equals(id))
+                .findFirst()
+                .orElse(null);
+    }
+
+    @Benchmark
+    public boolean agregarYEliminar() {
+        String id = "N" + aleatorio.nextInt();
+        boolean existe = estudiantes.stream().anyMatch(e -> e.getId().equals(id));
+        if (!existe) {
+            estudiantes.add(Estudiante.crear(id, "Nuevo", 20));
+        }
+        return estudiantes.removeIf(e -> e.getId().equals(id));
+    }
+}
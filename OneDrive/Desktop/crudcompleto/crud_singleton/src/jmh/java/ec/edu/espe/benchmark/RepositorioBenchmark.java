@@ -0,0 +1,97 @@
+package ec.edu.espe.benchmark;
+
+import ec.edu.espe.datos.model.Estudiante;
+import ec.edu.espe.datos.repository.MotorEstudiantes;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Operaciones CRUD de un solo hilo sobre cada motor con distintos tamaños
+ * de padrón. Las altas se compensan con bajas para que el tamaño no derive
+ * durante la medición.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class RepositorioBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int tamano;
+
+    @Param({"indices", "columnar", "mapeado", "particionado"})
+    public String motor;
+
+    private MotorEstudiantes repository;
+    private String[] ids;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        repository = DatosBenchmark.repositorio(motor, tamano);
+        ids = new String[tamano];
+        for (int i = 0; i < tamano; i++) {
+            ids[i] = DatosBenchmark.id(i);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        final SplittableRandom aleatorio = new SplittableRandom(DatosBenchmark.SEMILLA);
+        int nuevos;
+
+        String existente(RepositorioBenchmark b) {
+            return b.ids[aleatorio.nextInt(b.ids.length)];
+        }
+    }
+
+    @Benchmark
+    public Estudiante buscarPorId(Cursor cursor) {
+        return repository.buscarPorId(cursor.existente(this));
+    }
+
+    @Benchmark
+    public Estudiante buscarInexistente(Cursor cursor) {
+        return repository.buscarPorId("X" + cursor.aleatorio.nextInt());
+    }
+
+    @Benchmark
+    public boolean editar(Cursor cursor) {
+        return repository.editar(cursor.existente(this), "Editado", 30);
+    }
+
+    @Benchmark
+    public boolean agregarYEliminar(Cursor cursor) {
+        String id = "N" + cursor.nuevos++;
+        repository.agregar(Estudiante.crear(id, "Nuevo", 20));
+        return repository.eliminar(id);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void listar(Blackhole agujero) {
+        for (Estudiante est : repository.listar()) {
+            agujero.consume(est.getEdad());
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int buscarPorRangoEdad() {
+        return repository.buscarPorRangoEdad(20, 22).size();
+    }
+}
@@ -0,0 +1,44 @@
+package ec.edu.espe.benchmark;
+
+import ec.edu.espe.datos.model.Estudiante;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Costo de la validación en {@link Estudiante#crear}, tanto para datos
+ * válidos como para el camino que lanza la excepción.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ValidacionBenchmark {
+
+    public String id = "E0000001";
+    public String nombres = "María Andrade";
+    public int edad = 21;
+
+    @Benchmark
+    public Estudiante crearValido() {
+        return Estudiante.crear(id, nombres, edad);
+    }
+
+    @Benchmark
+    public Object crearInvalido() {
+        try {
+            return Estudiante.crear(id, " ", -1);
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+    }
+}
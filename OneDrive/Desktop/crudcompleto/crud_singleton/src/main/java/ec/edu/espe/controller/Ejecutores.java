@@ -0,0 +1,30 @@
+package ec.edu.espe.controller;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public final class Ejecutores {
+
+    private Ejecutores() {
+    }
+
+    /**
+     * Un hilo virtual por tarea cuando la JVM los ofrece (Java 21+); en JVM
+     * anteriores, un pool elástico de hilos daemon con el nombre indicado.
+     */
+    public static ExecutorService hiloPorTarea(String nombre) {
+        try {
+            Method virtuales = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) virtuales.invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            AtomicInteger contador = new AtomicInteger();
+            return Executors.newCachedThreadPool(tarea -> {
+                Thread hilo = new Thread(tarea, nombre + "-" + contador.incrementAndGet());
+                hilo.setDaemon(true);
+                return hilo;
+            });
+        }
+    }
+}
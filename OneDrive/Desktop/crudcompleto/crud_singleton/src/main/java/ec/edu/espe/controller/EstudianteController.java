@@ -1,7 +1,20 @@
 package ec.edu.espe.controller;
 
+import ec.edu.espe.logica_negocio.ConflictoVersionException;
 import ec.edu.espe.logica_negocio.EstudianteService;
+import ec.edu.espe.logica_negocio.ResultadoImportacion;
+import ec.edu.espe.logica_negocio.ResultadoLote;
+import ec.edu.espe.logica_negocio.metricas.MetricasEstudiantes;
+import ec.edu.espe.datos.formato.FormatoArchivo;
 import ec.edu.espe.datos.model.Estudiante;
+import ec.edu.espe.datos.repository.EstadisticasEstudiantes;
+import ec.edu.espe.datos.repository.EstudianteListener;
+import ec.edu.espe.datos.repository.EstudianteSnapshot;
+import ec.edu.espe.datos.repository.OperacionLote;
+import ec.edu.espe.datos.repository.OrdenEstudiante;
+import ec.edu.espe.datos.repository.Pagina;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.List;
 
 public class EstudianteController {
@@ -16,10 +29,54 @@ public class EstudianteController {
         return service.crearEstudiante(id, nombres, edad);
     }
 
+    public ResultadoLote aplicarLote(List<OperacionLote> operaciones) {
+        return service.aplicarLote(operaciones);
+    }
+
+    public ResultadoImportacion importar(Path archivo, FormatoArchivo formato) throws IOException {
+        return service.importarEstudiantes(archivo, formato);
+    }
+
+    public long exportar(Path archivo, FormatoArchivo formato, boolean gzip) throws IOException {
+        return service.exportarEstudiantes(archivo, formato, gzip);
+    }
+
     public List<Estudiante> obtenerTodos() {
         return service.listarEstudiantes();
     }
 
+    public Pagina<Estudiante> obtenerPagina(OrdenEstudiante orden, String cursor, int tamano) {
+        return service.listarPagina(orden, cursor, tamano);
+    }
+
+    public Pagina<Estudiante> obtenerPagina(int pagina, int tamano) {
+        return service.listarPagina(pagina, tamano);
+    }
+
+    public EstudianteSnapshot obtenerSnapshot() {
+        return service.obtenerSnapshot();
+    }
+
+    public void agregarListener(EstudianteListener listener) {
+        service.agregarListener(listener);
+    }
+
+    public void quitarListener(EstudianteListener listener) {
+        service.quitarListener(listener);
+    }
+
+    public long version() {
+        return service.obtenerVersion();
+    }
+
+    public EstadisticasEstudiantes estadisticas() {
+        return service.obtenerEstadisticas();
+    }
+
+    public MetricasEstudiantes metricas() {
+        return service.obtenerMetricas();
+    }
+
     public boolean eliminar(String id) {
         return service.eliminarEstudiante(id);
     }
@@ -28,7 +85,31 @@ public class EstudianteController {
         return service.editarEstudiante(id, nombres, edad);
     }
 
+    /**
+     * Edita solo si el estudiante sigue en la versión que se leyó; si no,
+     * lanza {@link ConflictoVersionException}.
+     */
+    public Estudiante editar(String id, String nombres, int edad, long version) {
+        return service.editarEstudiante(id, nombres, edad, version);
+    }
+
+    public boolean eliminar(String id, long version) {
+        return service.eliminarEstudiante(id, version);
+    }
+
     public Estudiante buscar(String id) {
         return service.buscarPorId(id);
     }
+
+    public List<Estudiante> buscarPorEdad(int minima, int maxima) {
+        return service.buscarPorRangoEdad(minima, maxima);
+    }
+
+    public List<Estudiante> buscarPorNombre(String prefijo) {
+        return service.buscarPorPrefijoNombre(prefijo);
+    }
+
+    public List<Estudiante> buscarAproximado(String texto, int limite) {
+        return service.buscarAproximado(texto, limite);
+    }
 }
@@ -0,0 +1,100 @@
+package ec.edu.espe.datos.formato;
+
+import ec.edu.espe.datos.model.Estudiante;
+
+final class EstudianteCsv {
+
+    private EstudianteCsv() {
+    }
+
+    static String[] leer(String linea) {
+        String[] campos = new String[3];
+        StringBuilder campo = new StringBuilder();
+        int indice = 0;
+        int i = 0;
+        int largo = linea.length();
+
+        while (true) {
+            if (indice >= campos.length) {
+                throw new IllegalArgumentException("Se esperaban 3 columnas: id,nombres,edad");
+            }
+            campo.setLength(0);
+
+            if (i < largo && linea.charAt(i) == '"') {
+                i++;
+                while (true) {
+                    if (i >= largo) throw new IllegalArgumentException("Comillas sin cerrar");
+                    char c = linea.charAt(i++);
+                    if (c == '"') {
+                        if (i < largo && linea.charAt(i) == '"') {
+                            campo.append('"');
+                            i++;
+                        } else {
+                            break;
+                        }
+                    } else {
+                        campo.append(c);
+                    }
+                }
+                if (i < largo && linea.charAt(i) != ',') {
+                    throw new IllegalArgumentException("Texto después de comillas de cierre");
+                }
+            } else {
+                int fin = linea.indexOf(',', i);
+                if (fin < 0) fin = largo;
+                campo.append(linea, i, fin);
+                i = fin;
+            }
+
+            campos[indice++] = campo.toString().trim();
+            if (i >= largo) break;
+            i++;
+        }
+
+        if (indice != campos.length) {
+            throw new IllegalArgumentException("Se esperaban 3 columnas: id,nombres,edad");
+        }
+        return campos;
+    }
+
+    /**
+     * Las comillas escapadas van en pares, así que una cantidad impar deja
+     * abierto (o cierra) un campo que cruza el salto de línea.
+     */
+    static boolean cantidadComillasImpar(String linea) {
+        boolean impar = false;
+        for (int i = 0; i < linea.length(); i++) {
+            if (linea.charAt(i) == '"') impar = !impar;
+        }
+        return impar;
+    }
+
+    static void escribir(Estudiante estudiante, StringBuilder destino) {
+        escribirCampo(estudiante.getId(), destino);
+        destino.append(',');
+        escribirCampo(estudiante.getNombres(), destino);
+        destino.append(',').append(estudiante.getEdad());
+    }
+
+    private static void escribirCampo(String valor, StringBuilder destino) {
+        if (valor == null) return;
+
+        boolean comillas = false;
+        for (int i = 0; i < valor.length() && !comillas; i++) {
+            char c = valor.charAt(i);
+            comillas = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!comillas) {
+            destino.append(valor);
+            return;
+        }
+
+        destino.append('"');
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            if (c == '"') destino.append('"');
+            destino.append(c);
+        }
+        destino.append('"');
+    }
+}
@@ -0,0 +1,84 @@
+package ec.edu.espe.datos.formato;
+
+import ec.edu.espe.datos.model.Estudiante;
+
+public enum FormatoArchivo {
+
+    CSV {
+        @Override
+        public String[] leer(String linea) {
+            return EstudianteCsv.leer(linea);
+        }
+
+        @Override
+        public boolean esCabecera(String linea) {
+            return linea.regionMatches(true, 0, "id,", 0, 3) || linea.regionMatches(true, 0, "\"id\",", 0, 5);
+        }
+
+        @Override
+        public boolean cambiaComillas(String linea) {
+            return EstudianteCsv.cantidadComillasImpar(linea);
+        }
+
+        @Override
+        public String cabecera() {
+            return "id,nombres,edad";
+        }
+
+        @Override
+        public void escribir(Estudiante estudiante, StringBuilder destino) {
+            EstudianteCsv.escribir(estudiante, destino);
+        }
+    },
+
+    JSONL {
+        @Override
+        public String[] leer(String linea) {
+            return EstudianteJson.leer(linea);
+        }
+
+        @Override
+        public boolean esCabecera(String linea) {
+            return false;
+        }
+
+        @Override
+        public String cabecera() {
+            return null;
+        }
+
+        @Override
+        public void escribir(Estudiante estudiante, StringBuilder destino) {
+            EstudianteJson.escribir(estudiante, destino);
+        }
+    };
+
+    /**
+     * Separa una línea en {id, nombres, edad} sin validar su contenido.
+     * Lanza {@link IllegalArgumentException} si la línea está mal formada.
+     */
+    public abstract String[] leer(String linea);
+
+    public abstract boolean esCabecera(String linea);
+
+    /**
+     * Si la línea abre o cierra un campo entre comillas que sigue en la línea
+     * siguiente. Un registro continúa mientras una cantidad impar de sus
+     * líneas lo haya hecho; solo CSV admite campos que cruzan saltos de línea.
+     */
+    public boolean cambiaComillas(String linea) {
+        return false;
+    }
+
+    /**
+     * Línea de cabecera que precede a los datos, o {@code null} si el
+     * formato no usa una.
+     */
+    public abstract String cabecera();
+
+    /**
+     * Agrega el estudiante como un registro completo, sin el salto final. En
+     * CSV un campo entre comillas puede contener saltos de línea.
+     */
+    public abstract void escribir(Estudiante estudiante, StringBuilder destino);
+}
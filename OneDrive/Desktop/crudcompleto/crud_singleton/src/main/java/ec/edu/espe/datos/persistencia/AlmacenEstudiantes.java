@@ -0,0 +1,230 @@
+package ec.edu.espe.datos.persistencia;
+
+import ec.edu.espe.datos.model.Estudiante;
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Directorio con un snapshot compacto y los segmentos del log escritos
+ * después de él. El snapshot guarda el número del primer segmento que no
+ * contiene, así que al arrancar solo se reproduce la cola posterior.
+ */
+public class AlmacenEstudiantes implements Closeable {
+
+    private static final int MAGICO = 0x45535453;
+    private static final int FORMATO = 1;
+    private static final String SNAPSHOT = "estudiantes.snapshot";
+    private static final String PREFIJO_SEGMENTO = "estudiantes-";
+    private static final String SUFIJO_SEGMENTO = ".wal";
+
+    private final Path directorio;
+    private final RegistroEscritura wal;
+    private long segmentoActual;
+
+    private AlmacenEstudiantes(Path directorio, RegistroEscritura wal, long segmentoActual) {
+        this.directorio = directorio;
+        this.wal = wal;
+        this.segmentoActual = segmentoActual;
+    }
+
+    public static AlmacenEstudiantes abrir(Path directorio, PoliticaFsync politica, long intervaloMs,
+            Consumer<Estudiante> carga, Consumer<OperacionLog> reproduccion) throws IOException {
+        Files.createDirectories(directorio);
+
+        long primero = 1;
+        Path snapshot = directorio.resolve(SNAPSHOT);
+        if (Files.exists(snapshot)) {
+            primero = cargarSnapshot(snapshot, carga);
+        }
+
+        List<Long> segmentos = listarSegmentos(directorio);
+        List<Long> vigentes = new ArrayList<>();
+        for (long segmento : segmentos) {
+            if (segmento < primero) {
+                Files.deleteIfExists(rutaSegmento(directorio, segmento));
+            } else {
+                vigentes.add(segmento);
+            }
+        }
+
+        for (int i = 0; i < vigentes.size() - 1; i++) {
+            RegistroEscritura.reproducir(rutaSegmento(directorio, vigentes.get(i)), reproduccion);
+        }
+        long actual = vigentes.isEmpty() ? primero : vigentes.get(vigentes.size() - 1);
+        RegistroEscritura wal = RegistroEscritura.abrir(rutaSegmento(directorio, actual),
+                politica, intervaloMs, reproduccion);
+        return new AlmacenEstudiantes(directorio, wal, actual);
+    }
+
+    public void anexar(OperacionLog operacion) {
+        wal.anexar(operacion);
+    }
+
+    public void sincronizar() {
+        wal.sincronizar();
+    }
+
+    /**
+     * Cierra el segmento actual y abre el siguiente. Debe llamarse sin
+     * escrituras en curso; retorna el número del segmento nuevo, que es el
+     * que debe registrarse en el snapshot tomado en ese mismo instante.
+     */
+    public synchronized long rotar() throws IOException {
+        long siguiente = segmentoActual + 1;
+        wal.rotar(rutaSegmento(directorio, siguiente));
+        segmentoActual = siguiente;
+        return siguiente;
+    }
+
+    /**
+     * Escribe el snapshot en un archivo temporal, lo fuerza a disco, lo
+     * renombra atómicamente y luego borra los segmentos que ya cubre.
+     */
+    public void escribirSnapshot(List<Estudiante> estudiantes, long primerSegmento) throws IOException {
+        Path temporal = directorio.resolve(SNAPSHOT + ".tmp");
+        CRC32 crc = new CRC32();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20);
+
+        try (FileChannel canal = FileChannel.open(temporal, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            buffer.putInt(MAGICO).putInt(FORMATO).putLong(primerSegmento).putInt(estudiantes.size());
+            for (Estudiante estudiante : estudiantes) {
+                byte[] id = estudiante.getId().getBytes(StandardCharsets.UTF_8);
+                byte[] nombres = estudiante.getNombres() == null
+                        ? null : estudiante.getNombres().getBytes(StandardCharsets.UTF_8);
+                int largo = 4 + id.length + 4 + (nombres == null ? 0 : nombres.length) + 4;
+                if (buffer.remaining() < largo) {
+                    volcar(canal, buffer, crc);
+                    if (buffer.capacity() < largo) buffer = ByteBuffer.allocate(largo);
+                }
+                buffer.putInt(id.length).put(id);
+                if (nombres == null) {
+                    buffer.putInt(-1);
+                } else {
+                    buffer.putInt(nombres.length).put(nombres);
+                }
+                buffer.putInt(estudiante.getEdad());
+            }
+            volcar(canal, buffer, crc);
+            buffer.putInt((int) crc.getValue());
+            volcar(canal, buffer, null);
+            canal.force(true);
+        }
+
+        Files.move(temporal, directorio.resolve(SNAPSHOT),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        for (long segmento : listarSegmentos(directorio)) {
+            if (segmento < primerSegmento) {
+                Files.deleteIfExists(rutaSegmento(directorio, segmento));
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        wal.close();
+    }
+
+    private static void volcar(FileChannel canal, ByteBuffer buffer, CRC32 crc) throws IOException {
+        buffer.flip();
+        if (crc != null) {
+            crc.update(buffer.duplicate());
+        }
+        while (buffer.hasRemaining()) {
+            canal.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Se lee por streams y no mapeado: un mapeo sigue vivo hasta que lo
+     * recolecta el GC y, mientras tanto, Windows no deja reemplazar el
+     * archivo en el próximo checkpoint. Primero se verifica el CRC de todo
+     * el archivo y recién después se carga.
+     */
+    private static long cargarSnapshot(Path archivo, Consumer<Estudiante> carga) throws IOException {
+        long tamano = Files.size(archivo);
+        if (tamano < 24) throw new IOException("Snapshot incompleto: " + archivo);
+
+        CRC32 crc = new CRC32();
+        try (DataInputStream entrada = abrirLectura(archivo)) {
+            byte[] bloque = new byte[1 << 16];
+            for (long restantes = tamano - 4; restantes > 0; ) {
+                int leidos = (int) Math.min(bloque.length, restantes);
+                entrada.readFully(bloque, 0, leidos);
+                crc.update(bloque, 0, leidos);
+                restantes -= leidos;
+            }
+            if ((int) crc.getValue() != entrada.readInt()) {
+                throw new IOException("Snapshot corrupto: " + archivo);
+            }
+        }
+
+        try (DataInputStream datos = abrirLectura(archivo)) {
+            if (datos.readInt() != MAGICO || datos.readInt() != FORMATO) {
+                throw new IOException("Formato de snapshot desconocido: " + archivo);
+            }
+
+            long primerSegmento = datos.readLong();
+            int cantidad = datos.readInt();
+            byte[] texto = new byte[256];
+            for (int i = 0; i < cantidad; i++) {
+                int largoId = datos.readInt();
+                if (texto.length < largoId) texto = new byte[largoId];
+                datos.readFully(texto, 0, largoId);
+                String id = new String(texto, 0, largoId, StandardCharsets.UTF_8);
+
+                String nombres = null;
+                int largoNombres = datos.readInt();
+                if (largoNombres >= 0) {
+                    if (texto.length < largoNombres) texto = new byte[largoNombres];
+                    datos.readFully(texto, 0, largoNombres);
+                    nombres = new String(texto, 0, largoNombres, StandardCharsets.UTF_8);
+                }
+                carga.accept(new Estudiante(id, nombres, datos.readInt()));
+            }
+            return primerSegmento;
+        }
+    }
+
+    private static DataInputStream abrirLectura(Path archivo) throws IOException {
+        return new DataInputStream(new BufferedInputStream(Files.newInputStream(archivo), 1 << 16));
+    }
+
+    private static List<Long> listarSegmentos(Path directorio) throws IOException {
+        List<Long> segmentos = new ArrayList<>();
+        try (DirectoryStream<Path> archivos = Files.newDirectoryStream(directorio,
+                PREFIJO_SEGMENTO + "*" + SUFIJO_SEGMENTO)) {
+            for (Path archivo : archivos) {
+                String nombre = archivo.getFileName().toString();
+                String numero = nombre.substring(PREFIJO_SEGMENTO.length(), nombre.length() - SUFIJO_SEGMENTO.length());
+                try {
+                    segmentos.add(Long.parseLong(numero));
+                } catch (NumberFormatException e) {
+                    // archivo ajeno con un nombre parecido
+                }
+            }
+        }
+        Collections.sort(segmentos);
+        return segmentos;
+    }
+
+    private static Path rutaSegmento(Path directorio, long segmento) {
+        return directorio.resolve(String.format("%s%010d%s", PREFIJO_SEGMENTO, segmento, SUFIJO_SEGMENTO));
+    }
+}
@@ -0,0 +1,119 @@
+package ec.edu.espe.datos.persistencia;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Archivo mapeado en memoria por bloques de 64 MB, que crece bajo demanda.
+ * Un {@link MappedByteBuffer} no pasa de 2 GB, así que las direcciones son
+ * {@code long} y cada acceso se resuelve a su bloque; quien lo usa debe
+ * alinear sus estructuras para que ninguna cruce el borde de un bloque.
+ *
+ * <p>Las lecturas son absolutas y pueden hacerse en paralelo; las
+ * escrituras deben serializarse fuera de esta clase.
+ */
+public final class ArchivoMapeado implements Closeable {
+
+    public static final int BITS_BLOQUE = 26;
+    public static final long TAMANO_BLOQUE = 1L << BITS_BLOQUE;
+    private static final int MASCARA = (int) (TAMANO_BLOQUE - 1);
+
+    private final FileChannel canal;
+    private final List<MappedByteBuffer> bloques = new ArrayList<>();
+    private volatile MappedByteBuffer[] vista = new MappedByteBuffer[0];
+
+    private ArchivoMapeado(FileChannel canal) {
+        this.canal = canal;
+    }
+
+    public static ArchivoMapeado abrir(Path archivo) throws IOException {
+        FileChannel canal = FileChannel.open(archivo, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        ArchivoMapeado mapeado = new ArchivoMapeado(canal);
+        mapeado.asegurar(Math.max(canal.size(), 1));
+        return mapeado;
+    }
+
+    /**
+     * Bytes mapeados actualmente; siempre un múltiplo del tamaño de bloque.
+     */
+    public long capacidad() {
+        return vista.length * TAMANO_BLOQUE;
+    }
+
+    /**
+     * Extiende el archivo y el mapeo hasta cubrir {@code bytes}. Las páginas
+     * nuevas se leen como ceros.
+     */
+    public void asegurar(long bytes) throws IOException {
+        if (bytes <= capacidad()) return;
+
+        while (bloques.size() * TAMANO_BLOQUE < bytes) {
+            long inicio = bloques.size() * TAMANO_BLOQUE;
+            bloques.add(canal.map(FileChannel.MapMode.READ_WRITE, inicio, TAMANO_BLOQUE));
+        }
+        vista = bloques.toArray(new MappedByteBuffer[0]);
+    }
+
+    public byte getByte(long direccion) {
+        return bloque(direccion).get((int) direccion & MASCARA);
+    }
+
+    public void putByte(long direccion, byte valor) {
+        bloque(direccion).put((int) direccion & MASCARA, valor);
+    }
+
+    public short getShort(long direccion) {
+        return bloque(direccion).getShort((int) direccion & MASCARA);
+    }
+
+    public void putShort(long direccion, short valor) {
+        bloque(direccion).putShort((int) direccion & MASCARA, valor);
+    }
+
+    public int getInt(long direccion) {
+        return bloque(direccion).getInt((int) direccion & MASCARA);
+    }
+
+    public void putInt(long direccion, int valor) {
+        bloque(direccion).putInt((int) direccion & MASCARA, valor);
+    }
+
+    public long getLong(long direccion) {
+        return bloque(direccion).getLong((int) direccion & MASCARA);
+    }
+
+    public void putLong(long direccion, long valor) {
+        bloque(direccion).putLong((int) direccion & MASCARA, valor);
+    }
+
+    public void get(long direccion, byte[] destino, int largo) {
+        bloque(direccion).get((int) direccion & MASCARA, destino, 0, largo);
+    }
+
+    public void put(long direccion, byte[] origen) {
+        bloque(direccion).put((int) direccion & MASCARA, origen);
+    }
+
+    public void forzar() {
+        for (MappedByteBuffer bloque : vista) {
+            bloque.force();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        forzar();
+        canal.close();
+    }
+
+    private MappedByteBuffer bloque(long direccion) {
+        return vista[(int) (direccion >>> BITS_BLOQUE)];
+    }
+}
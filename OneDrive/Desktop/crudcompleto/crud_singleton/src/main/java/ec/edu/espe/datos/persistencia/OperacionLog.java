@@ -0,0 +1,56 @@
+package ec.edu.espe.datos.persistencia;
+
+import ec.edu.espe.datos.model.Estudiante;
+
+public final class OperacionLog {
+
+    public enum Tipo {
+        ALTA,
+        EDICION,
+        BAJA
+    }
+
+    private final Tipo tipo;
+    private final String id;
+    private final String nombres;
+    private final int edad;
+
+    private OperacionLog(Tipo tipo, String id, String nombres, int edad) {
+        this.tipo = tipo;
+        this.id = id;
+        this.nombres = nombres;
+        this.edad = edad;
+    }
+
+    public static OperacionLog alta(Estudiante estudiante) {
+        return new OperacionLog(Tipo.ALTA, estudiante.getId(), estudiante.getNombres(), estudiante.getEdad());
+    }
+
+    public static OperacionLog edicion(String id, String nombres, int edad) {
+        return new OperacionLog(Tipo.EDICION, id, nombres, edad);
+    }
+
+    public static OperacionLog baja(String id) {
+        return new OperacionLog(Tipo.BAJA, id, null, 0);
+    }
+
+    static OperacionLog de(Tipo tipo, String id, String nombres, int edad) {
+        return new OperacionLog(tipo, id, nombres, edad);
+    }
+
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getNombres() {
+        return nombres;
+    }
+
+    public int getEdad() {
+        return edad;
+    }
+}
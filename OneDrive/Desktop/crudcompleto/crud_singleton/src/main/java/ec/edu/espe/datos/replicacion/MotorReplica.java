@@ -0,0 +1,386 @@
+package ec.edu.espe.datos.replicacion;
+
+import ec.edu.espe.datos.model.Estudiante;
+import ec.edu.espe.datos.repository.CambioEstudiante;
+import ec.edu.espe.datos.repository.EstadisticasEstudiantes;
+import ec.edu.espe.datos.repository.EstudianteListener;
+import ec.edu.espe.datos.repository.EstudianteRepository;
+import ec.edu.espe.datos.repository.EstudianteSnapshot;
+import ec.edu.espe.datos.repository.MotorEstudiantes;
+import ec.edu.espe.datos.repository.OperacionLote;
+import ec.edu.espe.datos.repository.OrdenEstudiante;
+import ec.edu.espe.datos.repository.Pagina;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+/**
+ * Réplica de solo lectura: sigue el flujo de un {@link PublicadorCambios}
+ * y lo aplica sobre una copia en memoria, que atiende todas las lecturas.
+ * Las escrituras se rechazan con {@link UnsupportedOperationException};
+ * deben ir al líder.
+ *
+ * <p>Al conectarse (y al reconectarse tras un corte) recibe un snapshot y
+ * lleva la copia local a ese estado con las diferencias, de modo que los
+ * listeners ven eventos normales. Los cambios pueden llegar fuera de orden
+ * cuando el líder tiene escritores concurrentes; como las versiones del
+ * líder son consecutivas, se retienen hasta completar la secuencia; si una
+ * versión no llega nunca y las retenidas pasan de {@link #MAXIMO_PENDIENTES},
+ * la réplica se reconecta y se pone al día con un snapshot nuevo. Cada
+ * registro conserva la versión que tiene en el líder, así que un cliente
+ * puede leer aquí y escribir condicionalmente en el líder.
+ */
+public class MotorReplica implements MotorEstudiantes, ReplicaMXBean {
+
+    private static final long ESPERA_RECONEXION_MS = 1_000;
+    private static final int MAXIMO_LOTE = 1_024;
+    /** Lo que cabe en la cola de un seguidor del líder; un desorden real es mucho menor. */
+    static final int MAXIMO_PENDIENTES = PublicadorCambios.CAPACIDAD_COLA;
+
+    private final String host;
+    private final int puerto;
+    private final EstudianteRepository local = EstudianteRepository.enMemoria();
+    private final Thread seguidor;
+
+    private volatile boolean abierta = true;
+    private volatile Socket socket;
+    private volatile boolean conectada;
+    private volatile long versionAplicada;
+    private volatile long versionLider;
+    private volatile long retrasoMs;
+    private volatile long ultimoContacto;
+    private volatile long sincronizaciones;
+
+    private MotorReplica(String host, int puerto) {
+        this.host = host;
+        this.puerto = puerto;
+        this.seguidor = new Thread(this::seguir, "replicacion-seguidor");
+        seguidor.setDaemon(true);
+    }
+
+    /**
+     * Empieza a seguir al líder en segundo plano; hasta la primera
+     * sincronización la réplica está vacía.
+     */
+    public static MotorReplica conectar(String host, int puerto) {
+        MotorReplica replica = new MotorReplica(host, puerto);
+        replica.seguidor.start();
+        return replica;
+    }
+
+    /**
+     * @param lider {@code host:puerto} del publicador del líder
+     */
+    public static MotorReplica conectar(String lider) {
+        int separador = lider.lastIndexOf(':');
+        if (separador <= 0) {
+            throw new IllegalArgumentException("El líder debe indicarse como host:puerto: " + lider);
+        }
+        return conectar(lider.substring(0, separador), Integer.parseInt(lider.substring(separador + 1)));
+    }
+
+    public long agregar(Estudiante estudiante) {
+        throw soloLectura();
+    }
+
+    public long[] agregarLote(List<Estudiante> lote) {
+        throw soloLectura();
+    }
+
+    public boolean editar(String id, String nombres, int edad) {
+        throw soloLectura();
+    }
+
+    public boolean eliminar(String id) {
+        throw soloLectura();
+    }
+
+    @Override
+    public long editar(String id, String nombres, int edad, long versionEsperada) {
+        throw soloLectura();
+    }
+
+    @Override
+    public boolean eliminar(String id, long versionEsperada) {
+        throw soloLectura();
+    }
+
+    @Override
+    public boolean[] aplicarLote(List<OperacionLote> lote) {
+        throw soloLectura();
+    }
+
+    public Estudiante buscarPorId(String id) {
+        return local.buscarPorId(id);
+    }
+
+    @Override
+    public boolean existe(String id) {
+        return local.existe(id);
+    }
+
+    public List<Estudiante> buscarPorRangoEdad(int minima, int maxima) {
+        return local.buscarPorRangoEdad(minima, maxima);
+    }
+
+    public List<Estudiante> buscarPorPrefijoNombre(String prefijo) {
+        return local.buscarPorPrefijoNombre(prefijo);
+    }
+
+    @Override
+    public List<Estudiante> filtrar(Predicate<? super Estudiante> filtro) {
+        return local.filtrar(filtro);
+    }
+
+    @Override
+    public long contar(Predicate<? super Estudiante> filtro) {
+        return local.contar(filtro);
+    }
+
+    public Pagina<Estudiante> listarPagina(OrdenEstudiante criterio, String cursor, int limite) {
+        return local.listarPagina(criterio, cursor, limite);
+    }
+
+    public EstudianteSnapshot snapshot() {
+        return local.snapshot();
+    }
+
+    /**
+     * Versión de la copia local, que cuenta también los cambios de cada
+     * resincronización; la del líder es {@link #getVersionAplicada()}.
+     */
+    public long version() {
+        return local.version();
+    }
+
+    public int tamano() {
+        return local.tamano();
+    }
+
+    @Override
+    public EstadisticasEstudiantes estadisticas() {
+        return local.estadisticas();
+    }
+
+    public void agregarListener(EstudianteListener listener) {
+        local.agregarListener(listener);
+    }
+
+    public void quitarListener(EstudianteListener listener) {
+        local.quitarListener(listener);
+    }
+
+    @Override
+    public void cerrar() {
+        abierta = false;
+        cerrarSocket();
+        seguidor.interrupt();
+        try {
+            seguidor.join(ESPERA_RECONEXION_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public String getLider() {
+        return host + ":" + puerto;
+    }
+
+    @Override
+    public boolean isConectada() {
+        return conectada;
+    }
+
+    @Override
+    public long getVersionAplicada() {
+        return versionAplicada;
+    }
+
+    @Override
+    public long getVersionLider() {
+        return versionLider;
+    }
+
+    @Override
+    public long getRetrasoVersiones() {
+        return Math.max(0, versionLider - versionAplicada);
+    }
+
+    @Override
+    public long getRetrasoMs() {
+        return retrasoMs;
+    }
+
+    @Override
+    public long getMsDesdeUltimoContacto() {
+        return ultimoContacto == 0 ? -1 : System.currentTimeMillis() - ultimoContacto;
+    }
+
+    @Override
+    public long getSincronizaciones() {
+        return sincronizaciones;
+    }
+
+    private static UnsupportedOperationException soloLectura() {
+        return new UnsupportedOperationException("Esta instancia es una réplica de solo lectura; escriba en el líder");
+    }
+
+    private void seguir() {
+        boolean avisado = false;
+        while (abierta) {
+            try (Socket conexion = new Socket()) {
+                socket = conexion;
+                conexion.connect(new InetSocketAddress(host, puerto), (int) ESPERA_RECONEXION_MS);
+                conexion.setTcpNoDelay(true);
+                // Sin latidos durante varios intervalos se da al líder por caído.
+                conexion.setSoTimeout((int) (PublicadorCambios.INTERVALO_LATIDO_MS * 6));
+                DataInputStream entrada = new DataInputStream(new BufferedInputStream(conexion.getInputStream(), 64 * 1024));
+                ProtocoloReplicacion.leerCabecera(entrada);
+                conectada = true;
+                avisado = false;
+                recibir(entrada);
+            } catch (IOException | RuntimeException e) {
+                if (abierta && !avisado) {
+                    String motivo = e instanceof EOFException ? "el líder cerró la conexión" : e.getMessage();
+                    System.err.println("Replicación: sin conexión con el líder " + getLider() + ": " + motivo);
+                    avisado = true;
+                }
+            } finally {
+                conectada = false;
+            }
+            if (!abierta) return;
+            try {
+                Thread.sleep(ESPERA_RECONEXION_MS);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private void recibir(DataInputStream entrada) throws IOException {
+        TreeMap<Long, Pendiente> pendientes = new TreeMap<>();
+        List<Pendiente> lote = new ArrayList<>(MAXIMO_LOTE);
+        long marcaLote = 0;
+        while (abierta) {
+            byte tipo = entrada.readByte();
+            long version = entrada.readLong();
+            long marca = entrada.readLong();
+            ultimoContacto = System.currentTimeMillis();
+            switch (tipo) {
+                case ProtocoloReplicacion.SNAPSHOT:
+                    sincronizar(entrada, version);
+                    pendientes.clear();
+                    break;
+                case ProtocoloReplicacion.CAMBIO:
+                    CambioEstudiante.Tipo cambio = ProtocoloReplicacion.leerTipoCambio(entrada);
+                    Estudiante estudiante = ProtocoloReplicacion.leerEstudiante(entrada);
+                    versionLider = Math.max(versionLider, version);
+                    pendientes.put(version, new Pendiente(cambio, estudiante));
+                    if (pendientes.size() > MAXIMO_PENDIENTES) {
+                        throw new IOException("No llegó la versión " + (versionAplicada + lote.size() + 1)
+                                + " del líder; se pide un snapshot nuevo");
+                    }
+                    // Lo que sigue a la última versión aplicada pasa al lote en orden.
+                    while (!pendientes.isEmpty() && pendientes.firstKey() == versionAplicada + lote.size() + 1) {
+                        lote.add(pendientes.pollFirstEntry().getValue());
+                        marcaLote = marca;
+                    }
+                    break;
+                case ProtocoloReplicacion.LATIDO:
+                    versionLider = Math.max(versionLider, version);
+                    break;
+                default:
+                    throw new IOException("Mensaje de replicación desconocido: " + tipo);
+            }
+            // Se aplica en bloque lo que ya llegó, y al vaciarse el búfer de entrada.
+            if (!lote.isEmpty() && (lote.size() >= MAXIMO_LOTE || entrada.available() == 0)) {
+                for (Pendiente pendiente : lote) {
+                    aplicar(pendiente.tipo, pendiente.estudiante);
+                }
+                versionAplicada += lote.size();
+                retrasoMs = Math.max(0, System.currentTimeMillis() - marcaLote);
+                lote.clear();
+            }
+            if (tipo == ProtocoloReplicacion.LATIDO && versionAplicada >= version) {
+                retrasoMs = 0;
+            }
+        }
+    }
+
+    /**
+     * Lleva la copia local al estado del snapshot: quita lo que ya no existe,
+     * corrige lo que cambió y agrega lo nuevo en el orden del líder. Para
+     * quitar se usa un lote; lo demás se instala con la versión del líder.
+     */
+    private void sincronizar(DataInputStream entrada, long version) throws IOException {
+        int cantidad = entrada.readInt();
+        Map<String, Estudiante> remotos = new LinkedHashMap<>(Math.max(16, cantidad * 4 / 3 + 1));
+        for (int i = 0; i < cantidad; i++) {
+            Estudiante estudiante = ProtocoloReplicacion.leerEstudiante(entrada);
+            remotos.put(estudiante.getId(), estudiante);
+        }
+
+        List<OperacionLote> bajas = new ArrayList<>();
+        List<Estudiante> editados = new ArrayList<>();
+        for (Estudiante actual : local.snapshot().getEstudiantes()) {
+            Estudiante remoto = remotos.get(actual.getId());
+            if (remoto == null) {
+                bajas.add(OperacionLote.eliminar(actual.getId()));
+            } else if (remoto.getVersion() != actual.getVersion() || remoto.getEdad() != actual.getEdad()
+                    || !Objects.equals(remoto.getNombres(), actual.getNombres())) {
+                editados.add(remoto);
+            }
+        }
+        local.aplicarLote(bajas);
+        editados.forEach(local::instalar);
+        for (Estudiante remoto : remotos.values()) {
+            if (!local.existe(remoto.getId())) {
+                local.instalar(remoto);
+            }
+        }
+
+        versionAplicada = version;
+        versionLider = Math.max(versionLider, version);
+        retrasoMs = 0;
+        sincronizaciones++;
+    }
+
+    private void aplicar(CambioEstudiante.Tipo tipo, Estudiante estudiante) {
+        if (tipo == CambioEstudiante.Tipo.ELIMINADO) {
+            local.eliminar(estudiante.getId());
+        } else {
+            local.instalar(estudiante);
+        }
+    }
+
+    private void cerrarSocket() {
+        Socket actual = socket;
+        if (actual == null) return;
+        try {
+            actual.close();
+        } catch (IOException ignorada) {
+            // ya se está cerrando
+        }
+    }
+
+    private static final class Pendiente {
+        private final CambioEstudiante.Tipo tipo;
+        private final Estudiante estudiante;
+
+        Pendiente(CambioEstudiante.Tipo tipo, Estudiante estudiante) {
+            this.tipo = tipo;
+            this.estudiante = estudiante;
+        }
+    }
+}
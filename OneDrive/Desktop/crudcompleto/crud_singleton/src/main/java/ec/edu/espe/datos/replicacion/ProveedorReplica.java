@@ -0,0 +1,26 @@
+package ec.edu.espe.datos.replicacion;
+
+import ec.edu.espe.datos.repository.MotorEstudiantes;
+import ec.edu.espe.datos.repository.ProveedorMotor;
+import java.util.Properties;
+
+/**
+ * Réplica de solo lectura de otra instancia; {@code estudiantes.replicacion.lider}
+ * indica el {@code host:puerto} donde publica su flujo de cambios.
+ */
+public class ProveedorReplica implements ProveedorMotor {
+
+    public static final String PROPIEDAD_LIDER = "estudiantes.replicacion.lider";
+
+    public String getNombre() {
+        return "replica";
+    }
+
+    public MotorEstudiantes crear(Properties configuracion) {
+        String lider = configuracion.getProperty(PROPIEDAD_LIDER);
+        if (lider == null || lider.isEmpty()) {
+            throw new IllegalArgumentException("El motor replica necesita la propiedad " + PROPIEDAD_LIDER);
+        }
+        return MotorReplica.conectar(lider);
+    }
+}
@@ -0,0 +1,30 @@
+package ec.edu.espe.datos.replicacion;
+
+public interface ReplicaMXBean {
+
+    String getLider();
+
+    boolean isConectada();
+
+    /**
+     * Versión del líder hasta la que esta réplica aplicó todos los cambios.
+     */
+    long getVersionAplicada();
+
+    /**
+     * Última versión del líder conocida por esta réplica.
+     */
+    long getVersionLider();
+
+    long getRetrasoVersiones();
+
+    /**
+     * Tiempo entre que el líder publicó el último cambio aplicado y su
+     * aplicación aquí; 0 si un latido posterior confirmó que no falta nada.
+     */
+    long getRetrasoMs();
+
+    long getMsDesdeUltimoContacto();
+
+    long getSincronizaciones();
+}
@@ -0,0 +1,52 @@
+package ec.edu.espe.datos.repository;
+
+import ec.edu.espe.datos.model.Estudiante;
+
+public final class CambioEstudiante {
+
+    public enum Tipo {
+        CREADO,
+        ACTUALIZADO,
+        ELIMINADO
+    }
+
+    private final Tipo tipo;
+    private final Estudiante estudiante;
+    private final long posicion;
+    private final long version;
+
+    CambioEstudiante(Tipo tipo, Estudiante estudiante, long posicion, long version) {
+        this.tipo = tipo;
+        this.estudiante = estudiante;
+        this.posicion = posicion;
+        this.version = version;
+    }
+
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    /**
+     * El registro creado, el registro tras la edición o el registro que se
+     * eliminó, según el tipo de cambio.
+     */
+    public Estudiante getEstudiante() {
+        return estudiante;
+    }
+
+    /**
+     * Posición del registro en el orden de inserción; coincide con
+     * {@link EstudianteSnapshot#indiceDe(long)}.
+     */
+    public long getPosicion() {
+        return posicion;
+    }
+
+    /**
+     * Versión del repositorio que produjo este cambio. Un snapshot con
+     * versión mayor o igual ya lo incluye.
+     */
+    public long getVersion() {
+        return version;
+    }
+}
@@ -0,0 +1,111 @@
+package ec.edu.espe.datos.repository;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Agregados de edad del padrón tal como estaban en {@link #getVersion()}.
+ * Se obtienen de los contadores que el motor mantiene en cada escritura,
+ * sin recorrer los estudiantes.
+ */
+public final class EstadisticasEstudiantes {
+
+    private final long version;
+    private final long[] conteos;
+    private final Map<Integer, Long> fueraDeRango;
+    private final long total;
+    private final long sumaEdades;
+    private final int edadMinima;
+    private final int edadMaxima;
+
+    EstadisticasEstudiantes(long version, long[] conteos, Map<Integer, Long> fueraDeRango) {
+        this.version = version;
+        this.conteos = conteos;
+        this.fueraDeRango = fueraDeRango;
+
+        long cantidad = 0;
+        long suma = 0;
+        int minima = Integer.MAX_VALUE;
+        int maxima = Integer.MIN_VALUE;
+        for (int edad = 0; edad < conteos.length; edad++) {
+            if (conteos[edad] == 0) continue;
+            cantidad += conteos[edad];
+            suma += edad * conteos[edad];
+            minima = Math.min(minima, edad);
+            maxima = Math.max(maxima, edad);
+        }
+        for (Map.Entry<Integer, Long> otra : fueraDeRango.entrySet()) {
+            cantidad += otra.getValue();
+            suma += otra.getKey() * otra.getValue();
+            minima = Math.min(minima, otra.getKey());
+            maxima = Math.max(maxima, otra.getKey());
+        }
+        this.total = cantidad;
+        this.sumaEdades = suma;
+        this.edadMinima = cantidad == 0 ? 0 : minima;
+        this.edadMaxima = cantidad == 0 ? 0 : maxima;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public long getSumaEdades() {
+        return sumaEdades;
+    }
+
+    /**
+     * 0 si no hay estudiantes.
+     */
+    public double getEdadPromedio() {
+        return total == 0 ? 0 : (double) sumaEdades / total;
+    }
+
+    /**
+     * 0 si no hay estudiantes.
+     */
+    public int getEdadMinima() {
+        return edadMinima;
+    }
+
+    /**
+     * 0 si no hay estudiantes.
+     */
+    public int getEdadMaxima() {
+        return edadMaxima;
+    }
+
+    public long contar(int edad) {
+        if (edad >= 0 && edad < conteos.length) return conteos[edad];
+        return fueraDeRango.getOrDefault(edad, 0L);
+    }
+
+    public long contarPorRango(int minima, int maxima) {
+        long cantidad = 0;
+        for (int edad = Math.max(0, minima); edad <= Math.min(maxima, conteos.length - 1); edad++) {
+            cantidad += conteos[edad];
+        }
+        for (Map.Entry<Integer, Long> otra : fueraDeRango.entrySet()) {
+            if (otra.getKey() >= minima && otra.getKey() <= maxima) cantidad += otra.getValue();
+        }
+        return cantidad;
+    }
+
+    /**
+     * Cantidad de estudiantes por edad, solo para las edades presentes y en
+     * orden ascendente.
+     */
+    public SortedMap<Integer, Long> getDistribucion() {
+        TreeMap<Integer, Long> distribucion = new TreeMap<>(fueraDeRango);
+        for (int edad = 0; edad < conteos.length; edad++) {
+            if (conteos[edad] != 0) distribucion.put(edad, conteos[edad]);
+        }
+        return Collections.unmodifiableSortedMap(distribucion);
+    }
+}
@@ -0,0 +1,12 @@
+package ec.edu.espe.datos.repository;
+
+/**
+ * Recibe los cambios del repositorio en el hilo que hizo la escritura,
+ * después de aplicarla. Debe retornar rápido y no escribir en el
+ * repositorio desde aquí.
+ */
+@FunctionalInterface
+public interface EstudianteListener {
+
+    void alCambiar(CambioEstudiante cambio);
+}
@@ -1,51 +1,644 @@
 package ec.edu.espe.datos.repository;
 
 import ec.edu.espe.datos.model.Estudiante;
+import ec.edu.espe.datos.persistencia.AlmacenEstudiantes;
+import ec.edu.espe.datos.persistencia.OperacionLog;
+import ec.edu.espe.datos.persistencia.PoliticaFsync;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
-public class EstudianteRepository {
+public class EstudianteRepository implements MotorEstudiantes {
 
-    private static EstudianteRepository instance;
+    private static final long CUALQUIER_VERSION = -1;
+    private static final int MAXIMO_PENDIENTES = 1 << 16;
 
-    private List<Estudiante> estudiantes;
+    private final ConcurrentHashMap<String, Registro> estudiantes = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Long, Estudiante> orden = new ConcurrentSkipListMap<>();
+    private final AtomicLong secuencia = new AtomicLong();
+    private final ConcurrentSkipListMap<String, Estudiante> porId = new ConcurrentSkipListMap<>();
+    private final IndiceEdad porEdad = new IndiceEdad();
+    private final DistribucionEdades distribucion = new DistribucionEdades();
+    private final IndiceNombres porNombres = new IndiceNombres();
+
+    // Las escrituras comparten el candado de lectura entre ellas; solo la
+    // construcción de un snapshot toma el exclusivo para ver un estado estable.
+    private final ReentrantReadWriteLock candado = new ReentrantReadWriteLock();
+    private final AtomicLong version = new AtomicLong();
+    private volatile EstudianteSnapshot snapshot = new EstudianteSnapshot(0, new Estudiante[0], new long[0]);
+    // Cambios posteriores al último snapshot, anotados dentro del candado de
+    // cada escritura; el siguiente snapshot los aplica sobre el anterior.
+    private final ConcurrentLinkedQueue<CambioEstudiante> pendientes = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger cantidadPendientes = new AtomicInteger();
+    private final Object construccion = new Object();
+
+    private final CopyOnWriteArrayList<EstudianteListener> listeners = new CopyOnWriteArrayList<>();
+
+    private final AlmacenEstudiantes almacen;
+    private ScheduledExecutorService checkpointer;
+    private long versionCheckpoint;
 
     private EstudianteRepository() {
-        estudiantes = new ArrayList<>();
+        almacen = null;
+    }
+
+    private EstudianteRepository(Path directorio, PoliticaFsync politica, long intervaloMs) throws IOException {
+        almacen = AlmacenEstudiantes.abrir(directorio, politica, intervaloMs, this::cargar, this::aplicar);
+        versionCheckpoint = version.get();
+    }
+
+    private static class Holder {
+        private static final EstudianteRepository INSTANCE = crear();
     }
 
     public static EstudianteRepository getInstance() {
-        if (instance == null) {
-            instance = new EstudianteRepository();
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Crea un repositorio independiente de la instancia global y sin persistencia;
+     * útil para aislar mediciones o cargas que no deben tocar los datos de la aplicación.
+     */
+    public static EstudianteRepository enMemoria() {
+        return new EstudianteRepository();
+    }
+
+    /**
+     * Abre un repositorio independiente sobre el directorio indicado, recuperando
+     * su snapshot y sus segmentos de log. Quien lo abre es responsable de cerrarlo.
+     */
+    public static EstudianteRepository abrir(Path directorio, PoliticaFsync politica, long intervaloMs) throws IOException {
+        return new EstudianteRepository(directorio, politica, intervaloMs);
+    }
+
+    private static EstudianteRepository crear() {
+        String directorio = System.getProperty("estudiantes.datos");
+        if (directorio == null || directorio.isEmpty()) {
+            return enMemoria();
+        }
+
+        PoliticaFsync politica = PoliticaFsync.valueOf(System.getProperty("estudiantes.fsync", "PERIODICA"));
+        long intervaloMs = Long.getLong("estudiantes.fsync.intervaloMs", 50);
+        long checkpointSegundos = Long.getLong("estudiantes.checkpoint.segundos", 60);
+        try {
+            EstudianteRepository repository = abrir(Paths.get(directorio), politica, intervaloMs);
+            if (checkpointSegundos > 0) {
+                repository.iniciarCheckpoints(checkpointSegundos);
+            }
+            Runtime.getRuntime().addShutdownHook(new Thread(repository::cerrar, "estudiantes-cierre"));
+            return repository;
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudieron abrir los datos de estudiantes en " + directorio, e);
         }
-        return instance;
     }
 
-    public void agregar(Estudiante estudiante) {
-        estudiantes.add(estudiante);
+    private void iniciarCheckpoints(long segundos) {
+        checkpointer = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "estudiantes-checkpoint");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        checkpointer.scheduleWithFixedDelay(() -> {
+            try {
+                checkpoint();
+            } catch (RuntimeException e) {
+                System.err.println("Checkpoint de estudiantes fallido: " + e.getMessage());
+            }
+        }, segundos, segundos, TimeUnit.SECONDS);
+    }
+
+    public long agregar(Estudiante estudiante) {
+        CambioEstudiante cambio;
+        candado.readLock().lock();
+        try {
+            cambio = insertar(estudiante);
+            if (cambio == null) return 0;
+        } finally {
+            candado.readLock().unlock();
+        }
+        try {
+            sincronizar();
+        } finally {
+            publicar(cambio);
+        }
+        return cambio.getVersion();
+    }
+
+    /**
+     * Agrega todo el lote con una sola toma del candado y una sola espera
+     * de durabilidad. Cada posición tiene la versión con que quedó ese
+     * estudiante, o 0 si su ID ya existía (incluido un ID repetido dentro
+     * del mismo lote).
+     */
+    public long[] agregarLote(List<Estudiante> lote) {
+        long[] agregados = new long[lote.size()];
+        List<CambioEstudiante> cambios = new ArrayList<>(lote.size());
+        candado.readLock().lock();
+        try {
+            for (int i = 0; i < agregados.length; i++) {
+                CambioEstudiante cambio = insertar(lote.get(i));
+                if (cambio != null) {
+                    agregados[i] = cambio.getVersion();
+                    cambios.add(cambio);
+                }
+            }
+        } finally {
+            candado.readLock().unlock();
+        }
+        if (!cambios.isEmpty()) {
+            try {
+                sincronizar();
+            } finally {
+                cambios.forEach(this::publicar);
+            }
+        }
+        return agregados;
+    }
+
+    /**
+     * La versión se toma dentro de la sección atómica de la clave, así que
+     * los cambios de un mismo ID quedan numerados en el orden en que se
+     * aplicaron; quien reproduce los eventos por versión depende de eso.
+     */
+    private CambioEstudiante insertar(Estudiante estudiante) {
+        long[] asignada = new long[1];
+        Registro registro = estudiantes.computeIfAbsent(estudiante.getId(), id -> {
+            registrar(OperacionLog.alta(estudiante));
+            long posicion = secuencia.incrementAndGet();
+            asignada[0] = version.incrementAndGet();
+            Estudiante guardado = new Estudiante(id, estudiante.getNombres(), estudiante.getEdad(), asignada[0]);
+            orden.put(posicion, guardado);
+            indexar(guardado);
+            return new Registro(posicion, guardado);
+        });
+        if (asignada[0] == 0) return null;
+
+        return anotar(new CambioEstudiante(CambioEstudiante.Tipo.CREADO, registro.estudiante, registro.posicion,
+                asignada[0]));
     }
 
     public boolean editar(String id, String nombres, int edad) {
-        Estudiante est = buscarPorId(id);
-        if (est == null) return false;
+        return editar(id, nombres, edad, CUALQUIER_VERSION) != 0;
+    }
 
-        est.setNombres(nombres);
-        est.setEdad(edad);
-        return true;
+    /**
+     * La comparación de versiones ocurre en la misma sección atómica de la
+     * clave que el reemplazo del registro, así que solo compite con las
+     * escrituras de ese ID; los demás escritores siguen en paralelo.
+     */
+    @Override
+    public long editar(String id, String nombres, int edad, long versionEsperada) {
+        CambioEstudiante cambio;
+        candado.readLock().lock();
+        try {
+            cambio = modificar(id, nombres, edad, versionEsperada);
+            if (cambio == null) return 0;
+        } finally {
+            candado.readLock().unlock();
+        }
+        try {
+            sincronizar();
+        } finally {
+            publicar(cambio);
+        }
+        return cambio.getVersion();
+    }
+
+    private CambioEstudiante modificar(String id, String nombres, int edad, long versionEsperada) {
+        long[] asignada = new long[1];
+        Registro registro = estudiantes.computeIfPresent(id, (clave, actual) -> {
+            if (versionEsperada != CUALQUIER_VERSION && actual.estudiante.getVersion() != versionEsperada) {
+                return actual;
+            }
+            registrar(OperacionLog.edicion(clave, nombres, edad));
+            asignada[0] = version.incrementAndGet();
+            Estudiante editado = new Estudiante(clave, nombres, edad, asignada[0]);
+            orden.put(actual.posicion, editado);
+            desindexar(actual.estudiante);
+            indexar(editado);
+            return new Registro(actual.posicion, editado);
+        });
+        if (asignada[0] == 0) return null;
+
+        return anotar(new CambioEstudiante(CambioEstudiante.Tipo.ACTUALIZADO, registro.estudiante,
+                registro.posicion, asignada[0]));
     }
 
     public boolean eliminar(String id) {
-        return estudiantes.removeIf(e -> e.getId().equals(id));
+        return eliminar(id, CUALQUIER_VERSION);
+    }
+
+    @Override
+    public boolean eliminar(String id, long versionEsperada) {
+        CambioEstudiante cambio;
+        candado.readLock().lock();
+        try {
+            cambio = quitar(id, versionEsperada);
+            if (cambio == null) return false;
+        } finally {
+            candado.readLock().unlock();
+        }
+        try {
+            sincronizar();
+        } finally {
+            publicar(cambio);
+        }
+        return true;
+    }
+
+    private CambioEstudiante quitar(String id, long versionEsperada) {
+        Registro[] eliminado = new Registro[1];
+        long[] asignada = new long[1];
+        estudiantes.computeIfPresent(id, (clave, actual) -> {
+            if (versionEsperada != CUALQUIER_VERSION && actual.estudiante.getVersion() != versionEsperada) {
+                return actual;
+            }
+            registrar(OperacionLog.baja(clave));
+            orden.remove(actual.posicion);
+            desindexar(actual.estudiante);
+            eliminado[0] = actual;
+            asignada[0] = version.incrementAndGet();
+            return null;
+        });
+        if (eliminado[0] == null) return null;
+
+        return anotar(new CambioEstudiante(CambioEstudiante.Tipo.ELIMINADO, eliminado[0].estudiante,
+                eliminado[0].posicion, asignada[0]));
+    }
+
+    /**
+     * Guarda el estudiante con la versión que ya trae en lugar de asignarle
+     * una: lo agrega si su ID no existe o reemplaza al vigente. Lo usan las
+     * réplicas, que reproducen los cambios del líder y deben informar las
+     * mismas versiones de registro que él; la versión del repositorio y los
+     * eventos avanzan como en cualquier otra escritura.
+     */
+    public void instalar(Estudiante estudiante) {
+        CambioEstudiante cambio;
+        candado.readLock().lock();
+        try {
+            cambio = reemplazar(estudiante);
+        } finally {
+            candado.readLock().unlock();
+        }
+        try {
+            sincronizar();
+        } finally {
+            publicar(cambio);
+        }
+    }
+
+    private CambioEstudiante reemplazar(Estudiante estudiante) {
+        long[] asignada = new long[1];
+        boolean[] creado = new boolean[1];
+        Registro registro = estudiantes.compute(estudiante.getId(), (id, actual) -> {
+            long posicion;
+            if (actual == null) {
+                registrar(OperacionLog.alta(estudiante));
+                posicion = secuencia.incrementAndGet();
+                creado[0] = true;
+            } else {
+                registrar(OperacionLog.edicion(id, estudiante.getNombres(), estudiante.getEdad()));
+                posicion = actual.posicion;
+                desindexar(actual.estudiante);
+            }
+            asignada[0] = version.incrementAndGet();
+            orden.put(posicion, estudiante);
+            indexar(estudiante);
+            return new Registro(posicion, estudiante);
+        });
+
+        return anotar(new CambioEstudiante(creado[0] ? CambioEstudiante.Tipo.CREADO : CambioEstudiante.Tipo.ACTUALIZADO,
+                estudiante, registro.posicion, asignada[0]));
+    }
+
+    /**
+     * Se llama con el candado de lectura tomado, así que un snapshot que
+     * toma el exclusivo ve anotados todos los cambios hasta su versión.
+     * Pasado el tope se deja de anotar y el próximo snapshot copia todo.
+     */
+    private CambioEstudiante anotar(CambioEstudiante cambio) {
+        if (cantidadPendientes.incrementAndGet() <= MAXIMO_PENDIENTES) pendientes.add(cambio);
+        return cambio;
     }
 
-    public List<Estudiante> listar() {
-        return estudiantes;
+    /**
+     * Aplica el lote con una sola toma del candado y una sola espera de
+     * durabilidad para todas sus entradas del log.
+     */
+    @Override
+    public boolean[] aplicarLote(List<OperacionLote> lote) {
+        boolean[] aplicadas = new boolean[lote.size()];
+        List<CambioEstudiante> cambios = new ArrayList<>(lote.size());
+        candado.readLock().lock();
+        try {
+            for (int i = 0; i < aplicadas.length; i++) {
+                OperacionLote operacion = lote.get(i);
+                CambioEstudiante cambio;
+                switch (operacion.getTipo()) {
+                    case CREAR:
+                        cambio = insertar(new Estudiante(operacion.getId(), operacion.getNombres(), operacion.getEdad()));
+                        break;
+                    case EDITAR:
+                        cambio = modificar(operacion.getId(), operacion.getNombres(), operacion.getEdad(),
+                                CUALQUIER_VERSION);
+                        break;
+                    default:
+                        cambio = quitar(operacion.getId(), CUALQUIER_VERSION);
+                        break;
+                }
+                if (cambio != null) {
+                    aplicadas[i] = true;
+                    cambios.add(cambio);
+                }
+            }
+        } finally {
+            candado.readLock().unlock();
+        }
+        if (!cambios.isEmpty()) {
+            try {
+                sincronizar();
+            } finally {
+                cambios.forEach(this::publicar);
+            }
+        }
+        return aplicadas;
+    }
+
+    public boolean existe(String id) {
+        return estudiantes.containsKey(id);
+    }
+
+    public List<Estudiante> buscarPorRangoEdad(int minima, int maxima) {
+        return porEdad.rango(minima, maxima);
+    }
+
+    public List<Estudiante> buscarPorPrefijoNombre(String prefijo) {
+        return porNombres.prefijo(prefijo);
+    }
+
+    /**
+     * Página que empieza justo después de {@code cursor} (o al inicio si es
+     * {@code null}) en el orden indicado. Cada orden está respaldado por un
+     * índice ordenado, así que una página profunda cuesta lo mismo que la
+     * primera.
+     */
+    public Pagina<Estudiante> listarPagina(OrdenEstudiante criterio, String cursor, int limite) {
+        String clave = cursor == null ? null : CursorPagina.decodificar(criterio, cursor);
+        switch (criterio) {
+            case INSERCION:
+                NavigableMap<Long, Estudiante> porPosicion = clave == null
+                        ? orden : orden.tailMap(CursorPagina.posicion(clave), false);
+                return paginar(porPosicion, criterio, limite, String::valueOf);
+            case ID:
+                return paginar(clave == null ? porId : porId.tailMap(clave, false), criterio, limite, id -> id);
+            case NOMBRES:
+                return paginar(porNombres.desde(clave), criterio, limite, nombre -> nombre);
+            case EDAD:
+                return paginar(porEdad.desde(clave), criterio, limite, IndiceEdad::cursor);
+            default:
+                throw new IllegalArgumentException("Orden no soportado: " + criterio);
+        }
+    }
+
+    private <K> Pagina<Estudiante> paginar(NavigableMap<K, Estudiante> vista, OrdenEstudiante criterio,
+            int limite, Function<K, String> claveCursor) {
+        List<Estudiante> elementos = new ArrayList<>(Math.min(limite, 1024));
+        K ultima = null;
+        boolean hayMas = false;
+        for (Map.Entry<K, Estudiante> entrada : vista.entrySet()) {
+            if (elementos.size() == limite) {
+                hayMas = true;
+                break;
+            }
+            elementos.add(entrada.getValue());
+            ultima = entrada.getKey();
+        }
+        String siguiente = hayMas ? CursorPagina.codificar(criterio, claveCursor.apply(ultima)) : null;
+        return new Pagina<>(elementos, siguiente, estudiantes.mappingCount());
+    }
+
+    /**
+     * Se captura con el candado exclusivo, como el snapshot, así que los
+     * agregados corresponden exactamente a la versión informada; el costo no
+     * depende del tamaño del padrón.
+     */
+    @Override
+    public EstadisticasEstudiantes estadisticas() {
+        candado.writeLock().lock();
+        try {
+            return distribucion.capturar(version.get());
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Los escritores solo se detienen mientras se recogen los cambios
+     * anotados desde el snapshot anterior, un costo proporcional a esos
+     * cambios; la copia nueva, que sí es O(n), se arma después fuera del
+     * candado aplicándolos al snapshot anterior. Se copia todo con el
+     * candado tomado solo tras una recuperación o si se acumularon más de
+     * {@value #MAXIMO_PENDIENTES} cambios sin que nadie pidiera un snapshot.
+     */
+    public EstudianteSnapshot snapshot() {
+        EstudianteSnapshot actual = snapshot;
+        if (actual.getVersion() == version.get()) return actual;
+        return actualizarSnapshot(null);
+    }
+
+    /**
+     * {@code enElInstante} corre con los escritores detenidos, justo en la
+     * versión del snapshot que se retorna.
+     */
+    private EstudianteSnapshot actualizarSnapshot(Runnable enElInstante) {
+        synchronized (construccion) {
+            EstudianteSnapshot actual = snapshot;
+            List<CambioEstudiante> cambios = new ArrayList<>();
+            long vigente;
+            candado.writeLock().lock();
+            try {
+                vigente = version.get();
+                if (enElInstante != null) enElInstante.run();
+                for (CambioEstudiante cambio; (cambio = pendientes.poll()) != null; ) {
+                    cambios.add(cambio);
+                }
+                cantidadPendientes.set(0);
+                if (cambios.size() != vigente - actual.getVersion()) {
+                    actual = copiar(vigente);
+                    snapshot = actual;
+                    return actual;
+                }
+            } finally {
+                candado.writeLock().unlock();
+            }
+            if (!cambios.isEmpty()) {
+                actual = actual.aplicar(vigente, cambios);
+                snapshot = actual;
+            }
+            return actual;
+        }
+    }
+
+    private EstudianteSnapshot copiar(long vigente) {
+        int cantidad = orden.size();
+        Estudiante[] registros = new Estudiante[cantidad];
+        long[] posiciones = new long[cantidad];
+        int i = 0;
+        for (Map.Entry<Long, Estudiante> entrada : orden.entrySet()) {
+            registros[i] = entrada.getValue();
+            posiciones[i] = entrada.getKey();
+            i++;
+        }
+        return new EstudianteSnapshot(vigente, registros, posiciones);
+    }
+
+    public void agregarListener(EstudianteListener listener) {
+        listeners.add(listener);
+    }
+
+    public void quitarListener(EstudianteListener listener) {
+        listeners.remove(listener);
+    }
+
+    private void publicar(CambioEstudiante cambio) {
+        for (EstudianteListener listener : listeners) {
+            try {
+                listener.alCambiar(cambio);
+            } catch (RuntimeException e) {
+                System.err.println("Listener de estudiantes falló: " + e.getMessage());
+            }
+        }
+    }
+
+    public long version() {
+        return version.get();
+    }
+
+    public int tamano() {
+        return estudiantes.size();
     }
 
     public Estudiante buscarPorId(String id) {
-        return estudiantes.stream()
-                .filter(e -> e.getId().equals(id))
-                .findFirst()
-                .orElse(null);
+        Registro registro = estudiantes.get(id);
+        return registro == null ? null : registro.estudiante;
+    }
+
+    /**
+     * Toma un snapshot consistente y rota el log en el mismo instante, luego
+     * escribe el snapshot a disco y descarta los segmentos que ya contiene.
+     */
+    public synchronized void checkpoint() {
+        if (almacen == null || version.get() == versionCheckpoint) return;
+
+        long[] primerSegmento = new long[1];
+        EstudianteSnapshot estado = actualizarSnapshot(() -> {
+            try {
+                primerSegmento[0] = almacen.rotar();
+            } catch (IOException e) {
+                throw new UncheckedIOException("No se pudo rotar el log de estudiantes", e);
+            }
+        });
+
+        try {
+            almacen.escribirSnapshot(estado.getEstudiantes(), primerSegmento[0]);
+            versionCheckpoint = estado.getVersion();
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo escribir el snapshot de estudiantes", e);
+        }
+    }
+
+    public void cerrar() {
+        if (almacen == null) return;
+
+        if (checkpointer != null) {
+            checkpointer.shutdownNow();
+        }
+        try {
+            almacen.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void registrar(OperacionLog operacion) {
+        if (almacen != null) almacen.anexar(operacion);
+    }
+
+    private void sincronizar() {
+        if (almacen != null) almacen.sincronizar();
+    }
+
+    private void cargar(Estudiante leido) {
+        long posicion = secuencia.incrementAndGet();
+        Estudiante estudiante = new Estudiante(leido.getId(), leido.getNombres(), leido.getEdad(),
+                version.incrementAndGet());
+        estudiantes.put(estudiante.getId(), new Registro(posicion, estudiante));
+        orden.put(posicion, estudiante);
+        indexar(estudiante);
+    }
+
+    private void indexar(Estudiante estudiante) {
+        porId.put(estudiante.getId(), estudiante);
+        porEdad.agregar(estudiante);
+        porNombres.agregar(estudiante);
+        distribucion.agregar(estudiante.getEdad());
+    }
+
+    private void desindexar(Estudiante estudiante) {
+        porId.remove(estudiante.getId());
+        porEdad.quitar(estudiante);
+        porNombres.quitar(estudiante);
+        distribucion.quitar(estudiante.getEdad());
+    }
+
+    private void aplicar(OperacionLog operacion) {
+        String id = operacion.getId();
+        long aplicada = version.incrementAndGet();
+        switch (operacion.getTipo()) {
+            case ALTA:
+            case EDICION:
+                Estudiante estudiante = new Estudiante(id, operacion.getNombres(), operacion.getEdad(), aplicada);
+                Registro previo = estudiantes.get(id);
+                long posicion = previo != null ? previo.posicion : secuencia.incrementAndGet();
+                if (previo != null) desindexar(previo.estudiante);
+                estudiantes.put(id, new Registro(posicion, estudiante));
+                orden.put(posicion, estudiante);
+                indexar(estudiante);
+                break;
+            case BAJA:
+                Registro eliminado = estudiantes.remove(id);
+                if (eliminado != null) {
+                    orden.remove(eliminado.posicion);
+                    desindexar(eliminado.estudiante);
+                }
+                break;
+        }
+    }
+
+    private static final class Registro {
+        private final long posicion;
+        private final Estudiante estudiante;
+
+        private Registro(long posicion, Estudiante estudiante) {
+            this.posicion = posicion;
+            this.estudiante = estudiante;
+        }
     }
 }
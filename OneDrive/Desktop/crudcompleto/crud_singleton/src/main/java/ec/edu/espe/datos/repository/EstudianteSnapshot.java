@@ -0,0 +1,92 @@
+package ec.edu.espe.datos.repository;
+
+import ec.edu.espe.datos.model.Estudiante;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+public final class EstudianteSnapshot {
+
+    private final long version;
+    private final List<Estudiante> estudiantes;
+    private final long[] posiciones;
+
+    EstudianteSnapshot(long version, Estudiante[] estudiantes, long[] posiciones) {
+        this(version, Arrays.asList(estudiantes), posiciones);
+    }
+
+    /**
+     * {@code posiciones} puede ser más largo que la lista; solo cuentan las
+     * primeras {@code estudiantes.size()} entradas.
+     */
+    EstudianteSnapshot(long version, List<Estudiante> estudiantes, long[] posiciones) {
+        this.version = version;
+        this.estudiantes = Collections.unmodifiableList(estudiantes);
+        this.posiciones = posiciones;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public List<Estudiante> getEstudiantes() {
+        return estudiantes;
+    }
+
+    public int size() {
+        return estudiantes.size();
+    }
+
+    public Estudiante get(int indice) {
+        return estudiantes.get(indice);
+    }
+
+    /**
+     * Snapshot en {@code version} armado a partir de este y de los cambios
+     * posteriores, que deben ser exactamente los de versiones intermedias en
+     * cualquier orden. Recorre este snapshot una vez, sin tocar el motor.
+     */
+    EstudianteSnapshot aplicar(long version, List<CambioEstudiante> cambios) {
+        cambios.sort(Comparator.comparingLong(CambioEstudiante::getVersion));
+        TreeMap<Long, Estudiante> porPosicion = new TreeMap<>();
+        for (CambioEstudiante cambio : cambios) {
+            porPosicion.put(cambio.getPosicion(),
+                    cambio.getTipo() == CambioEstudiante.Tipo.ELIMINADO ? null : cambio.getEstudiante());
+        }
+
+        int cantidad = estudiantes.size();
+        Estudiante[] registros = new Estudiante[cantidad + porPosicion.size()];
+        long[] nuevas = new long[registros.length];
+        int i = 0;
+        int total = 0;
+        Iterator<Map.Entry<Long, Estudiante>> pendientes = porPosicion.entrySet().iterator();
+        Map.Entry<Long, Estudiante> cambio = pendientes.hasNext() ? pendientes.next() : null;
+        while (i < cantidad || cambio != null) {
+            if (cambio == null || (i < cantidad && posiciones[i] < cambio.getKey())) {
+                registros[total] = estudiantes.get(i);
+                nuevas[total++] = posiciones[i++];
+                continue;
+            }
+            if (i < cantidad && posiciones[i] == cambio.getKey()) i++;
+            if (cambio.getValue() != null) {
+                registros[total] = cambio.getValue();
+                nuevas[total++] = cambio.getKey();
+            }
+            cambio = pendientes.hasNext() ? pendientes.next() : null;
+        }
+        return new EstudianteSnapshot(version, Arrays.asList(registros).subList(0, total), nuevas);
+    }
+
+    /**
+     * Índice de la fila con esa posición de inserción, o -1 si no está en
+     * este snapshot.
+     */
+    public int indiceDe(long posicion) {
+        int indice = Arrays.binarySearch(posiciones, 0, estudiantes.size(), posicion);
+        return indice >= 0 ? indice : -1;
+    }
+}
@@ -0,0 +1,65 @@
+package ec.edu.espe.datos.repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.ServiceLoader;
+
+/**
+ * Registro de los motores disponibles vía {@link ServiceLoader} y del motor
+ * que usa la aplicación, elegido con {@code -Destudiantes.motor=nombre}.
+ */
+public final class Motores {
+
+    public static final String PROPIEDAD_MOTOR = "estudiantes.motor";
+    public static final String MOTOR_REFERENCIA = "indices";
+
+    private Motores() {
+    }
+
+    private static class Holder {
+        private static final MotorEstudiantes INSTANCE = crearPredeterminado();
+    }
+
+    /**
+     * Motor compartido por la aplicación. Con el motor de referencia es
+     * {@link EstudianteRepository#getInstance()}, que además programa los
+     * checkpoints; los demás se crean una vez y se cierran al salir.
+     */
+    public static MotorEstudiantes predeterminado() {
+        return Holder.INSTANCE;
+    }
+
+    private static MotorEstudiantes crearPredeterminado() {
+        String nombre = System.getProperty(PROPIEDAD_MOTOR, MOTOR_REFERENCIA);
+        if (nombre.equals(MOTOR_REFERENCIA)) {
+            return EstudianteRepository.getInstance();
+        }
+        try {
+            MotorEstudiantes motor = crear(nombre, System.getProperties());
+            Runtime.getRuntime().addShutdownHook(new Thread(motor::cerrar, "estudiantes-cierre"));
+            return motor;
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo abrir el motor de estudiantes " + nombre, e);
+        }
+    }
+
+    public static MotorEstudiantes crear(String nombre, Properties configuracion) throws IOException {
+        for (ProveedorMotor proveedor : ServiceLoader.load(ProveedorMotor.class)) {
+            if (proveedor.getNombre().equals(nombre)) {
+                return proveedor.crear(configuracion);
+            }
+        }
+        throw new IllegalArgumentException("Motor de estudiantes desconocido: " + nombre + ", disponibles: " + disponibles());
+    }
+
+    public static List<String> disponibles() {
+        List<String> nombres = new ArrayList<>();
+        for (ProveedorMotor proveedor : ServiceLoader.load(ProveedorMotor.class)) {
+            nombres.add(proveedor.getNombre());
+        }
+        return nombres;
+    }
+}
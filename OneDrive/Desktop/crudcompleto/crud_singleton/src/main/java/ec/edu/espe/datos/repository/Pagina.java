@@ -0,0 +1,37 @@
+package ec.edu.espe.datos.repository;
+
+import java.util.Collections;
+import java.util.List;
+
+public final class Pagina<T> {
+
+    private final List<T> elementos;
+    private final String siguienteCursor;
+    private final long total;
+
+    public Pagina(List<T> elementos, String siguienteCursor, long total) {
+        this.elementos = Collections.unmodifiableList(elementos);
+        this.siguienteCursor = siguienteCursor;
+        this.total = total;
+    }
+
+    public List<T> getElementos() {
+        return elementos;
+    }
+
+    /**
+     * Cursor opaco para pedir la página siguiente con el mismo orden, o
+     * {@code null} si esta es la última.
+     */
+    public String getSiguienteCursor() {
+        return siguienteCursor;
+    }
+
+    public boolean hayMas() {
+        return siguienteCursor != null;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+}
@@ -0,0 +1,24 @@
+package ec.edu.espe.datos.repository;
+
+import java.io.IOException;
+import java.util.Properties;
+
+/**
+ * Punto de extensión para registrar motores de almacenamiento con
+ * {@link java.util.ServiceLoader}: cada implementación se declara en
+ * {@code META-INF/services/ec.edu.espe.datos.repository.ProveedorMotor} y se
+ * elige por nombre con la propiedad {@value Motores#PROPIEDAD_MOTOR}.
+ */
+public interface ProveedorMotor {
+
+    /**
+     * Nombre con el que se selecciona el motor, por ejemplo "indices".
+     */
+    String getNombre();
+
+    /**
+     * Crea un motor nuevo. La configuración trae las mismas claves que las
+     * propiedades del sistema ({@code estudiantes.datos}, {@code estudiantes.fsync}, ...).
+     */
+    MotorEstudiantes crear(Properties configuracion) throws IOException;
+}
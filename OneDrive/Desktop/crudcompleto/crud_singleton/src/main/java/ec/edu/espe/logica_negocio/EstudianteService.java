@@ -1,46 +1,493 @@
 package ec.edu.espe.logica_negocio;
 
+import ec.edu.espe.datos.formato.FormatoArchivo;
 import ec.edu.espe.datos.model.Estudiante;
-import ec.edu.espe.datos.repository.EstudianteRepository;
+import ec.edu.espe.datos.repository.EstadisticasEstudiantes;
+import ec.edu.espe.datos.repository.EstudianteListener;
+import ec.edu.espe.datos.repository.MotorEstudiantes;
+import ec.edu.espe.datos.repository.Motores;
+import ec.edu.espe.datos.repository.EstudianteSnapshot;
+import ec.edu.espe.datos.repository.OperacionLote;
+import ec.edu.espe.datos.repository.OrdenEstudiante;
+import ec.edu.espe.datos.repository.Pagina;
+import ec.edu.espe.logica_negocio.busqueda.IndiceDifuso;
+import ec.edu.espe.logica_negocio.cache.CacheEstudiantes;
+import ec.edu.espe.logica_negocio.metricas.MetricasEstudiantes;
+import ec.edu.espe.logica_negocio.metricas.MetricasOperacion;
+import ec.edu.espe.logica_negocio.metricas.Operacion;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
 
 public class EstudianteService {
 
-    private EstudianteRepository repository;
+    private static final int TAMANO_LOTE_IMPORTACION = 10_000;
+    private static final int TAMANO_MAXIMO_PAGINA = 1_000;
+    private static final int TAMANO_MAXIMO_LOTE = 10_000;
+    private static final int TAMANO_CACHE = Integer.getInteger("estudiantes.cache.tamano", 10_000);
+    private static final long TTL_CACHE_SEGUNDOS = Long.getLong("estudiantes.cache.ttlSegundos", 300);
+
+    private MotorEstudiantes repository;
+    private final MetricasEstudiantes metricas;
+    private final CacheEstudiantes cache;
+    private final EstudianteListener invalidador;
+    private volatile IndiceDifuso indiceDifuso;
 
     public EstudianteService() {
-        this.repository = EstudianteRepository.getInstance();
+        this(Motores.predeterminado(), MetricasEstudiantes.getInstance());
     }
 
-    public Estudiante crearEstudiante(String id, String nombres, int edad) {
-        if (repository.buscarPorId(id) != null) {
-            throw new IllegalArgumentException("El ID ya existe");
+    public EstudianteService(MotorEstudiantes repository) {
+        this(repository, new MetricasEstudiantes(repository));
+    }
+
+    public EstudianteService(MotorEstudiantes repository, MetricasEstudiantes metricas) {
+        this(repository, metricas, TAMANO_CACHE > 0
+                ? new CacheEstudiantes(TAMANO_CACHE, Duration.ofSeconds(TTL_CACHE_SEGUNDOS), repository::buscarPorId)
+                : null);
+    }
+
+    /**
+     * @param cache caché de {@link #buscarPorId(String)} que carga desde
+     *              {@code repository}, o {@code null} para consultar siempre
+     *              el motor. Se invalida con los eventos del motor, así que
+     *              también ve las escrituras que no pasan por este servicio.
+     */
+    public EstudianteService(MotorEstudiantes repository, MetricasEstudiantes metricas, CacheEstudiantes cache) {
+        this.repository = repository;
+        this.metricas = metricas;
+        this.cache = cache;
+        if (cache != null) {
+            invalidador = cambio -> cache.invalidar(cambio.getEstudiante().getId());
+            repository.agregarListener(invalidador);
+            metricas.observarCache(cache);
+        } else {
+            invalidador = null;
+        }
+    }
+
+    /**
+     * Deja de seguir los eventos del motor, que sobrevive al servicio: quita
+     * el listener de la caché y el del índice de búsqueda aproximada, si se
+     * llegó a construir. No cierra el motor.
+     */
+    public synchronized void cerrar() {
+        if (invalidador != null) {
+            repository.quitarListener(invalidador);
+        }
+        if (indiceDifuso != null) {
+            indiceDifuso.cerrar();
+            indiceDifuso = null;
         }
+    }
 
-        Estudiante est = Estudiante.crear(id, nombres, edad);
-        repository.agregar(est);
-        return est;
+    /**
+     * Retorna el estudiante tal como quedó guardado, con su versión; si otro
+     * escritor ya lo cambió, con la de ese cambio.
+     */
+    public Estudiante crearEstudiante(String id, String nombres, int edad) {
+        MetricasOperacion medicion = metricas.de(Operacion.CREAR);
+        long inicio = System.nanoTime();
+        try {
+            Estudiante est = Estudiante.crear(id, nombres, edad);
+            long version = repository.agregar(est);
+            if (version == 0) {
+                throw new EstudianteDuplicadoException();
+            }
+            medicion.exito(inicio);
+            return new Estudiante(est.getId(), est.getNombres(), est.getEdad(), version);
+        } catch (IllegalArgumentException e) {
+            medicion.rechazo(inicio);
+            throw e;
+        } catch (RuntimeException e) {
+            medicion.fallo(inicio);
+            throw e;
+        }
     }
 
     public boolean editarEstudiante(String id, String nombres, int edad) {
-        if (repository.buscarPorId(id) == null) {
-            throw new IllegalArgumentException("Estudiante no encontrado");
+        MetricasOperacion medicion = metricas.de(Operacion.EDITAR);
+        long inicio = System.nanoTime();
+        try {
+            validarEdicion(id, nombres, edad);
+            if (!repository.editar(id, nombres, edad)) {
+                throw new EstudianteNoEncontradoException();
+            }
+            medicion.exito(inicio);
+            return true;
+        } catch (IllegalArgumentException e) {
+            medicion.rechazo(inicio);
+            throw e;
+        } catch (RuntimeException e) {
+            medicion.fallo(inicio);
+            throw e;
+        }
+    }
+
+    /**
+     * Edición condicional: se aplica solo si el registro sigue en
+     * {@code versionEsperada}, la versión que el cliente leyó. Si otro
+     * escritor lo cambió entretanto lanza {@link ConflictoVersionException}
+     * con la versión vigente en lugar de pisar ese cambio. Retorna el
+     * estudiante editado, con su nueva versión.
+     */
+    public Estudiante editarEstudiante(String id, String nombres, int edad, long versionEsperada) {
+        MetricasOperacion medicion = metricas.de(Operacion.EDITAR);
+        long inicio = System.nanoTime();
+        try {
+            validarEdicion(id, nombres, edad);
+            validarVersion(versionEsperada);
+            long nueva = repository.editar(id, nombres, edad, versionEsperada);
+            if (nueva == 0) {
+                throw rechazoCondicional(id);
+            }
+            medicion.exito(inicio);
+            return new Estudiante(id, nombres, edad, nueva);
+        } catch (ConflictoVersionException e) {
+            medicion.conflicto(inicio);
+            throw e;
+        } catch (IllegalArgumentException e) {
+            medicion.rechazo(inicio);
+            throw e;
+        } catch (RuntimeException e) {
+            medicion.fallo(inicio);
+            throw e;
         }
-        return repository.editar(id, nombres, edad);
     }
 
     public boolean eliminarEstudiante(String id) {
-        if (repository.buscarPorId(id) == null) {
-            throw new IllegalArgumentException("Estudiante no encontrado");
+        MetricasOperacion medicion = metricas.de(Operacion.ELIMINAR);
+        long inicio = System.nanoTime();
+        try {
+            if (!repository.eliminar(id)) {
+                throw new EstudianteNoEncontradoException();
+            }
+            medicion.exito(inicio);
+            return true;
+        } catch (IllegalArgumentException e) {
+            medicion.rechazo(inicio);
+            throw e;
+        } catch (RuntimeException e) {
+            medicion.fallo(inicio);
+            throw e;
+        }
+    }
+
+    /**
+     * Eliminación condicional, con las mismas reglas que
+     * {@link #editarEstudiante(String, String, int, long)}.
+     */
+    public boolean eliminarEstudiante(String id, long versionEsperada) {
+        MetricasOperacion medicion = metricas.de(Operacion.ELIMINAR);
+        long inicio = System.nanoTime();
+        try {
+            validarVersion(versionEsperada);
+            if (!repository.eliminar(id, versionEsperada)) {
+                throw rechazoCondicional(id);
+            }
+            medicion.exito(inicio);
+            return true;
+        } catch (ConflictoVersionException e) {
+            medicion.conflicto(inicio);
+            throw e;
+        } catch (IllegalArgumentException e) {
+            medicion.rechazo(inicio);
+            throw e;
+        } catch (RuntimeException e) {
+            medicion.fallo(inicio);
+            throw e;
+        }
+    }
+
+    /**
+     * Una edición reemplaza el registro completo, así que exige lo mismo que
+     * crearlo; es la misma regla que aplica la operación EDITAR de un lote.
+     */
+    private static void validarEdicion(String id, String nombres, int edad) {
+        if (!Estudiante.esValido(id, nombres, edad)) {
+            throw new IllegalArgumentException("Datos inválidos para editar un Estudiante");
+        }
+    }
+
+    private static void validarVersion(long version) {
+        if (version < 0) {
+            throw new IllegalArgumentException("La versión no puede ser negativa");
+        }
+    }
+
+    /**
+     * El motor no distingue por qué no aplicó una escritura condicional; si
+     * el ID sigue existiendo es que su versión cambió.
+     */
+    private IllegalArgumentException rechazoCondicional(String id) {
+        Estudiante actual = repository.buscarPorId(id);
+        return actual == null ? new EstudianteNoEncontradoException() : new ConflictoVersionException(actual.getVersion());
+    }
+
+    /**
+     * Valida todas las operaciones en una pasada y aplica las válidas en
+     * orden con una sola llamada al motor, es decir, con una sola toma de su
+     * candado y una sola espera de durabilidad. Una operación inválida,
+     * duplicada o sobre un ID inexistente no detiene al resto; su motivo
+     * queda en el resultado de su posición.
+     */
+    public ResultadoLote aplicarLote(java.util.List<OperacionLote> operaciones) {
+        MetricasOperacion medicion = metricas.de(Operacion.APLICAR_LOTE);
+        long inicio = System.nanoTime();
+        try {
+            if (operaciones.size() > TAMANO_MAXIMO_LOTE) {
+                throw new IllegalArgumentException("Un lote no puede tener más de " + TAMANO_MAXIMO_LOTE + " operaciones");
+            }
+            ResultadoOperacion[] resultados = new ResultadoOperacion[operaciones.size()];
+            java.util.List<OperacionLote> validas = new ArrayList<>(operaciones.size());
+            int[] posiciones = new int[operaciones.size()];
+            for (int i = 0; i < resultados.length; i++) {
+                String error = validar(operaciones.get(i));
+                if (error != null) {
+                    resultados[i] = ResultadoOperacion.invalida(error);
+                } else {
+                    posiciones[validas.size()] = i;
+                    validas.add(operaciones.get(i));
+                }
+            }
+
+            int aplicadas = 0;
+            if (!validas.isEmpty()) {
+                boolean[] hechas = repository.aplicarLote(validas);
+                for (int j = 0; j < hechas.length; j++) {
+                    if (hechas[j]) {
+                        resultados[posiciones[j]] = ResultadoOperacion.APLICADA;
+                        aplicadas++;
+                    } else {
+                        resultados[posiciones[j]] = validas.get(j).getTipo() == OperacionLote.Tipo.CREAR
+                                ? ResultadoOperacion.DUPLICADA : ResultadoOperacion.NO_ENCONTRADA;
+                    }
+                }
+            }
+            medicion.exito(inicio);
+            return new ResultadoLote(Arrays.asList(resultados), aplicadas);
+        } catch (IllegalArgumentException e) {
+            medicion.rechazo(inicio);
+            throw e;
+        } catch (RuntimeException e) {
+            medicion.fallo(inicio);
+            throw e;
+        }
+    }
+
+    private String validar(OperacionLote operacion) {
+        if (operacion == null) {
+            return "Operación vacía";
+        }
+        switch (operacion.getTipo()) {
+            case CREAR:
+                return Estudiante.esValido(operacion.getId(), operacion.getNombres(), operacion.getEdad())
+                        ? repository.limiteExcedido(operacion.getId(), operacion.getNombres())
+                        : "Datos inválidos para crear un Estudiante";
+            case EDITAR:
+                return Estudiante.esValido(operacion.getId(), operacion.getNombres(), operacion.getEdad())
+                        ? repository.limiteExcedido(operacion.getId(), operacion.getNombres())
+                        : "Datos inválidos para editar un Estudiante";
+            default:
+                return operacion.getId() == null || operacion.getId().isEmpty() ? "El ID no puede estar vacío" : null;
         }
-        return repository.eliminar(id);
+    }
+
+    public ResultadoImportacion importarEstudiantes(Path archivo, FormatoArchivo formato) throws IOException {
+        try (BufferedReader lector = Files.newBufferedReader(archivo, StandardCharsets.UTF_8)) {
+            return importarEstudiantes(lector, formato);
+        }
+    }
+
+    public ResultadoImportacion importarEstudiantes(BufferedReader lector, FormatoArchivo formato) throws IOException {
+        return new ImportadorEstudiantes(repository, TAMANO_LOTE_IMPORTACION).importar(lector, formato);
+    }
+
+    public long exportarEstudiantes(Path archivo, FormatoArchivo formato, boolean gzip) throws IOException {
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            return exportarEstudiantes(canal, formato, gzip);
+        }
+    }
+
+    public long exportarEstudiantes(WritableByteChannel destino, FormatoArchivo formato, boolean gzip) throws IOException {
+        return new ExportadorEstudiantes().exportar(repository.snapshot(), formato, destino, gzip);
     }
 
     public java.util.List<Estudiante> listarEstudiantes() {
         return repository.listar();
     }
 
+    public java.util.List<Estudiante> buscarPorRangoEdad(int minima, int maxima) {
+        MetricasOperacion medicion = metricas.de(Operacion.BUSCAR_POR_EDAD);
+        long inicio = System.nanoTime();
+        try {
+            if (minima > maxima) {
+                throw new IllegalArgumentException("La edad mínima no puede ser mayor que la máxima");
+            }
+            java.util.List<Estudiante> resultado = repository.buscarPorRangoEdad(minima, maxima);
+            medicion.exito(inicio);
+            return resultado;
+        } catch (IllegalArgumentException e) {
+            medicion.rechazo(inicio);
+            throw e;
+        } catch (RuntimeException e) {
+            medicion.fallo(inicio);
+            throw e;
+        }
+    }
+
+    public java.util.List<Estudiante> buscarPorPrefijoNombre(String prefijo) {
+        MetricasOperacion medicion = metricas.de(Operacion.BUSCAR_POR_NOMBRE);
+        long inicio = System.nanoTime();
+        try {
+            if (prefijo == null || prefijo.isEmpty()) {
+                throw new IllegalArgumentException("El prefijo de búsqueda no puede estar vacío");
+            }
+            java.util.List<Estudiante> resultado = repository.buscarPorPrefijoNombre(prefijo);
+            medicion.exito(inicio);
+            return resultado;
+        } catch (IllegalArgumentException e) {
+            medicion.rechazo(inicio);
+            throw e;
+        } catch (RuntimeException e) {
+            medicion.fallo(inicio);
+            throw e;
+        }
+    }
+
+    /**
+     * Búsqueda por nombre tolerante a tildes, mayúsculas, prefijos y errores
+     * de tipeo, con los resultados ordenados por relevancia. El índice se
+     * construye con la primera búsqueda y desde ahí se mantiene con los
+     * eventos del motor.
+     */
+    public java.util.List<Estudiante> buscarAproximado(String texto, int limite) {
+        MetricasOperacion medicion = metricas.de(Operacion.BUSCAR_APROXIMADO);
+        long inicio = System.nanoTime();
+        try {
+            if (texto == null || texto.isBlank()) {
+                throw new IllegalArgumentException("El texto de búsqueda no puede estar vacío");
+            }
+            if (limite <= 0 || limite > TAMANO_MAXIMO_PAGINA) {
+                throw new IllegalArgumentException("El límite debe estar entre 1 y " + TAMANO_MAXIMO_PAGINA);
+            }
+            java.util.List<Estudiante> resultado = indiceDifuso().buscar(texto, limite);
+            medicion.exito(inicio);
+            return resultado;
+        } catch (IllegalArgumentException e) {
+            medicion.rechazo(inicio);
+            throw e;
+        } catch (RuntimeException e) {
+            medicion.fallo(inicio);
+            throw e;
+        }
+    }
+
+    private IndiceDifuso indiceDifuso() {
+        IndiceDifuso indice = indiceDifuso;
+        if (indice == null) {
+            synchronized (this) {
+                indice = indiceDifuso;
+                if (indice == null) {
+                    indice = IndiceDifuso.construir(repository);
+                    indiceDifuso = indice;
+                }
+            }
+        }
+        return indice;
+    }
+
+    public Pagina<Estudiante> listarPagina(OrdenEstudiante orden, String cursor, int tamano) {
+        MetricasOperacion medicion = metricas.de(Operacion.LISTAR_PAGINA);
+        long inicio = System.nanoTime();
+        try {
+            validarTamanoPagina(tamano);
+            Pagina<Estudiante> pagina = repository.listarPagina(orden == null ? OrdenEstudiante.INSERCION : orden, cursor, tamano);
+            medicion.exito(inicio);
+            return pagina;
+        } catch (IllegalArgumentException e) {
+            medicion.rechazo(inicio);
+            throw e;
+        } catch (RuntimeException e) {
+            medicion.fallo(inicio);
+            throw e;
+        }
+    }
+
+    public Pagina<Estudiante> listarPagina(int pagina, int tamano) {
+        MetricasOperacion medicion = metricas.de(Operacion.LISTAR_PAGINA);
+        long inicio = System.nanoTime();
+        try {
+            validarTamanoPagina(tamano);
+            if (pagina < 0) {
+                throw new IllegalArgumentException("El número de página no puede ser negativo");
+            }
+            Pagina<Estudiante> resultado = repository.listarPagina(pagina, tamano);
+            medicion.exito(inicio);
+            return resultado;
+        } catch (IllegalArgumentException e) {
+            medicion.rechazo(inicio);
+            throw e;
+        } catch (RuntimeException e) {
+            medicion.fallo(inicio);
+            throw e;
+        }
+    }
+
+    private void validarTamanoPagina(int tamano) {
+        if (tamano <= 0 || tamano > TAMANO_MAXIMO_PAGINA) {
+            throw new IllegalArgumentException("El tamaño de página debe estar entre 1 y " + TAMANO_MAXIMO_PAGINA);
+        }
+    }
+
+    public EstudianteSnapshot obtenerSnapshot() {
+        return repository.snapshot();
+    }
+
+    public void agregarListener(EstudianteListener listener) {
+        repository.agregarListener(listener);
+    }
+
+    public void quitarListener(EstudianteListener listener) {
+        repository.quitarListener(listener);
+    }
+
+    public long obtenerVersion() {
+        return repository.version();
+    }
+
+    /**
+     * Cantidad y edades del padrón (promedio, mínimo, máximo y distribución
+     * por edad) en una sola versión, sin recorrer los estudiantes.
+     */
+    public EstadisticasEstudiantes obtenerEstadisticas() {
+        return repository.estadisticas();
+    }
+
     public Estudiante buscarPorId(String id) {
-        return repository.buscarPorId(id);
+        MetricasOperacion medicion = metricas.de(Operacion.BUSCAR_POR_ID);
+        long inicio = System.nanoTime();
+        try {
+            Estudiante est = cache == null ? repository.buscarPorId(id) : cache.obtener(id);
+            medicion.exito(inicio);
+            return est;
+        } catch (RuntimeException e) {
+            medicion.fallo(inicio);
+            throw e;
+        }
+    }
+
+    public MetricasEstudiantes obtenerMetricas() {
+        return metricas;
     }
     
 }
@@ -0,0 +1,84 @@
+package ec.edu.espe.logica_negocio;
+
+import ec.edu.espe.datos.formato.FormatoArchivo;
+import ec.edu.espe.datos.model.Estudiante;
+import ec.edu.espe.datos.repository.EstudianteSnapshot;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exporta un snapshot del repositorio a un canal. El snapshot es inmutable,
+ * así que la exportación no bloquea escrituras concurrentes, y los
+ * registros se codifican en bloques de tamaño fijo que se reutilizan.
+ */
+public class ExportadorEstudiantes {
+
+    private static final int TAMANO_BLOQUE = 64 * 1024;
+
+    public long exportar(EstudianteSnapshot snapshot, FormatoArchivo formato,
+            WritableByteChannel destino, boolean gzip) throws IOException {
+        GZIPOutputStream compresor = null;
+        WritableByteChannel canal = destino;
+        if (gzip) {
+            compresor = new GZIPOutputStream(Channels.newOutputStream(destino), TAMANO_BLOQUE);
+            canal = Channels.newChannel(compresor);
+        }
+
+        StringBuilder texto = new StringBuilder(TAMANO_BLOQUE);
+        ByteBuffer bytes = ByteBuffer.allocateDirect(TAMANO_BLOQUE * 2);
+        CharsetEncoder codificador = StandardCharsets.UTF_8.newEncoder();
+
+        String cabecera = formato.cabecera();
+        if (cabecera != null) {
+            texto.append(cabecera).append('\n');
+        }
+        for (Estudiante estudiante : snapshot.getEstudiantes()) {
+            formato.escribir(estudiante, texto);
+            texto.append('\n');
+            if (texto.length() >= TAMANO_BLOQUE) {
+                volcar(texto, codificador, bytes, canal);
+            }
+        }
+        volcar(texto, codificador, bytes, canal);
+
+        if (compresor != null) {
+            compresor.finish();
+            compresor.flush();
+        }
+        return snapshot.size();
+    }
+
+    private static void volcar(StringBuilder texto, CharsetEncoder codificador, ByteBuffer bytes,
+            WritableByteChannel canal) throws IOException {
+        CharBuffer caracteres = CharBuffer.wrap(texto);
+        codificador.reset();
+
+        CoderResult resultado;
+        do {
+            resultado = codificador.encode(caracteres, bytes, true);
+            if (resultado.isError()) resultado.throwException();
+            escribir(bytes, canal);
+        } while (resultado.isOverflow());
+        do {
+            resultado = codificador.flush(bytes);
+            escribir(bytes, canal);
+        } while (resultado.isOverflow());
+
+        texto.setLength(0);
+    }
+
+    private static void escribir(ByteBuffer bytes, WritableByteChannel canal) throws IOException {
+        bytes.flip();
+        while (bytes.hasRemaining()) {
+            canal.write(bytes);
+        }
+        bytes.clear();
+    }
+}
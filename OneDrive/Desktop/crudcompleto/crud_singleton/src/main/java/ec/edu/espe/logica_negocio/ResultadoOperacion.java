@@ -0,0 +1,50 @@
+package ec.edu.espe.logica_negocio;
+
+/**
+ * Resultado de una operación dentro de un lote.
+ */
+public final class ResultadoOperacion {
+
+    public enum Estado {
+        APLICADA,
+        INVALIDA,
+        DUPLICADA,
+        NO_ENCONTRADA
+    }
+
+    static final ResultadoOperacion APLICADA = new ResultadoOperacion(Estado.APLICADA, null);
+    static final ResultadoOperacion DUPLICADA = new ResultadoOperacion(Estado.DUPLICADA, "El ID ya existe");
+    static final ResultadoOperacion NO_ENCONTRADA = new ResultadoOperacion(Estado.NO_ENCONTRADA, "Estudiante no encontrado");
+
+    private final Estado estado;
+    private final String mensaje;
+
+    private ResultadoOperacion(Estado estado, String mensaje) {
+        this.estado = estado;
+        this.mensaje = mensaje;
+    }
+
+    static ResultadoOperacion invalida(String mensaje) {
+        return new ResultadoOperacion(Estado.INVALIDA, mensaje);
+    }
+
+    public Estado getEstado() {
+        return estado;
+    }
+
+    public boolean isAplicada() {
+        return estado == Estado.APLICADA;
+    }
+
+    /**
+     * Motivo del rechazo; {@code null} si la operación se aplicó.
+     */
+    public String getMensaje() {
+        return mensaje;
+    }
+
+    @Override
+    public String toString() {
+        return mensaje == null ? estado.name() : estado + ": " + mensaje;
+    }
+}
@@ -0,0 +1,432 @@
+package ec.edu.espe.logica_negocio.busqueda;
+
+import ec.edu.espe.datos.model.Estudiante;
+import ec.edu.espe.datos.repository.EstudianteListener;
+import ec.edu.espe.datos.repository.MotorEstudiantes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido sobre los nombres de los estudiantes para búsquedas
+ * aproximadas: sin distinguir mayúsculas ni tildes, por prefijo y tolerando
+ * errores de tipeo. Cada término de la consulta se resuelve primero contra
+ * el vocabulario (exacto, prefijo, o distancia de edición filtrada por bigramas) y
+ * solo después se recorren las apariciones del término más selectivo.
+ *
+ * <p>Se mantiene con los eventos del motor: cada cambio vuelve a leer el
+ * estudiante del motor, así que el índice converge al estado del motor
+ * aunque los eventos lleguen en otro orden.
+ */
+public final class IndiceDifuso {
+
+    private static final int MAXIMO_PREFIJOS = 64;
+    private static final int COMPACTAR_DESDE = 4_096;
+    private static final Comparator<Candidato> PEOR_PRIMERO = Comparator
+            .comparingDouble((Candidato c) -> c.puntaje)
+            .thenComparing(Comparator.comparingInt((Candidato c) -> c.documento).reversed());
+
+    private final MotorEstudiantes motor;
+    private final EstudianteListener refresco = cambio -> refrescar(cambio.getEstudiante().getId());
+    private final ReentrantReadWriteLock candado = new ReentrantReadWriteLock();
+
+    // Un documento por cada estudiante indexado; al editar o eliminar, el
+    // documento anterior queda vacío y se indexa uno nuevo al final.
+    private Estudiante[] documentos = new Estudiante[1024];
+    private int[][] terminosDocumento = new int[1024][];
+    private int cantidadDocumentos;
+    private int vacios;
+    private final HashMap<String, Integer> documentoPorId = new HashMap<>();
+
+    private final HashMap<String, Integer> terminos = new HashMap<>();
+    private final TreeMap<String, Integer> terminosOrdenados = new TreeMap<>();
+    private final List<String> textoTermino = new ArrayList<>();
+    private final List<ListaEnteros> apariciones = new ArrayList<>();
+    private final HashMap<String, ListaEnteros> bigramas = new HashMap<>();
+
+    private IndiceDifuso(MotorEstudiantes motor) {
+        this.motor = motor;
+    }
+
+    /**
+     * Indexa el contenido actual del motor y se suscribe a sus cambios. Las
+     * escrituras que lleguen mientras se construye esperan a que termine.
+     */
+    public static IndiceDifuso construir(MotorEstudiantes motor) {
+        IndiceDifuso indice = new IndiceDifuso(motor);
+        indice.candado.writeLock().lock();
+        try {
+            motor.agregarListener(indice.refresco);
+            for (Estudiante estudiante : motor.snapshot().getEstudiantes()) {
+                indice.indexar(estudiante);
+            }
+        } finally {
+            indice.candado.writeLock().unlock();
+        }
+        return indice;
+    }
+
+    /** Deja de seguir los cambios del motor; lo indexado hasta ahí queda fijo. */
+    public void cerrar() {
+        motor.quitarListener(refresco);
+    }
+
+    /**
+     * Hasta {@code limite} estudiantes cuyos nombres contienen todos los
+     * términos de la consulta, de mejor a peor coincidencia. Un término
+     * exacto puntúa más que un prefijo, y este más que uno con errores; a
+     * igual puntaje se respeta el orden en que se indexaron. Con
+     * {@code limite} 0 o negativo no hay resultados.
+     *
+     * <p>Las apariciones del término más selectivo se recorren de la mayor
+     * a la menor similitud; cuando el peor resultado retenido ya no puede ser
+     * superado por lo que falta, la búsqueda termina sin recorrer el resto.
+     */
+    public List<Estudiante> buscar(String texto, int limite) {
+        Set<String> consulta = new LinkedHashSet<>(Tokenizador.terminos(texto));
+        if (consulta.isEmpty() || limite <= 0) return List.of();
+
+        candado.readLock().lock();
+        try {
+            Coincidencias[] porTermino = new Coincidencias[consulta.size()];
+            int guia = 0;
+            int i = 0;
+            for (String termino : consulta) {
+                porTermino[i] = coincidencias(termino);
+                if (porTermino[i].terminos.length == 0) return List.of();
+                if (porTermino[i].costo < porTermino[guia].costo) guia = i;
+                i++;
+            }
+            float resto = 0;
+            for (int t = 0; t < porTermino.length; t++) {
+                if (t != guia) resto += porTermino[t].maxima;
+            }
+
+            PriorityQueue<Candidato> mejores = new PriorityQueue<>(limite, PEOR_PRIMERO);
+            Coincidencias principal = porTermino[guia];
+            for (int rango = 0; rango < principal.porRango.length; rango++) {
+                float cota = principal.similitudPorRango[rango] + resto;
+                if (mejores.size() == limite && mejores.peek().puntaje > cota) break;
+
+                ListaEnteros lista = apariciones.get(principal.porRango[rango]);
+                for (int p = 0; p < lista.tamano(); p++) {
+                    int documento = lista.get(p);
+                    if (mejores.size() == limite && mejores.peek().puntaje >= cota
+                            && documento > mejores.peek().documento) break;
+
+                    int[] delDocumento = terminosDocumento[documento];
+                    if (delDocumento == null || principal.primerRango(delDocumento) != rango) continue;
+
+                    float puntaje = puntuar(porTermino, delDocumento);
+                    if (puntaje == 0) continue;
+                    if (mejores.size() < limite) {
+                        mejores.add(new Candidato(documento, puntaje));
+                    } else if (mejor(puntaje, documento, mejores.peek())) {
+                        mejores.poll();
+                        mejores.add(new Candidato(documento, puntaje));
+                    }
+                }
+            }
+
+            Estudiante[] resultado = new Estudiante[mejores.size()];
+            for (int r = resultado.length - 1; r >= 0; r--) {
+                resultado[r] = documentos[mejores.poll().documento];
+            }
+            return Arrays.asList(resultado);
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    public int tamano() {
+        candado.readLock().lock();
+        try {
+            return documentoPorId.size();
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    private void refrescar(String id) {
+        candado.writeLock().lock();
+        try {
+            Estudiante actual = motor.buscarPorId(id);
+            Integer documento = documentoPorId.get(id);
+            if (documento != null && documentos[documento] == actual) return;
+
+            quitar(id);
+            if (actual != null) indexar(actual);
+            if (vacios > COMPACTAR_DESDE && vacios > cantidadDocumentos / 2) compactar();
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    private void indexar(Estudiante estudiante) {
+        Set<String> palabras = new LinkedHashSet<>(Tokenizador.terminos(estudiante.getNombres()));
+        int[] ids = new int[palabras.size()];
+        int i = 0;
+        for (String palabra : palabras) {
+            ids[i++] = termino(palabra);
+        }
+
+        if (cantidadDocumentos == documentos.length) {
+            documentos = Arrays.copyOf(documentos, cantidadDocumentos * 2);
+            terminosDocumento = Arrays.copyOf(terminosDocumento, cantidadDocumentos * 2);
+        }
+        int documento = cantidadDocumentos++;
+        documentos[documento] = estudiante;
+        terminosDocumento[documento] = ids;
+        for (int id : ids) {
+            apariciones.get(id).agregar(documento);
+        }
+        documentoPorId.put(estudiante.getId(), documento);
+    }
+
+    private void quitar(String id) {
+        Integer documento = documentoPorId.remove(id);
+        if (documento == null) return;
+
+        documentos[documento] = null;
+        terminosDocumento[documento] = null;
+        vacios++;
+    }
+
+    /**
+     * Renumera los documentos vivos conservando su orden y rehace las
+     * listas de apariciones; el vocabulario se conserva.
+     */
+    private void compactar() {
+        for (ListaEnteros lista : apariciones) {
+            lista.limpiar();
+        }
+        int destino = 0;
+        for (int origen = 0; origen < cantidadDocumentos; origen++) {
+            Estudiante estudiante = documentos[origen];
+            if (estudiante == null) continue;
+
+            documentos[destino] = estudiante;
+            terminosDocumento[destino] = terminosDocumento[origen];
+            for (int id : terminosDocumento[destino]) {
+                apariciones.get(id).agregar(destino);
+            }
+            documentoPorId.put(estudiante.getId(), destino);
+            destino++;
+        }
+        Arrays.fill(documentos, destino, cantidadDocumentos, null);
+        Arrays.fill(terminosDocumento, destino, cantidadDocumentos, null);
+        cantidadDocumentos = destino;
+        vacios = 0;
+    }
+
+    private int termino(String palabra) {
+        Integer existente = terminos.get(palabra);
+        if (existente != null) return existente;
+
+        int id = textoTermino.size();
+        terminos.put(palabra, id);
+        terminosOrdenados.put(palabra, id);
+        textoTermino.add(palabra);
+        apariciones.add(new ListaEnteros());
+        for (String bigrama : bigramasDe(palabra)) {
+            bigramas.computeIfAbsent(bigrama, b -> new ListaEnteros()).agregar(id);
+        }
+        return id;
+    }
+
+    private Coincidencias coincidencias(String consulta) {
+        Map<Integer, Float> similitudes = new HashMap<>();
+        Integer exacto = terminos.get(consulta);
+        if (exacto != null) {
+            similitudes.put(exacto, 1f);
+        }
+
+        if (consulta.length() >= 2) {
+            int vistos = 0;
+            for (Map.Entry<String, Integer> entrada
+                    : terminosOrdenados.subMap(consulta, false, consulta + Character.MAX_VALUE, false).entrySet()) {
+                if (vistos++ == MAXIMO_PREFIJOS) break;
+                float similitud = 0.5f + 0.4f * consulta.length() / entrada.getKey().length();
+                similitudes.merge(entrada.getValue(), similitud, Math::max);
+            }
+        }
+
+        if (consulta.length() >= 3) {
+            int maximo = consulta.length() <= 5 ? 1 : 2;
+            Set<String> propios = bigramasDe(consulta);
+            int minimo = Math.max(1, propios.size() - 2 * maximo - 1);
+            int[] compartidos = new int[textoTermino.size()];
+            ListaEnteros candidatos = new ListaEnteros();
+            for (String bigrama : propios) {
+                ListaEnteros lista = bigramas.get(bigrama);
+                if (lista == null) continue;
+                for (int i = 0; i < lista.tamano(); i++) {
+                    int termino = lista.get(i);
+                    if (++compartidos[termino] == minimo) candidatos.agregar(termino);
+                }
+            }
+            for (int i = 0; i < candidatos.tamano(); i++) {
+                int termino = candidatos.get(i);
+                String candidato = textoTermino.get(termino);
+                int distancia = distancia(consulta, candidato, maximo);
+                if (distancia == 0 || distancia > maximo) continue;
+                float similitud = 0.9f * (1 - (float) distancia / Math.max(consulta.length(), candidato.length()));
+                similitudes.merge(termino, similitud, Math::max);
+            }
+        }
+        return new Coincidencias(similitudes, apariciones);
+    }
+
+    private static float puntuar(Coincidencias[] porTermino, int[] delDocumento) {
+        float total = 0;
+        for (Coincidencias coincidencias : porTermino) {
+            float mejor = 0;
+            for (int termino : delDocumento) {
+                mejor = Math.max(mejor, coincidencias.similitud(termino));
+            }
+            if (mejor == 0) return 0;
+            total += mejor;
+        }
+        return total;
+    }
+
+    private static boolean mejor(float puntaje, int documento, Candidato peor) {
+        if (puntaje != peor.puntaje) return puntaje > peor.puntaje;
+        return documento < peor.documento;
+    }
+
+    /**
+     * Pares de letras consecutivas, con un borde {@code $} a cada lado. Una
+     * inserción, borrado o sustitución destruye a lo sumo dos y una
+     * transposición tres; el filtro exige {@code n - 2d - 1} en común, lo que
+     * admite cualquier combinación con a lo sumo una transposición.
+     */
+    private static Set<String> bigramasDe(String palabra) {
+        String relleno = "$" + palabra + "$";
+        Set<String> resultado = new LinkedHashSet<>();
+        for (int i = 0; i + 2 <= relleno.length(); i++) {
+            resultado.add(relleno.substring(i, i + 2));
+        }
+        return resultado;
+    }
+
+    /**
+     * Distancia de Damerau-Levenshtein (alineación óptima) entre
+     * {@code a} y {@code b}; cualquier valor mayor que {@code maximo} se
+     * devuelve como {@code maximo + 1}. Solo se calcula la franja de celdas
+     * a {@code maximo} o menos de la diagonal.
+     */
+    static int distancia(String a, String b, int maximo) {
+        if (Math.abs(a.length() - b.length()) > maximo) return maximo + 1;
+
+        int infinito = maximo + 1;
+        int largo = b.length();
+        int[] anterior2 = new int[largo + 1];
+        int[] anterior = new int[largo + 1];
+        int[] actual = new int[largo + 1];
+        for (int j = 0; j <= largo; j++) {
+            anterior[j] = Math.min(j, infinito);
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            int desde = Math.max(1, i - maximo);
+            int hasta = Math.min(largo, i + maximo);
+            actual[0] = Math.min(i, infinito);
+            if (desde > 1) actual[desde - 1] = infinito;
+            int minimoFila = desde == 1 ? actual[0] : infinito;
+            char letra = a.charAt(i - 1);
+            for (int j = desde; j <= hasta; j++) {
+                int costo = letra == b.charAt(j - 1) ? 0 : 1;
+                int valor = Math.min(Math.min(actual[j - 1] + 1, anterior[j] + 1), anterior[j - 1] + costo);
+                if (i > 1 && j > 1 && letra == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    valor = Math.min(valor, anterior2[j - 2] + 1);
+                }
+                actual[j] = Math.min(valor, infinito);
+                minimoFila = Math.min(minimoFila, actual[j]);
+            }
+            if (hasta < largo) actual[hasta + 1] = infinito;
+            if (minimoFila > maximo) return infinito;
+            int[] libre = anterior2;
+            anterior2 = anterior;
+            anterior = actual;
+            actual = libre;
+        }
+        return anterior[largo];
+    }
+
+    /**
+     * Términos del vocabulario que corresponden a un término de la
+     * consulta: ordenados por ID para buscarlos con búsqueda binaria, y por
+     * similitud descendente (su rango) para recorrer sus apariciones.
+     */
+    private static final class Coincidencias {
+        private final int[] terminos;
+        private final float[] similitudes;
+        private final int[] rangos;
+        private final int[] porRango;
+        private final float[] similitudPorRango;
+        private final float maxima;
+        private final long costo;
+
+        Coincidencias(Map<Integer, Float> porTermino, List<ListaEnteros> apariciones) {
+            List<Map.Entry<Integer, Float>> entradas = new ArrayList<>(porTermino.entrySet());
+            entradas.sort(Map.Entry.<Integer, Float>comparingByValue().reversed()
+                    .thenComparing(Map.Entry.comparingByKey()));
+            porRango = new int[entradas.size()];
+            similitudPorRango = new float[entradas.size()];
+            long total = 0;
+            for (int r = 0; r < porRango.length; r++) {
+                porRango[r] = entradas.get(r).getKey();
+                similitudPorRango[r] = entradas.get(r).getValue();
+                total += apariciones.get(porRango[r]).tamano();
+            }
+            maxima = porRango.length == 0 ? 0 : similitudPorRango[0];
+            costo = total;
+
+            terminos = porRango.clone();
+            Arrays.sort(terminos);
+            similitudes = new float[terminos.length];
+            rangos = new int[terminos.length];
+            for (int r = 0; r < porRango.length; r++) {
+                int i = Arrays.binarySearch(terminos, porRango[r]);
+                similitudes[i] = similitudPorRango[r];
+                rangos[i] = r;
+            }
+        }
+
+        float similitud(int termino) {
+            int i = Arrays.binarySearch(terminos, termino);
+            return i < 0 ? 0 : similitudes[i];
+        }
+
+        /**
+         * El menor rango entre los términos del documento, o -1; cada
+         * documento se evalúa una sola vez, al recorrer ese rango.
+         */
+        int primerRango(int[] delDocumento) {
+            int primero = Integer.MAX_VALUE;
+            for (int termino : delDocumento) {
+                int i = Arrays.binarySearch(terminos, termino);
+                if (i >= 0) primero = Math.min(primero, rangos[i]);
+            }
+            return primero == Integer.MAX_VALUE ? -1 : primero;
+        }
+    }
+
+    private static final class Candidato {
+        private final int documento;
+        private final float puntaje;
+
+        Candidato(int documento, float puntaje) {
+            this.documento = documento;
+            this.puntaje = puntaje;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package ec.edu.espe.logica_negocio.busqueda;
+
+import java.util.Arrays;
+
+/**
+ * Arreglo de {@code int} que crece bajo demanda; evita el boxing de una
+ * {@code List<Integer>} en las listas de apariciones.
+ */
+final class ListaEnteros {
+
+    private int[] datos = new int[4];
+    private int tamano;
+
+    void agregar(int valor) {
+        if (tamano == datos.length) {
+            datos = Arrays.copyOf(datos, tamano * 2);
+        }
+        datos[tamano++] = valor;
+    }
+
+    int get(int indice) {
+        return datos[indice];
+    }
+
+    int tamano() {
+        return tamano;
+    }
+
+    void limpiar() {
+        tamano = 0;
+    }
+}
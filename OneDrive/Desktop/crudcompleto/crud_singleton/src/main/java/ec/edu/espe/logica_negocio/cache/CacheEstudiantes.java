@@ -0,0 +1,192 @@
+package ec.edu.espe.logica_negocio.cache;
+
+import ec.edu.espe.datos.model.Estudiante;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Caché de lectura de estudiantes por ID, acotada por tamaño (LRU por
+ * segmento) y por el tiempo desde que se cargó cada entrada. También guarda
+ * los ID que no existen, para que las consultas repetidas de un ID ausente
+ * no lleguen al motor.
+ *
+ * <p>Cada segmento lleva una generación que sube con cada invalidación; una
+ * carga que empezó antes de una invalidación no se guarda, así que un valor
+ * leído justo antes de una edición no puede quedarse en la caché.
+ */
+public final class CacheEstudiantes implements CacheEstudiantesMXBean {
+
+    private static final int MAXIMO_SEGMENTOS = 16;
+
+    private final Function<String, Estudiante> cargar;
+    private final Segmento[] segmentos;
+    private final int capacidad;
+    private final long ttlNanos;
+
+    private final LongAdder aciertos = new LongAdder();
+    private final LongAdder aciertosNegativos = new LongAdder();
+    private final LongAdder fallos = new LongAdder();
+    private final LongAdder desalojos = new LongAdder();
+    private final LongAdder expirados = new LongAdder();
+
+    public CacheEstudiantes(int capacidad, Duration ttl, Function<String, Estudiante> cargar) {
+        if (capacidad <= 0) {
+            throw new IllegalArgumentException("La capacidad de la caché debe ser positiva");
+        }
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("El tiempo de vida de la caché debe ser positivo");
+        }
+        this.cargar = cargar;
+        this.capacidad = capacidad;
+        this.ttlNanos = ttl.toNanos();
+
+        int cantidad = Math.min(MAXIMO_SEGMENTOS, Integer.highestOneBit(capacidad));
+        segmentos = new Segmento[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            segmentos[i] = new Segmento(capacidad / cantidad);
+        }
+    }
+
+    /**
+     * El estudiante con ese ID, o {@code null} si no existe; solo consulta
+     * el motor si no hay una entrada vigente.
+     */
+    public Estudiante obtener(String id) {
+        Segmento segmento = segmento(id);
+        long generacion;
+        synchronized (segmento) {
+            Entrada entrada = segmento.entradas.get(id);
+            if (entrada != null) {
+                if (System.nanoTime() - entrada.cargadaNanos < ttlNanos) {
+                    if (entrada.estudiante == null) {
+                        aciertosNegativos.increment();
+                    } else {
+                        aciertos.increment();
+                    }
+                    return entrada.estudiante;
+                }
+                segmento.entradas.remove(id);
+                expirados.increment();
+            }
+            generacion = segmento.generacion;
+        }
+
+        fallos.increment();
+        Estudiante estudiante = cargar.apply(id);
+        synchronized (segmento) {
+            if (segmento.generacion == generacion) {
+                segmento.entradas.put(id, new Entrada(estudiante, System.nanoTime()));
+            }
+        }
+        return estudiante;
+    }
+
+    public void invalidar(String id) {
+        Segmento segmento = segmento(id);
+        synchronized (segmento) {
+            segmento.generacion++;
+            segmento.entradas.remove(id);
+        }
+    }
+
+    @Override
+    public void limpiar() {
+        for (Segmento segmento : segmentos) {
+            synchronized (segmento) {
+                segmento.generacion++;
+                segmento.entradas.clear();
+            }
+        }
+    }
+
+    @Override
+    public int getCapacidad() {
+        return capacidad;
+    }
+
+    @Override
+    public long getTtlSegundos() {
+        return Duration.ofNanos(ttlNanos).toSeconds();
+    }
+
+    @Override
+    public int getEntradas() {
+        int total = 0;
+        for (Segmento segmento : segmentos) {
+            synchronized (segmento) {
+                total += segmento.entradas.size();
+            }
+        }
+        return total;
+    }
+
+    @Override
+    public long getAciertos() {
+        return aciertos.sum();
+    }
+
+    @Override
+    public long getAciertosNegativos() {
+        return aciertosNegativos.sum();
+    }
+
+    @Override
+    public long getFallos() {
+        return fallos.sum();
+    }
+
+    @Override
+    public long getDesalojos() {
+        return desalojos.sum();
+    }
+
+    @Override
+    public long getExpirados() {
+        return expirados.sum();
+    }
+
+    @Override
+    public double getTasaAciertos() {
+        long positivos = aciertos.sum() + aciertosNegativos.sum();
+        long total = positivos + fallos.sum();
+        return total == 0 ? 0 : (double) positivos / total;
+    }
+
+    private Segmento segmento(String id) {
+        return segmentos[indiceSegmento(id, segmentos.length)];
+    }
+
+    static int indiceSegmento(String id, int cantidad) {
+        int h = id.hashCode() * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & (cantidad - 1);
+    }
+
+    private static final class Entrada {
+        private final Estudiante estudiante;
+        private final long cargadaNanos;
+
+        Entrada(Estudiante estudiante, long cargadaNanos) {
+            this.estudiante = estudiante;
+            this.cargadaNanos = cargadaNanos;
+        }
+    }
+
+    private final class Segmento {
+        private final LinkedHashMap<String, Entrada> entradas;
+        private long generacion;
+
+        Segmento(int capacidad) {
+            entradas = new LinkedHashMap<>(Math.min(capacidad, 1024) * 4 / 3 + 1, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Entrada> mayor) {
+                    if (size() <= capacidad) return false;
+                    desalojos.increment();
+                    return true;
+                }
+            };
+        }
+    }
+}
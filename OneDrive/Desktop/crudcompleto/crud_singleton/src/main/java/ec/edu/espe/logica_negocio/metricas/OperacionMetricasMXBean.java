@@ -0,0 +1,28 @@
+package ec.edu.espe.logica_negocio.metricas;
+
+public interface OperacionMetricasMXBean {
+
+    long getLlamadas();
+
+    long getExitos();
+
+    long getRechazos();
+
+    long getFallos();
+
+    long getConflictos();
+
+    double getLatenciaMediaMicros();
+
+    double getLatenciaP50Micros();
+
+    double getLatenciaP90Micros();
+
+    double getLatenciaP99Micros();
+
+    double getLatenciaP999Micros();
+
+    double getLatenciaMaximaMicros();
+
+    void reiniciar();
+}
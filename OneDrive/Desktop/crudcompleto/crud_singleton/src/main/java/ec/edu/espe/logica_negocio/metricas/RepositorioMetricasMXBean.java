@@ -0,0 +1,8 @@
+package ec.edu.espe.logica_negocio.metricas;
+
+public interface RepositorioMetricasMXBean {
+
+    int getTamano();
+
+    long getVersion();
+}
@@ -1,27 +1,35 @@
 package ec.edu.espe.presentacion;
 
 import ec.edu.espe.controller.EstudianteController;
+import ec.edu.espe.controller.EstudianteControllerAsync;
 import ec.edu.espe.logica_negocio.EstudianteService;
 import ec.edu.espe.datos.model.Estudiante;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import javax.swing.table.TableCellRenderer;
 import javax.swing.table.TableCellEditor;
 import java.awt.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
 
 public class EstudianteUI extends JFrame {
 
-    private EstudianteController controller;
+    private EstudianteControllerAsync controller;
     private JTextField txtId, txtNombres, txtEdad;
+    private JButton btnGuardar, btnCancelar;
+    private JProgressBar progreso;
+    private JLabel lblEstado;
     private JTable table;
-    private DefaultTableModel model;
+    private EstudianteTableModel model;
 
     private String modo = "crear";
     private String idEditando = null;
+    private long versionEditando;
+    private CompletableFuture<?> operacionActual;
 
     public EstudianteUI() {
-        controller = new EstudianteController(new EstudianteService());
+        controller = new EstudianteControllerAsync(new EstudianteController(new EstudianteService()));
 
         setTitle("Gestión de Estudiantes");
         setSize(700, 450);
@@ -42,13 +50,13 @@ public class EstudianteUI extends JFrame {
         txtEdad = new JTextField();
         form.add(txtEdad);
 
-        JButton btnGuardar = new JButton("Guardar");
+        btnGuardar = new JButton("Guardar");
         btnGuardar.addActionListener(e -> guardar());
         form.add(btnGuardar);
 
         add(form, BorderLayout.NORTH);
 
-        model = new DefaultTableModel(new String[] { "ID", "Nombres", "Edad", "Acciones" }, 0);
+        model = new EstudianteTableModel(controller);
         table = new JTable(model);
 
         table.setRowHeight(35);
@@ -61,44 +69,83 @@ public class EstudianteUI extends JFrame {
 
         add(new JScrollPane(table), BorderLayout.CENTER);
 
-        mostrarTabla();
+        JPanel estado = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        lblEstado = new JLabel(" ");
+        progreso = new JProgressBar();
+        progreso.setIndeterminate(true);
+        progreso.setVisible(false);
+        btnCancelar = new JButton("Cancelar");
+        btnCancelar.setVisible(false);
+        btnCancelar.addActionListener(e -> cancelar());
+        estado.add(progreso);
+        estado.add(btnCancelar);
+        estado.add(lblEstado);
+        add(estado, BorderLayout.SOUTH);
+
         setVisible(true);
     }
 
     private void guardar() {
+        String id = txtId.getText();
+        String nombres = txtNombres.getText();
+        int edad;
         try {
-            String id = txtId.getText();
-            String nombres = txtNombres.getText();
-            int edad = Integer.parseInt(txtEdad.getText());
+            edad = Integer.parseInt(txtEdad.getText());
+        } catch (NumberFormatException ex) {
+            JOptionPane.showMessageDialog(this, "La edad debe ser un número");
+            return;
+        }
 
-            if (modo.equals("crear")) {
-                controller.crearEstudiante(id, nombres, edad);
+        if (modo.equals("crear")) {
+            ejecutar("Guardando...", controller.crearEstudiante(id, nombres, edad), est -> {
                 JOptionPane.showMessageDialog(this, "Estudiante agregado");
-            } else {
-                controller.editar(idEditando, nombres, edad);
+                limpiar();
+            });
+        } else {
+            ejecutar("Actualizando...", controller.editar(idEditando, nombres, edad, versionEditando), est -> {
                 JOptionPane.showMessageDialog(this, "Estudiante actualizado");
                 modo = "crear";
                 txtId.setEnabled(true);
-            }
-
-            limpiar();
-            mostrarTabla();
-
-        } catch (Exception ex) {
-            JOptionPane.showMessageDialog(this, ex.getMessage());
+                limpiar();
+            });
         }
     }
 
-    private void mostrarTabla() {
-        model.setRowCount(0);
+    private boolean ocupado() {
+        return operacionActual != null && !operacionActual.isDone();
+    }
 
-        for (Estudiante est : controller.obtenerTodos()) {
-            model.addRow(new Object[] {
-                    est.getId(),
-                    est.getNombres(),
-                    est.getEdad(),
-                    "Acciones"
-            });
+    private <T> void ejecutar(String descripcion, CompletableFuture<T> operacion, Consumer<T> alTerminar) {
+        operacionActual = operacion;
+        btnGuardar.setEnabled(false);
+        progreso.setVisible(true);
+        btnCancelar.setVisible(true);
+        lblEstado.setText(descripcion);
+
+        operacion.whenCompleteAsync((resultado, error) -> {
+            if (operacion != operacionActual) return;
+
+            operacionActual = null;
+            btnGuardar.setEnabled(true);
+            progreso.setVisible(false);
+            btnCancelar.setVisible(false);
+            lblEstado.setText(" ");
+
+            if (operacion.isCancelled()) {
+                lblEstado.setText("Operación cancelada");
+            } else if (error != null) {
+                Throwable causa = error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error;
+                JOptionPane.showMessageDialog(this, causa.getMessage());
+            } else {
+                alTerminar.accept(resultado);
+            }
+        }, SwingUtilities::invokeLater);
+    }
+
+    private void cancelar() {
+        if (operacionActual != null) {
+            operacionActual.cancel(true);
         }
     }
 
@@ -151,25 +198,32 @@ public class EstudianteUI extends JFrame {
 
         private void editarFila() {
             fireEditingStopped();
+            if (ocupado()) return;
 
             String id = (String) table.getValueAt(filaActual, 0);
-            Estudiante est = controller.buscar(id);
-
-            idEditando = est.getId();
-            modo = "editar";
-
-            txtId.setText(est.getId());
-            txtId.setEnabled(false);
-            txtNombres.setText(est.getNombres());
-            txtEdad.setText(String.valueOf(est.getEdad()));
+            ejecutar("Buscando...", controller.buscar(id), est -> {
+                if (est == null) {
+                    JOptionPane.showMessageDialog(EstudianteUI.this, "Estudiante no encontrado");
+                    return;
+                }
+
+                idEditando = est.getId();
+                versionEditando = est.getVersion();
+                modo = "editar";
+
+                txtId.setText(est.getId());
+                txtId.setEnabled(false);
+                txtNombres.setText(est.getNombres());
+                txtEdad.setText(String.valueOf(est.getEdad()));
+            });
         }
 
         private void eliminarFila() {
             fireEditingStopped();
+            if (ocupado()) return;
 
             String id = (String) table.getValueAt(filaActual, 0);
-            controller.eliminar(id);
-            mostrarTabla();
+            ejecutar("Eliminando...", controller.eliminar(id), ok -> lblEstado.setText("Estudiante eliminado"));
         }
 
         @Override
@@ -1,10 +1,27 @@
 package ec.edu.espe.presentacion;
 
+import ec.edu.espe.controller.EstudianteController;
+import ec.edu.espe.datos.replicacion.PublicadorCambios;
+import ec.edu.espe.datos.repository.Motores;
+import ec.edu.espe.logica_negocio.EstudianteService;
 import ec.edu.espe.presentacion.EstudianteUI;
+import ec.edu.espe.presentacion.http.EstudianteHttpServer;
 
 public class Main {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("--servidor")) {
+            int puerto = args.length > 1 ? Integer.parseInt(args[1]) : 8080;
+            EstudianteHttpServer server = new EstudianteHttpServer(new EstudianteController(new EstudianteService()), puerto);
+            server.iniciar();
+            System.out.println("Servidor de estudiantes escuchando en el puerto " + server.getPuerto());
+            Integer puertoReplicacion = Integer.getInteger("estudiantes.replicacion.puerto");
+            if (puertoReplicacion != null) {
+                PublicadorCambios publicador = new PublicadorCambios(Motores.predeterminado(), puertoReplicacion);
+                publicador.iniciar();
+                System.out.println("Publicando cambios para réplicas en el puerto " + publicador.getPuerto());
+            }
+            return;
+        }
         new EstudianteUI();
     }
 }
-
@@ -0,0 +1,368 @@
+package ec.edu.espe.presentacion.http;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import ec.edu.espe.controller.Ejecutores;
+import ec.edu.espe.controller.EstudianteController;
+import ec.edu.espe.datos.formato.EstudianteJson;
+import ec.edu.espe.datos.model.Estudiante;
+import ec.edu.espe.datos.repository.OrdenEstudiante;
+import ec.edu.espe.datos.repository.Pagina;
+import ec.edu.espe.logica_negocio.ConflictoVersionException;
+import ec.edu.espe.logica_negocio.EstudianteDuplicadoException;
+import ec.edu.espe.logica_negocio.EstudianteNoEncontradoException;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * API HTTP/JSON sobre {@link EstudianteController}:
+ * <pre>
+ * POST   /estudiantes                    {"id","nombres","edad"}
+ * GET    /estudiantes?orden=&amp;cursor=&amp;tamano=
+ * GET    /estudiantes/buscar?nombre=     | ?edadMin=&amp;edadMax=
+ * GET    /estudiantes/{id}
+ * PUT    /estudiantes/{id}               {"nombres","edad"}
+ * DELETE /estudiantes/{id}
+ * GET    /metricas                       texto plano
+ * </pre>
+ * Los estudiantes se devuelven con su "version", que también viaja como
+ * {@code ETag} en las respuestas de un solo estudiante. PUT y DELETE con
+ * {@code If-Match: "<versión>"} solo se aplican si el registro sigue en esa
+ * versión; si cambió responden 412 con el {@code ETag} vigente.
+ * En una réplica las escrituras responden 405.
+ * Cada petición corre en su propio hilo (virtual cuando la JVM lo permite),
+ * así que los handlers usan el controlador síncrono directamente.
+ */
+public class EstudianteHttpServer {
+
+    private static final String RUTA = "/estudiantes";
+    private static final int MAXIMO_CUERPO = 64 * 1024;
+    private static final int TAMANO_PAGINA = 50;
+    private static final int MAXIMO_RESULTADOS = 1_000;
+
+    static {
+        // Sin TCP_NODELAY cada respuesta pequeña espera el ACK retardado del cliente (~40 ms).
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final EstudianteController controller;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    public EstudianteHttpServer(EstudianteController controller, int puerto) throws IOException {
+        this.controller = controller;
+        this.server = HttpServer.create(new InetSocketAddress(puerto), 1024);
+        this.executor = Ejecutores.hiloPorTarea("estudiantes-http");
+        server.createContext(RUTA, this::atender);
+        server.createContext("/metricas", this::metricas);
+        server.setExecutor(executor);
+    }
+
+    public void iniciar() {
+        server.start();
+    }
+
+    public void detener() {
+        server.stop(1);
+        executor.shutdown();
+    }
+
+    public int getPuerto() {
+        return server.getAddress().getPort();
+    }
+
+    private void atender(HttpExchange exchange) throws IOException {
+        try {
+            // El contexto también recibe "/estudiantesX..."; solo valen la colección y sus hijos directos.
+            String ruta = exchange.getRequestURI().getRawPath();
+            String resto = ruta.length() > RUTA.length() ? ruta.substring(RUTA.length() + 1) : "";
+            if (!(ruta.equals(RUTA) || ruta.startsWith(RUTA + "/")) || resto.indexOf('/') >= 0) {
+                responderError(exchange, 404, "Ruta no encontrada");
+                return;
+            }
+            String metodo = exchange.getRequestMethod();
+
+            if (resto.isEmpty()) {
+                if (metodo.equals("GET")) {
+                    listar(exchange);
+                } else if (metodo.equals("POST")) {
+                    crear(exchange);
+                } else {
+                    responderError(exchange, 405, "Método no permitido");
+                }
+            } else if (resto.equals("buscar") && metodo.equals("GET")) {
+                buscar(exchange);
+            } else {
+                String id = decodificarSegmento(resto);
+                switch (metodo) {
+                    case "GET":
+                        obtener(exchange, id);
+                        break;
+                    case "PUT":
+                        editar(exchange, id);
+                        break;
+                    case "DELETE":
+                        eliminar(exchange, id);
+                        break;
+                    default:
+                        responderError(exchange, 405, "Método no permitido");
+                }
+            }
+        } catch (EstudianteNoEncontradoException e) {
+            responderError(exchange, 404, e.getMessage());
+        } catch (ConflictoVersionException e) {
+            exchange.getResponseHeaders().set("ETag", etag(e.getVersionActual()));
+            responderError(exchange, 412, e.getMessage());
+        } catch (EstudianteDuplicadoException e) {
+            responderError(exchange, 409, e.getMessage());
+        } catch (IllegalArgumentException e) {
+            responderError(exchange, 400, e.getMessage());
+        } catch (UnsupportedOperationException e) {
+            responderError(exchange, 405, e.getMessage());
+        } catch (RuntimeException e) {
+            responderError(exchange, 500, "Error interno");
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void metricas(HttpExchange exchange) throws IOException {
+        try {
+            if (!exchange.getRequestMethod().equals("GET")) {
+                responderError(exchange, 405, "Método no permitido");
+                return;
+            }
+            byte[] cuerpo = controller.metricas().volcarTexto().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+            exchange.sendResponseHeaders(200, cuerpo.length);
+            try (OutputStream salida = exchange.getResponseBody()) {
+                salida.write(cuerpo);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void crear(HttpExchange exchange) throws IOException {
+        String[] campos = EstudianteJson.leer(leerCuerpo(exchange));
+        Estudiante est = controller.crearEstudiante(campos[0], campos[1], leerEdad(campos[2]));
+        responderEstudiante(exchange, 201, est);
+    }
+
+    private void obtener(HttpExchange exchange, String id) throws IOException {
+        Estudiante est = controller.buscar(id);
+        if (est == null) {
+            throw new EstudianteNoEncontradoException();
+        }
+        responderEstudiante(exchange, 200, est);
+    }
+
+    private void editar(HttpExchange exchange, String id) throws IOException {
+        String[] campos = EstudianteJson.leer(leerCuerpo(exchange));
+        int edad = leerEdad(campos[2]);
+        long version = versionEsperada(exchange);
+        if (version < 0) {
+            controller.editar(id, campos[1], edad);
+            obtener(exchange, id);
+        } else {
+            responderEstudiante(exchange, 200, controller.editar(id, campos[1], edad, version));
+        }
+    }
+
+    private void eliminar(HttpExchange exchange, String id) throws IOException {
+        long version = versionEsperada(exchange);
+        if (version < 0) {
+            controller.eliminar(id);
+        } else {
+            controller.eliminar(id, version);
+        }
+        responder(exchange, 204, null);
+    }
+
+    /**
+     * Versión pedida en {@code If-Match}, o -1 si la cabecera falta o es
+     * {@code *}. Solo se admite una etiqueta fuerte, la que devuelve el servidor.
+     */
+    private static long versionEsperada(HttpExchange exchange) {
+        String valor = exchange.getRequestHeaders().getFirst("If-Match");
+        if (valor == null || valor.trim().equals("*")) {
+            return -1;
+        }
+        valor = valor.trim();
+        long version = -1;
+        if (valor.length() > 2 && valor.charAt(0) == '"' && valor.charAt(valor.length() - 1) == '"') {
+            try {
+                version = Long.parseLong(valor.substring(1, valor.length() - 1));
+            } catch (NumberFormatException e) {
+                version = -1;
+            }
+        }
+        if (version < 0) {
+            throw new IllegalArgumentException("If-Match inválido: " + valor);
+        }
+        return version;
+    }
+
+    private static String etag(long version) {
+        return "\"" + version + '"';
+    }
+
+    private static void responderEstudiante(HttpExchange exchange, int estado, Estudiante est) throws IOException {
+        StringBuilder json = new StringBuilder(112);
+        EstudianteJson.escribirConVersion(est, json);
+        exchange.getResponseHeaders().set("ETag", etag(est.getVersion()));
+        responder(exchange, estado, json);
+    }
+
+    private void listar(HttpExchange exchange) throws IOException {
+        Map<String, String> parametros = parametros(exchange);
+        OrdenEstudiante orden = parametros.containsKey("orden")
+                ? OrdenEstudiante.valueOf(parametros.get("orden").toUpperCase(Locale.ROOT))
+                : OrdenEstudiante.INSERCION;
+        int tamano = parametros.containsKey("tamano") ? leerEntero(parametros.get("tamano")) : TAMANO_PAGINA;
+
+        Pagina<Estudiante> pagina = controller.obtenerPagina(orden, parametros.get("cursor"), tamano);
+        StringBuilder json = new StringBuilder(64 + pagina.getElementos().size() * 64);
+        json.append("{\"elementos\":");
+        escribirLista(pagina.getElementos(), pagina.getElementos().size(), json);
+        json.append(",\"siguienteCursor\":");
+        EstudianteJson.escribirTexto(pagina.getSiguienteCursor(), json);
+        json.append(",\"total\":").append(pagina.getTotal()).append('}');
+        responder(exchange, 200, json);
+    }
+
+    private void buscar(HttpExchange exchange) throws IOException {
+        Map<String, String> parametros = parametros(exchange);
+        List<Estudiante> resultados;
+        if (parametros.containsKey("nombre")) {
+            resultados = controller.buscarPorNombre(parametros.get("nombre"));
+        } else if (parametros.containsKey("edadMin") || parametros.containsKey("edadMax")) {
+            int minima = parametros.containsKey("edadMin") ? leerEntero(parametros.get("edadMin")) : 0;
+            int maxima = parametros.containsKey("edadMax") ? leerEntero(parametros.get("edadMax")) : Integer.MAX_VALUE;
+            resultados = controller.buscarPorEdad(minima, maxima);
+        } else {
+            throw new IllegalArgumentException("Indique nombre o edadMin/edadMax");
+        }
+
+        int limite = Math.min(resultados.size(), MAXIMO_RESULTADOS);
+        StringBuilder json = new StringBuilder(32 + limite * 64);
+        json.append("{\"elementos\":");
+        escribirLista(resultados, limite, json);
+        json.append(",\"total\":").append(resultados.size()).append('}');
+        responder(exchange, 200, json);
+    }
+
+    private static void escribirLista(List<Estudiante> estudiantes, int limite, StringBuilder json) {
+        json.append('[');
+        for (int i = 0; i < limite; i++) {
+            if (i > 0) json.append(',');
+            EstudianteJson.escribirConVersion(estudiantes.get(i), json);
+        }
+        json.append(']');
+    }
+
+    private static String leerCuerpo(HttpExchange exchange) throws IOException {
+        try (InputStream entrada = exchange.getRequestBody()) {
+            byte[] cuerpo = entrada.readNBytes(MAXIMO_CUERPO + 1);
+            if (cuerpo.length > MAXIMO_CUERPO) {
+                throw new IllegalArgumentException("Cuerpo demasiado grande");
+            }
+            return new String(cuerpo, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static int leerEdad(String texto) {
+        if (texto == null) {
+            throw new IllegalArgumentException("Falta la edad");
+        }
+        return leerEntero(texto);
+    }
+
+    private static int leerEntero(String texto) {
+        try {
+            return Integer.parseInt(texto.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Número inválido: " + texto);
+        }
+    }
+
+    /**
+     * Decodifica los escapes {@code %XX} de un segmento de ruta como UTF-8. A
+     * diferencia de {@link URLDecoder}, pensado para formularios, deja el
+     * {@code +} tal cual.
+     */
+    static String decodificarSegmento(String segmento) {
+        if (segmento.indexOf('%') < 0) return segmento;
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(segmento.length());
+        for (int i = 0; i < segmento.length(); i++) {
+            char c = segmento.charAt(i);
+            if (c == '%') {
+                int alto = i + 2 < segmento.length() ? Character.digit(segmento.charAt(i + 1), 16) : -1;
+                int bajo = alto >= 0 ? Character.digit(segmento.charAt(i + 2), 16) : -1;
+                if (bajo < 0) {
+                    throw new IllegalArgumentException("Escape inválido en la ruta: " + segmento);
+                }
+                bytes.write(alto << 4 | bajo);
+                i += 2;
+            } else if (c < 0x80) {
+                bytes.write(c);
+            } else {
+                int codigo = segmento.codePointAt(i);
+                bytes.writeBytes(new String(Character.toChars(codigo)).getBytes(StandardCharsets.UTF_8));
+                i += Character.charCount(codigo) - 1;
+            }
+        }
+        return bytes.toString(StandardCharsets.UTF_8);
+    }
+
+    private static Map<String, String> parametros(HttpExchange exchange) {
+        Map<String, String> parametros = new HashMap<>();
+        String consulta = exchange.getRequestURI().getRawQuery();
+        if (consulta == null || consulta.isEmpty()) return parametros;
+
+        for (String par : consulta.split("&")) {
+            int igual = par.indexOf('=');
+            String clave = igual < 0 ? par : par.substring(0, igual);
+            String valor = igual < 0 ? "" : par.substring(igual + 1);
+            parametros.put(URLDecoder.decode(clave, StandardCharsets.UTF_8), URLDecoder.decode(valor, StandardCharsets.UTF_8));
+        }
+        return parametros;
+    }
+
+    private static void responderError(HttpExchange exchange, int estado, String mensaje) throws IOException {
+        StringBuilder json = new StringBuilder(64);
+        json.append("{\"error\":");
+        EstudianteJson.escribirTexto(mensaje, json);
+        json.append('}');
+        responder(exchange, estado, json);
+    }
+
+    private static void responder(HttpExchange exchange, int estado, CharSequence json) throws IOException {
+        if (json == null) {
+            // Sin cuerpo el intercambio termina al enviar las cabeceras; si la petición
+            // no se consumió antes, el servidor cierra la conexión en vez de reutilizarla.
+            exchange.getRequestBody().close();
+            exchange.sendResponseHeaders(estado, -1);
+            return;
+        }
+        byte[] cuerpo = json.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(estado, cuerpo.length);
+        try (OutputStream salida = exchange.getResponseBody()) {
+            salida.write(cuerpo);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package ec.edu.espe.datos.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import ec.edu.espe.datos.model.Estudiante;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Leer, modificar y escribir con la versión leída no pierde escrituras en
+ * ningún motor, aunque varios hilos compitan por el mismo registro.
+ */
+class EscrituraCondicionalTest extends PruebaDeMotores {
+
+    private static final int HILOS = 4;
+
+    private MotorEstudiantes motor;
+
+    @ParameterizedTest
+    @ValueSource(strings = {"indices", "columnar", "mapeado", "particionado"})
+    void losIncrementosOptimistasNoSePierden(String nombre) throws Exception {
+        motor = abrir(nombre);
+        motor.agregar(new Estudiante("C", "Contador", 1));
+        int porHilo = 500;
+
+        List<Integer> reintentos = enParalelo(() -> {
+            int fallidos = 0;
+            for (int i = 0; i < porHilo; i++) {
+                while (true) {
+                    Estudiante leido = motor.buscarPorId("C");
+                    if (motor.editar("C", "Contador", leido.getEdad() + 1, leido.getVersion()) != 0) break;
+                    fallidos++;
+                }
+            }
+            return fallidos;
+        });
+
+        Estudiante contador = motor.buscarPorId("C");
+        assertEquals(1 + HILOS * porHilo, contador.getEdad());
+        int fallidos = reintentos.stream().mapToInt(Integer::intValue).sum();
+        assertEquals(1 + HILOS * porHilo, motor.version(), "un rechazo (" + fallidos + ") no sube la versión");
+        assertEquals(motor.version(), contador.getVersion());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"indices", "columnar", "mapeado", "particionado"})
+    void soloUnoBorraConLaMismaVersion(String nombre) throws Exception {
+        motor = abrir(nombre);
+        for (int ronda = 0; ronda < 50; ronda++) {
+            String id = "B" + ronda;
+            motor.agregar(new Estudiante(id, "Borrable", 20));
+            long version = motor.buscarPorId(id).getVersion();
+
+            List<Integer> borrados = enParalelo(() -> motor.eliminar(id, version) ? 1 : 0);
+            assertEquals(1, borrados.stream().mapToInt(Integer::intValue).sum(), id);
+            assertNull(motor.buscarPorId(id));
+        }
+    }
+
+    private static List<Integer> enParalelo(Callable<Integer> tarea) throws Exception {
+        CountDownLatch largada = new CountDownLatch(1);
+        ExecutorService hilos = Executors.newFixedThreadPool(HILOS);
+        try {
+            List<Future<Integer>> tareas = new ArrayList<>();
+            for (int h = 0; h < HILOS; h++) {
+                tareas.add(hilos.submit(() -> {
+                    largada.await();
+                    return tarea.call();
+                }));
+            }
+            largada.countDown();
+            List<Integer> resultados = new ArrayList<>();
+            for (Future<Integer> futura : tareas) resultados.add(futura.get());
+            return resultados;
+        } finally {
+            hilos.shutdownNow();
+        }
+    }
+}
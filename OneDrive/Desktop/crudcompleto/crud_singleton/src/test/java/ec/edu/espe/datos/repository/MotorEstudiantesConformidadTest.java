@@ -0,0 +1,285 @@
+package ec.edu.espe.datos.repository;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import ec.edu.espe.datos.model.Estudiante;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * El contrato de {@link MotorEstudiantes} que todos los motores prometen
+ * cumplir igual que el de referencia: orden, cursores, versiones y eventos,
+ * lotes, estadísticas y escrituras condicionales.
+ */
+class MotorEstudiantesConformidadTest extends PruebaDeMotores {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"indices", "columnar", "mapeado", "particionado"})
+    void agregaSinDuplicarYRespetaCadaOrden(String nombre) throws Exception {
+        MotorEstudiantes motor = abrir(nombre);
+        assertEquals(1, motor.agregar(new Estudiante("C", "carla", 30)));
+        assertEquals(2, motor.agregar(new Estudiante("A", "Bruno", 25)));
+        assertEquals(3, motor.agregar(new Estudiante("D", "Ana", 25)));
+        assertEquals(4, motor.agregar(new Estudiante("B", "ana", 40)));
+        assertEquals(0, motor.agregar(new Estudiante("A", "Otro", 50)));
+
+        assertEquals(4, motor.tamano());
+        assertEquals("Bruno", motor.buscarPorId("A").getNombres());
+        assertEquals(2, motor.buscarPorId("A").getVersion());
+        assertNull(motor.buscarPorId("Z"));
+        assertEquals(List.of("C", "A", "D", "B"), ids(recorrer(motor, OrdenEstudiante.INSERCION, 10)));
+        assertEquals(List.of("A", "B", "C", "D"), ids(recorrer(motor, OrdenEstudiante.ID, 10)));
+        assertEquals(List.of("B", "D", "A", "C"), ids(recorrer(motor, OrdenEstudiante.NOMBRES, 10)));
+        assertEquals(List.of("A", "D", "C", "B"), ids(recorrer(motor, OrdenEstudiante.EDAD, 10)));
+        assertEquals(List.of("C", "A", "D", "B"), ids(motor.snapshot().getEstudiantes()));
+        assertEquals(List.of("A", "D", "C"), ids(motor.buscarPorRangoEdad(25, 30)));
+        assertEquals(List.of("B", "D"), ids(motor.buscarPorPrefijoNombre("AN")));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"indices", "columnar", "mapeado", "particionado"})
+    void losCursoresRecorrenTodoIgualQueElMotorDeReferencia(String nombre) throws Exception {
+        MotorEstudiantes motor = abrir(nombre);
+        MotorEstudiantes referencia = EstudianteRepository.enMemoria();
+        Random azar = new Random(11);
+        for (int i = 0; i < 2_000; i++) {
+            escribirAlAzar(azar, i, motor, referencia);
+        }
+
+        for (OrdenEstudiante criterio : OrdenEstudiante.values()) {
+            for (int limite : new int[] {1, 7, 500}) {
+                assertIgual(recorrer(referencia, criterio, limite), recorrer(motor, criterio, limite),
+                        criterio + " de a " + limite);
+            }
+        }
+        assertIgual(referencia.buscarPorRangoEdad(20, 40), motor.buscarPorRangoEdad(20, 40), "rango de edad");
+        assertIgual(referencia.buscarPorPrefijoNombre("nombre 1"), motor.buscarPorPrefijoNombre("NOMBRE 1"),
+                "prefijo");
+        assertIgual(referencia.snapshot().getEstudiantes(), motor.snapshot().getEstudiantes(), "snapshot");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"indices", "columnar", "mapeado", "particionado"})
+    void elCursorSigueValiendoSiSeBorraLaUltimaFilaEntregada(String nombre) throws Exception {
+        MotorEstudiantes motor = abrir(nombre);
+        for (int i = 0; i < 10; i++) {
+            motor.agregar(new Estudiante("E" + i, "Nombre " + i, 20 + i));
+        }
+        for (OrdenEstudiante criterio : OrdenEstudiante.values()) {
+            Pagina<Estudiante> primera = motor.listarPagina(criterio, null, 3);
+            Estudiante ultima = primera.getElementos().get(2);
+            motor.eliminar(ultima.getId());
+
+            Pagina<Estudiante> segunda = motor.listarPagina(criterio, primera.getSiguienteCursor(), 3);
+            assertEquals(3, segunda.getElementos().size(), criterio.toString());
+            assertFalse(ids(primera.getElementos()).contains(segunda.getElementos().get(0).getId()),
+                    criterio.toString());
+            motor.agregar(ultima);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"indices", "columnar", "mapeado", "particionado"})
+    void cadaCambioSubeLaVersionEnUnoConUnSoloEvento(String nombre) throws Exception {
+        MotorEstudiantes motor = abrir(nombre);
+        List<CambioEstudiante> eventos = new ArrayList<>();
+        motor.agregarListener(eventos::add);
+        Random azar = new Random(17);
+
+        for (int i = 0; i < 1_000; i++) {
+            long antes = motor.version();
+            int publicados = eventos.size();
+            int aplicados = escribirAlAzar(azar, i, motor);
+
+            assertEquals(antes + aplicados, motor.version(), "operación " + i);
+            assertEquals(publicados + aplicados, eventos.size(), "operación " + i);
+            for (int k = publicados; k < eventos.size(); k++) {
+                CambioEstudiante cambio = eventos.get(k);
+                assertEquals(antes + 1 + k - publicados, cambio.getVersion(), "operación " + i);
+                if (cambio.getTipo() != CambioEstudiante.Tipo.ELIMINADO) {
+                    assertEquals(cambio.getVersion(), cambio.getEstudiante().getVersion());
+                }
+            }
+        }
+        for (Estudiante estudiante : motor.snapshot().getEstudiantes()) {
+            Estudiante ultimo = null;
+            for (CambioEstudiante cambio : eventos) {
+                if (cambio.getEstudiante().getId().equals(estudiante.getId())) ultimo = cambio.getEstudiante();
+            }
+            assertEquals(ultimo.getVersion(), estudiante.getVersion(), estudiante.getId());
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"indices", "columnar", "mapeado", "particionado"})
+    void losLotesInformanCadaPosicion(String nombre) throws Exception {
+        MotorEstudiantes motor = abrir(nombre);
+        List<CambioEstudiante> eventos = new ArrayList<>();
+        motor.agregarListener(eventos::add);
+        motor.agregar(new Estudiante("A", "Ana", 20));
+
+        long[] agregados = motor.agregarLote(List.of(
+                new Estudiante("B", "Bea", 21),
+                new Estudiante("A", "Otra Ana", 22),
+                new Estudiante("C", "Ciro", 23),
+                new Estudiante("B", "Otra Bea", 24)));
+        assertArrayEquals(new long[] {2, 0, 3, 0}, agregados);
+        assertEquals("Bea", motor.buscarPorId("B").getNombres());
+        assertEquals(3, motor.version());
+
+        boolean[] aplicadas = motor.aplicarLote(List.of(
+                OperacionLote.crear("D", "Dora", 30),
+                OperacionLote.crear("A", "Repetida", 31),
+                OperacionLote.editar("D", "Dora Editada", 32),
+                OperacionLote.editar("Z", "No existe", 33),
+                OperacionLote.eliminar("B"),
+                OperacionLote.eliminar("B"),
+                OperacionLote.crear("B", "Bea Nueva", 34)));
+        assertArrayEquals(new boolean[] {true, false, true, false, true, false, true}, aplicadas);
+        assertEquals(7, motor.version());
+        assertEquals(7, eventos.size());
+        assertEquals("Dora Editada", motor.buscarPorId("D").getNombres());
+        assertEquals(List.of("A", "C", "D", "B"), ids(motor.snapshot().getEstudiantes()));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"indices", "columnar", "mapeado", "particionado"})
+    void lasEstadisticasCoincidenConElPadron(String nombre) throws Exception {
+        MotorEstudiantes motor = abrir(nombre);
+        EstadisticasEstudiantes vacio = motor.estadisticas();
+        assertEquals(0, vacio.getTotal());
+        assertEquals(0, vacio.getEdadMinima());
+        assertTrue(vacio.getDistribucion().isEmpty());
+
+        Random azar = new Random(23);
+        for (int i = 0; i < 1_500; i++) {
+            escribirAlAzar(azar, i, motor);
+        }
+        EstadisticasEstudiantes estadisticas = motor.estadisticas();
+        List<Estudiante> todos = motor.snapshot().getEstudiantes();
+        TreeMap<Integer, Long> distribucion = todos.stream()
+                .collect(Collectors.groupingBy(Estudiante::getEdad, TreeMap::new, Collectors.counting()));
+
+        assertEquals(motor.version(), estadisticas.getVersion());
+        assertEquals(todos.size(), estadisticas.getTotal());
+        assertEquals(todos.stream().mapToLong(Estudiante::getEdad).sum(), estadisticas.getSumaEdades());
+        assertEquals(distribucion.firstKey(), estadisticas.getEdadMinima());
+        assertEquals(distribucion.lastKey(), estadisticas.getEdadMaxima());
+        assertEquals(distribucion, estadisticas.getDistribucion());
+        assertEquals(motor.buscarPorRangoEdad(10, 30).size(), estadisticas.contarPorRango(10, 30));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"indices", "columnar", "mapeado", "particionado"})
+    void lasEscriturasCondicionalesSoloAplicanConLaVersionVigente(String nombre) throws Exception {
+        MotorEstudiantes motor = abrir(nombre);
+        motor.agregar(new Estudiante("A", "Ana", 20));
+        motor.agregar(new Estudiante("B", "Bea", 21));
+        long versionA = motor.buscarPorId("A").getVersion();
+
+        long nueva = motor.editar("A", "Ana María", 22, versionA);
+        assertEquals(motor.version(), nueva);
+        assertEquals(nueva, motor.buscarPorId("A").getVersion());
+
+        long antes = motor.version();
+        assertEquals(0, motor.editar("A", "Vieja", 23, versionA));
+        assertFalse(motor.eliminar("A", versionA));
+        assertEquals(0, motor.editar("Z", "No existe", 23, 1));
+        assertFalse(motor.eliminar("Z", 1));
+        assertEquals(antes, motor.version(), "un rechazo no cambia la versión");
+        assertEquals("Ana María", motor.buscarPorId("A").getNombres());
+
+        assertTrue(motor.eliminar("A", nueva));
+        assertNull(motor.buscarPorId("A"));
+        assertTrue(motor.eliminar("B", motor.buscarPorId("B").getVersion()));
+        assertEquals(0, motor.tamano());
+    }
+
+    /**
+     * Aplica la misma operación al azar a todos los motores y devuelve
+     * cuántos cambios produjo en el primero.
+     */
+    private static int escribirAlAzar(Random azar, int i, MotorEstudiantes... motores) {
+        String id = "E" + azar.nextInt(300);
+        int edad = 1 + azar.nextInt(60);
+        int tipo = azar.nextInt(6);
+        List<Estudiante> lote = new ArrayList<>();
+        for (int k = 0; k < 3; k++) lote.add(new Estudiante("E" + azar.nextInt(300), "Lote " + i, edad));
+        int aplicados = -1;
+        for (MotorEstudiantes motor : motores) {
+            int cambios;
+            switch (tipo) {
+                case 0:
+                case 1:
+                    cambios = motor.agregar(new Estudiante(id, "Nombre " + i, edad)) != 0 ? 1 : 0;
+                    break;
+                case 2:
+                    cambios = motor.editar(id, "Editado " + i, edad) ? 1 : 0;
+                    break;
+                case 3:
+                    cambios = motor.eliminar(id) ? 1 : 0;
+                    break;
+                case 4:
+                    cambios = contar(motor.agregarLote(lote));
+                    break;
+                default:
+                    cambios = contar(motor.aplicarLote(List.of(
+                            OperacionLote.editar(id, "Nombre " + i, edad),
+                            OperacionLote.eliminar(lote.get(0).getId()),
+                            OperacionLote.crear(lote.get(1).getId(), "Nombre " + i, edad))));
+            }
+            if (aplicados < 0) aplicados = cambios;
+        }
+        return aplicados;
+    }
+
+    private static int contar(long[] versiones) {
+        int cantidad = 0;
+        for (long version : versiones) {
+            if (version != 0) cantidad++;
+        }
+        return cantidad;
+    }
+
+    private static int contar(boolean[] resultados) {
+        int cantidad = 0;
+        for (boolean resultado : resultados) {
+            if (resultado) cantidad++;
+        }
+        return cantidad;
+    }
+
+    private static List<Estudiante> recorrer(MotorEstudiantes motor, OrdenEstudiante criterio, int limite) {
+        List<Estudiante> todos = new ArrayList<>();
+        String cursor = null;
+        do {
+            Pagina<Estudiante> pagina = motor.listarPagina(criterio, cursor, limite);
+            assertTrue(pagina.getElementos().size() <= limite);
+            assertEquals(motor.tamano(), pagina.getTotal());
+            todos.addAll(pagina.getElementos());
+            cursor = pagina.getSiguienteCursor();
+        } while (cursor != null);
+        return todos;
+    }
+
+    private static void assertIgual(List<Estudiante> esperado, List<Estudiante> obtenido, String donde) {
+        assertEquals(ids(esperado), ids(obtenido), donde);
+        for (int i = 0; i < esperado.size(); i++) {
+            assertEquals(esperado.get(i).getNombres(), obtenido.get(i).getNombres(), donde);
+            assertEquals(esperado.get(i).getEdad(), obtenido.get(i).getEdad(), donde);
+        }
+    }
+
+    private static List<String> ids(List<Estudiante> estudiantes) {
+        return estudiantes.stream().map(Estudiante::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,99 @@
+package ec.edu.espe.datos.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import ec.edu.espe.datos.model.Estudiante;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MotorMapeadoTest {
+
+    // Más que suficiente para que la tabla hash de 1024 ranuras crezca dos veces.
+    private static final int CANTIDAD = 3_000;
+
+    @TempDir
+    Path directorio;
+
+    @Test
+    void elIndiceCreceSinReemplazarArchivosMapeados() throws Exception {
+        MotorMapeado motor = MotorMapeado.abrir(directorio);
+        Object[] antes = identidadesDelIndice();
+        for (int i = 0; i < CANTIDAD; i++) {
+            motor.agregar(new Estudiante("E" + i, "Nombre " + i, 1 + i % 90));
+        }
+        assertEquals(List.of(antes), List.of(identidadesDelIndice()), "los archivos del índice son los mismos");
+        assertFalse(Files.exists(directorio.resolve("estudiantes.idx.nuevo")));
+        for (int i = 0; i < CANTIDAD; i += 7) {
+            motor.eliminar("E" + i);
+        }
+        List<Estudiante> esperado = motor.snapshot().getEstudiantes();
+        motor.cerrar();
+
+        MotorMapeado reabierto = MotorMapeado.abrir(directorio);
+        try {
+            assertIgual(esperado, reabierto);
+            reabierto.agregar(new Estudiante("nuevo", "Nuevo", 20));
+            assertNotNull(reabierto.buscarPorId("nuevo"));
+        } finally {
+            reabierto.cerrar();
+        }
+    }
+
+    @Test
+    void trasUnCierreNoLimpioSeReconstruyenOrdenEIndice() throws Exception {
+        MotorMapeado motor = MotorMapeado.abrir(directorio);
+        for (int i = 0; i < CANTIDAD; i++) {
+            motor.agregar(new Estudiante("E" + i, "Nombre " + i, 1 + i % 90));
+        }
+        for (int i = 0; i < CANTIDAD; i += 3) {
+            motor.eliminar("E" + i);
+        }
+        // Los huecos se reutilizan, así que el orden de inserción ya no
+        // coincide con el número de registro.
+        for (int i = 0; i < CANTIDAD; i += 6) {
+            motor.agregar(new Estudiante("R" + i, "Reusado " + i, 30));
+        }
+        List<Estudiante> esperado = motor.snapshot().getEstudiantes();
+
+        // Sin cerrar: el archivo queda sin la marca de cierre limpio.
+        MotorMapeado recuperado = MotorMapeado.abrir(directorio);
+        try {
+            assertIgual(esperado, recuperado);
+            assertNull(recuperado.buscarPorId("E0"));
+            recuperado.agregar(new Estudiante("nuevo", "Nuevo", 20));
+            List<Estudiante> todos = recuperado.snapshot().getEstudiantes();
+            assertEquals("nuevo", todos.get(todos.size() - 1).getId());
+        } finally {
+            recuperado.cerrar();
+        }
+    }
+
+    private Object[] identidadesDelIndice() throws Exception {
+        List<Object> identidades = new ArrayList<>();
+        for (String nombre : new String[] {"estudiantes.idx", "estudiantes.idx2"}) {
+            identidades.add(Files.readAttributes(directorio.resolve(nombre), BasicFileAttributes.class).fileKey());
+        }
+        return identidades.toArray();
+    }
+
+    private static void assertIgual(List<Estudiante> esperado, MotorMapeado motor) {
+        assertEquals(esperado.size(), motor.tamano());
+        List<Estudiante> obtenido = motor.snapshot().getEstudiantes();
+        for (int i = 0; i < esperado.size(); i++) {
+            Estudiante estudiante = esperado.get(i);
+            assertEquals(estudiante.getId(), obtenido.get(i).getId(), "orden de inserción, fila " + i);
+            Estudiante buscado = motor.buscarPorId(estudiante.getId());
+            assertNotNull(buscado, estudiante.getId());
+            assertEquals(estudiante.getNombres(), buscado.getNombres());
+            assertEquals(estudiante.getVersion(), buscado.getVersion());
+        }
+    }
+}
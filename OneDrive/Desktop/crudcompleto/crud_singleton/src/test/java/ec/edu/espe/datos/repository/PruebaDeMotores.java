@@ -0,0 +1,45 @@
+package ec.edu.espe.datos.repository;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Base de las pruebas que corren igual sobre cada motor: cada uno se abre
+ * por nombre con {@link Motores#crear} en su propio directorio temporal, y
+ * los que siguen abiertos se cierran al terminar la prueba.
+ */
+abstract class PruebaDeMotores {
+
+    @TempDir
+    Path directorio;
+
+    private final List<MotorEstudiantes> abiertos = new ArrayList<>();
+
+    @AfterEach
+    void cerrarAbiertos() {
+        abiertos.forEach(MotorEstudiantes::cerrar);
+        abiertos.clear();
+    }
+
+    /**
+     * Abre el motor {@code nombre} sobre {@code directorio/nombre}, así que
+     * abrirlo otra vez tras {@link #cerrar} lee lo que el anterior guardó.
+     */
+    MotorEstudiantes abrir(String nombre) throws Exception {
+        Properties configuracion = new Properties();
+        configuracion.setProperty("estudiantes.datos", directorio.resolve(nombre).toString());
+        configuracion.setProperty("estudiantes.particiones", "4");
+        MotorEstudiantes motor = Motores.crear(nombre, configuracion);
+        abiertos.add(motor);
+        return motor;
+    }
+
+    void cerrar(MotorEstudiantes motor) {
+        abiertos.remove(motor);
+        motor.cerrar();
+    }
+}
@@ -0,0 +1,71 @@
+package ec.edu.espe.logica_negocio;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import ec.edu.espe.datos.formato.FormatoArchivo;
+import ec.edu.espe.datos.model.Estudiante;
+import ec.edu.espe.datos.repository.EstudianteRepository;
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class ExportacionImportacionTest {
+
+    private static final List<Estudiante> DIFICILES = List.of(
+            new Estudiante("A1", "Pérez, Ana", 20),
+            new Estudiante("A2", "Luis \"Lucho\" Mora", 21),
+            new Estudiante("A3", "Primera línea\nsegunda línea", 22),
+            new Estudiante("A4", "con \"comillas\"\ny salto", 23),
+            new Estudiante("A5", "tres\n\nlíneas", 24),
+            new Estudiante("A6", "Normal", 25));
+
+    @TempDir
+    Path directorio;
+
+    @ParameterizedTest
+    @EnumSource(FormatoArchivo.class)
+    void loExportadoSeVuelveAImportarIgual(FormatoArchivo formato) throws Exception {
+        EstudianteService origen = new EstudianteService(EstudianteRepository.enMemoria());
+        for (Estudiante estudiante : DIFICILES) {
+            origen.crearEstudiante(estudiante.getId(), estudiante.getNombres(), estudiante.getEdad());
+        }
+        Path archivo = directorio.resolve("estudiantes." + formato.name().toLowerCase());
+        assertEquals(DIFICILES.size(), origen.exportarEstudiantes(archivo, formato, false));
+
+        EstudianteService destino = new EstudianteService(EstudianteRepository.enMemoria());
+        ResultadoImportacion resultado = destino.importarEstudiantes(archivo, formato);
+        assertEquals(0, resultado.getRechazados(), () -> resultado.getErrores().toString());
+        assertEquals(DIFICILES.size(), resultado.getImportados());
+        for (Estudiante estudiante : DIFICILES) {
+            Estudiante importado = destino.buscarPorId(estudiante.getId());
+            assertNotNull(importado, estudiante.getId());
+            assertEquals(estudiante.getNombres(), importado.getNombres());
+            assertEquals(estudiante.getEdad(), importado.getEdad());
+        }
+    }
+
+    @Test
+    void unaComillaSinCerrarSoloPierdeSuRegistro() throws Exception {
+        StringBuilder csv = new StringBuilder("id,nombres,edad\nB1,Bien,20\nB2,\"sin cerrar,21\n");
+        String blanco = " ".repeat(99) + "\n";
+        while (csv.length() <= 2 * ImportadorEstudiantes.MAXIMO_LARGO_REGISTRO) {
+            csv.append(blanco);
+        }
+        csv.append("B3,Después,22\n");
+
+        EstudianteService servicio = new EstudianteService(EstudianteRepository.enMemoria());
+        ResultadoImportacion resultado = servicio.importarEstudiantes(
+                new BufferedReader(new StringReader(csv.toString())), FormatoArchivo.CSV);
+
+        assertEquals(1, resultado.getRechazados());
+        assertEquals(3, resultado.getErrores().get(0).getLinea());
+        assertNotNull(servicio.buscarPorId("B1"));
+        assertNotNull(servicio.buscarPorId("B3"));
+    }
+}
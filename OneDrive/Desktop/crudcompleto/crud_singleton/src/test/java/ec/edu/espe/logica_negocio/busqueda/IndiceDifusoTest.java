@@ -0,0 +1,94 @@
+package ec.edu.espe.logica_negocio.busqueda;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import ec.edu.espe.datos.model.Estudiante;
+import ec.edu.espe.datos.repository.EstudianteRepository;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class IndiceDifusoTest {
+
+    private EstudianteRepository motor;
+    private IndiceDifuso indice;
+
+    @BeforeEach
+    void construir() {
+        motor = EstudianteRepository.enMemoria();
+        motor.agregar(new Estudiante("1", "José Núñez", 20));
+        motor.agregar(new Estudiante("2", "Anabel Torres", 21));
+        motor.agregar(new Estudiante("3", "Ana González", 22));
+        motor.agregar(new Estudiante("4", "María Ana López", 23));
+        motor.agregar(new Estudiante("5", "Mariana Ruiz", 24));
+        indice = IndiceDifuso.construir(motor);
+    }
+
+    @Test
+    void ignoraMayusculasYTildes() {
+        assertEquals(List.of("1"), ids(indice.buscar("jose nunez", 10)));
+        assertEquals(List.of("1"), ids(indice.buscar("JOSÉ NÚÑEZ", 10)));
+        assertEquals(List.of("3"), ids(indice.buscar("gonzalez", 10)));
+    }
+
+    @Test
+    void encuentraPorPrefijo() {
+        assertEquals(List.of("4", "5"), ids(indice.buscar("mari", 10)));
+        assertEquals(List.of("2"), ids(indice.buscar("torr", 10)));
+    }
+
+    @Test
+    void toleraErroresDeTipeo() {
+        assertEquals(List.of("3"), ids(indice.buscar("gonzales", 10)), "sustitución");
+        assertEquals(List.of("3"), ids(indice.buscar("gozalez", 10)), "letra de menos");
+        assertTrue(ids(indice.buscar("mraia", 10)).contains("4"), "transposición");
+        assertEquals(List.of(), ids(indice.buscar("xyzzy", 10)));
+    }
+
+    @Test
+    void exactoAntesQuePrefijoYTodosLosTerminosCuentan() {
+        List<String> ana = ids(indice.buscar("ana", 10));
+        assertEquals(List.of("3", "4"), ana.subList(0, 2), "exactos en orden de indexación");
+        assertTrue(ana.indexOf("2") > 1, "el prefijo de Anabel va después");
+
+        assertEquals(List.of("4"), ids(indice.buscar("ana lopez", 10)));
+        assertEquals(List.of(), ids(indice.buscar("ana ruiz", 10)));
+    }
+
+    @Test
+    void respetaElLimite() {
+        assertEquals(List.of("3"), ids(indice.buscar("ana", 1)));
+        assertEquals(2, indice.buscar("ana", 2).size());
+        assertEquals(List.of(), indice.buscar("ana", 0));
+        assertEquals(List.of(), indice.buscar("ana", -1));
+        assertEquals(List.of(), indice.buscar("   ", 10));
+    }
+
+    @Test
+    void sigueLosCambiosDelMotor() {
+        motor.editar("1", "Pedro Salas", 20);
+        motor.eliminar("3");
+        motor.agregar(new Estudiante("6", "José Andrade", 25));
+
+        assertEquals(List.of("6"), ids(indice.buscar("jose", 10)));
+        assertEquals(List.of("1"), ids(indice.buscar("salas", 10)));
+        assertEquals(List.of(), ids(indice.buscar("gonzalez", 10)));
+        assertEquals(5, indice.tamano());
+    }
+
+    @Test
+    void alCerrarseDejaDeSeguirAlMotor() {
+        indice.cerrar();
+        motor.agregar(new Estudiante("6", "Bruno Díaz", 25));
+        motor.eliminar("1");
+
+        assertEquals(List.of(), ids(indice.buscar("bruno", 10)));
+        assertEquals(List.of("1"), ids(indice.buscar("jose", 10)));
+    }
+
+    private static List<String> ids(List<Estudiante> estudiantes) {
+        return estudiantes.stream().map(Estudiante::getId).collect(Collectors.toList());
+    }
+}
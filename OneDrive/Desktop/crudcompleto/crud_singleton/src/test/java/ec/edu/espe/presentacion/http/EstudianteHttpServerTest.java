@@ -0,0 +1,165 @@
+package ec.edu.espe.presentacion.http;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import ec.edu.espe.controller.EstudianteController;
+import ec.edu.espe.datos.repository.EstudianteRepository;
+import ec.edu.espe.logica_negocio.EstudianteService;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class EstudianteHttpServerTest {
+
+    private final HttpClient cliente = HttpClient.newHttpClient();
+    private EstudianteHttpServer servidor;
+    private String base;
+
+    @BeforeEach
+    void iniciar() throws Exception {
+        servidor = new EstudianteHttpServer(
+                new EstudianteController(new EstudianteService(EstudianteRepository.enMemoria())), 0);
+        servidor.iniciar();
+        base = "http://localhost:" + servidor.getPuerto();
+    }
+
+    @AfterEach
+    void detener() {
+        servidor.detener();
+    }
+
+    @Test
+    void elIdDeLaRutaSeDecodificaUnaSolaVez() throws Exception {
+        crear("a+b", "Más");
+        crear("50%off", "Porcentaje");
+        crear("José Pérez", "Acentos");
+
+        assertTrue(get("/estudiantes/a+b").body().contains("\"id\":\"a+b\""));
+        assertTrue(get("/estudiantes/a%2Bb").body().contains("\"id\":\"a+b\""));
+        assertEquals(200, get("/estudiantes/50%25off").statusCode());
+        assertEquals(200, get("/estudiantes/Jos%C3%A9%20P%C3%A9rez").statusCode());
+        assertEquals(404, get("/estudiantes/a%20b").statusCode());
+    }
+
+    @Test
+    void soloAtiendeLaColeccionYSusHijosDirectos() throws Exception {
+        crear("1", "Uno");
+
+        assertEquals(200, get("/estudiantes").statusCode());
+        assertEquals(200, get("/estudiantes/1").statusCode());
+        assertEquals(404, get("/estudiantesX").statusCode());
+        assertEquals(404, get("/estudiantesX/1").statusCode());
+        assertEquals(404, get("/estudiantes1").statusCode());
+        assertEquals(404, get("/estudiantes/1/extra").statusCode());
+    }
+
+    @Test
+    void unaEdicionConDatosInvalidosNoTocaElRegistro() throws Exception {
+        crear("1", "Uno");
+
+        assertEquals(400, put("/estudiantes/1", "{\"edad\":5}", null).statusCode());
+        assertEquals(400, put("/estudiantes/1", "{\"nombres\":\"Otro\",\"edad\":0}", null).statusCode());
+        assertEquals(400, put("/estudiantes/1", "{\"nombres\":\"\",\"edad\":5}", "\"1\"").statusCode());
+        String actual = get("/estudiantes/1").body();
+        assertTrue(actual.contains("\"nombres\":\"Uno\"") && actual.contains("\"edad\":20"), actual);
+
+        assertEquals(200, put("/estudiantes/1", "{\"nombres\":\"Otro\",\"edad\":5}", null).statusCode());
+    }
+
+    @Test
+    void crearUnIdRepetidoResponde409() throws Exception {
+        crear("1", "Uno");
+        String cuerpo = "{\"id\":\"1\",\"nombres\":\"Otro\",\"edad\":30}";
+        HttpResponse<String> respuesta = cliente.send(HttpRequest.newBuilder(URI.create(base + "/estudiantes"))
+                .POST(HttpRequest.BodyPublishers.ofString(cuerpo)).build(), HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(409, respuesta.statusCode());
+        assertTrue(get("/estudiantes/1").body().contains("\"nombres\":\"Uno\""));
+    }
+
+    @Test
+    void crearRespondeElETagDeLaVersionGuardada() throws Exception {
+        crear("1", "Uno");
+        String cuerpo = "{\"id\":\"2\",\"nombres\":\"Dos\",\"edad\":20}";
+        HttpResponse<String> creada = cliente.send(HttpRequest.newBuilder(URI.create(base + "/estudiantes"))
+                .POST(HttpRequest.BodyPublishers.ofString(cuerpo)).build(), HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(201, creada.statusCode());
+        assertEquals("\"2\"", creada.headers().firstValue("ETag").orElseThrow());
+        assertEquals("\"2\"", get("/estudiantes/2").headers().firstValue("ETag").orElseThrow());
+    }
+
+    @Test
+    void ifMatchConUnaVersionViejaResponde412ConLaVigente() throws Exception {
+        crear("1", "Uno");
+        String leida = get("/estudiantes/1").headers().firstValue("ETag").orElseThrow();
+
+        HttpResponse<String> editada = put("/estudiantes/1", "{\"nombres\":\"Dos\",\"edad\":21}", leida);
+        assertEquals(200, editada.statusCode());
+        String vigente = editada.headers().firstValue("ETag").orElseThrow();
+        assertNotEquals(leida, vigente);
+        assertEquals(vigente, get("/estudiantes/1").headers().firstValue("ETag").orElseThrow());
+
+        HttpResponse<String> pisada = put("/estudiantes/1", "{\"nombres\":\"Tres\",\"edad\":22}", leida);
+        assertEquals(412, pisada.statusCode());
+        assertEquals(vigente, pisada.headers().firstValue("ETag").orElseThrow());
+        assertEquals(412, delete("/estudiantes/1", leida).statusCode());
+        assertTrue(get("/estudiantes/1").body().contains("\"nombres\":\"Dos\""));
+
+        assertEquals(204, delete("/estudiantes/1", vigente).statusCode());
+        assertEquals(404, get("/estudiantes/1").statusCode());
+    }
+
+    @Test
+    void ifMatchSobreUnIdAusenteOMalFormadoNoEsConflicto() throws Exception {
+        crear("1", "Uno");
+
+        assertEquals(404, put("/estudiantes/9", "{\"nombres\":\"Nueve\",\"edad\":21}", "\"1\"").statusCode());
+        assertEquals(404, delete("/estudiantes/9", "\"1\"").statusCode());
+        assertEquals(400, put("/estudiantes/1", "{\"nombres\":\"Dos\",\"edad\":21}", "1").statusCode());
+        assertEquals(400, put("/estudiantes/1", "{\"nombres\":\"Dos\",\"edad\":21}", "W/\"1\"").statusCode());
+        assertEquals(200, put("/estudiantes/1", "{\"nombres\":\"Dos\",\"edad\":21}", "*").statusCode());
+        assertEquals(200, put("/estudiantes/1", "{\"nombres\":\"Tres\",\"edad\":22}", "*").statusCode());
+    }
+
+    @Test
+    void decodificarSegmentoDejaElMasYRespetaUtf8() {
+        assertEquals("a+b", EstudianteHttpServer.decodificarSegmento("a+b"));
+        assertEquals("a b/c", EstudianteHttpServer.decodificarSegmento("a%20b%2Fc"));
+        assertEquals("ñandú", EstudianteHttpServer.decodificarSegmento("%C3%B1and%C3%BA"));
+        assertEquals("ñandú", EstudianteHttpServer.decodificarSegmento("ñandú"));
+        assertThrows(IllegalArgumentException.class, () -> EstudianteHttpServer.decodificarSegmento("a%zz"));
+        assertThrows(IllegalArgumentException.class, () -> EstudianteHttpServer.decodificarSegmento("a%2"));
+    }
+
+    private void crear(String id, String nombres) throws Exception {
+        String cuerpo = "{\"id\":\"" + id + "\",\"nombres\":\"" + nombres + "\",\"edad\":20}";
+        HttpResponse<String> respuesta = cliente.send(HttpRequest.newBuilder(URI.create(base + "/estudiantes"))
+                .POST(HttpRequest.BodyPublishers.ofString(cuerpo)).build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(201, respuesta.statusCode(), respuesta.body());
+    }
+
+    private HttpResponse<String> put(String ruta, String cuerpo, String ifMatch) throws Exception {
+        HttpRequest.Builder pedido = HttpRequest.newBuilder(URI.create(base + ruta))
+                .PUT(HttpRequest.BodyPublishers.ofString(cuerpo));
+        if (ifMatch != null) pedido.header("If-Match", ifMatch);
+        return cliente.send(pedido.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> delete(String ruta, String ifMatch) throws Exception {
+        HttpRequest pedido = HttpRequest.newBuilder(URI.create(base + ruta)).DELETE().header("If-Match", ifMatch).build();
+        return cliente.send(pedido, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> get(String ruta) throws Exception {
+        return cliente.send(HttpRequest.newBuilder(URI.create(base + ruta)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+}